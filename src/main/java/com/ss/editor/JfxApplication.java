@@ -131,6 +131,7 @@ public class JfxApplication extends Application {
 
         InitializeManager.register(ClasspathManager.class);
         InitializeManager.register(ResourceManager.class);
+        InitializeManager.register(AssetDependencyManager.class);
         InitializeManager.register(JavaFxImageManager.class);
         InitializeManager.register(FileIconManager.class);
         InitializeManager.register(WorkspaceManager.class);
@@ -265,7 +265,13 @@ public class JmeApplication extends JmeToJfxApplication {
         var guiNode = getGuiNode();
         guiNode.detachAllChildren();
 
-        ExecutorManager.getInstance();
+        var executorManager = ExecutorManager.getInstance();
+        executorManager.setStatisticsEnabled(editorConfig.getBoolean(PREF_EXECUTOR_STATISTICS,
+                PREF_DEFAULT_EXECUTOR_STATISTICS));
+
+        var jmeThreadExecutor = JmeThreadExecutor.getInstance();
+        jmeThreadExecutor.setFrameBudget(editorConfig.getInteger(PREF_JME_TASKS_FRAME_BUDGET,
+                PREF_DEFAULT_JME_TASKS_FRAME_BUDGET));
 
         flyCam.setDragToRotate(true);
         flyCam.setEnabled(false);
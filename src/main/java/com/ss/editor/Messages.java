@@ -19,11 +19,13 @@ public class Messages {
     public static final String EDITOR_MENU_FILE_OPEN_ASSET;
     public static final String EDITOR_MENU_FILE_OPEN_ASSET_DIRECTORY_CHOOSER;
     public static final String EDITOR_MENU_FILE_REOPEN_ASSET_FOLDER;
+    public static final String EDITOR_MENU_FILE_QUICK_OPEN_ASSET;
     public static final String EDITOR_MENU_OTHER;
     public static final String EDITOR_MENU_OTHER_CLEAR_ASSET_CACHE;
     public static final String EDITOR_MENU_OTHER_UPDATE_CLASSPATH_AND_ASSET_CACHE;
     public static final String EDITOR_MENU_OTHER_SETTINGS;
     public static final String EDITOR_MENU_OTHER_PLUGINS;
+    public static final String EDITOR_MENU_OTHER_EXPORT_EXECUTOR_STATISTICS;
     public static final String EDITOR_MENU_HELP;
     public static final String EDITOR_MENU_HELP_ABOUT;
 
@@ -44,6 +46,7 @@ public class Messages {
     public static final String ASSET_COMPONENT_RESOURCE_TREE_CONTEXT_MENU_OPEN_FILE_BY_EXTERNAL_EDITOR;
     public static final String ASSET_COMPONENT_RESOURCE_TREE_CONTEXT_MENU_OPEN_FILE_BY_SYSTEM_EXPLORER;
     public static final String ASSET_COMPONENT_RESOURCE_TREE_CONTEXT_MENU_RENAME_FILE;
+    public static final String ASSET_COMPONENT_RESOURCE_TREE_CONTEXT_MENU_FIND_USAGES;
     public static final String ASSET_COMPONENT_RESOURCE_TREE_CONTEXT_MENU_IMPORT_MODEL;
 
     public static final String FILE_EDITOR_ACTION_SAVE;
@@ -60,6 +63,9 @@ public class Messages {
     public static final String SCENE_FILE_EDITOR_ACTION_SHOW_LIGHTS;
     public static final String SCENE_FILE_EDITOR_ACTION_SHOW_AUDIO;
 
+    public static final String EXECUTOR_STATS_OVERRUN_FRAMES;
+    public static final String EXECUTOR_STATS_DESCRIPTION;
+
     public static final String MATERIAL_FILE_EDITOR_ACTION_CUBE;
     public static final String MATERIAL_FILE_EDITOR_ACTION_SPHERE;
     public static final String MATERIAL_FILE_EDITOR_ACTION_PLANE;
@@ -67,6 +73,7 @@ public class Messages {
 
     public static final String ASSET_EDITOR_DIALOG_TITLE;
     public static final String ASSET_EDITOR_DIALOG_WARNING_SELECT_FILE;
+    public static final String ASSET_EDITOR_DIALOG_FILTER_PROMPT;
 
     public static final String SAVE_AS_EDITOR_DIALOG_TITLE;
     public static final String SAVE_AS_EDITOR_DIALOG_FIELD_FILENAME;
@@ -127,8 +134,10 @@ public class Messages {
 
     public static final String SETTINGS_PROPERTY_FXAA;
     public static final String SETTINGS_PROPERTY_NATIVE_FILE_CHOOSER;
+    public static final String SETTINGS_PROPERTY_EXECUTOR_STATISTICS;
     public static final String SETTINGS_PROPERTY_STOP_RENDER_ON_LOST_FOCUS;
     public static final String SETTINGS_PROPERTY_FRAME_RATE;
+    public static final String SETTINGS_PROPERTY_JME_TASKS_FRAME_BUDGET;
     public static final String SETTINGS_PROPERTY_GAMMA_CORRECTION;
     public static final String SETTINGS_PROPERTY_TONEMAP_FILTER;
     public static final String SETTINGS_PROPERTY_TONEMAP_FILTER_WHITE_POINT;
@@ -511,6 +520,14 @@ public class Messages {
     public static final String RENAME_DIALOG_NEW_NAME_LABEL;
     public static final String RENAME_DIALOG_BUTTON_OK;
 
+    public static final String ASSET_USAGES_DIALOG_TITLE;
+    public static final String ASSET_USAGES_DIALOG_NO_USAGES;
+    public static final String ASSET_USAGES_DIALOG_BUTTON_OPEN;
+
+    public static final String QUICK_OPEN_ASSET_DIALOG_TITLE;
+    public static final String QUICK_OPEN_ASSET_DIALOG_NOT_FOUND;
+    public static final String QUICK_OPEN_ASSET_DIALOG_BUTTON_OPEN;
+
     public static final String PLAY_ANIMATION_SETTINGS_DIALOG_TITLE;
 
     public static final String MANUAL_EXTRACT_ANIMATION_DIALOG_TITLE;
@@ -666,6 +683,9 @@ public class Messages {
     public static final String IMPORT_MODEL_DIALOG_OVERWRITE_TEXTURES;
 
     public static final String FILE_DELETE_HANDLER_DELETE_MATERIALS;
+    public static final String FILE_MOVE_BROKEN_REFERENCES_QUESTION;
+    public static final String FILE_MOVE_UNSAVED_REFERENCES_WARNING;
+    public static final String FILE_MOVE_UPDATE_REFERENCES_QUESTION;
 
     public static final String CHECK_NEW_VERSION_DIALOG_TITLE;
     public static final String CHECK_NEW_VERSION_DIALOG_HYPERLINK;
@@ -708,12 +728,14 @@ public class Messages {
         EDITOR_MENU_FILE_OPEN_ASSET = bundle.getString("EditorMenuFileOpenAsset");
         EDITOR_MENU_FILE_OPEN_ASSET_DIRECTORY_CHOOSER = bundle.getString("EditorMenuFileOpenAssetDirectoryChooser");
         EDITOR_MENU_FILE_REOPEN_ASSET_FOLDER = bundle.getString("EditorMenuFileReopenAssetFolder");
+        EDITOR_MENU_FILE_QUICK_OPEN_ASSET = bundle.getString("EditorMenuFileQuickOpenAsset");
         EDITOR_MENU_FILE_EXIT = bundle.getString("EditorMenuFileExit");
         EDITOR_MENU_OTHER = bundle.getString("EditorMenuOther");
         EDITOR_MENU_OTHER_CLEAR_ASSET_CACHE = bundle.getString("EditorMenuOtherClearAssetCache");
         EDITOR_MENU_OTHER_UPDATE_CLASSPATH_AND_ASSET_CACHE  = bundle.getString("EditorMenuOtherUpdateClasspathAndAssetCache");
         EDITOR_MENU_OTHER_SETTINGS = bundle.getString("EditorMenuOtherSettings");
         EDITOR_MENU_OTHER_PLUGINS = bundle.getString("EditorMenuOtherPlugins");
+        EDITOR_MENU_OTHER_EXPORT_EXECUTOR_STATISTICS = bundle.getString("EditorMenuOtherExportExecutorStatistics");
         EDITOR_MENU_HELP = bundle.getString("EditorMenuHelp");
         EDITOR_MENU_HELP_ABOUT = bundle.getString("EditorMenuHelpAbout");
 
@@ -734,6 +756,7 @@ public class Messages {
         ASSET_COMPONENT_RESOURCE_TREE_CONTEXT_MENU_OPEN_FILE_BY_EXTERNAL_EDITOR = bundle.getString("AssetComponentResourceTreeContextMenuOpenFileByExternalEditor");
         ASSET_COMPONENT_RESOURCE_TREE_CONTEXT_MENU_OPEN_FILE_BY_SYSTEM_EXPLORER = bundle.getString("AssetComponentResourceTreeContextMenuOpenFileBySystemExplorer");
         ASSET_COMPONENT_RESOURCE_TREE_CONTEXT_MENU_RENAME_FILE = bundle.getString("AssetComponentResourceTreeContextMenuRenameFile");
+        ASSET_COMPONENT_RESOURCE_TREE_CONTEXT_MENU_FIND_USAGES = bundle.getString("AssetComponentResourceTreeContextMenuFindUsages");
         ASSET_COMPONENT_RESOURCE_TREE_CONTEXT_MENU_IMPORT_MODEL = bundle.getString("AssetComponentResourceTreeContextMenuImportModel");
 
         FILE_EDITOR_ACTION_SAVE = bundle.getString("FileEditorActionSave");
@@ -750,6 +773,9 @@ public class Messages {
         SCENE_FILE_EDITOR_ACTION_SHOW_LIGHTS = bundle.getString("SceneFileEditorActionShowLights");
         SCENE_FILE_EDITOR_ACTION_SHOW_AUDIO = bundle.getString("SceneFileEditorActionShowAudio");
 
+        EXECUTOR_STATS_OVERRUN_FRAMES = bundle.getString("ExecutorStatsOverrunFrames");
+        EXECUTOR_STATS_DESCRIPTION = bundle.getString("ExecutorStatsDescription");
+
         MATERIAL_FILE_EDITOR_ACTION_CUBE = bundle.getString("MaterialFileEditorActionCube");
         MATERIAL_FILE_EDITOR_ACTION_SPHERE = bundle.getString("MaterialFileEditorActionSphere");
         MATERIAL_FILE_EDITOR_ACTION_PLANE = bundle.getString("MaterialFileEditorActionPlane");
@@ -757,6 +783,7 @@ public class Messages {
 
         ASSET_EDITOR_DIALOG_TITLE = bundle.getString("AssetEditorDialogTitle");
         ASSET_EDITOR_DIALOG_WARNING_SELECT_FILE = bundle.getString("AssetEditorDialogWarningSelectFile");
+        ASSET_EDITOR_DIALOG_FILTER_PROMPT = bundle.getString("AssetEditorDialogFilterPrompt");
         SAVE_AS_EDITOR_DIALOG_TITLE = bundle.getString("SaveAsEditorDialogTitle");
         SAVE_AS_EDITOR_DIALOG_FIELD_FILENAME = bundle.getString("SaveAsEditorDialogFieldFilename");
 
@@ -819,8 +846,10 @@ public class Messages {
         SETTINGS_PROPERTY_FAST_SKY_FOLDER = bundle.getString("SettingsPropertyFastSkyFolder");
         SETTINGS_PROPERTY_FXAA = bundle.getString("SettingsPropertyFXAA");
         SETTINGS_PROPERTY_NATIVE_FILE_CHOOSER = bundle.getString("SettingsPropertyNativeFileChooser");
+        SETTINGS_PROPERTY_EXECUTOR_STATISTICS = bundle.getString("SettingsPropertyExecutorStatistics");
         SETTINGS_PROPERTY_STOP_RENDER_ON_LOST_FOCUS = bundle.getString("SettingsPropertyStopRenderOnLostFocus");
         SETTINGS_PROPERTY_FRAME_RATE = bundle.getString("SettingsPropertyFrameRate");
+        SETTINGS_PROPERTY_JME_TASKS_FRAME_BUDGET = bundle.getString("SettingsPropertyJmeTasksFrameBudget");
         SETTINGS_PROPERTY_GAMMA_CORRECTION = bundle.getString("SettingsPropertyGammaCorrection");
         SETTINGS_PROPERTY_TONEMAP_FILTER = bundle.getString("SettingsPropertyToneMapFilter");
         SETTINGS_PROPERTY_TONEMAP_FILTER_WHITE_POINT = bundle.getString("SettingsPropertyToneMapFilterWhitePoint");
@@ -1199,6 +1228,14 @@ public class Messages {
         RENAME_DIALOG_NEW_NAME_LABEL = bundle.getString("RenameDialogNewNameLabel");
         RENAME_DIALOG_BUTTON_OK = bundle.getString("RenameDialogButtonOk");
 
+        ASSET_USAGES_DIALOG_TITLE = bundle.getString("AssetUsagesDialogTitle");
+        ASSET_USAGES_DIALOG_NO_USAGES = bundle.getString("AssetUsagesDialogNoUsages");
+        ASSET_USAGES_DIALOG_BUTTON_OPEN = bundle.getString("AssetUsagesDialogButtonOpen");
+
+        QUICK_OPEN_ASSET_DIALOG_TITLE = bundle.getString("QuickOpenAssetDialogTitle");
+        QUICK_OPEN_ASSET_DIALOG_NOT_FOUND = bundle.getString("QuickOpenAssetDialogNotFound");
+        QUICK_OPEN_ASSET_DIALOG_BUTTON_OPEN = bundle.getString("QuickOpenAssetDialogButtonOpen");
+
         PLAY_ANIMATION_SETTINGS_DIALOG_TITLE = bundle.getString("PlayAnimationSettingsDialogTitle");
 
         MANUAL_EXTRACT_ANIMATION_DIALOG_TITLE = bundle.getString("ManualExtractAnimationDialogTitle");
@@ -1355,6 +1392,9 @@ public class Messages {
         IMPORT_MODEL_DIALOG_OVERWRITE_TEXTURES = bundle.getString("ImportModelDialogOverwriteTextures");
 
         FILE_DELETE_HANDLER_DELETE_MATERIALS = bundle.getString("FileDeleteHandlerDeleteMaterials");
+        FILE_MOVE_BROKEN_REFERENCES_QUESTION = bundle.getString("FileMoveBrokenReferencesQuestion");
+        FILE_MOVE_UNSAVED_REFERENCES_WARNING = bundle.getString("FileMoveUnsavedReferencesWarning");
+        FILE_MOVE_UPDATE_REFERENCES_QUESTION = bundle.getString("FileMoveUpdateReferencesQuestion");
 
         CHECK_NEW_VERSION_DIALOG_TITLE = bundle.getString("CheckNewVersionDialogTitle");
         CHECK_NEW_VERSION_DIALOG_HYPERLINK = bundle.getString("CheckNewVersionDialogHyperText");
@@ -0,0 +1,209 @@
+package com.ss.editor.classpath;
+
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.rlib.common.logging.Logger;
+import com.ss.rlib.common.logging.LoggerManager;
+import com.ss.rlib.common.util.array.Array;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The classpath scanner which works with results of {@link ClasspathScanCache}.
+ * <p>
+ * Implementations are resolved by names of super types of found classes, so only classes which implement a requested
+ * interface are loaded. A class with an unknown super type (e.g. from JDK) is loaded to check it.
+ *
+ * @author JavaSaBr
+ */
+public class CachedClassPathScanner {
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(CachedClassPathScanner.class);
+
+    @NotNull
+    private static final String OBJECT_CLASS = Object.class.getName();
+
+    /**
+     * The class loader to load found classes.
+     */
+    @NotNull
+    private final ClassLoader loader;
+
+    /**
+     * The scanner of the parent class loader to resolve super types or null.
+     */
+    @Nullable
+    private final CachedClassPathScanner parent;
+
+    /**
+     * The found classes by their names.
+     */
+    @NotNull
+    private final Map<String, ClassInfo> classes;
+
+    /**
+     * The found resources.
+     */
+    @NotNull
+    private final List<String> resources;
+
+    public CachedClassPathScanner(
+            @NotNull ClassLoader loader,
+            @Nullable CachedClassPathScanner parent,
+            @NotNull Collection<ClassInfo> classes,
+            @NotNull List<String> resources
+    ) {
+        this.loader = loader;
+        this.parent = parent;
+        this.classes = new HashMap<>(classes.size());
+        this.resources = resources;
+
+        classes.forEach(info -> this.classes.putIfAbsent(info.getName(), info));
+    }
+
+    /**
+     * Add all found resources to the container.
+     *
+     * @param container the container.
+     */
+    @FromAnyThread
+    public void getAllResources(@NotNull Array<String> container) {
+        resources.forEach(container::add);
+    }
+
+    /**
+     * Find all not abstract implementations of the interface.
+     *
+     * @param container      the container to store found implementations.
+     * @param interfaceClass the interface.
+     * @param <T>            the interface's type.
+     * @param <R>            the implementation's type.
+     */
+    @FromAnyThread
+    @SuppressWarnings("unchecked")
+    public <T, R extends T> void findImplements(
+            @NotNull Array<Class<R>> container,
+            @NotNull Class<T> interfaceClass
+    ) {
+
+        if (!interfaceClass.isInterface()) {
+            throw new RuntimeException("class " + interfaceClass + " is not interface.");
+        }
+
+        var interfaceName = interfaceClass.getName();
+        var resolved = new HashMap<String, Boolean>();
+
+        for (var info : classes.values()) {
+
+            if (info.isInterface() || info.isAbstract()) {
+                continue;
+            }
+
+            var subtype = isSubtype(info.getName(), interfaceName, resolved);
+
+            if (subtype == Boolean.FALSE) {
+                continue;
+            }
+
+            var type = loadClass(info.getName());
+
+            if (type != null && interfaceClass.isAssignableFrom(type)) {
+                container.add((Class<R>) type);
+            }
+        }
+    }
+
+    /**
+     * Check the class on implementing the interface by names of its super types.
+     *
+     * @param className     the class name.
+     * @param interfaceName the interface name.
+     * @param resolved      the already resolved classes.
+     * @return true/false or null if some super type is unknown.
+     */
+    @FromAnyThread
+    private @Nullable Boolean isSubtype(
+            @NotNull String className,
+            @NotNull String interfaceName,
+            @NotNull Map<String, Boolean> resolved
+    ) {
+
+        if (className.equals(interfaceName)) {
+            return Boolean.TRUE;
+        } else if (className.equals(OBJECT_CLASS)) {
+            return Boolean.FALSE;
+        } else if (resolved.containsKey(className)) {
+            return resolved.get(className);
+        }
+
+        var info = findInfo(className);
+
+        if (info == null) {
+            resolved.put(className, null);
+            return null;
+        }
+
+        // protection from cycles in broken class files
+        resolved.put(className, Boolean.FALSE);
+
+        Boolean result = Boolean.FALSE;
+
+        var superName = info.getSuperName();
+        var superTypes = info.getInterfaces();
+
+        for (int i = -1; i < superTypes.length && result != Boolean.TRUE; i++) {
+
+            var superType = i == -1 ? superName : superTypes[i];
+
+            if (superType == null) {
+                continue;
+            }
+
+            var subtype = isSubtype(superType, interfaceName, resolved);
+
+            if (subtype == Boolean.TRUE) {
+                result = Boolean.TRUE;
+            } else if (subtype == null) {
+                result = null;
+            }
+        }
+
+        resolved.put(className, result);
+        return result;
+    }
+
+    /**
+     * Find an info about the class in this scanner or in parent scanners.
+     *
+     * @param className the class name.
+     * @return the info or null.
+     */
+    @FromAnyThread
+    private @Nullable ClassInfo findInfo(@NotNull String className) {
+
+        var info = classes.get(className);
+
+        if (info == null && parent != null) {
+            return parent.findInfo(className);
+        }
+
+        return info;
+    }
+
+    @FromAnyThread
+    private @Nullable Class<?> loadClass(@NotNull String className) {
+        try {
+            return loader.loadClass(className);
+        } catch (NoClassDefFoundError error) {
+            LOGGER.warning(this, "can't load class: " + error.getMessage());
+        } catch (Throwable e) {
+            LOGGER.warning(this, e);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,258 @@
+package com.ss.editor.classpath;
+
+import com.ss.editor.annotation.FromAnyThread;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+
+/**
+ * The info about a class which is read from a class file without loading the class.
+ *
+ * @author JavaSaBr
+ */
+public class ClassInfo {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELD_REF = 9;
+    private static final int CONSTANT_METHOD_REF = 10;
+    private static final int CONSTANT_INTERFACE_METHOD_REF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    @NotNull
+    private static final String[] EMPTY_INTERFACES = new String[0];
+
+    /**
+     * Read an info about a class from the class file.
+     *
+     * @param stream the stream of the class file.
+     * @return the info or null if the stream isn't a class file.
+     * @throws IOException if the class file can't be read.
+     */
+    @FromAnyThread
+    public static @Nullable ClassInfo parse(@NotNull InputStream stream) throws IOException {
+
+        var in = new DataInputStream(stream);
+
+        if (in.readInt() != MAGIC) {
+            return null;
+        }
+
+        // minor and major versions
+        in.readUnsignedShort();
+        in.readUnsignedShort();
+
+        var poolSize = in.readUnsignedShort();
+        var utf8 = new String[poolSize];
+        var classes = new int[poolSize];
+
+        for (int i = 1; i < poolSize; i++) {
+
+            var tag = in.readUnsignedByte();
+
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    utf8[i] = in.readUTF();
+                    break;
+                case CONSTANT_CLASS:
+                    classes[i] = in.readUnsignedShort();
+                    break;
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    in.skipBytes(2);
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    in.skipBytes(3);
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELD_REF:
+                case CONSTANT_METHOD_REF:
+                case CONSTANT_INTERFACE_METHOD_REF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    in.skipBytes(4);
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    // 8-byte constants take two entries of the pool
+                    in.skipBytes(8);
+                    i++;
+                    break;
+                default:
+                    throw new IOException("unknown constant pool tag " + tag);
+            }
+        }
+
+        var access = in.readUnsignedShort();
+        var name = toClassName(utf8, classes, in.readUnsignedShort());
+        var superIndex = in.readUnsignedShort();
+        var superName = superIndex == 0 ? null : toClassName(utf8, classes, superIndex);
+        var interfaces = new String[in.readUnsignedShort()];
+
+        for (int i = 0; i < interfaces.length; i++) {
+            interfaces[i] = toClassName(utf8, classes, in.readUnsignedShort());
+        }
+
+        return new ClassInfo(name, superName, interfaces, access);
+    }
+
+    @FromAnyThread
+    private static @NotNull String toClassName(@NotNull String[] utf8, @NotNull int[] classes, int index) {
+        return utf8[classes[index]].replace('/', '.');
+    }
+
+    /**
+     * Read an info about a class from the cache.
+     *
+     * @param in the input.
+     * @return the info.
+     * @throws IOException if the info can't be read.
+     */
+    @FromAnyThread
+    static @NotNull ClassInfo read(@NotNull DataInput in) throws IOException {
+
+        var name = in.readUTF();
+        var superName = in.readBoolean() ? in.readUTF() : null;
+        var count = in.readUnsignedShort();
+        var interfaces = count == 0 ? EMPTY_INTERFACES : new String[count];
+
+        for (int i = 0; i < count; i++) {
+            interfaces[i] = in.readUTF();
+        }
+
+        return new ClassInfo(name, superName, interfaces, in.readInt());
+    }
+
+    /**
+     * The full name of the class.
+     */
+    @NotNull
+    private final String name;
+
+    /**
+     * The full name of the super class or null.
+     */
+    @Nullable
+    private final String superName;
+
+    /**
+     * The full names of implemented interfaces.
+     */
+    @NotNull
+    private final String[] interfaces;
+
+    /**
+     * The access flags of the class.
+     */
+    private final int access;
+
+    public ClassInfo(@NotNull String name, @Nullable String superName, @NotNull String[] interfaces, int access) {
+        this.name = name;
+        this.superName = superName;
+        this.interfaces = interfaces;
+        this.access = access;
+    }
+
+    /**
+     * Get the full name of the class.
+     *
+     * @return the full name of the class.
+     */
+    @FromAnyThread
+    public @NotNull String getName() {
+        return name;
+    }
+
+    /**
+     * Get the full name of the super class.
+     *
+     * @return the full name of the super class or null.
+     */
+    @FromAnyThread
+    public @Nullable String getSuperName() {
+        return superName;
+    }
+
+    /**
+     * Get the full names of implemented interfaces.
+     *
+     * @return the full names of implemented interfaces.
+     */
+    @FromAnyThread
+    public @NotNull String[] getInterfaces() {
+        return interfaces;
+    }
+
+    /**
+     * Return true if the class is an interface.
+     *
+     * @return true if the class is an interface.
+     */
+    @FromAnyThread
+    public boolean isInterface() {
+        return Modifier.isInterface(access);
+    }
+
+    /**
+     * Return true if the class is abstract.
+     *
+     * @return true if the class is abstract.
+     */
+    @FromAnyThread
+    public boolean isAbstract() {
+        return Modifier.isAbstract(access);
+    }
+
+    /**
+     * Write this info to the cache.
+     *
+     * @param out the output.
+     * @throws IOException if the info can't be written.
+     */
+    @FromAnyThread
+    void write(@NotNull DataOutput out) throws IOException {
+
+        out.writeUTF(name);
+        out.writeBoolean(superName != null);
+
+        if (superName != null) {
+            out.writeUTF(superName);
+        }
+
+        out.writeShort(interfaces.length);
+
+        for (var anInterface : interfaces) {
+            out.writeUTF(anInterface);
+        }
+
+        out.writeInt(access);
+    }
+
+    @Override
+    public String toString() {
+        return "ClassInfo{" + "name='" + name + '\'' + ", superName='" + superName + '\'' + '}';
+    }
+}
@@ -0,0 +1,354 @@
+package com.ss.editor.classpath;
+
+import com.ss.editor.annotation.BackgroundThread;
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.rlib.common.logging.Logger;
+import com.ss.rlib.common.logging.LoggerManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * The persistent cache of results of classpath scanning.
+ * <p>
+ * Found classes and resources are cached by the path of a jar or a class file with its size and last modified time,
+ * so unchanged jars aren't read again and only changed class files of folders are parsed again. Classes aren't
+ * loaded during scanning, only names of their super types are read from class files.
+ *
+ * @author JavaSaBr
+ */
+public class ClasspathScanCache {
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(ClasspathScanCache.class);
+
+    /**
+     * The version of the format of the cache file.
+     */
+    private static final int VERSION = 1;
+
+    @NotNull
+    private static final String CLASS_EXTENSION = ".class";
+
+    @NotNull
+    private static final String JAR_EXTENSION = ".jar";
+
+    @NotNull
+    private static final String SOURCE_EXTENSION = ".java";
+
+    @NotNull
+    private static final String META_INF = "META-INF/";
+
+    /**
+     * The scan results of a jar or a class file.
+     */
+    private static class Entry {
+
+        @NotNull
+        private final List<ClassInfo> classes;
+
+        @NotNull
+        private final List<String> resources;
+
+        private final long size;
+
+        private final long lastModified;
+
+        private Entry(long size, long lastModified) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.classes = new ArrayList<>();
+            this.resources = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Load the cache from the file or create an empty cache if it doesn't exist.
+     *
+     * @param file the cache file.
+     * @return the loaded cache.
+     */
+    @FromAnyThread
+    public static @NotNull ClasspathScanCache load(@NotNull Path file) {
+
+        var cache = new ClasspathScanCache(file);
+
+        if (!Files.exists(file)) {
+            return cache;
+        }
+
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+
+            if (in.readInt() != VERSION) {
+                return cache;
+            }
+
+            for (int i = 0, count = in.readInt(); i < count; i++) {
+
+                var path = in.readUTF();
+                var entry = new Entry(in.readLong(), in.readLong());
+
+                for (int j = 0, classCount = in.readInt(); j < classCount; j++) {
+                    entry.classes.add(ClassInfo.read(in));
+                }
+
+                for (int j = 0, resourceCount = in.readInt(); j < resourceCount; j++) {
+                    entry.resources.add(in.readUTF());
+                }
+
+                cache.entries.put(path, entry);
+            }
+
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning(ClasspathScanCache.class, "can't read the classpath cache " + file + ": " + e.getMessage());
+            cache.entries.clear();
+        }
+
+        return cache;
+    }
+
+    /**
+     * The cache file.
+     */
+    @NotNull
+    private final Path file;
+
+    /**
+     * The scan results by absolute paths of jars and class files.
+     */
+    @NotNull
+    private final Map<String, Entry> entries;
+
+    /**
+     * True if this cache was changed after loading/saving.
+     */
+    private boolean changed;
+
+    private ClasspathScanCache(@NotNull Path file) {
+        this.file = file;
+        this.entries = new HashMap<>();
+    }
+
+    /**
+     * Return true if this cache was changed after loading/saving.
+     *
+     * @return true if this cache was changed.
+     */
+    @FromAnyThread
+    public synchronized boolean isChanged() {
+        return changed;
+    }
+
+    /**
+     * Scan the jar or the folder with classes, jars and resources, results of unchanged files are taken from the
+     * cache.
+     *
+     * @param path      the jar or the folder.
+     * @param classes   the collection to store found classes.
+     * @param resources the collection to store found resources.
+     */
+    @BackgroundThread
+    public synchronized void scan(
+            @NotNull Path path,
+            @NotNull Collection<ClassInfo> classes,
+            @NotNull Collection<String> resources
+    ) {
+
+        if (Files.isDirectory(path)) {
+            scanFolder(path, classes, resources);
+            return;
+        }
+
+        var fileName = path.getFileName().toString();
+
+        if (!fileName.endsWith(JAR_EXTENSION)) {
+            return;
+        }
+
+        var entry = getEntry(path);
+
+        if (entry != null) {
+            classes.addAll(entry.classes);
+            resources.addAll(entry.resources);
+        }
+    }
+
+    @BackgroundThread
+    private void scanFolder(
+            @NotNull Path folder,
+            @NotNull Collection<ClassInfo> classes,
+            @NotNull Collection<String> resources
+    ) {
+
+        try (Stream<Path> stream = Files.walk(folder)) {
+            stream.filter(Files::isRegularFile).forEach(file -> {
+
+                var fileName = file.getFileName().toString();
+
+                if (fileName.endsWith(CLASS_EXTENSION) || fileName.endsWith(JAR_EXTENSION)) {
+
+                    var entry = getEntry(file);
+
+                    if (entry != null) {
+                        classes.addAll(entry.classes);
+                        resources.addAll(entry.resources);
+                    }
+
+                } else if (!fileName.endsWith(SOURCE_EXTENSION)) {
+                    resources.add(folder.relativize(file).toString().replace(File.separatorChar, '/'));
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.warning(this, e);
+        }
+    }
+
+    /**
+     * Get actual scan results of the jar or the class file.
+     *
+     * @param file the jar or the class file.
+     * @return the scan results or null if the file can't be read.
+     */
+    @BackgroundThread
+    private @Nullable Entry getEntry(@NotNull Path file) {
+
+        var key = file.toAbsolutePath().toString();
+
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            LOGGER.warning(this, e);
+            return null;
+        }
+
+        var size = attributes.size();
+        var lastModified = attributes.lastModifiedTime().toMillis();
+        var entry = entries.get(key);
+
+        if (entry != null && entry.size == size && entry.lastModified == lastModified) {
+            return entry;
+        }
+
+        entry = new Entry(size, lastModified);
+
+        try {
+
+            if (file.getFileName().toString().endsWith(JAR_EXTENSION)) {
+                readJar(file, entry);
+            } else {
+                try (var in = new BufferedInputStream(Files.newInputStream(file))) {
+                    addClass(ClassInfo.parse(in), entry);
+                }
+            }
+
+        } catch (IOException e) {
+            LOGGER.warning(this, "can't scan " + file + ": " + e.getMessage());
+            return null;
+        }
+
+        entries.put(key, entry);
+        changed = true;
+
+        return entry;
+    }
+
+    /**
+     * Read classes and resources of the jar, nested jars aren't scanned.
+     *
+     * @param file  the jar.
+     * @param entry the entry to store results.
+     * @throws IOException if the jar can't be read.
+     */
+    @BackgroundThread
+    private void readJar(@NotNull Path file, @NotNull Entry entry) throws IOException {
+        try (var jar = new JarFile(file.toFile())) {
+
+            var jarEntries = jar.entries();
+
+            while (jarEntries.hasMoreElements()) {
+
+                var jarEntry = jarEntries.nextElement();
+                var name = jarEntry.getName();
+
+                if (jarEntry.isDirectory() || name.endsWith(SOURCE_EXTENSION)) {
+                    continue;
+                } else if (!name.endsWith(CLASS_EXTENSION)) {
+                    entry.resources.add(name);
+                    continue;
+                }
+
+                // module descriptors and multi-release versions can't be loaded by their names
+                if (name.startsWith(META_INF) || name.endsWith("module-info" + CLASS_EXTENSION)) {
+                    continue;
+                }
+
+                try (var in = new BufferedInputStream(jar.getInputStream(jarEntry))) {
+                    addClass(ClassInfo.parse(in), entry);
+                } catch (IOException e) {
+                    LOGGER.warning(this, "can't read the class " + name + " from " + file + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    @BackgroundThread
+    private void addClass(@Nullable ClassInfo info, @NotNull Entry entry) {
+        if (info != null) {
+            entry.classes.add(info);
+        }
+    }
+
+    /**
+     * Save this cache, results of removed files are dropped.
+     *
+     * @throws IOException if the cache can't be saved.
+     */
+    @BackgroundThread
+    public synchronized void save() throws IOException {
+
+        entries.keySet().removeIf(path -> !Files.exists(Paths.get(path)));
+
+        var tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+
+        Files.createDirectories(file.getParent());
+
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+
+            out.writeInt(VERSION);
+            out.writeInt(entries.size());
+
+            for (var pathEntry : entries.entrySet()) {
+
+                var entry = pathEntry.getValue();
+
+                out.writeUTF(pathEntry.getKey());
+                out.writeLong(entry.size);
+                out.writeLong(entry.lastModified);
+                out.writeInt(entry.classes.size());
+
+                for (var info : entry.classes) {
+                    info.write(out);
+                }
+
+                out.writeInt(entry.resources.size());
+
+                for (var resource : entry.resources) {
+                    out.writeUTF(resource);
+                }
+            }
+        }
+
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        changed = false;
+    }
+}
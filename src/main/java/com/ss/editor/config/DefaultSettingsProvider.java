@@ -47,6 +47,7 @@ public class DefaultSettingsProvider implements SettingsProvider {
         @NotNull String PREF_FILTER_TONEMAP = "core.graphics.filter.toneMap";
         @NotNull String PREF_FILTER_TONEMAP_WHITE_POINT = "core.graphics.filter.toneMap.whitePoint";
         @NotNull String PREF_STOP_RENDER_ON_LOST_FOCUS = "core.graphics.render.stopOnLostFocus";
+        @NotNull String PREF_JME_TASKS_FRAME_BUDGET = "core.graphics.jme.tasks.frame.budget";
 
         @NotNull String PREF_USER_LIBRARY_FOLDER = "core.classpath.library.folder";
         @NotNull String PREF_USER_CLASSES_FOLDER = "core.classpath.classes.folder";
@@ -54,6 +55,7 @@ public class DefaultSettingsProvider implements SettingsProvider {
         @NotNull String PREF_UI_THEME = "core.ui.theme";
         @NotNull String PREF_ANALYTICS_GOOGLE = "core.other.analytics.google";
         @NotNull String PREF_NATIVE_FILE_CHOOSER = "core.other.native.file.chooser";
+        @NotNull String PREF_EXECUTOR_STATISTICS = "core.other.executor.statistics";
 
         @NotNull String PREF_FAST_SKY_FOLDER = "core.editor.fast.sky.folder";
         @NotNull String PREF_TANGENT_GENERATION = "core.editor.tangent.generation";
@@ -71,6 +73,7 @@ public class DefaultSettingsProvider implements SettingsProvider {
         int PREF_DEFAULT_ANISOTROPY = 16;
         int PREF_DEFAULT_FRAME_RATE = 60;
         int PREF_DEFAULT_CAMERA_ANGLE = 75;
+        int PREF_DEFAULT_JME_TASKS_FRAME_BUDGET = 8;
 
         boolean PREF_DEFAULT_TONEMAP_FILTER = true;
         boolean PREF_DEFAULT_GAMMA_CORRECTION = true;
@@ -81,6 +84,7 @@ public class DefaultSettingsProvider implements SettingsProvider {
         boolean PREF_DEFAULT_STOP_RENDER_ON_LOST_FOCUS = true;
         boolean PREF_DEFAULT_FLIPPED_TEXTURES = true;
         boolean PREF_DEFAULT_ANALYTICS_GOOGLE = false;
+        boolean PREF_DEFAULT_EXECUTOR_STATISTICS = false;
     }
 
     @NotNull
@@ -106,6 +110,7 @@ public class DefaultSettingsProvider implements SettingsProvider {
         REQUIRED_RESTART_PREFS.add(PREF_UI_THEME);
         REQUIRED_RESTART_PREFS.add(PREF_OPEN_GL);
         REQUIRED_RESTART_PREFS.add(PREF_FRAME_RATE);
+        REQUIRED_RESTART_PREFS.add(PREF_EXECUTOR_STATISTICS);
         REQUIRED_UPDATE_CLASSPATH_PREFS.add(PREF_USER_LIBRARY_FOLDER);
         REQUIRED_UPDATE_CLASSPATH_PREFS.add(PREF_USER_CLASSES_FOLDER);
         REQUIRED_RESHAPE_PREFS.add(PREF_CAMERA_ANGLE);
@@ -120,6 +125,7 @@ public class DefaultSettingsProvider implements SettingsProvider {
         final int anisotropy = editorConfig.getInteger(PREF_ANISOTROPY, PREF_DEFAULT_ANISOTROPY);
         final boolean gammaCorrection = editorConfig.getBoolean(PREF_GAMMA_CORRECTION, PREF_DEFAULT_GAMMA_CORRECTION);
         final int frameRate = editorConfig.getInteger(PREF_FRAME_RATE, PREF_DEFAULT_FRAME_RATE);
+        final int jmeTasksFrameBudget = editorConfig.getInteger(PREF_JME_TASKS_FRAME_BUDGET, PREF_DEFAULT_JME_TASKS_FRAME_BUDGET);
         final int cameraAngle = editorConfig.getInteger(PREF_CAMERA_ANGLE, PREF_DEFAULT_CAMERA_ANGLE);
         final boolean fxaa = editorConfig.getBoolean(PREF_FILTER_FXAA, PREF_DEFAULT_FXAA_FILTER);
         final boolean stopRenderOnLostFocus = editorConfig.getBoolean(PREF_STOP_RENDER_ON_LOST_FOCUS, PREF_DEFAULT_STOP_RENDER_ON_LOST_FOCUS);
@@ -131,6 +137,7 @@ public class DefaultSettingsProvider implements SettingsProvider {
         result.add(new SettingsPropertyDefinition(OBJECT_FROM_LIST, Messages.SETTINGS_PROPERTY_ANISOTROPY, PREF_ANISOTROPY, GRAPHICS, anisotropy, ANISOTROPYCS));
         result.add(new SettingsPropertyDefinition(BOOLEAN, Messages.SETTINGS_PROPERTY_GAMMA_CORRECTION, PREF_GAMMA_CORRECTION, GRAPHICS, gammaCorrection));
         result.add(new SettingsPropertyDefinition(INTEGER, Messages.SETTINGS_PROPERTY_FRAME_RATE, PREF_FRAME_RATE, GRAPHICS, frameRate, 10, 120));
+        result.add(new SettingsPropertyDefinition(INTEGER, Messages.SETTINGS_PROPERTY_JME_TASKS_FRAME_BUDGET, PREF_JME_TASKS_FRAME_BUDGET, GRAPHICS, jmeTasksFrameBudget, 0, 100));
         result.add(new SettingsPropertyDefinition(INTEGER, Messages.SETTINGS_PROPERTY_CAMERA_ANGLE, PREF_CAMERA_ANGLE, GRAPHICS, cameraAngle, 45, 110));
         result.add(new SettingsPropertyDefinition(BOOLEAN, Messages.SETTINGS_PROPERTY_FXAA, PREF_FILTER_FXAA, GRAPHICS, fxaa));
         result.add(new SettingsPropertyDefinition(BOOLEAN, Messages.SETTINGS_PROPERTY_STOP_RENDER_ON_LOST_FOCUS, PREF_STOP_RENDER_ON_LOST_FOCUS, GRAPHICS, stopRenderOnLostFocus));
@@ -152,12 +159,14 @@ public class DefaultSettingsProvider implements SettingsProvider {
         final Path classesFolder = editorConfig.getFile(PREF_USER_CLASSES_FOLDER);
         final boolean googleAnalytics = editorConfig.getBoolean(PREF_ANALYTICS_GOOGLE, PREF_DEFAULT_ANALYTICS_GOOGLE);
         final boolean nativeFileChooser = editorConfig.getBoolean(PREF_NATIVE_FILE_CHOOSER, PREF_DEFAULT_NATIVE_FILE_CHOOSER);
+        final boolean executorStatistics = editorConfig.getBoolean(PREF_EXECUTOR_STATISTICS, PREF_DEFAULT_EXECUTOR_STATISTICS);
 
         result.add(new SettingsPropertyDefinition(ENUM, Messages.SETTINGS_PROPERTY_THEME, PREF_UI_THEME, OTHER, theme));
         result.add(new SettingsPropertyDefinition(EXTERNAL_FILE, Messages.SETTINGS_PROPERTY_USER_LIBRARIES_FOLDER, PREF_USER_LIBRARY_FOLDER, OTHER, libraryFolder));
         result.add(new SettingsPropertyDefinition(EXTERNAL_FILE, Messages.SETTINGS_PROPERTY_USER_CLASSES_FOLDER, PREF_USER_CLASSES_FOLDER, OTHER, classesFolder));
         result.add(new SettingsPropertyDefinition(BOOLEAN, Messages.SETTINGS_PROPERTY_GOOGLE_ANALYTICS, PREF_ANALYTICS_GOOGLE, OTHER, googleAnalytics));
         result.add(new SettingsPropertyDefinition(BOOLEAN, Messages.SETTINGS_PROPERTY_NATIVE_FILE_CHOOSER, PREF_NATIVE_FILE_CHOOSER, OTHER, nativeFileChooser));
+        result.add(new SettingsPropertyDefinition(BOOLEAN, Messages.SETTINGS_PROPERTY_EXECUTOR_STATISTICS, PREF_EXECUTOR_STATISTICS, OTHER, executorStatistics));
 
         return result;
     }
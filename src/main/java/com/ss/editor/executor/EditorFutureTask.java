@@ -0,0 +1,35 @@
+package com.ss.editor.executor;
+
+import com.ss.editor.annotation.FromAnyThread;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.FutureTask;
+
+/**
+ * The implementation of the {@link FutureTask} which keeps the original task.
+ *
+ * @author JavaSaBr
+ */
+public class EditorFutureTask extends FutureTask<Void> {
+
+    /**
+     * The original task.
+     */
+    @NotNull
+    private final Runnable task;
+
+    public EditorFutureTask(@NotNull Runnable task, @NotNull Runnable wrapper) {
+        super(wrapper, null);
+        this.task = task;
+    }
+
+    /**
+     * Get the original task.
+     *
+     * @return the original task.
+     */
+    @FromAnyThread
+    public @NotNull Runnable getTask() {
+        return task;
+    }
+}
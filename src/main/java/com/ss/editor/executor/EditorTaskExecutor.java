@@ -17,4 +17,15 @@ public interface EditorTaskExecutor {
      */
     @FromAnyThread
     void execute(@NotNull Runnable task);
+
+    /**
+     * Add the new task with the priority.
+     *
+     * @param task     the new task.
+     * @param priority the priority of the task.
+     */
+    @FromAnyThread
+    default void execute(@NotNull Runnable task, @NotNull TaskPriority priority) {
+        execute(task);
+    }
 }
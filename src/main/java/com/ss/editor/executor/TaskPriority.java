@@ -0,0 +1,34 @@
+package com.ss.editor.executor;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The list of priorities of background tasks.
+ *
+ * @author JavaSaBr
+ */
+public enum TaskPriority {
+
+    /**
+     * A task which is waited by an user right now, e.g. opening a file.
+     */
+    INTERACTIVE,
+
+    /**
+     * A regular task.
+     */
+    NORMAL,
+
+    /**
+     * A long task which can be executed later, e.g. converting or generating.
+     */
+    BULK;
+
+    @NotNull
+    public static final TaskPriority[] VALUES = values();
+
+    @NotNull
+    public static TaskPriority valueOf(int index) {
+        return VALUES[index];
+    }
+}
@@ -3,24 +3,25 @@ package com.ss.editor.executor.impl;
 import com.ss.editor.EditorThread;
 import com.ss.editor.annotation.FromAnyThread;
 import com.ss.editor.executor.EditorTaskExecutor;
-import com.ss.rlib.common.concurrent.lock.LockFactory;
-import com.ss.rlib.common.concurrent.lock.Lockable;
-import com.ss.rlib.common.concurrent.util.ConcurrentUtils;
+import com.ss.editor.executor.statistics.ExecutorStatistics;
 import com.ss.rlib.common.logging.Logger;
 import com.ss.rlib.common.logging.LoggerManager;
 import com.ss.rlib.common.util.array.Array;
 import com.ss.rlib.common.util.array.ArrayFactory;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
 
 /**
- * The base implementation of the {@link JmeThreadExecutor}.
+ * The base implementation of the {@link EditorTaskExecutor} which has own thread to process tasks.
+ * <p>
+ * Producers add tasks to a lock-free queue and wake up the thread of this executor only if it's sleeping.
  *
  * @author JavaSaBr
  */
-public abstract class AbstractEditorTaskExecutor extends EditorThread implements EditorTaskExecutor, Lockable {
+public abstract class AbstractEditorTaskExecutor extends EditorThread implements EditorTaskExecutor {
 
     /**
      * The logger.
@@ -35,140 +36,109 @@ public abstract class AbstractEditorTaskExecutor extends EditorThread implements
     protected final Array<Runnable> execute;
 
     /**
-     * The array of executed task of the iteration.
+     * The queue of tasks to execute.
      */
     @NotNull
-    final Array<Runnable> executed;
+    private final ConcurrentLinkedQueue<Runnable> waitTasks;
 
     /**
-     * The array of task to execute.
+     * Is this executor waiting new tasks.
      */
     @NotNull
-    final Array<Runnable> waitTasks;
+    private final AtomicBoolean wait;
 
     /**
-     * Is this executor waiting new tasks.
+     * The statistics of this executor.
      */
     @NotNull
-    final AtomicBoolean wait;
+    private final ExecutorStatistics statistics;
 
     /**
-     * The synchronizer.
+     * True if this executor is shut down.
      */
-    @NotNull
-    private final Lock lock;
+    private volatile boolean shutdown;
 
-    public AbstractEditorTaskExecutor() {
-        this.execute = createExecuteArray();
-        this.executed = createExecuteArray();
-        this.waitTasks = createExecuteArray();
-        this.lock = LockFactory.newAtomicLock();
+    public AbstractEditorTaskExecutor(@NotNull ExecutorStatistics statistics) {
+        this.execute = ArrayFactory.newArray(Runnable.class);
+        this.waitTasks = new ConcurrentLinkedQueue<>();
         this.wait = new AtomicBoolean(false);
+        this.statistics = statistics;
     }
 
     /**
-     * Create a new execute tasks array.
+     * Get the statistics of this executor.
      *
-     * @return the new execute tasks array.
+     * @return the statistics of this executor.
      */
     @FromAnyThread
-    private @NotNull Array<Runnable> createExecuteArray() {
-        return ArrayFactory.newArray(Runnable.class);
+    public @NotNull ExecutorStatistics getStatistics() {
+        return statistics;
     }
 
     @Override
     @FromAnyThread
-    public void execute(@NotNull final Runnable task) {
-        lock();
-        try {
-            waitTasks.add(task);
-            if (!wait.get()) {
-                return;
-            }
-
-            synchronized (wait) {
-                if (wait.compareAndSet(true, false)) {
-                    ConcurrentUtils.notifyAllInSynchronize(wait);
-                }
-            }
-
-        } finally {
-            unlock();
-        }
-
-        if (!wait.get()) {
-            return;
+    public void execute(@NotNull Runnable task) {
+        waitTasks.offer(statistics.track(task));
+        if (wait.get() && wait.compareAndSet(true, false)) {
+            LockSupport.unpark(this);
         }
+    }
 
-        synchronized (wait) {
-            if (wait.compareAndSet(true, false)) {
-                ConcurrentUtils.notifyAllInSynchronize(wait);
-            }
-        }
+    /**
+     * Stop the thread of this executor after finishing the current iteration, not started tasks are dropped.
+     */
+    @FromAnyThread
+    public void shutdown() {
+        shutdown = true;
+        LockSupport.unpark(this);
     }
 
     /**
      * Execute the array of tasks.
      *
-     * @param execute  the execute
-     * @param executed the executed
+     * @param execute the tasks to execute.
+     */
+    protected abstract void doExecute(@NotNull Array<Runnable> execute);
+
+    /**
+     * Execute the prepared array of tasks of the current iteration.
+     */
+    protected void executeTasks() {
+        doExecute(execute);
+    }
+
+    /**
+     * Move all waited tasks to the array of tasks to execute.
      */
-    protected abstract void doExecute(@NotNull final Array<Runnable> execute, @NotNull final Array<Runnable> executed);
+    private void drainWaitTasks() {
+        for (var task = waitTasks.poll(); task != null; task = waitTasks.poll()) {
+            execute.add(task);
+        }
+    }
 
     @Override
     public void run() {
-        while (true) {
+        while (!shutdown) {
 
-            executed.clear();
             execute.clear();
+            drainWaitTasks();
 
-            lock();
-            try {
-
-                if (waitTasks.isEmpty()) {
-                    wait.getAndSet(true);
-                } else {
-                    execute.addAll(waitTasks);
-                }
+            if (execute.isEmpty()) {
 
-            } finally {
-                unlock();
-            }
+                wait.set(true);
 
-            if (wait.get()) {
-                synchronized (wait) {
-                    if (wait.get()) {
-                        ConcurrentUtils.waitInSynchronize(wait);
-                    }
+                // re-check after publishing the waiting state to not lose a wake up
+                if (!waitTasks.isEmpty()) {
+                    wait.set(false);
+                    continue;
                 }
-            }
 
-            if (execute.isEmpty()) {
+                LockSupport.park(this);
+                wait.set(false);
                 continue;
             }
 
-            doExecute(execute, executed);
-
-            if (executed.isEmpty()) {
-                continue;
-            }
-
-            lock();
-            try {
-                waitTasks.removeAll(executed);
-            } finally {
-                unlock();
-            }
+            executeTasks();
         }
     }
-
-    @Override
-    public void lock() {
-        lock.lock();
-    }
-
-    @Override
-    public void unlock() {
-        lock.unlock();
-    }
 }
@@ -1,50 +1,250 @@
 package com.ss.editor.executor.impl;
 
-import static java.lang.Math.min;
-import com.ss.rlib.common.util.array.Array;
+import com.ss.editor.annotation.BackgroundThread;
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.executor.EditorTaskExecutor;
+import com.ss.editor.executor.TaskPriority;
+import com.ss.editor.executor.statistics.ExecutorStatistics;
+import com.ss.editor.util.EditorUtil;
+import com.ss.rlib.common.logging.Logger;
+import com.ss.rlib.common.logging.LoggerManager;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * The implementation of the {@link JmeThreadExecutor} for executing task in the background.
+ * The work-stealing implementation of the {@link EditorTaskExecutor} for executing tasks in the background.
+ * <p>
+ * Each worker has own deques of tasks, an idle worker steals tasks from deques of other workers, so a long task
+ * doesn't block the tasks which were submitted after it. Tasks with higher priority are taken first.
  *
  * @author JavaSaBr
  */
-public class BackgroundEditorTaskExecutor extends AbstractEditorTaskExecutor {
+public class BackgroundEditorTaskExecutor implements EditorTaskExecutor {
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(BackgroundEditorTaskExecutor.class);
+
+    /**
+     * The max count of not finished tasks in this executor.
+     */
+    private static final int PROP_MAX_IN_FLIGHT_TASKS = 4096;
+
+    /**
+     * The workers of this executor.
+     */
+    @NotNull
+    private final BackgroundTaskWorker[] workers;
+
+    /**
+     * The permits of not finished tasks.
+     */
+    @NotNull
+    private final Semaphore inFlight;
 
     /**
-     * The runtime of this process.
+     * The index of a next worker to submit an external task.
      */
-    private static final Runtime RUNTIME = Runtime.getRuntime();
+    @NotNull
+    private final AtomicInteger nextWorker;
 
     /**
-     * The max count of task to execute using the same time.
+     * The statistics of this executor.
      */
-    private static final int PROP_MAXIMUM_UPDATE = 500 / RUNTIME.availableProcessors();
+    @NotNull
+    private final ExecutorStatistics statistics;
 
     /**
-     * The max count of task to execute in the one iteration.
+     * True if this executor is shut down.
      */
-    private static final int PROP_EXECUTE_LIMIT = 5;
-    
-    public BackgroundEditorTaskExecutor(final int order) {
-        setName(BackgroundEditorTaskExecutor.class.getSimpleName() + "_" + order);
-        setPriority(NORM_PRIORITY - 2);
-        start();
+    private volatile boolean shutdown;
+
+    public BackgroundEditorTaskExecutor(int workerCount) {
+        this.workers = new BackgroundTaskWorker[workerCount];
+        this.inFlight = new Semaphore(PROP_MAX_IN_FLIGHT_TASKS);
+        this.nextWorker = new AtomicInteger(0);
+        this.statistics = new ExecutorStatistics("Background", 5, TimeUnit.SECONDS);
+
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new BackgroundTaskWorker(this, i);
+        }
+
+        for (var worker : workers) {
+            worker.start();
+        }
     }
 
     @Override
-    protected void doExecute(@NotNull final Array<Runnable> execute, @NotNull final Array<Runnable> executed) {
+    @FromAnyThread
+    public void execute(@NotNull Runnable task) {
+        execute(task, TaskPriority.NORMAL);
+    }
+
+    @Override
+    @FromAnyThread
+    public void execute(@NotNull Runnable task, @NotNull TaskPriority priority) {
+
+        task = statistics.track(task);
+
+        var current = getCurrentWorker();
+
+        if (!inFlight.tryAcquire()) {
+
+            // a worker can't wait for free permits because only workers release them
+            if (current != null) {
+                runTask(task);
+                return;
+            }
+
+            LOGGER.warning(this, "the limit of background tasks is reached, waiting for free slots...");
+            inFlight.acquireUninterruptibly();
+        }
+
+        var target = current != null ? current : workers[nextWorkerIndex()];
+        target.push(task, priority);
+
+        signalWorker(target);
+    }
+
+    /**
+     * Get the statistics of this executor.
+     *
+     * @return the statistics of this executor.
+     */
+    @FromAnyThread
+    public @NotNull ExecutorStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Stop workers of this executor after finishing their current tasks, not started tasks are dropped.
+     */
+    @FromAnyThread
+    public void shutdown() {
+
+        shutdown = true;
+
+        for (var worker : workers) {
+            worker.wakeUp();
+        }
+    }
+
+    /**
+     * Return true if this executor is shut down.
+     *
+     * @return true if this executor is shut down.
+     */
+    @FromAnyThread
+    boolean isShutdown() {
+        return shutdown;
+    }
 
-        final Runnable[] array = execute.array();
+    /**
+     * Get the index of a next worker to submit an external task.
+     *
+     * @return the index of a next worker.
+     */
+    @FromAnyThread
+    private int nextWorkerIndex() {
+        return Math.floorMod(nextWorker.getAndIncrement(), workers.length);
+    }
 
-        for (int i = 0, length = min(execute.size(), PROP_MAXIMUM_UPDATE); i < length; ) {
-            for (int count = 0; count < PROP_EXECUTE_LIMIT && i < length; count++, i++) {
+    /**
+     * Get the worker of this executor which is the current thread.
+     *
+     * @return the current worker or null.
+     */
+    @FromAnyThread
+    private @Nullable BackgroundTaskWorker getCurrentWorker() {
 
-                final Runnable task = array[i];
-                task.run();
+        var thread = Thread.currentThread();
 
-                executed.add(task);
+        if (thread instanceof BackgroundTaskWorker) {
+            var worker = (BackgroundTaskWorker) thread;
+            if (worker.getOwner() == this) {
+                return worker;
             }
         }
+
+        return null;
+    }
+
+    /**
+     * Wake up the target worker or any other idle worker to process a new task.
+     *
+     * @param target the worker which got a new task.
+     */
+    @FromAnyThread
+    private void signalWorker(@NotNull BackgroundTaskWorker target) {
+
+        if (target.wakeUp()) {
+            return;
+        }
+
+        for (var worker : workers) {
+            if (worker != target && worker.wakeUp()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Try to find a task for the worker: from its deque at first and then from deques of other workers.
+     *
+     * @param worker the worker.
+     * @return the found task or null.
+     */
+    @BackgroundThread
+    @Nullable Runnable findTask(@NotNull BackgroundTaskWorker worker) {
+
+        var length = workers.length;
+        var start = worker.getIndex() + 1;
+
+        for (var priority : TaskPriority.VALUES) {
+
+            var task = worker.pollOwn(priority);
+
+            if (task != null) {
+                return task;
+            }
+
+            for (int i = 0; i < length - 1; i++) {
+
+                var victim = workers[(start + i) % length];
+                task = victim.steal(priority);
+
+                if (task != null) {
+                    return task;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Run the task and release its permit.
+     *
+     * @param task the task.
+     */
+    @BackgroundThread
+    void runTaskAndRelease(@NotNull Runnable task) {
+        try {
+            runTask(task);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    @BackgroundThread
+    private void runTask(@NotNull Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            EditorUtil.handleException(LOGGER, this, e);
+        }
     }
 }
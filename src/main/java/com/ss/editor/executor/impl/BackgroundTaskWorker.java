@@ -0,0 +1,166 @@
+package com.ss.editor.executor.impl;
+
+import com.ss.editor.EditorThread;
+import com.ss.editor.annotation.BackgroundThread;
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.executor.TaskPriority;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The worker thread of the {@link BackgroundEditorTaskExecutor}.
+ *
+ * @author JavaSaBr
+ */
+class BackgroundTaskWorker extends EditorThread {
+
+    /**
+     * The max time to sleep without any signal.
+     */
+    private static final long IDLE_TIMEOUT = TimeUnit.MILLISECONDS.toNanos(500);
+
+    /**
+     * The owner executor.
+     */
+    @NotNull
+    private final BackgroundEditorTaskExecutor owner;
+
+    /**
+     * The deques of tasks of this worker by priorities.
+     */
+    @NotNull
+    private final ConcurrentLinkedDeque<Runnable>[] tasks;
+
+    /**
+     * True if this worker is sleeping or is going to sleep.
+     */
+    @NotNull
+    private final AtomicBoolean parked;
+
+    /**
+     * The index of this worker.
+     */
+    private final int index;
+
+    BackgroundTaskWorker(@NotNull BackgroundEditorTaskExecutor owner, int index) {
+        this.owner = owner;
+        this.index = index;
+        this.tasks = createDeques();
+        this.parked = new AtomicBoolean(false);
+        setName(BackgroundEditorTaskExecutor.class.getSimpleName() + "_" + (index + 1));
+        setPriority(NORM_PRIORITY - 2);
+        setDaemon(true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @NotNull ConcurrentLinkedDeque<Runnable>[] createDeques() {
+
+        var deques = new ConcurrentLinkedDeque[TaskPriority.VALUES.length];
+
+        for (int i = 0; i < deques.length; i++) {
+            deques[i] = new ConcurrentLinkedDeque<Runnable>();
+        }
+
+        return deques;
+    }
+
+    /**
+     * Get the owner executor.
+     *
+     * @return the owner executor.
+     */
+    @FromAnyThread
+    @NotNull BackgroundEditorTaskExecutor getOwner() {
+        return owner;
+    }
+
+    /**
+     * Get the index of this worker.
+     *
+     * @return the index of this worker.
+     */
+    @FromAnyThread
+    int getIndex() {
+        return index;
+    }
+
+    /**
+     * Add the task to the end of the deque of this worker.
+     *
+     * @param task     the task.
+     * @param priority the priority of the task.
+     */
+    @FromAnyThread
+    void push(@NotNull Runnable task, @NotNull TaskPriority priority) {
+        tasks[priority.ordinal()].offerLast(task);
+    }
+
+    /**
+     * Take the oldest task with the priority from the deque of this worker.
+     *
+     * @param priority the priority.
+     * @return the task or null.
+     */
+    @BackgroundThread
+    @Nullable Runnable pollOwn(@NotNull TaskPriority priority) {
+        return tasks[priority.ordinal()].pollFirst();
+    }
+
+    /**
+     * Steal the newest task with the priority from the deque of this worker.
+     *
+     * @param priority the priority.
+     * @return the task or null.
+     */
+    @BackgroundThread
+    @Nullable Runnable steal(@NotNull TaskPriority priority) {
+        return tasks[priority.ordinal()].pollLast();
+    }
+
+    /**
+     * Wake up this worker if it's sleeping.
+     *
+     * @return true if this worker was sleeping.
+     */
+    @FromAnyThread
+    boolean wakeUp() {
+
+        if (!parked.compareAndSet(true, false)) {
+            return false;
+        }
+
+        LockSupport.unpark(this);
+        return true;
+    }
+
+    @Override
+    public void run() {
+        while (!owner.isShutdown()) {
+
+            var task = owner.findTask(this);
+
+            if (task == null) {
+
+                parked.set(true);
+
+                // re-check after publishing the parked state to not lose a signal
+                task = owner.findTask(this);
+
+                if (task == null) {
+                    LockSupport.parkNanos(this, IDLE_TIMEOUT);
+                    parked.set(false);
+                    continue;
+                }
+
+                parked.set(false);
+            }
+
+            owner.runTaskAndRelease(task);
+        }
+    }
+}
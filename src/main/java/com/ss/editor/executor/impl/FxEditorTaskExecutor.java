@@ -2,12 +2,16 @@ package com.ss.editor.executor.impl;
 
 import com.ss.editor.annotation.FromAnyThread;
 import com.ss.editor.annotation.FxThread;
+import com.ss.editor.executor.statistics.ExecutorStatistics;
 import com.ss.editor.util.EditorUtil;
 import com.ss.rlib.common.concurrent.util.ConcurrentUtils;
 import com.ss.rlib.common.util.array.Array;
 import javafx.application.Platform;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 /**
  * The executor to execute tasks in the FX UI Thread.
  *
@@ -17,13 +21,64 @@ public class FxEditorTaskExecutor extends AbstractEditorTaskExecutor {
 
     private static final int EXECUTE_LIMIT = 300;
 
+    /**
+     * The entry of a coalesced task in the queue of tasks, the entry is skipped if a newer task with the same key
+     * was added after it.
+     */
+    private static class CoalescedTask implements Runnable {
+
+        /**
+         * The table of the latest coalesced tasks by their keys.
+         */
+        @NotNull
+        private final ConcurrentHashMap<Object, CoalescedTask> coalescedTasks;
+
+        /**
+         * The key of the task.
+         */
+        @NotNull
+        private final Object key;
+
+        /**
+         * The task.
+         */
+        @NotNull
+        private final Runnable task;
+
+        private CoalescedTask(
+                @NotNull ConcurrentHashMap<Object, CoalescedTask> coalescedTasks,
+                @NotNull Object key,
+                @NotNull Runnable task
+        ) {
+            this.coalescedTasks = coalescedTasks;
+            this.key = key;
+            this.task = task;
+        }
+
+        @Override
+        @FxThread
+        public void run() {
+            if (coalescedTasks.remove(key, this)) {
+                task.run();
+            }
+        }
+    }
+
     /**
      * The task for executing editor tasks in the FX UI Thread.
      */
     @NotNull
-    private final Runnable fxTask = () -> doExecute(execute, executed);
+    private final Runnable fxTask = () -> doExecute(execute);
+
+    /**
+     * The table of the latest pending coalesced tasks by their keys.
+     */
+    @NotNull
+    private final ConcurrentHashMap<Object, CoalescedTask> coalescedTasks;
 
     public FxEditorTaskExecutor() {
+        super(new ExecutorStatistics("FX", 100, TimeUnit.MILLISECONDS));
+        this.coalescedTasks = new ConcurrentHashMap<>();
         setName(FxEditorTaskExecutor.class.getSimpleName());
         setPriority(NORM_PRIORITY);
         try {
@@ -35,7 +90,7 @@ public class FxEditorTaskExecutor extends AbstractEditorTaskExecutor {
 
     @Override
     @FxThread
-    protected void doExecute(@NotNull Array<Runnable> execute, @NotNull Array<Runnable> executed) {
+    protected void doExecute(@NotNull Array<Runnable> execute) {
 
         var array = execute.array();
 
@@ -50,8 +105,6 @@ public class FxEditorTaskExecutor extends AbstractEditorTaskExecutor {
                     } catch (Exception e) {
                         EditorUtil.handleException(LOGGER, this, e);
                     }
-
-                    executed.add(task);
                 }
 
             } catch (Exception e) {
@@ -63,50 +116,22 @@ public class FxEditorTaskExecutor extends AbstractEditorTaskExecutor {
     }
 
     @Override
-    public void run() {
-        while (true) {
-
-            executed.clear();
-            execute.clear();
-
-            lock();
-            try {
-
-                if (waitTasks.isEmpty()) {
-                    wait.getAndSet(true);
-                } else {
-                    execute.addAll(waitTasks);
-                }
-
-            } finally {
-                unlock();
-            }
-
-            if (wait.get()) {
-                synchronized (wait) {
-                    if (wait.get()) {
-                        ConcurrentUtils.waitInSynchronize(wait);
-                    }
-                }
-            }
-
-            if (execute.isEmpty()) {
-                continue;
-            }
-
-            executeInFxUiThread();
-
-            if (executed.isEmpty()) {
-                continue;
-            }
+    protected void executeTasks() {
+        executeInFxUiThread();
+    }
 
-            lock();
-            try {
-                waitTasks.removeAll(executed);
-            } finally {
-                unlock();
-            }
-        }
+    /**
+     * Add the new task which replaces a pending task with the same key. The task is executed in the order with
+     * other tasks of this executor at the position of its adding, the replaced task is skipped.
+     *
+     * @param key  the key of the task.
+     * @param task the new task.
+     */
+    @FromAnyThread
+    public void executeCoalesced(@NotNull Object key, @NotNull Runnable task) {
+        var coalescedTask = new CoalescedTask(coalescedTasks, key, task);
+        coalescedTasks.put(key, coalescedTask);
+        execute(coalescedTask);
     }
 
     @FromAnyThread
@@ -2,19 +2,24 @@ package com.ss.editor.executor.impl;
 
 import com.ss.editor.annotation.JmeThread;
 import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.executor.statistics.ExecutorStatistics;
 import com.ss.editor.util.EditorUtil;
 
 import org.jetbrains.annotations.NotNull;
 
 import com.ss.rlib.common.logging.Logger;
 import com.ss.rlib.common.logging.LoggerManager;
-import com.ss.rlib.common.util.ArrayUtils;
-import com.ss.rlib.common.util.array.Array;
-import com.ss.rlib.common.util.array.ArrayFactory;
-import com.ss.rlib.common.util.array.ConcurrentArray;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The executor to execute tasks in the editor thread.
+ * <p>
+ * Tasks are executed in the order of adding, not urgent tasks are executed in the limit of the frame budget and
+ * the rest of them are moved to the next frames. Urgent tasks are exempt from the frame budget, so an urgent task
+ * and all tasks which were added before it are executed in the nearest frame.
  *
  * @author JavaSaBr
  */
@@ -32,30 +37,139 @@ public class JmeThreadExecutor {
     }
 
     /**
-     * The list of waited tasks.
+     * The urgent task which is exempt from the frame budget.
+     */
+    private static class UrgentTask implements Runnable {
+
+        /**
+         * The task.
+         */
+        @NotNull
+        private final Runnable task;
+
+        private UrgentTask(@NotNull Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+
+    /**
+     * The queue of waited tasks.
      */
     @NotNull
-    private final ConcurrentArray<Runnable> waitTasks;
+    private final ConcurrentLinkedQueue<Runnable> waitTasks;
+
+    /**
+     * The queue of tasks which are waiting for a frame with free budget.
+     */
+    @NotNull
+    private final ArrayDeque<Runnable> deferredTasks;
+
+    /**
+     * The count of urgent tasks in the queue of deferred tasks.
+     */
+    private int deferredUrgentTasks;
+
+    /**
+     * The max time in nanos to execute not urgent tasks in one frame, 0 means without limit.
+     */
+    private volatile long frameBudget;
+
+    /**
+     * The count of frames which didn't have enough budget to execute all tasks.
+     */
+    private volatile long overrunFrames;
+
+    /**
+     * The count of tasks which were moved from the last frame to the next frames.
+     */
+    private volatile int lastFrameDeferred;
 
     /**
-     * The list with tasks to execute.
+     * The statistics of this executor.
      */
     @NotNull
-    private final Array<Runnable> execute;
+    private final ExecutorStatistics statistics;
 
     private JmeThreadExecutor() {
-        this.waitTasks = ArrayFactory.newConcurrentAtomicARSWLockArray(Runnable.class);
-        this.execute = ArrayFactory.newArray(Runnable.class);
+        this.statistics = new ExecutorStatistics("jME", 50, TimeUnit.MILLISECONDS);
+        this.waitTasks = new ConcurrentLinkedQueue<>();
+        this.deferredTasks = new ArrayDeque<>();
     }
 
     /**
-     * Add a task to execute.
+     * Add a task to execute, the task can be moved to the next frames if the current frame is out of the budget.
      *
      * @param task the task.
      */
     @FromAnyThread
     public void addToExecute(@NotNull final Runnable task) {
-        ArrayUtils.runInWriteLock(waitTasks, task, (tasks, toAdd) -> tasks.add(task));
+        waitTasks.offer(statistics.track(task));
+    }
+
+    /**
+     * Add a task to execute in the nearest frame regardless of the frame budget, tasks which were added before are
+     * executed before it.
+     *
+     * @param task the task.
+     */
+    @FromAnyThread
+    public void addUrgentToExecute(@NotNull final Runnable task) {
+        waitTasks.offer(new UrgentTask(statistics.track(task)));
+    }
+
+    /**
+     * Set the max time to execute not urgent tasks in one frame.
+     *
+     * @param budget the budget in milliseconds, 0 means without limit.
+     */
+    @FromAnyThread
+    public void setFrameBudget(final int budget) {
+        this.frameBudget = TimeUnit.MILLISECONDS.toNanos(Math.max(budget, 0));
+    }
+
+    /**
+     * Get the max time to execute not urgent tasks in one frame.
+     *
+     * @return the budget in nanos, 0 means without limit.
+     */
+    @FromAnyThread
+    public long getFrameBudget() {
+        return frameBudget;
+    }
+
+    /**
+     * Get the statistics of this executor.
+     *
+     * @return the statistics of this executor.
+     */
+    @FromAnyThread
+    public @NotNull ExecutorStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Get the count of frames which didn't have enough budget to execute all tasks.
+     *
+     * @return the count of overrun frames.
+     */
+    @FromAnyThread
+    public long getOverrunFrames() {
+        return overrunFrames;
+    }
+
+    /**
+     * Get the count of tasks which were moved from the last frame to the next frames.
+     *
+     * @return the count of deferred tasks.
+     */
+    @FromAnyThread
+    public int getLastFrameDeferred() {
+        return lastFrameDeferred;
     }
 
     /**
@@ -64,15 +178,41 @@ public class JmeThreadExecutor {
     @JmeThread
     public void execute() {
 
-        if (waitTasks.isEmpty()) {
+        // tasks which are added by executed tasks will be executed in the next frame
+        for (var task = waitTasks.poll(); task != null; task = waitTasks.poll()) {
+
+            if (task instanceof UrgentTask) {
+                deferredUrgentTasks++;
+            }
+
+            deferredTasks.add(task);
+        }
+
+        if (deferredTasks.isEmpty()) {
+            lastFrameDeferred = 0;
             return;
         }
 
-        ArrayUtils.runInWriteLock(waitTasks, execute, ArrayUtils::move);
-        try {
-            execute.forEach(JmeThreadExecutor::execute);
-        } finally {
-            execute.clear();
+        var budget = frameBudget;
+        var deadline = System.nanoTime() + budget;
+
+        do {
+
+            var task = deferredTasks.poll();
+
+            if (task instanceof UrgentTask) {
+                deferredUrgentTasks--;
+            }
+
+            execute(task);
+
+        } while (!deferredTasks.isEmpty() &&
+                (deferredUrgentTasks > 0 || budget == 0 || System.nanoTime() < deadline));
+
+        lastFrameDeferred = deferredTasks.size();
+
+        if (lastFrameDeferred > 0) {
+            overrunFrames++;
         }
     }
 
@@ -0,0 +1,546 @@
+package com.ss.editor.executor.statistics;
+
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.executor.EditorFutureTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The statistics of an executor: the depth of its queue, histograms of waiting/running time of tasks, counters by
+ * classes of tasks and the list of caught long-running tasks.
+ *
+ * @author JavaSaBr
+ */
+public class ExecutorStatistics {
+
+    /**
+     * The upper bounds of buckets of histograms in micros, the last bucket is unbounded.
+     */
+    @NotNull
+    private static final long[] HISTOGRAM_BOUNDS = {
+            100, 1_000, 4_000, 16_000, 50_000, 100_000, 500_000, 1_000_000, 5_000_000
+    };
+
+    /**
+     * The max count of stored long-running tasks.
+     */
+    private static final int MAX_LONG_RUNNING_TASKS = 100;
+
+    /**
+     * The name of the executor.
+     */
+    @NotNull
+    private final String name;
+
+    /**
+     * The histogram of time which tasks spent in the queue.
+     */
+    @NotNull
+    private final LongAdder[] waitHistogram;
+
+    /**
+     * The histogram of time of execution of tasks.
+     */
+    @NotNull
+    private final LongAdder[] runHistogram;
+
+    /**
+     * The statistics by classes of tasks.
+     */
+    @NotNull
+    private final ConcurrentHashMap<String, TaskClassStatistics> taskClasses;
+
+    /**
+     * The currently executed tasks by threads.
+     */
+    @NotNull
+    private final ConcurrentHashMap<Thread, TrackedTask> runningTasks;
+
+    /**
+     * The last caught long-running tasks.
+     */
+    @NotNull
+    private final ConcurrentLinkedDeque<LongRunningTask> longRunningTasks;
+
+    /**
+     * The count of tasks in the queue.
+     */
+    @NotNull
+    private final AtomicInteger queueDepth;
+
+    /**
+     * The count of finished tasks.
+     */
+    @NotNull
+    private final LongAdder completed;
+
+    /**
+     * The count of failed tasks.
+     */
+    @NotNull
+    private final LongAdder failed;
+
+    /**
+     * The count of tasks which were cancelled before execution.
+     */
+    @NotNull
+    private final LongAdder cancelled;
+
+    /**
+     * The total time which tasks spent in the queue in nanos.
+     */
+    @NotNull
+    private final LongAdder totalWaitTime;
+
+    /**
+     * The total time of execution of tasks in nanos.
+     */
+    @NotNull
+    private final LongAdder totalRunTime;
+
+    /**
+     * The count of caught long-running tasks.
+     */
+    @NotNull
+    private final LongAdder longRunningCount;
+
+    /**
+     * The time of execution in nanos after which a task is considered as long-running.
+     */
+    private final long longTaskThreshold;
+
+    /**
+     * True if statistics are collected.
+     */
+    private volatile boolean enabled;
+
+    public ExecutorStatistics(@NotNull String name, long longTaskThreshold, @NotNull TimeUnit unit) {
+        this.name = name;
+        this.longTaskThreshold = unit.toNanos(longTaskThreshold);
+        this.waitHistogram = createHistogram();
+        this.runHistogram = createHistogram();
+        this.taskClasses = new ConcurrentHashMap<>();
+        this.runningTasks = new ConcurrentHashMap<>();
+        this.longRunningTasks = new ConcurrentLinkedDeque<>();
+        this.queueDepth = new AtomicInteger();
+        this.completed = new LongAdder();
+        this.failed = new LongAdder();
+        this.cancelled = new LongAdder();
+        this.totalWaitTime = new LongAdder();
+        this.totalRunTime = new LongAdder();
+        this.longRunningCount = new LongAdder();
+    }
+
+    private static @NotNull LongAdder[] createHistogram() {
+
+        var histogram = new LongAdder[HISTOGRAM_BOUNDS.length + 1];
+
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = new LongAdder();
+        }
+
+        return histogram;
+    }
+
+    /**
+     * Register the time in the histogram.
+     *
+     * @param histogram the histogram.
+     * @param time      the time in nanos.
+     */
+    private static void register(@NotNull LongAdder[] histogram, long time) {
+
+        var micros = TimeUnit.NANOSECONDS.toMicros(time);
+        var index = 0;
+
+        while (index < HISTOGRAM_BOUNDS.length && micros > HISTOGRAM_BOUNDS[index]) {
+            index++;
+        }
+
+        histogram[index].increment();
+    }
+
+    /**
+     * Get the name of a class of the task, lambdas are grouped by the declaring class.
+     *
+     * @param task the task.
+     * @return the name of the class.
+     */
+    @FromAnyThread
+    private static @NotNull String getTaskClass(@NotNull Runnable task) {
+
+        Object source = task;
+
+        if (task instanceof EditorFutureTask) {
+            source = ((EditorFutureTask) task).getTask();
+        }
+
+        var className = source.getClass().getName();
+        var lambdaIndex = className.indexOf("$$Lambda");
+
+        if (lambdaIndex > 0) {
+            className = className.substring(0, lambdaIndex);
+        }
+
+        return className;
+    }
+
+    /**
+     * Enable or disable collecting statistics, tasks aren't wrapped while it's disabled.
+     *
+     * @param enabled true to collect statistics.
+     */
+    @FromAnyThread
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Return true if statistics are collected.
+     *
+     * @return true if statistics are collected.
+     */
+    @FromAnyThread
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Wrap the submitted task to collect statistics about it if collecting is enabled.
+     *
+     * @param task the task.
+     * @return the wrapped task or the same task if collecting is disabled.
+     */
+    @FromAnyThread
+    public @NotNull Runnable track(@NotNull Runnable task) {
+
+        if (!enabled) {
+            return task;
+        }
+
+        queueDepth.incrementAndGet();
+        return new TrackedTask(this, task, getTaskClass(task));
+    }
+
+    /**
+     * Handle starting the task.
+     *
+     * @param task the task.
+     */
+    @FromAnyThread
+    void onStart(@NotNull TrackedTask task) {
+
+        var waitTime = task.getStartTime() - task.getSubmitTime();
+
+        queueDepth.decrementAndGet();
+        totalWaitTime.add(waitTime);
+        register(waitHistogram, waitTime);
+
+        runningTasks.put(Thread.currentThread(), task);
+    }
+
+    /**
+     * Handle skipping the task which was cancelled before execution.
+     *
+     * @param task the task.
+     */
+    @FromAnyThread
+    void onCancel(@NotNull TrackedTask task) {
+        queueDepth.decrementAndGet();
+        cancelled.increment();
+    }
+
+    /**
+     * Handle finishing the task.
+     *
+     * @param task    the task.
+     * @param runTime the time of execution in nanos.
+     * @param failed  true if the task was finished with an exception.
+     */
+    @FromAnyThread
+    void onFinish(@NotNull TrackedTask task, long runTime, boolean failed) {
+
+        runningTasks.remove(Thread.currentThread(), task);
+
+        if (failed) {
+            this.failed.increment();
+        } else {
+            completed.increment();
+        }
+
+        totalRunTime.add(runTime);
+        register(runHistogram, runTime);
+
+        taskClasses.computeIfAbsent(task.getTaskClass(), TaskClassStatistics::new)
+                .register(runTime);
+    }
+
+    /**
+     * Check currently executed tasks and capture stacks of threads which execute tasks longer than the threshold.
+     */
+    @FromAnyThread
+    public void checkLongRunningTasks() {
+
+        var currentTime = System.nanoTime();
+
+        runningTasks.forEach((thread, task) -> {
+
+            var runTime = currentTime - task.getStartTime();
+
+            if (task.isReported() || runTime < longTaskThreshold) {
+                return;
+            }
+
+            task.setReported();
+
+            var stackTrace = thread.getStackTrace();
+
+            // the task could be finished while we were capturing the stack
+            if (runningTasks.get(thread) != task) {
+                return;
+            }
+
+            longRunningCount.increment();
+            longRunningTasks.addFirst(new LongRunningTask(task.getTaskClass(), thread.getName(), stackTrace, runTime));
+
+            while (longRunningTasks.size() > MAX_LONG_RUNNING_TASKS) {
+                longRunningTasks.pollLast();
+            }
+        });
+    }
+
+    /**
+     * Get the name of the executor.
+     *
+     * @return the name of the executor.
+     */
+    @FromAnyThread
+    public @NotNull String getName() {
+        return name;
+    }
+
+    /**
+     * Get the count of tasks in the queue.
+     *
+     * @return the count of tasks in the queue.
+     */
+    @FromAnyThread
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Get the count of finished tasks.
+     *
+     * @return the count of finished tasks.
+     */
+    @FromAnyThread
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /**
+     * Get the count of failed tasks.
+     *
+     * @return the count of failed tasks.
+     */
+    @FromAnyThread
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * Get the count of tasks which were cancelled before execution.
+     *
+     * @return the count of cancelled tasks.
+     */
+    @FromAnyThread
+    public long getCancelled() {
+        return cancelled.sum();
+    }
+
+    /**
+     * Get the count of caught long-running tasks.
+     *
+     * @return the count of caught long-running tasks.
+     */
+    @FromAnyThread
+    public long getLongRunningCount() {
+        return longRunningCount.sum();
+    }
+
+    /**
+     * Get the average time which tasks spent in the queue.
+     *
+     * @return the average time in nanos.
+     */
+    @FromAnyThread
+    public long getAverageWaitTime() {
+        var count = getCompleted() + getFailed();
+        return count == 0 ? 0 : totalWaitTime.sum() / count;
+    }
+
+    /**
+     * Get the average time of execution of tasks.
+     *
+     * @return the average time in nanos.
+     */
+    @FromAnyThread
+    public long getAverageRunTime() {
+        var count = getCompleted() + getFailed();
+        return count == 0 ? 0 : totalRunTime.sum() / count;
+    }
+
+    /**
+     * Get the histogram of time which tasks spent in the queue.
+     *
+     * @return the counts of tasks by buckets.
+     * @see #getHistogramBounds()
+     */
+    @FromAnyThread
+    public @NotNull long[] getWaitHistogram() {
+        return toCounts(waitHistogram);
+    }
+
+    /**
+     * Get the histogram of time of execution of tasks.
+     *
+     * @return the counts of tasks by buckets.
+     * @see #getHistogramBounds()
+     */
+    @FromAnyThread
+    public @NotNull long[] getRunHistogram() {
+        return toCounts(runHistogram);
+    }
+
+    private static @NotNull long[] toCounts(@NotNull LongAdder[] histogram) {
+
+        var counts = new long[histogram.length];
+
+        for (int i = 0; i < histogram.length; i++) {
+            counts[i] = histogram[i].sum();
+        }
+
+        return counts;
+    }
+
+    /**
+     * Get the upper bounds of buckets of histograms, the last bucket doesn't have a bound.
+     *
+     * @return the upper bounds in micros.
+     */
+    @FromAnyThread
+    public static @NotNull long[] getHistogramBounds() {
+        return HISTOGRAM_BOUNDS.clone();
+    }
+
+    /**
+     * Get the statistics by classes of tasks.
+     *
+     * @return the statistics by classes of tasks.
+     */
+    @FromAnyThread
+    public @NotNull Collection<TaskClassStatistics> getTaskClasses() {
+        return taskClasses.values();
+    }
+
+    /**
+     * Get the last caught long-running tasks.
+     *
+     * @return the list of the last long-running tasks.
+     */
+    @FromAnyThread
+    public @NotNull List<LongRunningTask> getLongRunningTasks() {
+        return new ArrayList<>(longRunningTasks);
+    }
+
+    /**
+     * Write this statistics as CSV rows with the columns: executor, type, name, count, total_ms, max_ms, details.
+     *
+     * @param out the writer.
+     */
+    @FromAnyThread
+    public void writeCsv(@NotNull PrintWriter out) {
+
+        writeRow(out, "queue_depth", "", getQueueDepth(), 0, 0, "");
+        writeRow(out, "completed", "", getCompleted(), 0, 0, "");
+        writeRow(out, "failed", "", getFailed(), 0, 0, "");
+        writeRow(out, "cancelled", "", getCancelled(), 0, 0, "");
+        writeRow(out, "long_running", "", getLongRunningCount(), 0, 0, "");
+
+        writeHistogram(out, "wait_histogram", getWaitHistogram());
+        writeHistogram(out, "run_histogram", getRunHistogram());
+
+        for (var statistics : getTaskClasses()) {
+            writeRow(out, "task_class", statistics.getName(), statistics.getCount(),
+                    statistics.getTotalTime(), statistics.getMaxTime(), "");
+        }
+
+        for (var task : getLongRunningTasks()) {
+
+            var stack = new StringBuilder();
+
+            for (var element : task.getStackTrace()) {
+                if (stack.length() > 0) {
+                    stack.append(" <- ");
+                }
+                stack.append(element);
+            }
+
+            writeRow(out, "long_running_task", task.getTaskClass(), 1, task.getRunTime(),
+                    task.getRunTime(), task.getThread() + ": " + stack);
+        }
+    }
+
+    private void writeHistogram(@NotNull PrintWriter out, @NotNull String type, @NotNull long[] counts) {
+        for (int i = 0; i < counts.length; i++) {
+
+            var bucket = i < HISTOGRAM_BOUNDS.length ?
+                    "<=" + HISTOGRAM_BOUNDS[i] + "us" : ">" + HISTOGRAM_BOUNDS[i - 1] + "us";
+
+            writeRow(out, type, bucket, counts[i], 0, 0, "");
+        }
+    }
+
+    private void writeRow(
+            @NotNull PrintWriter out,
+            @NotNull String type,
+            @NotNull String name,
+            long count,
+            long totalTime,
+            long maxTime,
+            @NotNull String details
+    ) {
+        out.print(escape(this.name));
+        out.print(',');
+        out.print(type);
+        out.print(',');
+        out.print(escape(name));
+        out.print(',');
+        out.print(count);
+        out.print(',');
+        out.print(TimeUnit.NANOSECONDS.toMillis(totalTime));
+        out.print(',');
+        out.print(TimeUnit.NANOSECONDS.toMillis(maxTime));
+        out.print(',');
+        out.println(escape(details));
+    }
+
+    private static @NotNull String escape(@NotNull String value) {
+
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
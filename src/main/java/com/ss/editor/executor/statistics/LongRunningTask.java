@@ -0,0 +1,87 @@
+package com.ss.editor.executor.statistics;
+
+import com.ss.editor.annotation.FromAnyThread;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The information about a task which was executed longer than the threshold of its executor.
+ *
+ * @author JavaSaBr
+ */
+public class LongRunningTask {
+
+    /**
+     * The name of the class of the task.
+     */
+    @NotNull
+    private final String taskClass;
+
+    /**
+     * The name of the thread which executed the task.
+     */
+    @NotNull
+    private final String thread;
+
+    /**
+     * The captured stack of the thread.
+     */
+    @NotNull
+    private final StackTraceElement[] stackTrace;
+
+    /**
+     * The time of execution in nanos when the task was caught.
+     */
+    private final long runTime;
+
+    LongRunningTask(
+            @NotNull String taskClass,
+            @NotNull String thread,
+            @NotNull StackTraceElement[] stackTrace,
+            long runTime
+    ) {
+        this.taskClass = taskClass;
+        this.thread = thread;
+        this.stackTrace = stackTrace;
+        this.runTime = runTime;
+    }
+
+    /**
+     * Get the name of the class of the task.
+     *
+     * @return the name of the class.
+     */
+    @FromAnyThread
+    public @NotNull String getTaskClass() {
+        return taskClass;
+    }
+
+    /**
+     * Get the name of the thread which executed the task.
+     *
+     * @return the name of the thread.
+     */
+    @FromAnyThread
+    public @NotNull String getThread() {
+        return thread;
+    }
+
+    /**
+     * Get the captured stack of the thread.
+     *
+     * @return the captured stack.
+     */
+    @FromAnyThread
+    public @NotNull StackTraceElement[] getStackTrace() {
+        return stackTrace;
+    }
+
+    /**
+     * Get the time of execution when the task was caught.
+     *
+     * @return the time in nanos.
+     */
+    @FromAnyThread
+    public long getRunTime() {
+        return runTime;
+    }
+}
@@ -0,0 +1,98 @@
+package com.ss.editor.executor.statistics;
+
+import com.ss.editor.annotation.FromAnyThread;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The statistics of executed tasks of one class.
+ *
+ * @author JavaSaBr
+ */
+public class TaskClassStatistics {
+
+    /**
+     * The name of the class of tasks.
+     */
+    @NotNull
+    private final String name;
+
+    /**
+     * The count of executed tasks.
+     */
+    @NotNull
+    private final LongAdder count;
+
+    /**
+     * The total time of execution in nanos.
+     */
+    @NotNull
+    private final LongAdder totalTime;
+
+    /**
+     * The max time of execution in nanos.
+     */
+    @NotNull
+    private final LongAccumulator maxTime;
+
+    TaskClassStatistics(@NotNull String name) {
+        this.name = name;
+        this.count = new LongAdder();
+        this.totalTime = new LongAdder();
+        this.maxTime = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Register an executed task.
+     *
+     * @param runTime the time of execution in nanos.
+     */
+    @FromAnyThread
+    void register(long runTime) {
+        count.increment();
+        totalTime.add(runTime);
+        maxTime.accumulate(runTime);
+    }
+
+    /**
+     * Get the name of the class of tasks.
+     *
+     * @return the name of the class.
+     */
+    @FromAnyThread
+    public @NotNull String getName() {
+        return name;
+    }
+
+    /**
+     * Get the count of executed tasks.
+     *
+     * @return the count of executed tasks.
+     */
+    @FromAnyThread
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Get the total time of execution.
+     *
+     * @return the total time in nanos.
+     */
+    @FromAnyThread
+    public long getTotalTime() {
+        return totalTime.sum();
+    }
+
+    /**
+     * Get the max time of execution.
+     *
+     * @return the max time in nanos.
+     */
+    @FromAnyThread
+    public long getMaxTime() {
+        return maxTime.get();
+    }
+}
@@ -0,0 +1,123 @@
+package com.ss.editor.executor.statistics;
+
+import com.ss.editor.annotation.FromAnyThread;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Future;
+
+/**
+ * The wrapper of a task to collect statistics about its execution.
+ *
+ * @author JavaSaBr
+ */
+class TrackedTask implements Runnable {
+
+    /**
+     * The statistics of an executor of this task.
+     */
+    @NotNull
+    private final ExecutorStatistics statistics;
+
+    /**
+     * The original task.
+     */
+    @NotNull
+    private final Runnable task;
+
+    /**
+     * The name of the class of the original task.
+     */
+    @NotNull
+    private final String taskClass;
+
+    /**
+     * The time when this task was submitted.
+     */
+    private final long submitTime;
+
+    /**
+     * The time when this task was started.
+     */
+    private volatile long startTime;
+
+    /**
+     * True if this task was already reported as long-running.
+     */
+    private volatile boolean reported;
+
+    TrackedTask(@NotNull ExecutorStatistics statistics, @NotNull Runnable task, @NotNull String taskClass) {
+        this.statistics = statistics;
+        this.task = task;
+        this.taskClass = taskClass;
+        this.submitTime = System.nanoTime();
+    }
+
+    /**
+     * Get the name of the class of the original task.
+     *
+     * @return the name of the class.
+     */
+    @FromAnyThread
+    @NotNull String getTaskClass() {
+        return taskClass;
+    }
+
+    /**
+     * Get the time when this task was submitted.
+     *
+     * @return the time in nanos.
+     */
+    @FromAnyThread
+    long getSubmitTime() {
+        return submitTime;
+    }
+
+    /**
+     * Get the time when this task was started.
+     *
+     * @return the time in nanos.
+     */
+    @FromAnyThread
+    long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Return true if this task was already reported as long-running.
+     *
+     * @return true if this task was already reported.
+     */
+    @FromAnyThread
+    boolean isReported() {
+        return reported;
+    }
+
+    /**
+     * Mark this task as reported long-running task.
+     */
+    @FromAnyThread
+    void setReported() {
+        this.reported = true;
+    }
+
+    @Override
+    public void run() {
+
+        // a cancelled future doesn't run its task, so it isn't a completed task
+        if (task instanceof Future && ((Future<?>) task).isCancelled()) {
+            statistics.onCancel(this);
+            return;
+        }
+
+        startTime = System.nanoTime();
+        statistics.onStart(this);
+
+        var failed = true;
+        try {
+            task.run();
+            failed = false;
+        } finally {
+            statistics.onFinish(this, System.nanoTime() - startTime, failed);
+        }
+    }
+}
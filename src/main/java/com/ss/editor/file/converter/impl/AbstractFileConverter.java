@@ -4,6 +4,7 @@ import static com.ss.rlib.common.util.FileUtils.containsExtensions;
 import com.ss.editor.annotation.FromAnyThread;
 import com.ss.editor.annotation.FxThread;
 import com.ss.editor.config.EditorConfig;
+import com.ss.editor.executor.TaskPriority;
 import com.ss.editor.file.converter.FileConverter;
 import com.ss.editor.manager.ExecutorManager;
 import com.ss.editor.ui.event.FxEventManager;
@@ -80,7 +81,7 @@ public abstract class AbstractFileConverter implements FileConverter {
 
         UiUtils.incrementLoading();
 
-        EXECUTOR_MANAGER.addBackgroundTask(() -> {
+        EXECUTOR_MANAGER.submitBackgroundTask(() -> {
             try {
 
                 final boolean overwrite = Files.exists(destination);
@@ -97,7 +98,7 @@ public abstract class AbstractFileConverter implements FileConverter {
                 EditorUtil.handleException(LOGGER, this, e);
                 EXECUTOR_MANAGER.addFxTask(() -> notifyFileCreatedImpl(null));
             }
-        });
+        }, TaskPriority.BULK);
     }
 
     /**
@@ -19,6 +19,7 @@ import com.ss.editor.FileExtensions;
 import com.ss.editor.Messages;
 import com.ss.editor.annotation.BackgroundThread;
 import com.ss.editor.annotation.FxThread;
+import com.ss.editor.executor.TaskPriority;
 import com.ss.editor.ui.util.UiUtils;
 import com.ss.editor.util.TangentGenerator;
 import com.ss.editor.plugin.api.dialog.GenericFactoryDialog;
@@ -118,14 +119,14 @@ public abstract class AbstractModelFileConverter extends AbstractFileConverter {
     @FxThread
     private void convert(@NotNull final Path source, @NotNull final VarTable vars) {
         UiUtils.incrementLoading();
-        EXECUTOR_MANAGER.addBackgroundTask(() -> {
+        EXECUTOR_MANAGER.submitBackgroundTask(() -> {
             try {
                 convertImpl(source, vars);
             } catch (final Exception e) {
                 EditorUtil.handleException(LOGGER, this, e);
                 EXECUTOR_MANAGER.addFxTask(UiUtils::decrementLoading);
             }
-        });
+        }, TaskPriority.BULK);
     }
 
     /**
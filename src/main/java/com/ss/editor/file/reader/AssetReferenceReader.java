@@ -0,0 +1,538 @@
+package com.ss.editor.file.reader;
+
+import com.jme3.export.FormatVersion;
+import com.jme3.math.FastMath;
+import com.ss.editor.FileExtensions;
+import com.ss.editor.annotation.BackgroundThread;
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.rlib.common.util.FileUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The reader of references to other assets from j3o, j3m and j3md files.
+ * <p>
+ * Text formats are split to tokens, string fields of all objects of binary j3o files are read using the class table
+ * of the file, so the files aren't loaded by the asset manager. A token is considered as a reference if it has an
+ * extension of a known asset type.
+ *
+ * @author JavaSaBr
+ */
+public class AssetReferenceReader {
+
+    /**
+     * The extensions of assets which can be referenced.
+     */
+    @NotNull
+    private static final Set<String> REFERENCED_EXTENSIONS = new HashSet<>();
+
+    static {
+        REFERENCED_EXTENSIONS.add(FileExtensions.JME_MATERIAL);
+        REFERENCED_EXTENSIONS.add(FileExtensions.JME_MATERIAL_DEFINITION);
+        REFERENCED_EXTENSIONS.add(FileExtensions.JME_SHADER_NODE);
+        REFERENCED_EXTENSIONS.add(FileExtensions.JME_OBJECT);
+        FileExtensions.IMAGE_EXTENSIONS.forEach(REFERENCED_EXTENSIONS::add);
+        FileExtensions.SHADER_EXTENSIONS.forEach(REFERENCED_EXTENSIONS::add);
+        FileExtensions.AUDIO_EXTENSIONS.forEach(REFERENCED_EXTENSIONS::add);
+    }
+
+    /**
+     * The separators of tokens in text formats.
+     */
+    @NotNull
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[\\s:\"{}]+");
+
+    /**
+     * Return true if the file can have references to other assets.
+     *
+     * @param extension the extension of the file.
+     * @return true if the file can have references.
+     */
+    @FromAnyThread
+    public static boolean isSupported(@NotNull String extension) {
+        return FileExtensions.JME_OBJECT.equals(extension) || isTextSupported(extension);
+    }
+
+    /**
+     * Return true if the file is a text file which can have references to other assets.
+     *
+     * @param extension the extension of the file.
+     * @return true if the file is a supported text file.
+     */
+    @FromAnyThread
+    public static boolean isTextSupported(@NotNull String extension) {
+        return FileExtensions.JME_MATERIAL.equals(extension) ||
+                FileExtensions.JME_MATERIAL_DEFINITION.equals(extension);
+    }
+
+    /**
+     * Read asset paths which are referenced from the file.
+     *
+     * @param file the file.
+     * @return the set of referenced asset paths.
+     * @throws IOException if the file can't be read.
+     */
+    @BackgroundThread
+    public static @NotNull Set<String> read(@NotNull Path file) throws IOException {
+
+        var result = new HashSet<String>();
+        var extension = FileUtils.getExtension(file);
+
+        if (FileExtensions.JME_OBJECT.equals(extension)) {
+            readBinary(Files.readAllBytes(file), result);
+        } else if (isTextSupported(extension)) {
+            readText(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), result);
+        }
+
+        return result;
+    }
+
+    @BackgroundThread
+    private static void readText(@NotNull String content, @NotNull Set<String> result) {
+        for (var token : TOKEN_SEPARATOR.split(content)) {
+            if (isReference(token)) {
+                result.add(token);
+            }
+        }
+    }
+
+    @BackgroundThread
+    private static void readBinary(@NotNull byte[] data, @NotNull Set<String> result) throws IOException {
+        try {
+            new BinaryContent(data).readStrings(result);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("unexpected end of the binary content", e);
+        }
+    }
+
+    /**
+     * Return true if the token looks like an asset path.
+     *
+     * @param token the token.
+     * @return true if the token looks like an asset path.
+     */
+    @FromAnyThread
+    private static boolean isReference(@NotNull String token) {
+
+        var index = token.lastIndexOf('.');
+
+        if (index < 1 || index == token.length() - 1) {
+            return false;
+        }
+
+        return REFERENCED_EXTENSIONS.contains(token.substring(index + 1).toLowerCase());
+    }
+
+    /**
+     * Replace references to the old asset path in the content of a text file.
+     *
+     * @param content  the content of a text file.
+     * @param oldPath  the old asset path.
+     * @param newPath  the new asset path.
+     * @param isFolder true if the paths are folders, so all references to assets in the folder are replaced.
+     * @return the updated content.
+     */
+    @FromAnyThread
+    public static @NotNull String replaceReferences(
+            @NotNull String content,
+            @NotNull String oldPath,
+            @NotNull String newPath,
+            boolean isFolder
+    ) {
+
+        var pattern = isFolder ?
+                Pattern.compile("(?<![^\\s:\"])" + Pattern.quote(oldPath + "/")) :
+                Pattern.compile("(?<![^\\s:\"])" + Pattern.quote(oldPath) + "(?![^\\s\"}])");
+
+        var replacement = Matcher.quoteReplacement(isFolder ? newPath + "/" : newPath);
+
+        return pattern.matcher(content).replaceAll(replacement);
+    }
+
+    /**
+     * The content of a j3o file which is written by the binary exporter. Values of all fields are skipped using
+     * their types from the class table, only strings are read.
+     */
+    private static class BinaryContent {
+
+        private static final byte BYTE = 0;
+        private static final byte BYTE_1D = 1;
+        private static final byte BYTE_2D = 2;
+        private static final byte INT = 10;
+        private static final byte INT_1D = 11;
+        private static final byte INT_2D = 12;
+        private static final byte FLOAT = 20;
+        private static final byte FLOAT_1D = 21;
+        private static final byte FLOAT_2D = 22;
+        private static final byte DOUBLE = 30;
+        private static final byte DOUBLE_1D = 31;
+        private static final byte DOUBLE_2D = 32;
+        private static final byte LONG = 40;
+        private static final byte LONG_1D = 41;
+        private static final byte LONG_2D = 42;
+        private static final byte SHORT = 50;
+        private static final byte SHORT_1D = 51;
+        private static final byte SHORT_2D = 52;
+        private static final byte BOOLEAN = 60;
+        private static final byte BOOLEAN_1D = 61;
+        private static final byte BOOLEAN_2D = 62;
+        private static final byte STRING = 70;
+        private static final byte STRING_1D = 71;
+        private static final byte STRING_2D = 72;
+        private static final byte BITSET = 80;
+        private static final byte SAVABLE = 90;
+        private static final byte SAVABLE_1D = 91;
+        private static final byte SAVABLE_2D = 92;
+        private static final byte SAVABLE_ARRAYLIST = 100;
+        private static final byte SAVABLE_ARRAYLIST_1D = 101;
+        private static final byte SAVABLE_ARRAYLIST_2D = 102;
+        private static final byte SAVABLE_MAP = 105;
+        private static final byte STRING_SAVABLE_MAP = 106;
+        private static final byte INT_SAVABLE_MAP = 107;
+        private static final byte FLOATBUFFER_ARRAYLIST = 110;
+        private static final byte BYTEBUFFER_ARRAYLIST = 111;
+        private static final byte FLOATBUFFER = 120;
+        private static final byte INTBUFFER = 121;
+        private static final byte BYTEBUFFER = 122;
+        private static final byte SHORTBUFFER = 123;
+
+        /**
+         * The marker of a null value.
+         */
+        private static final int NULL_OBJECT = -1;
+
+        @NotNull
+        private final byte[] data;
+
+        /**
+         * The current position in the data.
+         */
+        private int index;
+
+        private BinaryContent(@NotNull byte[] data) {
+            this.data = data;
+        }
+
+        /**
+         * Read all strings from fields of all objects.
+         *
+         * @param result the set to add found references.
+         * @throws IOException if the content is broken.
+         */
+        @BackgroundThread
+        private void readStrings(@NotNull Set<String> result) throws IOException {
+
+            var formatVersion = 0;
+            var classCount = readRawInt();
+
+            if (classCount == FormatVersion.SIGNATURE) {
+                formatVersion = readRawInt();
+                classCount = readRawInt();
+            }
+
+            var aliasWidth = (int) FastMath.log(classCount, 256) + 1;
+
+            // the types of fields by their aliases of each class by its alias
+            var classes = new HashMap<String, Map<Byte, Byte>>(classCount);
+
+            for (int i = 0; i < classCount; i++) {
+
+                var alias = readRawString(aliasWidth);
+
+                if (formatVersion >= 1) {
+                    var versionCount = data[index++] & 0xFF;
+                    index += 4 * versionCount;
+                }
+
+                // the name of the class
+                var classNameLength = readRawInt();
+                index += classNameLength;
+
+                var fieldCount = readRawInt();
+                var fields = new HashMap<Byte, Byte>(fieldCount);
+
+                for (int j = 0; j < fieldCount; j++) {
+                    var fieldAlias = data[index++];
+                    var fieldType = data[index++];
+                    var fieldNameLength = readRawInt();
+                    index += fieldNameLength;
+                    fields.put(fieldAlias, fieldType);
+                }
+
+                classes.put(alias, fields);
+            }
+
+            var locations = new int[readRawInt()];
+
+            for (int i = 0; i < locations.length; i++) {
+                index += 4;
+                locations[i] = readRawInt();
+            }
+
+            // the count of roots and the id of the root
+            index += 8;
+
+            var dataOffset = index;
+
+            for (var location : locations) {
+
+                index = dataOffset + location;
+
+                var alias = readRawString(aliasWidth);
+                var fields = classes.get(alias);
+
+                if (fields == null) {
+                    throw new IOException("unknown class alias " + alias);
+                }
+
+                var end = readRawInt() + index;
+
+                while (index < end) {
+
+                    var fieldAlias = data[index++];
+                    var type = fields.get(fieldAlias);
+
+                    if (type == null) {
+                        throw new IOException("unknown field alias " + fieldAlias);
+                    }
+
+                    readValue(type, result);
+                }
+            }
+        }
+
+        /**
+         * Read or skip a value of the type.
+         *
+         * @param type   the type of the value.
+         * @param result the set to add found references.
+         * @throws IOException if the type is unknown.
+         */
+        @BackgroundThread
+        private void readValue(byte type, @NotNull Set<String> result) throws IOException {
+            switch (type) {
+                case BYTE:
+                case BOOLEAN:
+                    index++;
+                    break;
+                case SHORT:
+                    index += 2;
+                    break;
+                case FLOAT:
+                    index += 4;
+                    break;
+                case DOUBLE:
+                    index += 8;
+                    break;
+                case INT:
+                case LONG:
+                case SAVABLE:
+                    skipInt();
+                    break;
+                case BYTE_1D:
+                case BOOLEAN_1D:
+                case BITSET:
+                case BYTEBUFFER:
+                    skipArray(1);
+                    break;
+                case SHORT_1D:
+                case SHORTBUFFER:
+                    skipArray(2);
+                    break;
+                case FLOAT_1D:
+                case FLOATBUFFER:
+                case INTBUFFER:
+                    skipArray(4);
+                    break;
+                case DOUBLE_1D:
+                    skipArray(8);
+                    break;
+                case INT_1D:
+                case LONG_1D:
+                case SAVABLE_1D:
+                case SAVABLE_ARRAYLIST:
+                    skipIntArray();
+                    break;
+                case BYTE_2D:
+                case BOOLEAN_2D:
+                case BYTEBUFFER_ARRAYLIST:
+                    skipArray2D(1);
+                    break;
+                case SHORT_2D:
+                    skipArray2D(2);
+                    break;
+                case FLOAT_2D:
+                case FLOATBUFFER_ARRAYLIST:
+                    skipArray2D(4);
+                    break;
+                case DOUBLE_2D:
+                    skipArray2D(8);
+                    break;
+                case INT_2D:
+                case LONG_2D:
+                case SAVABLE_2D:
+                case SAVABLE_ARRAYLIST_1D:
+                case SAVABLE_MAP:
+                    skipIntArray2D();
+                    break;
+                case SAVABLE_ARRAYLIST_2D: {
+                    for (int i = 0, length = readInt(); i < length; i++) {
+                        skipIntArray2D();
+                    }
+                    break;
+                }
+                case STRING:
+                    addString(result);
+                    break;
+                case STRING_1D:
+                    readStringArray(result);
+                    break;
+                case STRING_2D: {
+                    for (int i = 0, length = readInt(); i < length; i++) {
+                        readStringArray(result);
+                    }
+                    break;
+                }
+                case STRING_SAVABLE_MAP: {
+                    if (readInt() != NULL_OBJECT) {
+                        readStringArray(result);
+                        skipIntArray();
+                    }
+                    break;
+                }
+                case INT_SAVABLE_MAP: {
+                    if (readInt() != NULL_OBJECT) {
+                        skipIntArray();
+                        skipIntArray();
+                    }
+                    break;
+                }
+                default:
+                    throw new IOException("unknown field type " + type);
+            }
+        }
+
+        /**
+         * Read a not compressed big-endian int.
+         *
+         * @return the int value.
+         */
+        @BackgroundThread
+        private int readRawInt() {
+            var value = ((data[index] & 0xFF) << 24) | ((data[index + 1] & 0xFF) << 16) |
+                    ((data[index + 2] & 0xFF) << 8) | (data[index + 3] & 0xFF);
+            index += 4;
+            return value;
+        }
+
+        @BackgroundThread
+        private @NotNull String readRawString(int length) {
+            var value = new String(data, index, length, StandardCharsets.ISO_8859_1);
+            index += length;
+            return value;
+        }
+
+        /**
+         * Read a compressed int, it's written as the count of significant bytes and the bytes, the null and the
+         * default markers are written as a single byte.
+         *
+         * @return the int value.
+         */
+        @BackgroundThread
+        private int readInt() {
+
+            var size = data[index++];
+
+            if (size < 0) {
+                return size;
+            }
+
+            var value = 0;
+
+            for (int i = 0; i < size; i++) {
+                value = (value << 8) | (data[index++] & 0xFF);
+            }
+
+            return value;
+        }
+
+        /**
+         * Skip a compressed int or long.
+         */
+        @BackgroundThread
+        private void skipInt() {
+            var size = data[index++];
+            if (size > 0) {
+                index += size;
+            }
+        }
+
+        @BackgroundThread
+        private void skipArray(int elementSize) {
+            var length = readInt();
+            if (length > 0) {
+                index += length * elementSize;
+            }
+        }
+
+        @BackgroundThread
+        private void skipArray2D(int elementSize) {
+            for (int i = 0, length = readInt(); i < length; i++) {
+                skipArray(elementSize);
+            }
+        }
+
+        @BackgroundThread
+        private void skipIntArray() {
+            for (int i = 0, length = readInt(); i < length; i++) {
+                skipInt();
+            }
+        }
+
+        @BackgroundThread
+        private void skipIntArray2D() {
+            for (int i = 0, length = readInt(); i < length; i++) {
+                skipIntArray();
+            }
+        }
+
+        @BackgroundThread
+        private void readStringArray(@NotNull Set<String> result) {
+            for (int i = 0, length = readInt(); i < length; i++) {
+                addString(result);
+            }
+        }
+
+        /**
+         * Read a string and add it to the result if it looks like an asset path.
+         *
+         * @param result the set to add found references.
+         */
+        @BackgroundThread
+        private void addString(@NotNull Set<String> result) {
+
+            var length = readInt();
+
+            if (length < 1) {
+                return;
+            }
+
+            var value = new String(data, index, length, StandardCharsets.UTF_8);
+            index += length;
+
+            if (isReference(value)) {
+                result.add(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,1008 @@
+package com.ss.editor.file.reader;
+
+import com.ss.editor.annotation.FromAnyThread;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * The DDS image to decode its mip levels to ARGB pixels.
+ * <p>
+ * The content of a file is memory-mapped, so only the decoded mip level is read. Block compressed formats
+ * (BC1-BC5, BC7) are decoded by rows of blocks in parallel, uncompressed formats are decoded by their channel masks.
+ *
+ * @author JavaSaBr
+ */
+public class DdsImage {
+
+    private static final int MAGIC = 0x20534444;
+
+    private static final int HEADER_SIZE = 128;
+
+    private static final int DX10_HEADER_SIZE = 20;
+
+    private static final int FLAG_MIPMAP_COUNT = 0x20000;
+
+    private static final int PIXEL_FORMAT_ALPHA_PIXELS = 0x1;
+    private static final int PIXEL_FORMAT_ALPHA = 0x2;
+    private static final int PIXEL_FORMAT_FOUR_CC = 0x4;
+    private static final int PIXEL_FORMAT_RGB = 0x40;
+    private static final int PIXEL_FORMAT_LUMINANCE = 0x20000;
+
+    /**
+     * The min count of blocks of a mip level to decode it in parallel.
+     */
+    private static final int PARALLEL_BLOCKS = 4096;
+
+    private static final int FORMAT_BC1 = 1;
+    private static final int FORMAT_BC2 = 2;
+    private static final int FORMAT_BC3 = 3;
+    private static final int FORMAT_BC4 = 4;
+    private static final int FORMAT_BC4_SIGNED = 5;
+    private static final int FORMAT_BC5 = 6;
+    private static final int FORMAT_BC5_SIGNED = 7;
+    private static final int FORMAT_BC7 = 8;
+    private static final int FORMAT_UNCOMPRESSED = 9;
+
+    private static final int[] BC7_WEIGHTS_2 = {0, 21, 43, 64};
+    private static final int[] BC7_WEIGHTS_3 = {0, 9, 18, 27, 37, 46, 55, 64};
+    private static final int[] BC7_WEIGHTS_4 = {0, 4, 9, 13, 17, 21, 26, 30, 34, 38, 43, 47, 51, 55, 60, 64};
+
+    /**
+     * The subsets of pixels of 2-subset partitions, a bit per pixel.
+     */
+    private static final int[] BC7_PARTITIONS_2 = {
+            0xCCCC, 0x8888, 0xEEEE, 0xECC8, 0xC880, 0xFEEC, 0xFEC8, 0xEC80,
+            0xC800, 0xFFEC, 0xFE80, 0xE800, 0xFFE8, 0xFF00, 0xFFF0, 0xF000,
+            0xF710, 0x008E, 0x7100, 0x08CE, 0x008C, 0x7310, 0x3100, 0x8CCE,
+            0x088C, 0x3110, 0x6666, 0x366C, 0x17E8, 0x0FF0, 0x718E, 0x399C,
+            0xAAAA, 0xF0F0, 0x5A5A, 0x33CC, 0x3C3C, 0x55AA, 0x9696, 0xA55A,
+            0x73CE, 0x13C8, 0x324C, 0x3BDC, 0x6996, 0xC33C, 0x9966, 0x0660,
+            0x0272, 0x04E4, 0x4E40, 0x2720, 0xC936, 0x936C, 0x39C6, 0x639C,
+            0x9336, 0x9CC6, 0x817E, 0xE718, 0xCCF0, 0x0FCC, 0x7744, 0xEE22
+    };
+
+    /**
+     * The subsets of pixels of 3-subset partitions, two bits per pixel.
+     */
+    private static final int[] BC7_PARTITIONS_3 = {
+            0xAA685050, 0x6A5A5040, 0x5A5A4200, 0x5450A0A8, 0xA5A50000, 0xA0A05050, 0x5555A0A0, 0x5A5A5050,
+            0xAA550000, 0xAA555500, 0xAAAA5500, 0x90909090, 0x94949494, 0xA4A4A4A4, 0xA9A59450, 0x2A0A4250,
+            0xA5945040, 0x0A425054, 0xA5A5A500, 0x55A0A0A0, 0xA8A85454, 0x6A6A4040, 0xA4A45000, 0x1A1A0500,
+            0x0050A4A4, 0xAAA59090, 0x14696914, 0x69691400, 0xA08585A0, 0xAA821414, 0x50A4A450, 0x6A5A0200,
+            0xA9A58000, 0x5090A0A8, 0xA8A09050, 0x24242424, 0x00AA5500, 0x24924924, 0x24499224, 0x50A50A50,
+            0x500AA550, 0xAAAA4444, 0x66660000, 0xA5A0A5A0, 0x50A050A0, 0x69286928, 0x44AAAA44, 0x66666600,
+            0xAA444444, 0x54A854A8, 0x95809580, 0x96969600, 0xA85454A8, 0x80959580, 0xAA141414, 0x96960000,
+            0xAAAA1414, 0xA05050A0, 0xA0A5A5A0, 0x96000000, 0x40804080, 0xA9A8A9A8, 0xAAAAAA44, 0x2A4A5254
+    };
+
+    /**
+     * The anchor pixels of the second subset of 2-subset partitions.
+     */
+    private static final int[] BC7_ANCHORS_2 = {
+            15, 15, 15, 15, 15, 15, 15, 15, 15, 15, 15, 15, 15, 15, 15, 15,
+            15, 2, 8, 2, 2, 8, 8, 15, 2, 8, 2, 2, 8, 8, 2, 2,
+            15, 15, 6, 8, 2, 8, 15, 15, 2, 8, 2, 2, 2, 15, 15, 6,
+            6, 2, 6, 8, 15, 15, 2, 2, 15, 15, 15, 15, 15, 2, 2, 15
+    };
+
+    /**
+     * The anchor pixels of the second subset of 3-subset partitions.
+     */
+    private static final int[] BC7_ANCHORS_3_SECOND = {
+            3, 3, 15, 15, 8, 3, 15, 15, 8, 8, 6, 6, 6, 5, 3, 3,
+            3, 3, 8, 15, 3, 3, 6, 10, 5, 8, 8, 6, 8, 5, 15, 15,
+            8, 15, 3, 5, 6, 10, 8, 15, 15, 3, 15, 5, 15, 15, 15, 15,
+            3, 15, 5, 5, 5, 8, 5, 10, 5, 10, 8, 13, 15, 12, 3, 3
+    };
+
+    /**
+     * The anchor pixels of the third subset of 3-subset partitions.
+     */
+    private static final int[] BC7_ANCHORS_3_THIRD = {
+            15, 8, 8, 3, 15, 15, 3, 8, 15, 15, 15, 15, 15, 15, 15, 8,
+            15, 8, 15, 3, 15, 8, 15, 8, 3, 15, 6, 10, 15, 15, 10, 8,
+            15, 3, 15, 10, 10, 8, 9, 10, 6, 15, 8, 15, 3, 6, 6, 8,
+            15, 3, 15, 15, 15, 15, 15, 15, 15, 15, 15, 15, 3, 15, 15, 8
+    };
+
+    /**
+     * Map the DDS file.
+     *
+     * @param file the DDS file.
+     * @return the DDS image.
+     * @throws IOException if the file can't be read or isn't a supported DDS image.
+     */
+    @FromAnyThread
+    public static @NotNull DdsImage open(@NotNull Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new DdsImage(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Wrap the content of a DDS file.
+     *
+     * @param content the content of a DDS file.
+     * @return the DDS image.
+     * @throws IOException if the content isn't a supported DDS image.
+     */
+    @FromAnyThread
+    public static @NotNull DdsImage wrap(@NotNull byte[] content) throws IOException {
+        return new DdsImage(ByteBuffer.wrap(content));
+    }
+
+    /**
+     * The content of the file.
+     */
+    @NotNull
+    private final ByteBuffer buffer;
+
+    /**
+     * The format of pixels.
+     */
+    private final int format;
+
+    /**
+     * The width of the first mip level.
+     */
+    private final int width;
+
+    /**
+     * The height of the first mip level.
+     */
+    private final int height;
+
+    /**
+     * The count of mip levels.
+     */
+    private final int mipCount;
+
+    /**
+     * The offset of the first mip level.
+     */
+    private final int dataOffset;
+
+    /**
+     * The count of bits of an uncompressed pixel.
+     */
+    private int bitCount;
+
+    /**
+     * The masks of red, green, blue and alpha channels of an uncompressed pixel.
+     */
+    private int redMask, greenMask, blueMask, alphaMask;
+
+    /**
+     * True if an uncompressed pixel contains luminance in the red mask.
+     */
+    private boolean luminance;
+
+    private DdsImage(@NotNull ByteBuffer buffer) throws IOException {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("It isn't a DDS image.");
+        }
+
+        this.height = buffer.getInt(12);
+        this.width = buffer.getInt(16);
+
+        var flags = buffer.getInt(8);
+        var mipCount = (flags & FLAG_MIPMAP_COUNT) != 0 ? buffer.getInt(28) : 1;
+
+        this.mipCount = Math.max(mipCount, 1);
+
+        if (width < 1 || height < 1) {
+            throw new IOException("Invalid DDS image size " + width + "x" + height + ".");
+        }
+
+        var pixelFlags = buffer.getInt(80);
+        var fourCC = buffer.getInt(84);
+
+        if ((pixelFlags & PIXEL_FORMAT_FOUR_CC) != 0 && fourCC == fourCC("DX10")) {
+            this.dataOffset = HEADER_SIZE + DX10_HEADER_SIZE;
+            this.format = getDx10Format(buffer.getInt(HEADER_SIZE));
+        } else if ((pixelFlags & PIXEL_FORMAT_FOUR_CC) != 0) {
+            this.dataOffset = HEADER_SIZE;
+            this.format = getFourCCFormat(fourCC);
+        } else if ((pixelFlags & (PIXEL_FORMAT_RGB | PIXEL_FORMAT_LUMINANCE | PIXEL_FORMAT_ALPHA)) != 0) {
+            this.dataOffset = HEADER_SIZE;
+            this.format = FORMAT_UNCOMPRESSED;
+            this.bitCount = buffer.getInt(88);
+            this.redMask = buffer.getInt(92);
+            this.greenMask = buffer.getInt(96);
+            this.blueMask = buffer.getInt(100);
+            this.alphaMask = (pixelFlags & (PIXEL_FORMAT_ALPHA_PIXELS | PIXEL_FORMAT_ALPHA)) != 0 ? buffer.getInt(104) : 0;
+            this.luminance = (pixelFlags & PIXEL_FORMAT_LUMINANCE) != 0;
+        } else {
+            throw new IOException("Unsupported DDS pixel format.");
+        }
+
+        if (format == FORMAT_UNCOMPRESSED && bitCount != 8 && bitCount != 16 && bitCount != 24 && bitCount != 32) {
+            throw new IOException("Unsupported count of bits " + bitCount + ".");
+        }
+    }
+
+    @FromAnyThread
+    private static int fourCC(@NotNull String code) {
+        return code.charAt(0) | code.charAt(1) << 8 | code.charAt(2) << 16 | code.charAt(3) << 24;
+    }
+
+    @FromAnyThread
+    private static int getFourCCFormat(int fourCC) throws IOException {
+
+        if (fourCC == fourCC("DXT1")) {
+            return FORMAT_BC1;
+        } else if (fourCC == fourCC("DXT2") || fourCC == fourCC("DXT3")) {
+            return FORMAT_BC2;
+        } else if (fourCC == fourCC("DXT4") || fourCC == fourCC("DXT5")) {
+            return FORMAT_BC3;
+        } else if (fourCC == fourCC("ATI1") || fourCC == fourCC("BC4U")) {
+            return FORMAT_BC4;
+        } else if (fourCC == fourCC("BC4S")) {
+            return FORMAT_BC4_SIGNED;
+        } else if (fourCC == fourCC("ATI2") || fourCC == fourCC("BC5U")) {
+            return FORMAT_BC5;
+        } else if (fourCC == fourCC("BC5S")) {
+            return FORMAT_BC5_SIGNED;
+        }
+
+        throw new IOException("Unsupported DDS format " + fourCC + ".");
+    }
+
+    @FromAnyThread
+    private int getDx10Format(int dxgiFormat) throws IOException {
+        switch (dxgiFormat) {
+            case 70: case 71: case 72:
+                return FORMAT_BC1;
+            case 73: case 74: case 75:
+                return FORMAT_BC2;
+            case 76: case 77: case 78:
+                return FORMAT_BC3;
+            case 79: case 80:
+                return FORMAT_BC4;
+            case 81:
+                return FORMAT_BC4_SIGNED;
+            case 82: case 83:
+                return FORMAT_BC5;
+            case 84:
+                return FORMAT_BC5_SIGNED;
+            case 97: case 98: case 99:
+                return FORMAT_BC7;
+            // R8G8B8A8
+            case 27: case 28: case 29:
+                setMasks(32, 0x000000FF, 0x0000FF00, 0x00FF0000, 0xFF000000);
+                return FORMAT_UNCOMPRESSED;
+            // B8G8R8A8
+            case 87: case 90: case 91:
+                setMasks(32, 0x00FF0000, 0x0000FF00, 0x000000FF, 0xFF000000);
+                return FORMAT_UNCOMPRESSED;
+            // B8G8R8X8
+            case 88: case 92: case 93:
+                setMasks(32, 0x00FF0000, 0x0000FF00, 0x000000FF, 0);
+                return FORMAT_UNCOMPRESSED;
+        }
+
+        throw new IOException("Unsupported DXGI format " + dxgiFormat + ".");
+    }
+
+    @FromAnyThread
+    private void setMasks(int bitCount, int redMask, int greenMask, int blueMask, int alphaMask) {
+        this.bitCount = bitCount;
+        this.redMask = redMask;
+        this.greenMask = greenMask;
+        this.blueMask = blueMask;
+        this.alphaMask = alphaMask;
+    }
+
+    /**
+     * Get the width of the first mip level.
+     *
+     * @return the width.
+     */
+    @FromAnyThread
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the height of the first mip level.
+     *
+     * @return the height.
+     */
+    @FromAnyThread
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Get the count of mip levels.
+     *
+     * @return the count of mip levels.
+     */
+    @FromAnyThread
+    public int getMipCount() {
+        return mipCount;
+    }
+
+    /**
+     * Get the width of the mip level.
+     *
+     * @param level the mip level.
+     * @return the width.
+     */
+    @FromAnyThread
+    public int getWidth(int level) {
+        return Math.max(width >> level, 1);
+    }
+
+    /**
+     * Get the height of the mip level.
+     *
+     * @param level the mip level.
+     * @return the height.
+     */
+    @FromAnyThread
+    public int getHeight(int level) {
+        return Math.max(height >> level, 1);
+    }
+
+    /**
+     * Find the smallest mip level which isn't smaller than this image scaled to fit the size.
+     *
+     * @param maxWidth  the max width.
+     * @param maxHeight the max height.
+     * @return the mip level.
+     */
+    @FromAnyThread
+    public int findLevel(int maxWidth, int maxHeight) {
+
+        var scale = Math.min(1D, Math.min((double) maxWidth / width, (double) maxHeight / height));
+        var requiredWidth = (int) Math.ceil(width * scale);
+        var requiredHeight = (int) Math.ceil(height * scale);
+        var level = 0;
+
+        while (level + 1 < mipCount && getWidth(level + 1) >= requiredWidth &&
+                getHeight(level + 1) >= requiredHeight) {
+            level++;
+        }
+
+        return level;
+    }
+
+    /**
+     * Decode the mip level to ARGB pixels.
+     *
+     * @param level  the mip level.
+     * @param pixels the array to reuse or null, it's reused if it's enough to store pixels of the level.
+     * @return the ARGB pixels, the array can be longer than the count of pixels.
+     * @throws IOException if the content of the level is truncated.
+     */
+    @FromAnyThread
+    public @NotNull int[] decode(int level, @Nullable int[] pixels) throws IOException {
+
+        if (level < 0 || level >= mipCount) {
+            throw new IllegalArgumentException("Invalid mip level " + level + ".");
+        }
+
+        var offset = (long) dataOffset;
+
+        for (int i = 0; i < level; i++) {
+            offset += getLevelSize(i);
+        }
+
+        if (offset + getLevelSize(level) > buffer.capacity()) {
+            throw new IOException("The DDS image is truncated.");
+        }
+
+        var levelWidth = getWidth(level);
+        var levelHeight = getHeight(level);
+        var result = pixels != null && pixels.length >= levelWidth * levelHeight ?
+                pixels : new int[levelWidth * levelHeight];
+
+        var levelOffset = (int) offset;
+
+        if (format == FORMAT_UNCOMPRESSED) {
+            decodeUncompressed(levelOffset, levelWidth, levelHeight, result);
+            return result;
+        }
+
+        var blocksX = (levelWidth + 3) / 4;
+        var blocksY = (levelHeight + 3) / 4;
+        var blockSize = getBlockSize();
+        var rowSize = blocksX * blockSize;
+
+        var rows = IntStream.range(0, blocksY);
+
+        if (blocksX * blocksY >= PARALLEL_BLOCKS) {
+            rows = rows.parallel();
+        }
+
+        rows.forEach(row -> {
+
+            var decoder = new BlockDecoder();
+            var rowOffset = levelOffset + row * rowSize;
+
+            for (int column = 0; column < blocksX; column++) {
+                decoder.decode(rowOffset + column * blockSize);
+                decoder.write(result, levelWidth, levelHeight, column * 4, row * 4);
+            }
+        });
+
+        return result;
+    }
+
+    @FromAnyThread
+    private long getLevelSize(int level) {
+
+        var levelWidth = getWidth(level);
+        var levelHeight = getHeight(level);
+
+        if (format == FORMAT_UNCOMPRESSED) {
+            return (long) levelWidth * levelHeight * (bitCount / 8);
+        }
+
+        return (long) ((levelWidth + 3) / 4) * ((levelHeight + 3) / 4) * getBlockSize();
+    }
+
+    @FromAnyThread
+    private int getBlockSize() {
+        return format == FORMAT_BC1 || format == FORMAT_BC4 || format == FORMAT_BC4_SIGNED ? 8 : 16;
+    }
+
+    @FromAnyThread
+    private void decodeUncompressed(int offset, int width, int height, @NotNull int[] pixels) {
+
+        var bytes = bitCount / 8;
+        var count = width * height;
+
+        for (int i = 0, position = offset; i < count; i++, position += bytes) {
+
+            int value;
+
+            switch (bytes) {
+                case 1:
+                    value = buffer.get(position) & 0xFF;
+                    break;
+                case 2:
+                    value = buffer.getShort(position) & 0xFFFF;
+                    break;
+                case 3:
+                    value = (buffer.getShort(position) & 0xFFFF) | (buffer.get(position + 2) & 0xFF) << 16;
+                    break;
+                default:
+                    value = buffer.getInt(position);
+            }
+
+            var red = getChannel(value, redMask, 0);
+            var green = luminance ? red : getChannel(value, greenMask, 0);
+            var blue = luminance ? red : getChannel(value, blueMask, 0);
+            var alpha = getChannel(value, alphaMask, 255);
+
+            pixels[i] = alpha << 24 | red << 16 | green << 8 | blue;
+        }
+    }
+
+    /**
+     * Get the channel value by the mask scaled to 8 bits.
+     *
+     * @param value        the pixel.
+     * @param mask         the mask of the channel.
+     * @param defaultValue the value if the mask is empty.
+     * @return the channel value.
+     */
+    @FromAnyThread
+    private static int getChannel(int value, int mask, int defaultValue) {
+
+        if (mask == 0) {
+            return defaultValue;
+        }
+
+        var shift = Integer.numberOfTrailingZeros(mask);
+        var max = mask >>> shift;
+        var channel = (value & mask) >>> shift;
+
+        return max == 0xFF ? channel : (int) ((channel * 255L + max / 2) / max);
+    }
+
+    /**
+     * The decoder of a block of 4x4 pixels, it isn't thread-safe.
+     */
+    private class BlockDecoder {
+
+        /**
+         * The decoded pixels of the current block.
+         */
+        @NotNull
+        private final int[] block;
+
+        /**
+         * The values of a channel of the current block.
+         */
+        @NotNull
+        private final int[] channel;
+
+        /**
+         * The second indexes of the current BC7 block.
+         */
+        @NotNull
+        private final int[] secondIndexes;
+
+        /**
+         * The colors of the current palette.
+         */
+        @NotNull
+        private final int[] palette;
+
+        /**
+         * The endpoints of BC7 subsets by subsets, endpoints and components.
+         */
+        @NotNull
+        private final int[][][] endpoints;
+
+        /**
+         * The low and high bits of the current BC7 block.
+         */
+        private long low, high;
+
+        /**
+         * The position of the next bit of the current BC7 block.
+         */
+        private int position;
+
+        private BlockDecoder() {
+            this.block = new int[16];
+            this.channel = new int[16];
+            this.secondIndexes = new int[16];
+            this.palette = new int[4];
+            this.endpoints = new int[3][2][4];
+        }
+
+        /**
+         * Decode the block.
+         *
+         * @param offset the offset of the block.
+         */
+        @FromAnyThread
+        private void decode(int offset) {
+            switch (format) {
+                case FORMAT_BC1:
+                    decodeColors(offset, false, null);
+                    break;
+                case FORMAT_BC2:
+                    decodeExplicitAlpha(offset);
+                    decodeColors(offset + 8, true, channel);
+                    break;
+                case FORMAT_BC3:
+                    decodeChannel(offset, false);
+                    decodeColors(offset + 8, true, channel);
+                    break;
+                case FORMAT_BC4:
+                case FORMAT_BC4_SIGNED:
+                    decodeChannel(offset, format == FORMAT_BC4_SIGNED);
+                    for (int i = 0; i < 16; i++) {
+                        var value = channel[i];
+                        block[i] = 0xFF000000 | value << 16 | value << 8 | value;
+                    }
+                    break;
+                case FORMAT_BC5:
+                case FORMAT_BC5_SIGNED:
+                    decodeNormals(offset, format == FORMAT_BC5_SIGNED);
+                    break;
+                case FORMAT_BC7:
+                    decodeBc7(offset);
+                    break;
+            }
+        }
+
+        /**
+         * Write the decoded block to the pixels.
+         *
+         * @param pixels the pixels.
+         * @param width  the width of the image.
+         * @param height the height of the image.
+         * @param x      the X coordinate of the block.
+         * @param y      the Y coordinate of the block.
+         */
+        @FromAnyThread
+        private void write(@NotNull int[] pixels, int width, int height, int x, int y) {
+
+            var columns = Math.min(4, width - x);
+            var rows = Math.min(4, height - y);
+
+            for (int row = 0; row < rows; row++) {
+                System.arraycopy(block, row * 4, pixels, (y + row) * width + x, columns);
+            }
+        }
+
+        /**
+         * Decode a BC1 color block.
+         *
+         * @param offset     the offset of the block.
+         * @param fourColors true if the block always has four colors (BC2/BC3).
+         * @param alpha      the alpha values of pixels or null.
+         */
+        @FromAnyThread
+        private void decodeColors(int offset, boolean fourColors, @Nullable int[] alpha) {
+
+            var color0 = buffer.getShort(offset) & 0xFFFF;
+            var color1 = buffer.getShort(offset + 2) & 0xFFFF;
+            var indexes = buffer.getInt(offset + 4);
+
+            var r0 = expand5((color0 >> 11) & 0x1F);
+            var g0 = expand6((color0 >> 5) & 0x3F);
+            var b0 = expand5(color0 & 0x1F);
+            var r1 = expand5((color1 >> 11) & 0x1F);
+            var g1 = expand6((color1 >> 5) & 0x3F);
+            var b1 = expand5(color1 & 0x1F);
+
+            palette[0] = 0xFF000000 | r0 << 16 | g0 << 8 | b0;
+            palette[1] = 0xFF000000 | r1 << 16 | g1 << 8 | b1;
+
+            if (fourColors || color0 > color1) {
+                palette[2] = 0xFF000000 | ((2 * r0 + r1) / 3) << 16 | ((2 * g0 + g1) / 3) << 8 | ((2 * b0 + b1) / 3);
+                palette[3] = 0xFF000000 | ((r0 + 2 * r1) / 3) << 16 | ((g0 + 2 * g1) / 3) << 8 | ((b0 + 2 * b1) / 3);
+            } else {
+                palette[2] = 0xFF000000 | ((r0 + r1) / 2) << 16 | ((g0 + g1) / 2) << 8 | ((b0 + b1) / 2);
+                palette[3] = 0;
+            }
+
+            for (int i = 0; i < 16; i++) {
+
+                var color = palette[(indexes >>> (i * 2)) & 0x3];
+
+                if (alpha != null) {
+                    color = (color & 0x00FFFFFF) | alpha[i] << 24;
+                }
+
+                block[i] = color;
+            }
+        }
+
+        /**
+         * Decode a BC2 block of 4-bit alpha values to the channel.
+         *
+         * @param offset the offset of the block.
+         */
+        @FromAnyThread
+        private void decodeExplicitAlpha(int offset) {
+
+            var values = buffer.getLong(offset);
+
+            for (int i = 0; i < 16; i++) {
+                channel[i] = (int) ((values >>> (i * 4)) & 0xF) * 17;
+            }
+        }
+
+        /**
+         * Decode a BC4 channel block to the channel.
+         *
+         * @param offset the offset of the block.
+         * @param signed true if values are signed.
+         */
+        @FromAnyThread
+        private void decodeChannel(int offset, boolean signed) {
+
+            var bits = buffer.getLong(offset);
+
+            int value0, value1, min, max;
+
+            if (signed) {
+                value0 = Math.max((byte) bits, -127);
+                value1 = Math.max((byte) (bits >> 8), -127);
+                min = -127;
+                max = 127;
+            } else {
+                value0 = (int) (bits & 0xFF);
+                value1 = (int) ((bits >> 8) & 0xFF);
+                min = 0;
+                max = 255;
+            }
+
+            var indexes = bits >>> 16;
+
+            for (int i = 0; i < 16; i++) {
+
+                var index = (int) ((indexes >>> (i * 3)) & 0x7);
+
+                int value;
+
+                if (index == 0) {
+                    value = value0;
+                } else if (index == 1) {
+                    value = value1;
+                } else if (value0 > value1) {
+                    value = ((8 - index) * value0 + (index - 1) * value1) / 7;
+                } else if (index < 6) {
+                    value = ((6 - index) * value0 + (index - 1) * value1) / 5;
+                } else {
+                    value = index == 6 ? min : max;
+                }
+
+                channel[i] = signed ? ((value + 127) * 255 + 127) / 254 : value;
+            }
+        }
+
+        /**
+         * Decode a BC5 block as a normal map, the blue channel is restored from red and green channels.
+         *
+         * @param offset the offset of the block.
+         * @param signed true if values are signed.
+         */
+        @FromAnyThread
+        private void decodeNormals(int offset, boolean signed) {
+
+            decodeChannel(offset, signed);
+            System.arraycopy(channel, 0, block, 0, 16);
+            decodeChannel(offset + 8, signed);
+
+            for (int i = 0; i < 16; i++) {
+
+                var red = block[i];
+                var green = channel[i];
+                var x = red / 127.5F - 1F;
+                var y = green / 127.5F - 1F;
+                var z = (float) Math.sqrt(Math.max(0F, 1F - x * x - y * y));
+                var blue = Math.round((z + 1F) * 127.5F);
+
+                block[i] = 0xFF000000 | red << 16 | green << 8 | Math.min(blue, 255);
+            }
+        }
+
+        /**
+         * Decode a BC7 block.
+         *
+         * @param offset the offset of the block.
+         */
+        @FromAnyThread
+        private void decodeBc7(int offset) {
+
+            low = buffer.getLong(offset);
+            high = buffer.getLong(offset + 8);
+            position = 0;
+
+            var mode = 0;
+
+            while (mode < 8 && readBits(1) == 0) {
+                mode++;
+            }
+
+            if (mode == 8) {
+                Arrays.fill(block, 0);
+                return;
+            }
+
+            var subsets = mode == 0 || mode == 2 ? 3 : mode == 1 || mode == 3 || mode == 7 ? 2 : 1;
+            var partition = mode == 0 ? readBits(4) : subsets > 1 ? readBits(6) : 0;
+            var rotation = mode == 4 || mode == 5 ? readBits(2) : 0;
+            var indexSelection = mode == 4 ? readBits(1) : 0;
+            var colorBits = getBc7ColorBits(mode);
+            var alphaBits = mode == 4 ? 6 : mode == 5 ? 8 : mode == 6 ? 7 : mode == 7 ? 5 : 0;
+
+            for (int component = 0; component < 4; component++) {
+
+                var bits = component < 3 ? colorBits : alphaBits;
+
+                for (int subset = 0; subset < subsets; subset++) {
+                    for (int endpoint = 0; endpoint < 2; endpoint++) {
+                        endpoints[subset][endpoint][component] = bits == 0 ? 255 : readBits(bits);
+                    }
+                }
+            }
+
+            // p-bits are unique for each endpoint or shared by endpoints of a subset
+            var uniquePBits = mode == 0 || mode == 3 || mode == 6 || mode == 7;
+            var sharedPBits = mode == 1;
+
+            if (uniquePBits || sharedPBits) {
+                for (int subset = 0; subset < subsets; subset++) {
+
+                    var sharedPBit = sharedPBits ? readBits(1) : 0;
+
+                    for (int endpoint = 0; endpoint < 2; endpoint++) {
+
+                        var pBit = sharedPBits ? sharedPBit : readBits(1);
+
+                        for (int component = 0; component < 4; component++) {
+
+                            var bits = component < 3 ? colorBits : alphaBits;
+
+                            if (bits == 0) {
+                                continue;
+                            }
+
+                            var value = endpoints[subset][endpoint][component] << 1 | pBit;
+                            endpoints[subset][endpoint][component] = expand(value, bits + 1);
+                        }
+                    }
+                }
+            } else {
+                for (int subset = 0; subset < subsets; subset++) {
+                    for (int endpoint = 0; endpoint < 2; endpoint++) {
+                        for (int component = 0; component < 4; component++) {
+                            var bits = component < 3 ? colorBits : alphaBits;
+                            if (bits != 0) {
+                                endpoints[subset][endpoint][component] =
+                                        expand(endpoints[subset][endpoint][component], bits);
+                            }
+                        }
+                    }
+                }
+            }
+
+            var indexBits = mode == 0 || mode == 1 ? 3 : mode == 6 ? 4 : 2;
+            var secondIndexBits = mode == 4 ? 3 : mode == 5 ? 2 : 0;
+
+            // the first index block
+            var indexes = channel;
+
+            for (int i = 0; i < 16; i++) {
+                var anchor = isAnchor(i, subsets, partition);
+                indexes[i] = readBits(anchor ? indexBits - 1 : indexBits);
+            }
+
+            for (int i = 0; i < 16 && secondIndexBits > 0; i++) {
+                secondIndexes[i] = readBits(i == 0 ? secondIndexBits - 1 : secondIndexBits);
+            }
+
+            for (int i = 0; i < 16; i++) {
+
+                var subset = getSubset(i, subsets, partition);
+                var first = endpoints[subset][0];
+                var second = endpoints[subset][1];
+
+                int colorIndex, colorIndexBits, alphaIndex, alphaIndexBits;
+
+                if (secondIndexBits == 0) {
+                    colorIndex = alphaIndex = indexes[i];
+                    colorIndexBits = alphaIndexBits = indexBits;
+                } else if (indexSelection == 0) {
+                    colorIndex = indexes[i];
+                    colorIndexBits = indexBits;
+                    alphaIndex = secondIndexes[i];
+                    alphaIndexBits = secondIndexBits;
+                } else {
+                    colorIndex = secondIndexes[i];
+                    colorIndexBits = secondIndexBits;
+                    alphaIndex = indexes[i];
+                    alphaIndexBits = indexBits;
+                }
+
+                var colorWeight = getBc7Weight(colorIndex, colorIndexBits);
+                var alphaWeight = getBc7Weight(alphaIndex, alphaIndexBits);
+
+                var red = interpolate(first[0], second[0], colorWeight);
+                var green = interpolate(first[1], second[1], colorWeight);
+                var blue = interpolate(first[2], second[2], colorWeight);
+                var alpha = interpolate(first[3], second[3], alphaWeight);
+
+                switch (rotation) {
+                    case 1: {
+                        var temp = alpha;
+                        alpha = red;
+                        red = temp;
+                        break;
+                    }
+                    case 2: {
+                        var temp = alpha;
+                        alpha = green;
+                        green = temp;
+                        break;
+                    }
+                    case 3: {
+                        var temp = alpha;
+                        alpha = blue;
+                        blue = temp;
+                        break;
+                    }
+                }
+
+                block[i] = alpha << 24 | red << 16 | green << 8 | blue;
+            }
+        }
+
+        @FromAnyThread
+        private int readBits(int count) {
+
+            int result;
+
+            if (position >= 64) {
+                result = (int) ((high >>> (position - 64)) & ((1L << count) - 1));
+            } else if (position + count <= 64) {
+                result = (int) ((low >>> position) & ((1L << count) - 1));
+            } else {
+                result = (int) (((low >>> position) | (high << (64 - position))) & ((1L << count) - 1));
+            }
+
+            position += count;
+            return result;
+        }
+
+        @FromAnyThread
+        private boolean isAnchor(int pixel, int subsets, int partition) {
+            if (pixel == 0) {
+                return true;
+            } else if (subsets == 2) {
+                return pixel == BC7_ANCHORS_2[partition];
+            } else if (subsets == 3) {
+                return pixel == BC7_ANCHORS_3_SECOND[partition] || pixel == BC7_ANCHORS_3_THIRD[partition];
+            }
+            return false;
+        }
+
+        @FromAnyThread
+        private int getSubset(int pixel, int subsets, int partition) {
+            if (subsets == 2) {
+                return (BC7_PARTITIONS_2[partition] >>> pixel) & 0x1;
+            } else if (subsets == 3) {
+                return (BC7_PARTITIONS_3[partition] >>> (pixel * 2)) & 0x3;
+            }
+            return 0;
+        }
+    }
+
+    @FromAnyThread
+    private static int getBc7ColorBits(int mode) {
+        switch (mode) {
+            case 0:
+                return 4;
+            case 1:
+                return 6;
+            case 2:
+            case 4:
+            case 7:
+                return 5;
+            default:
+                return 7;
+        }
+    }
+
+    @FromAnyThread
+    private static int getBc7Weight(int index, int bits) {
+        switch (bits) {
+            case 2:
+                return BC7_WEIGHTS_2[index];
+            case 3:
+                return BC7_WEIGHTS_3[index];
+            default:
+                return BC7_WEIGHTS_4[index];
+        }
+    }
+
+    @FromAnyThread
+    private static int interpolate(int first, int second, int weight) {
+        return ((64 - weight) * first + weight * second + 32) >> 6;
+    }
+
+    /**
+     * Expand the value with the count of bits to 8 bits.
+     *
+     * @param value the value.
+     * @param bits  the count of bits.
+     * @return the 8 bits value.
+     */
+    @FromAnyThread
+    private static int expand(int value, int bits) {
+        value <<= 8 - bits;
+        return value | (value >>> bits);
+    }
+
+    @FromAnyThread
+    private static int expand5(int value) {
+        return value << 3 | value >> 2;
+    }
+
+    @FromAnyThread
+    private static int expand6(int value) {
+        return value << 2 | value >> 4;
+    }
+}
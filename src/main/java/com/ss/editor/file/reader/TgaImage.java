@@ -0,0 +1,394 @@
+package com.ss.editor.file.reader;
+
+import com.ss.editor.annotation.FromAnyThread;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * The TGA image which is decoded from a channel without reading the whole file to memory.
+ * <p>
+ * Uncompressed and RLE compressed true-color (24/32 bits) and grayscale (8 bits) images are supported. Pixels can
+ * be subsampled by a step while decoding, so only every step-th pixel of every step-th row is stored.
+ *
+ * @author JavaSaBr
+ */
+public class TgaImage {
+
+    private static final int HEADER_SIZE = 18;
+
+    private static final int TYPE_TRUE_COLOR = 2;
+    private static final int TYPE_GRAYSCALE = 3;
+    private static final int TYPE_RLE_TRUE_COLOR = 10;
+    private static final int TYPE_RLE_GRAYSCALE = 11;
+
+    /**
+     * The flag of the image descriptor which means that the first row is the top row.
+     */
+    private static final int DESCRIPTOR_TOP_ORIGIN = 0x20;
+
+    /**
+     * The size of the read buffer.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Read the header of the TGA image from the channel, the channel is used to decode pixels later and isn't
+     * closed by this image.
+     *
+     * @param channel the channel.
+     * @return the TGA image.
+     * @throws IOException if the header can't be read or the image isn't supported.
+     */
+    @FromAnyThread
+    public static @NotNull TgaImage open(@NotNull ReadableByteChannel channel) throws IOException {
+        return new TgaImage(channel);
+    }
+
+    /**
+     * The source channel.
+     */
+    @NotNull
+    private final ReadableByteChannel channel;
+
+    /**
+     * The read buffer.
+     */
+    @NotNull
+    private final ByteBuffer buffer;
+
+    /**
+     * The width of the image.
+     */
+    private final int width;
+
+    /**
+     * The height of the image.
+     */
+    private final int height;
+
+    /**
+     * The count of bytes of a pixel.
+     */
+    private final int bytesPerPixel;
+
+    /**
+     * True if pixels are RLE compressed.
+     */
+    private final boolean compressed;
+
+    /**
+     * True if the first row is the top row.
+     */
+    private final boolean topOrigin;
+
+    /**
+     * The count of pixels left in the current RLE packet.
+     */
+    private int packetLeft;
+
+    /**
+     * True if the current RLE packet repeats a pixel.
+     */
+    private boolean packetRepeated;
+
+    /**
+     * The repeated pixel of the current RLE packet.
+     */
+    private int packetPixel;
+
+    /**
+     * True if pixels were decoded.
+     */
+    private boolean decoded;
+
+    private TgaImage(@NotNull ReadableByteChannel channel) throws IOException {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.buffer.limit(0);
+
+        require(HEADER_SIZE);
+
+        var idLength = buffer.get(0) & 0xFF;
+        var colorMapType = buffer.get(1) & 0xFF;
+        var imageType = buffer.get(2) & 0xFF;
+        var colorMapLength = (buffer.get(5) & 0xFF) | (buffer.get(6) & 0xFF) << 8;
+        var colorMapDepth = buffer.get(7) & 0xFF;
+        var pixelDepth = buffer.get(16) & 0xFF;
+        var descriptor = buffer.get(17) & 0xFF;
+
+        this.width = (buffer.get(12) & 0xFF) | (buffer.get(13) & 0xFF) << 8;
+        this.height = (buffer.get(14) & 0xFF) | (buffer.get(15) & 0xFF) << 8;
+        this.compressed = imageType == TYPE_RLE_TRUE_COLOR || imageType == TYPE_RLE_GRAYSCALE;
+        this.topOrigin = (descriptor & DESCRIPTOR_TOP_ORIGIN) != 0;
+        this.bytesPerPixel = pixelDepth / 8;
+
+        var grayscale = imageType == TYPE_GRAYSCALE || imageType == TYPE_RLE_GRAYSCALE;
+
+        if (imageType != TYPE_TRUE_COLOR && imageType != TYPE_RLE_TRUE_COLOR && !grayscale) {
+            throw new IOException("Unsupported TGA image type " + imageType + ".");
+        } else if (grayscale ? pixelDepth != 8 : pixelDepth != 24 && pixelDepth != 32) {
+            throw new IOException("Unsupported TGA pixel depth " + pixelDepth + ".");
+        } else if (width < 1 || height < 1) {
+            throw new IOException("Invalid TGA image size " + width + "x" + height + ".");
+        }
+
+        buffer.position(HEADER_SIZE);
+
+        var colorMapSize = colorMapType == 0 ? 0 : colorMapLength * ((colorMapDepth + 7) / 8);
+
+        skip(idLength + colorMapSize);
+    }
+
+    /**
+     * Get the width of the image.
+     *
+     * @return the width.
+     */
+    @FromAnyThread
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the height of the image.
+     *
+     * @return the height.
+     */
+    @FromAnyThread
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Get the width of the image subsampled by the step.
+     *
+     * @param step the step.
+     * @return the width.
+     */
+    @FromAnyThread
+    public int getWidth(int step) {
+        return (width + step - 1) / step;
+    }
+
+    /**
+     * Get the height of the image subsampled by the step.
+     *
+     * @param step the step.
+     * @return the height.
+     */
+    @FromAnyThread
+    public int getHeight(int step) {
+        return (height + step - 1) / step;
+    }
+
+    /**
+     * Find the largest step of subsampling which keeps the image not smaller than the image scaled to fit the size.
+     *
+     * @param maxWidth  the max width.
+     * @param maxHeight the max height.
+     * @return the step.
+     */
+    @FromAnyThread
+    public int findStep(int maxWidth, int maxHeight) {
+
+        var scale = Math.min(1D, Math.min((double) maxWidth / width, (double) maxHeight / height));
+        var requiredWidth = (int) Math.ceil(width * scale);
+        var requiredHeight = (int) Math.ceil(height * scale);
+        var step = 1;
+
+        while (getWidth(step + 1) >= requiredWidth && getHeight(step + 1) >= requiredHeight &&
+                (getWidth(step + 1) < getWidth(step) || getHeight(step + 1) < getHeight(step))) {
+            step++;
+        }
+
+        return step;
+    }
+
+    /**
+     * Decode ARGB pixels subsampled by the step, the pixels can be decoded only once.
+     *
+     * @param step   the step of subsampling.
+     * @param pixels the array to reuse or null, it's reused if it's enough to store subsampled pixels.
+     * @return the ARGB pixels, the array can be longer than the count of pixels.
+     * @throws IOException if the pixels can't be read.
+     */
+    @FromAnyThread
+    public @NotNull int[] decode(int step, @Nullable int[] pixels) throws IOException {
+
+        var count = getWidth(step) * getHeight(step);
+        var result = pixels != null && pixels.length >= count ? pixels : new int[count];
+
+        decode(step, IntBuffer.wrap(result));
+
+        return result;
+    }
+
+    /**
+     * Decode ARGB pixels subsampled by the step to the buffer from its current position, the position isn't
+     * changed and the pixels can be decoded only once.
+     *
+     * @param step   the step of subsampling.
+     * @param pixels the buffer which has enough remaining space to store subsampled pixels.
+     * @throws IOException if the pixels can't be read.
+     */
+    @FromAnyThread
+    public void decode(int step, @NotNull IntBuffer pixels) throws IOException {
+
+        if (step < 1) {
+            throw new IllegalArgumentException("Invalid step " + step + ".");
+        } else if (decoded) {
+            throw new IllegalStateException("The pixels were already decoded.");
+        }
+
+        var resultWidth = getWidth(step);
+        var resultHeight = getHeight(step);
+
+        if (pixels.remaining() < resultWidth * resultHeight) {
+            throw new IllegalArgumentException("The buffer is too small to store " + resultWidth + "x" +
+                    resultHeight + " pixels.");
+        }
+
+        decoded = true;
+
+        var base = pixels.position();
+
+        for (int row = 0; row < height; row++) {
+
+            var y = topOrigin ? row : height - 1 - row;
+
+            if (y % step != 0) {
+                skipRow();
+                continue;
+            }
+
+            var offset = base + (y / step) * resultWidth;
+
+            for (int x = 0; x < width; x++) {
+
+                var pixel = readPixel();
+
+                if (x % step == 0) {
+                    pixels.put(offset + x / step, pixel);
+                }
+            }
+        }
+    }
+
+    /**
+     * Skip pixels of a row which isn't stored.
+     */
+    @FromAnyThread
+    private void skipRow() throws IOException {
+
+        if (!compressed) {
+            skip((long) width * bytesPerPixel);
+            return;
+        }
+
+        for (int x = 0; x < width; x++) {
+            readPixel();
+        }
+    }
+
+    @FromAnyThread
+    private int readPixel() throws IOException {
+
+        if (!compressed) {
+            return readColor();
+        }
+
+        if (packetLeft == 0) {
+            require(1);
+            var header = buffer.get() & 0xFF;
+            packetLeft = (header & 0x7F) + 1;
+            packetRepeated = (header & 0x80) != 0;
+            if (packetRepeated) {
+                packetPixel = readColor();
+            }
+        }
+
+        packetLeft--;
+
+        return packetRepeated ? packetPixel : readColor();
+    }
+
+    @FromAnyThread
+    private int readColor() throws IOException {
+
+        require(bytesPerPixel);
+
+        if (bytesPerPixel == 1) {
+            var value = buffer.get() & 0xFF;
+            return 0xFF000000 | value << 16 | value << 8 | value;
+        }
+
+        var blue = buffer.get() & 0xFF;
+        var green = buffer.get() & 0xFF;
+        var red = buffer.get() & 0xFF;
+        var alpha = bytesPerPixel == 4 ? buffer.get() & 0xFF : 0xFF;
+
+        return alpha << 24 | red << 16 | green << 8 | blue;
+    }
+
+    /**
+     * Make sure that the buffer has the count of bytes.
+     *
+     * @param count the count of bytes.
+     * @throws IOException if the channel doesn't have enough bytes.
+     */
+    @FromAnyThread
+    private void require(int count) throws IOException {
+
+        if (buffer.remaining() >= count) {
+            return;
+        }
+
+        buffer.compact();
+
+        while (buffer.position() < count) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("The TGA image is truncated.");
+            }
+        }
+
+        buffer.flip();
+    }
+
+    /**
+     * Skip the count of bytes, a seekable channel is repositioned instead of reading skipped bytes.
+     *
+     * @param count the count of bytes.
+     * @throws IOException if the channel doesn't have enough bytes.
+     */
+    @FromAnyThread
+    private void skip(long count) throws IOException {
+
+        var buffered = Math.min(count, buffer.remaining());
+
+        buffer.position(buffer.position() + (int) buffered);
+
+        var left = count - buffered;
+
+        if (left == 0) {
+            return;
+        } else if (channel instanceof SeekableByteChannel) {
+            var seekable = (SeekableByteChannel) channel;
+            seekable.position(seekable.position() + left);
+            return;
+        }
+
+        while (left > 0) {
+            var part = (int) Math.min(left, BUFFER_SIZE);
+            require(part);
+            buffer.position(buffer.position() + part);
+            left -= part;
+        }
+    }
+}
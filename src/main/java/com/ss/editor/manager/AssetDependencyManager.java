@@ -0,0 +1,593 @@
+package com.ss.editor.manager;
+
+import static com.ss.editor.util.EditorUtil.getAssetFile;
+import static com.ss.editor.util.EditorUtil.getRealFile;
+import static com.ss.editor.util.EditorUtil.toAssetPath;
+import com.ss.editor.FileExtensions;
+import com.ss.editor.Messages;
+import com.ss.editor.annotation.BackgroundThread;
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.annotation.FxThread;
+import com.ss.editor.config.EditorConfig;
+import com.ss.editor.executor.TaskPriority;
+import com.ss.editor.file.reader.AssetReferenceReader;
+import com.ss.editor.model.workspace.AssetDependencyGraph;
+import com.ss.editor.ui.component.editor.area.EditorAreaComponent;
+import com.ss.editor.ui.dialog.ConfirmDialog;
+import com.ss.editor.ui.event.FxEventManager;
+import com.ss.editor.ui.event.impl.*;
+import com.ss.editor.ui.util.UiUtils;
+import com.ss.editor.util.EditorUtil;
+import com.ss.rlib.common.logging.Logger;
+import com.ss.rlib.common.logging.LoggerManager;
+import com.ss.rlib.common.manager.InitializeManager;
+import com.ss.rlib.common.util.FileUtils;
+import com.ss.rlib.common.util.array.Array;
+import com.ss.rlib.common.util.array.ArrayFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The class to manage the graph of references between assets of the current asset folder.
+ * <p>
+ * The graph is updated in the background by file events and is stored in the workspace folder, so usages of an
+ * asset are found without reading files.
+ *
+ * @author JavaSaBr
+ */
+public class AssetDependencyManager {
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(AssetDependencyManager.class);
+
+    @NotNull
+    private static final ExecutorManager EXECUTOR_MANAGER = ExecutorManager.getInstance();
+
+    /**
+     * The key of the reload task, a new reload request supersedes not started one.
+     */
+    @NotNull
+    private static final String RELOAD_TASK_KEY = "AssetDependencyManager.reload";
+
+    /**
+     * The key of the save task, a new save request supersedes not started one.
+     */
+    @NotNull
+    private static final String SAVE_TASK_KEY = "AssetDependencyManager.save";
+
+    @Nullable
+    private static AssetDependencyManager instance;
+
+    @FromAnyThread
+    public static @NotNull AssetDependencyManager getInstance() {
+        if (instance == null) instance = new AssetDependencyManager();
+        return instance;
+    }
+
+    /**
+     * The graph of references of the current asset folder.
+     */
+    @Nullable
+    private volatile AssetDependencyGraph graph;
+
+    private AssetDependencyManager() {
+        InitializeManager.valid(getClass());
+
+        var initializationManager = InitializationManager.getInstance();
+        initializationManager.addOnFinishLoading(() -> {
+            var fxEventManager = FxEventManager.getInstance();
+            fxEventManager.addEventHandler(CreatedFileEvent.EVENT_TYPE,
+                    event -> processEvent((CreatedFileEvent) event));
+            fxEventManager.addEventHandler(DeletedFileEvent.EVENT_TYPE,
+                    event -> processEvent((DeletedFileEvent) event));
+            fxEventManager.addEventHandler(FileChangedEvent.EVENT_TYPE, this::processEvent);
+            fxEventManager.addEventHandler(MovedFileEvent.EVENT_TYPE, event -> processEvent((MovedFileEvent) event));
+            fxEventManager.addEventHandler(RenamedFileEvent.EVENT_TYPE,
+                    event -> processEvent((RenamedFileEvent) event));
+        });
+    }
+
+    /**
+     * Return true if the file with the extension can reference other assets.
+     *
+     * @param extension the extension of the file.
+     * @return true if the file can reference other assets.
+     */
+    @FromAnyThread
+    public static boolean isSource(@NotNull String extension) {
+        return AssetReferenceReader.isSupported(extension);
+    }
+
+    /**
+     * Get the graph of references if it's built for the current asset folder.
+     *
+     * @return the graph or null.
+     */
+    @FromAnyThread
+    private @Nullable AssetDependencyGraph getGraph() {
+
+        var graph = this.graph;
+        var currentAsset = EditorConfig.getInstance().getCurrentAsset();
+
+        if (graph == null || !graph.getAssetFolder().equals(currentAsset)) {
+            return null;
+        }
+
+        return graph;
+    }
+
+    /**
+     * Rebuild the graph of references of the asset folder, only changed sources are read again.
+     *
+     * @param assetFolder the asset folder.
+     * @param sources     all files of the asset folder which can reference other assets.
+     */
+    @FromAnyThread
+    public void reload(@NotNull Path assetFolder, @NotNull Array<Path> sources) {
+        EXECUTOR_MANAGER.submitBackgroundTask(RELOAD_TASK_KEY, () -> doReload(assetFolder, sources), TaskPriority.BULK);
+    }
+
+    @BackgroundThread
+    private void doReload(@NotNull Path assetFolder, @NotNull Array<Path> sources) {
+
+        var graph = this.graph;
+
+        if (graph == null || !graph.getAssetFolder().equals(assetFolder)) {
+            graph = AssetDependencyGraph.load(assetFolder);
+        }
+
+        var existing = new HashSet<String>();
+
+        for (var source : sources) {
+
+            var assetPath = toAssetPath(getAssetFile(assetFolder, source));
+            existing.add(assetPath);
+
+            try {
+
+                var lastModified = Files.getLastModifiedTime(source).toMillis();
+
+                if (!graph.isActual(assetPath, lastModified)) {
+                    graph.update(assetPath, lastModified, AssetReferenceReader.read(source));
+                }
+
+            } catch (IOException e) {
+                LOGGER.warning(this, e);
+            }
+        }
+
+        graph.retain(existing);
+
+        this.graph = graph;
+
+        if (graph.isChanged()) {
+            save(graph);
+        }
+    }
+
+    /**
+     * Save the graph to the workspace folder.
+     *
+     * @param graph the graph.
+     */
+    @BackgroundThread
+    private void save(@NotNull AssetDependencyGraph graph) {
+        try {
+            graph.save();
+        } catch (IOException e) {
+            LOGGER.warning(this, e);
+        }
+    }
+
+    /**
+     * Request to save the current graph later.
+     */
+    @FromAnyThread
+    private void requestSave() {
+
+        var graph = getGraph();
+
+        if (graph != null) {
+            EXECUTOR_MANAGER.submitBackgroundTask(SAVE_TASK_KEY, () -> save(graph), TaskPriority.BULK);
+        }
+    }
+
+    /**
+     * Find files which reference the file or any file in the folder.
+     *
+     * @param file the file or the folder.
+     * @return the list of files which reference the file.
+     */
+    @FromAnyThread
+    public @NotNull Array<Path> findUsages(@NotNull Path file) {
+        return toRealFiles(findUsages(file, Files.isDirectory(file)));
+    }
+
+    /**
+     * Find j3o files which reference the file or any file in the folder, their references can't be updated after
+     * moving the file.
+     *
+     * @param file the file or the folder.
+     * @return the list of j3o files which reference the file.
+     */
+    @FromAnyThread
+    public @NotNull Array<Path> findBinaryUsages(@NotNull Path file) {
+
+        var usages = findUsages(file, Files.isDirectory(file));
+        usages.removeIf(assetPath -> !FileExtensions.JME_OBJECT.equals(FileUtils.getExtension(assetPath)));
+
+        return toRealFiles(usages);
+    }
+
+    /**
+     * Find asset paths of assets which reference the asset directly or through other assets.
+     *
+     * @param assetPath the asset path.
+     * @return the set of asset paths.
+     */
+    @FromAnyThread
+    public @NotNull Set<String> findUsagesRecursively(@NotNull String assetPath) {
+        var graph = getGraph();
+        return graph == null ? Collections.emptySet() : graph.getUsagesRecursively(assetPath);
+    }
+
+    /**
+     * Find asset paths of assets which are referenced by the asset directly or through other assets.
+     *
+     * @param assetPath the asset path.
+     * @return the set of asset paths.
+     */
+    @FromAnyThread
+    public @NotNull Set<String> findDependenciesRecursively(@NotNull String assetPath) {
+        var graph = getGraph();
+        return graph == null ? Collections.emptySet() : graph.getDependenciesRecursively(assetPath);
+    }
+
+    @FromAnyThread
+    private @NotNull Set<String> findUsages(@NotNull Path file, boolean isFolder) {
+
+        var graph = getGraph();
+        var assetFile = getAssetFile(file);
+
+        if (graph == null || assetFile == null) {
+            return new HashSet<>();
+        }
+
+        var assetPath = toAssetPath(assetFile);
+
+        return isFolder ? graph.getFolderUsages(assetPath) : graph.getUsages(assetPath);
+    }
+
+    @FromAnyThread
+    private static @NotNull Array<Path> toRealFiles(@NotNull Set<String> assetPaths) {
+
+        var result = ArrayFactory.newArray(Path.class, assetPaths.size());
+
+        for (var assetPath : assetPaths) {
+            var realFile = getRealFile(assetPath);
+            if (realFile != null) {
+                result.add(realFile);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Handle a created file.
+     */
+    @FxThread
+    private void processEvent(@NotNull CreatedFileEvent event) {
+        if (!event.isDirectory()) {
+            submitUpdate(event.getFile());
+        }
+    }
+
+    /**
+     * Handle a changed file.
+     */
+    @FxThread
+    private void processEvent(@NotNull FileChangedEvent event) {
+        submitUpdate(event.getFile());
+    }
+
+    /**
+     * Handle a deleted file.
+     */
+    @FxThread
+    private void processEvent(@NotNull DeletedFileEvent event) {
+
+        var graph = getGraph();
+        var file = event.getFile();
+        var assetFile = getAssetFile(file);
+
+        if (graph == null || assetFile == null) {
+            return;
+        }
+
+        var assetPath = toAssetPath(assetFile);
+
+        if (event.isDirectory()) {
+            graph.removeFolder(assetPath);
+        } else if (isSource(FileUtils.getExtension(file))) {
+            graph.remove(assetPath);
+        } else {
+            return;
+        }
+
+        requestSave();
+    }
+
+    /**
+     * Handle a moved file.
+     */
+    @FxThread
+    private void processEvent(@NotNull MovedFileEvent event) {
+        handleMove(event.getPrevFile(), event.getNewFile());
+    }
+
+    /**
+     * Handle a renamed file.
+     */
+    @FxThread
+    private void processEvent(@NotNull RenamedFileEvent event) {
+        handleMove(event.getPrevFile(), event.getNewFile());
+    }
+
+    /**
+     * Move references of the moved source or of all sources in the moved folder and submit a task to find text files
+     * which have references to the moved file, they are updated only after confirmation by the user.
+     *
+     * @param prevFile the previous file.
+     * @param newFile  the new file.
+     */
+    @FxThread
+    private void handleMove(@NotNull Path prevFile, @NotNull Path newFile) {
+
+        var graph = getGraph();
+        var prevAssetFile = getAssetFile(prevFile);
+        var newAssetFile = getAssetFile(newFile);
+
+        if (graph == null || prevAssetFile == null || newAssetFile == null) {
+            return;
+        }
+
+        var prevAssetPath = toAssetPath(prevAssetFile);
+        var newAssetPath = toAssetPath(newAssetFile);
+
+        if (graph.move(prevAssetPath, newAssetPath) > 0) {
+            requestSave();
+        }
+
+        EXECUTOR_MANAGER.submitBackgroundTask(() ->
+                findReferences(prevFile, newFile, prevAssetPath, newAssetPath), TaskPriority.NORMAL);
+    }
+
+    /**
+     * Submit a task to update references of the file.
+     *
+     * @param file the file.
+     */
+    @FromAnyThread
+    private void submitUpdate(@NotNull Path file) {
+        if (getGraph() != null && isSource(FileUtils.getExtension(file))) {
+            EXECUTOR_MANAGER.submitBackgroundTask(RELOAD_TASK_KEY + ":" + file, () -> update(file), TaskPriority.BULK);
+        }
+    }
+
+    /**
+     * Read references of the file again.
+     *
+     * @param file the file.
+     */
+    @BackgroundThread
+    private void update(@NotNull Path file) {
+
+        var graph = getGraph();
+        var assetFile = getAssetFile(file);
+
+        if (graph == null || assetFile == null || !Files.exists(file)) {
+            return;
+        }
+
+        var assetPath = toAssetPath(assetFile);
+
+        try {
+
+            var lastModified = Files.getLastModifiedTime(file).toMillis();
+
+            if (!graph.isActual(assetPath, lastModified)) {
+                graph.update(assetPath, lastModified, AssetReferenceReader.read(file));
+                requestSave();
+            }
+
+        } catch (IOException e) {
+            LOGGER.warning(this, e);
+        }
+    }
+
+    /**
+     * Find text files which have references to the moved file or folder and ask the user to update them, j3o files
+     * can't be updated.
+     *
+     * @param prevFile      the previous file.
+     * @param newFile       the new file.
+     * @param prevAssetPath the previous asset path.
+     * @param newAssetPath  the new asset path.
+     */
+    @BackgroundThread
+    private void findReferences(
+            @NotNull Path prevFile,
+            @NotNull Path newFile,
+            @NotNull String prevAssetPath,
+            @NotNull String newAssetPath
+    ) {
+
+        var isFolder = Files.isDirectory(newFile);
+        var users = new ArrayList<String>();
+        var files = new ArrayList<Path>();
+        var prevFiles = new ArrayList<Path>();
+
+        // sources in the moved folder are already moved in the graph
+        for (var user : findUsages(prevFile, isFolder)) {
+
+            if (!AssetReferenceReader.isTextSupported(FileUtils.getExtension(user))) {
+                continue;
+            }
+
+            var realFile = getRealFile(user);
+
+            if (realFile == null || !Files.exists(realFile)) {
+                continue;
+            }
+
+            // an editor of the user could be not notified about moving the folder yet
+            var prevRealFile = user.startsWith(newAssetPath + "/") ?
+                    prevFile.resolve(newFile.relativize(realFile)) : realFile;
+
+            users.add(user);
+            files.add(realFile);
+            prevFiles.add(prevRealFile);
+        }
+
+        if (!users.isEmpty()) {
+            EXECUTOR_MANAGER.addFxTask(() ->
+                    confirmUpdate(newFile, prevAssetPath, newAssetPath, isFolder, users, files, prevFiles));
+        }
+    }
+
+    /**
+     * Ask the user to update references to the moved file, files with unsaved changes in editors are skipped.
+     *
+     * @param newFile       the new file.
+     * @param prevAssetPath the previous asset path.
+     * @param newAssetPath  the new asset path.
+     * @param isFolder      true if the moved file is a folder.
+     * @param users         the asset paths of files with references.
+     * @param files         the files with references.
+     * @param prevFiles     the files with references before moving.
+     */
+    @FxThread
+    private void confirmUpdate(
+            @NotNull Path newFile,
+            @NotNull String prevAssetPath,
+            @NotNull String newAssetPath,
+            boolean isFolder,
+            @NotNull List<String> users,
+            @NotNull List<Path> files,
+            @NotNull List<Path> prevFiles
+    ) {
+
+        EditorAreaComponent editorArea = EditorUtil.getFxScene()
+                .findComponent(EditorAreaComponent.COMPONENT_ID);
+
+        var dirtyFiles = new HashSet<Path>();
+
+        if (editorArea != null) {
+            editorArea.getDirtyFiles().forEach(dirtyFiles::add);
+        }
+
+        var toUpdate = new ArrayList<Path>();
+        var toUpdateUsers = new ArrayList<String>();
+        var skipped = new ArrayList<String>();
+
+        for (int i = 0; i < users.size(); i++) {
+            if (dirtyFiles.contains(files.get(i)) || dirtyFiles.contains(prevFiles.get(i))) {
+                skipped.add(users.get(i));
+            } else {
+                toUpdate.add(files.get(i));
+                toUpdateUsers.add(users.get(i));
+            }
+        }
+
+        var fileName = newFile.getFileName().toString();
+
+        if (toUpdate.isEmpty()) {
+            showSkippedReferences(fileName, skipped);
+            return;
+        }
+
+        var question = Messages.FILE_MOVE_UPDATE_REFERENCES_QUESTION
+                .replace("%file_name%", fileName)
+                .replace("%count%", String.valueOf(toUpdate.size()))
+                .replace("%files%", String.join(", ", toUpdateUsers));
+
+        var dialog = new ConfirmDialog(result -> {
+
+            if (!Boolean.TRUE.equals(result)) {
+                return;
+            }
+
+            EXECUTOR_MANAGER.submitBackgroundTask(() ->
+                    updateReferences(toUpdate, prevAssetPath, newAssetPath, isFolder), TaskPriority.NORMAL);
+
+            showSkippedReferences(fileName, skipped);
+
+        }, question);
+
+        dialog.show();
+    }
+
+    /**
+     * Update references to the moved file or folder in the text files.
+     *
+     * @param files         the text files.
+     * @param prevAssetPath the previous asset path.
+     * @param newAssetPath  the new asset path.
+     * @param isFolder      true if the moved file is a folder.
+     */
+    @BackgroundThread
+    private void updateReferences(
+            @NotNull List<Path> files,
+            @NotNull String prevAssetPath,
+            @NotNull String newAssetPath,
+            boolean isFolder
+    ) {
+
+        for (var file : files) {
+            try {
+
+                var content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+                var newContent = AssetReferenceReader.replaceReferences(content, prevAssetPath, newAssetPath, isFolder);
+
+                if (!content.equals(newContent)) {
+                    Files.write(file, newContent.getBytes(StandardCharsets.UTF_8));
+                }
+
+            } catch (IOException e) {
+                LOGGER.warning(this, e);
+            }
+        }
+    }
+
+    /**
+     * Notify the user about files which have references to the moved file, but weren't updated because they have
+     * unsaved changes.
+     *
+     * @param fileName the name of the moved file.
+     * @param skipped  the asset paths of not updated files.
+     */
+    @FxThread
+    private void showSkippedReferences(@NotNull String fileName, @NotNull List<String> skipped) {
+
+        if (skipped.isEmpty()) {
+            return;
+        }
+
+        var message = Messages.FILE_MOVE_UNSAVED_REFERENCES_WARNING
+                .replace("%file_name%", fileName)
+                .replace("%files%", String.join(", ", skipped));
+
+        UiUtils.createWarningAlert(message).show();
+    }
+}
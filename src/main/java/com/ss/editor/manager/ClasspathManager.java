@@ -7,10 +7,14 @@ import com.jme3.asset.AssetManager;
 import com.ss.editor.FileExtensions;
 import com.ss.editor.JmeApplication;
 import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.classpath.CachedClassPathScanner;
+import com.ss.editor.classpath.ClassInfo;
+import com.ss.editor.classpath.ClasspathScanCache;
+import com.ss.editor.config.Config;
 import com.ss.editor.config.EditorConfig;
 import com.ss.editor.util.EditorUtil;
-import com.ss.rlib.common.classpath.ClassPathScanner;
-import com.ss.rlib.common.classpath.ClassPathScannerFactory;
+import com.ss.rlib.common.logging.Logger;
+import com.ss.rlib.common.logging.LoggerManager;
 import com.ss.rlib.common.manager.InitializeManager;
 import com.ss.rlib.common.plugin.PluginContainer;
 import com.ss.rlib.common.util.FileUtils;
@@ -20,14 +24,18 @@ import com.ss.rlib.common.util.array.ArrayFactory;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.EnumSet;
-import java.util.Set;
+import java.util.*;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
 
 /**
  * The class to manage classpath.
@@ -53,9 +61,18 @@ public class ClasspathManager {
         public static final Set<Scope> ALL = EnumSet.allOf(Scope.class);
     }
 
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(ClasspathManager.class);
+
     @NotNull
     private static final EditorConfig EDITOR_CONFIG = EditorConfig.getInstance();
 
+    /**
+     * The name of the file of the classpath scan cache in the app folder.
+     */
+    @NotNull
+    private static final String SCAN_CACHE_FILE = "classpath-cache";
+
     @NotNull
     private static final String[] JAR_EXTENSIONS = toArray(FileExtensions.JAVA_LIBRARY);
 
@@ -78,25 +95,25 @@ public class ClasspathManager {
      * The core classpath scanner.
      */
     @NotNull
-    private final ClassPathScanner coreScanner;
+    private final CachedClassPathScanner coreScanner;
 
     /**
      * The custom classpath scanner.
      */
     @Nullable
-    private volatile ClassPathScanner customScanner;
+    private volatile CachedClassPathScanner customScanner;
 
     /**
      * The local libraries scanner.
      */
     @Nullable
-    private volatile ClassPathScanner localLibrariesScanner;
+    private volatile CachedClassPathScanner localLibrariesScanner;
 
     /**
      * The local classes scanner.
      */
     @Nullable
-    private volatile ClassPathScanner localClassesScanner;
+    private volatile CachedClassPathScanner localClassesScanner;
 
     /**
      * The libraries class loader.
@@ -122,30 +139,120 @@ public class ClasspathManager {
     @Nullable
     private volatile URLClassLoader localClassesLoader;
 
+    /**
+     * The count of changes of the class loaders.
+     */
+    private volatile int modificationCount;
+
+    /**
+     * The cache of scan results of jars and class files.
+     */
+    @NotNull
+    private final ClasspathScanCache scanCache;
+
     private ClasspathManager() {
         InitializeManager.valid(getClass());
 
-        coreScanner = ClassPathScannerFactory.newManifestScanner(JmeApplication.class, "Class-Path");
-        coreScanner.setUseSystemClasspath(true);
-        coreScanner.scan(path -> {
+        scanCache = ClasspathScanCache.load(Config.getAppFolderInUserHome().resolve(SCAN_CACHE_FILE));
+
+        final Array<Path> corePaths = ArrayFactory.newArray(Path.class);
+
+        for (final String path : getCoreClasspath()) {
 
             if (Files.isDirectory(Paths.get(path))) {
-                return true;
+                corePaths.add(Paths.get(path));
             } else if (CORE_LIBRARIES_NAMES.search(path, (pattern, pth) -> pth.contains(pattern)) == null) {
-                return false;
+                continue;
             } else if (path.contains("natives")) {
-                return false;
+                continue;
             } else if (path.contains("sources") || path.contains("javadoc")) {
-                return false;
+                continue;
+            } else {
+                corePaths.add(Paths.get(path));
             }
+        }
 
-            return true;
-        });
+        coreScanner = scan(getClass().getClassLoader(), null, corePaths);
 
         final ExecutorManager executorManager = ExecutorManager.getInstance();
         executorManager.addJmeTask(this::reload);
     }
 
+    /**
+     * Get paths of the system classpath and of the classpath from the manifest of the editor.
+     *
+     * @return the paths of the core classpath.
+     */
+    @FromAnyThread
+    private @NotNull Set<String> getCoreClasspath() {
+
+        final Set<String> result = new LinkedHashSet<>();
+        result.addAll(Arrays.asList(System.getProperty("java.class.path").split(File.pathSeparator)));
+
+        final Path root = Utils.getRootFolderFromClass(JmeApplication.class);
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+
+        try {
+
+            final Enumeration<URL> urls = loader.getResources(JarFile.MANIFEST_NAME);
+
+            while (urls.hasMoreElements()) {
+                try (final InputStream in = urls.nextElement().openStream()) {
+
+                    final String value = new Manifest(in).getMainAttributes().getValue("Class-Path");
+                    if (value == null) continue;
+
+                    for (final String path : value.split(" ")) {
+                        final Path file = root.resolve(path);
+                        if (Files.exists(file)) {
+                            result.add(file.toString());
+                        }
+                    }
+                }
+            }
+
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
+        }
+
+        return result;
+    }
+
+    /**
+     * Scan the paths by using the scan cache and save the cache if it was changed.
+     *
+     * @param loader the class loader of the paths.
+     * @param parent the scanner of the parent class loader or null.
+     * @param paths  the jars and folders.
+     * @return the scanner with the results.
+     */
+    @FromAnyThread
+    private @NotNull CachedClassPathScanner scan(
+            @NotNull final ClassLoader loader,
+            @Nullable final CachedClassPathScanner parent,
+            @NotNull final Array<Path> paths
+    ) {
+
+        final long startTime = System.currentTimeMillis();
+        final List<ClassInfo> classes = new ArrayList<>();
+        final List<String> resources = new ArrayList<>();
+
+        paths.forEach(path -> scanCache.scan(path, classes, resources));
+
+        if (scanCache.isChanged()) {
+            try {
+                scanCache.save();
+            } catch (final IOException e) {
+                LOGGER.warning(this, e);
+            }
+        }
+
+        LOGGER.debug(this, "scanned " + paths.size() + " paths for " + (System.currentTimeMillis() - startTime) +
+                "ms, found " + classes.size() + " classes and " + resources.size() + " resources.");
+
+        return new CachedClassPathScanner(loader, parent, classes, resources);
+    }
+
     /**
      * Get all available resources from classpath.
      *
@@ -157,6 +264,16 @@ public class ClasspathManager {
         return result;
     }
 
+    /**
+     * Get the count of changes of the class loaders, it's increased after each reloading of classes or libraries.
+     *
+     * @return the count of changes.
+     */
+    @FromAnyThread
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
     /**
      * Reload custom classes and libraries.
      */
@@ -164,6 +281,8 @@ public class ClasspathManager {
         updateLibraries();
         updateClasses();
 
+        modificationCount++;
+
         final URLClassLoader librariesLoader = getLibrariesLoader();
         final URLClassLoader classesLoader = getClassesLoader();
 
@@ -173,9 +292,6 @@ public class ClasspathManager {
         }
 
         final ClassLoader classLoader = classesLoader == null ? librariesLoader : classesLoader;
-        final ClassPathScanner scanner = classesLoader == null ? ClassPathScannerFactory.newDefaultScanner() :
-                ClassPathScannerFactory.newDefaultScanner(classLoader);
-
         final Array<URL> urls = ArrayFactory.newArray(URL.class);
 
         if (librariesLoader != null) {
@@ -186,16 +302,25 @@ public class ClasspathManager {
             urls.addAll(classesLoader.getURLs());
         }
 
-        final String[] paths = urls.stream().map(url -> Utils.get(url, URL::toURI))
-                .map(Paths::get)
-                .map(Path::toString)
-                .toArray(String[]::new);
+        this.customScanner = scan(classLoader, coreScanner, toPaths(urls));
+    }
+
+    /**
+     * Convert the URLs to paths.
+     *
+     * @param urls the URLs.
+     * @return the list of paths.
+     */
+    @FromAnyThread
+    private @NotNull Array<Path> toPaths(@NotNull final Array<URL> urls) {
 
-        scanner.addAdditionalPaths(paths);
-        scanner.setUseSystemClasspath(false);
-        scanner.scan();
+        final Array<Path> paths = ArrayFactory.newArray(Path.class, urls.size());
 
-        this.customScanner = scanner;
+        urls.stream().map(url -> Utils.get(url, URL::toURI))
+                .map(Paths::get)
+                .forEach(paths::add);
+
+        return paths;
     }
 
     /**
@@ -284,6 +409,8 @@ public class ClasspathManager {
             setLocalLibrariesLoader(null);
         }
 
+        modificationCount++;
+
         if (libraries.isEmpty()) {
             this.localLibrariesScanner = null;
             return this;
@@ -298,18 +425,9 @@ public class ClasspathManager {
         assetManager.addClassLoader(classLoader);
         setLocalLibrariesLoader(classLoader);
 
-        final ClassPathScanner scanner = ClassPathScannerFactory.newDefaultScanner(classLoader);
         final Array<URL> urls = ArrayFactory.asArray(classLoader.getURLs());
-        final String[] paths = urls.stream().map(url -> Utils.get(url, URL::toURI))
-                .map(Paths::get)
-                .map(Path::toString)
-                .toArray(String[]::new);
 
-        scanner.addAdditionalPaths(paths);
-        scanner.setUseSystemClasspath(false);
-        scanner.scan();
-
-        this.localLibrariesScanner = scanner;
+        this.localLibrariesScanner = scan(classLoader, coreScanner, toPaths(urls));
         return this;
     }
 
@@ -327,6 +445,8 @@ public class ClasspathManager {
             setLocalClassesLoader(null);
         }
 
+        modificationCount++;
+
         if (output == null || !Files.exists(output)) {
             this.localClassesScanner = null;
             return this;
@@ -354,18 +474,11 @@ public class ClasspathManager {
         assetManager.addClassLoader(classLoader);
         setLocalClassesLoader(classLoader);
 
-        final ClassPathScanner scanner = ClassPathScannerFactory.newDefaultScanner(classLoader);
         final Array<URL> urls = ArrayFactory.asArray(classLoader.getURLs());
-        final String[] paths = urls.stream().map(url -> Utils.get(url, URL::toURI))
-                .map(Paths::get)
-                .map(Path::toString)
-                .toArray(String[]::new);
-
-        scanner.addAdditionalPaths(paths);
-        scanner.setUseSystemClasspath(false);
-        scanner.scan();
+        final CachedClassPathScanner localLibrariesScanner = getLocalLibrariesScanner();
+        final CachedClassPathScanner parent = localLibrariesScanner == null ? coreScanner : localLibrariesScanner;
 
-        this.localClassesScanner = scanner;
+        this.localClassesScanner = scan(classLoader, parent, toPaths(urls));
         return this;
     }
 
@@ -465,7 +578,7 @@ public class ClasspathManager {
      * @return the custom scanner.
      */
     @FromAnyThread
-    private @Nullable ClassPathScanner getCustomScanner() {
+    private @Nullable CachedClassPathScanner getCustomScanner() {
         return customScanner;
     }
 
@@ -475,7 +588,7 @@ public class ClasspathManager {
      * @return the local libraries scanner.
      */
     @FromAnyThread
-    private @Nullable ClassPathScanner getLocalLibrariesScanner() {
+    private @Nullable CachedClassPathScanner getLocalLibrariesScanner() {
         return localLibrariesScanner;
     }
 
@@ -485,7 +598,7 @@ public class ClasspathManager {
      * @return the local classes scanner.
      */
     @FromAnyThread
-    private @Nullable ClassPathScanner getLocalClassesScanner() {
+    private @Nullable CachedClassPathScanner getLocalClassesScanner() {
         return localClassesScanner;
     }
 
@@ -507,17 +620,17 @@ public class ClasspathManager {
             coreScanner.findImplements(result, interfaceClass);
         }
 
-        final ClassPathScanner customScanner = getCustomScanner();
+        final CachedClassPathScanner customScanner = getCustomScanner();
         if (customScanner != null && scope.contains(Scope.CUSTOM)) {
             customScanner.findImplements(result, interfaceClass);
         }
 
-        final ClassPathScanner localLibrariesScanner = getLocalLibrariesScanner();
+        final CachedClassPathScanner localLibrariesScanner = getLocalLibrariesScanner();
         if (localLibrariesScanner != null && scope.contains(Scope.LOCAL_LIBRARIES)) {
             localLibrariesScanner.findImplements(result, interfaceClass);
         }
 
-        final ClassPathScanner localClassesScanner = getLocalClassesScanner();
+        final CachedClassPathScanner localClassesScanner = getLocalClassesScanner();
         if (localClassesScanner != null && scope.contains(Scope.LOCAL_CLASSES)) {
             localClassesScanner.findImplements(result, interfaceClass);
         }
@@ -1,19 +1,31 @@
 package com.ss.editor.manager;
 
 import com.ss.editor.annotation.FromAnyThread;
-import com.ss.editor.executor.EditorTaskExecutor;
+import com.ss.editor.executor.EditorFutureTask;
+import com.ss.editor.executor.TaskPriority;
+import com.ss.editor.executor.statistics.ExecutorStatistics;
 import com.ss.editor.executor.impl.BackgroundEditorTaskExecutor;
 import com.ss.editor.executor.impl.FxEditorTaskExecutor;
 import com.ss.editor.executor.impl.JmeThreadExecutor;
-import com.ss.rlib.common.concurrent.atomic.AtomicInteger;
+import com.ss.editor.util.EditorUtil;
 import com.ss.rlib.common.logging.Logger;
 import com.ss.rlib.common.logging.LoggerManager;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * The class to manage executing some tasks in the some threads.
@@ -30,6 +42,11 @@ public class ExecutorManager {
 
     private static final int PROP_BACKGROUND_TASK_EXECUTORS = RUNTIME.availableProcessors();
 
+    /**
+     * The interval to check long-running tasks.
+     */
+    private static final int PROP_LONG_RUNNING_CHECK_INTERVAL = 100;
+
     @Nullable
     private static ExecutorManager instance;
 
@@ -45,10 +62,10 @@ public class ExecutorManager {
     private final ScheduledExecutorService scheduledExecutorService;
 
     /**
-     * The list of background tasks executors.
+     * The executor of background tasks.
      */
     @NotNull
-    private final EditorTaskExecutor[] backgroundTaskExecutors;
+    private final BackgroundEditorTaskExecutor backgroundTaskExecutor;
 
     /**
      * The executor of editor tasks.
@@ -60,27 +77,36 @@ public class ExecutorManager {
      * The executor of javaFX tasks.
      */
     @NotNull
-    private final EditorTaskExecutor fxEditorTaskExecutor;
+    private final FxEditorTaskExecutor fxEditorTaskExecutor;
+
+    /**
+     * The table of not finished background tasks by their keys.
+     */
+    @NotNull
+    private final ConcurrentHashMap<Object, Future<?>> keyedBackgroundTasks;
 
     /**
-     * The index of a next background executor.
+     * The statistics of all executors.
      */
     @NotNull
-    private final AtomicInteger nextBackgroundTaskExecutor;
+    private final List<ExecutorStatistics> statistics;
+
+    /**
+     * The scheduled checking of long-running tasks or null if statistics are disabled.
+     */
+    @Nullable
+    private ScheduledFuture<?> longRunningCheck;
 
     private ExecutorManager() {
 
         this.scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
-        this.backgroundTaskExecutors = new EditorTaskExecutor[PROP_BACKGROUND_TASK_EXECUTORS];
-
-        for (int i = 0, length = backgroundTaskExecutors.length; i < length; i++) {
-            backgroundTaskExecutors[i] = new BackgroundEditorTaskExecutor(i + 1);
-        }
+        this.backgroundTaskExecutor = new BackgroundEditorTaskExecutor(PROP_BACKGROUND_TASK_EXECUTORS);
 
         this.jmeTasksExecutor = JmeThreadExecutor.getInstance();
         this.fxEditorTaskExecutor = new FxEditorTaskExecutor();
-
-        this.nextBackgroundTaskExecutor = new AtomicInteger(0);
+        this.keyedBackgroundTasks = new ConcurrentHashMap<>();
+        this.statistics = List.of(backgroundTaskExecutor.getStatistics(), fxEditorTaskExecutor.getStatistics(),
+                jmeTasksExecutor.getStatistics());
 
         LOGGER.debug("initialized.");
     }
@@ -91,18 +117,70 @@ public class ExecutorManager {
      * @param task the background task.
      */
     @FromAnyThread
-    public void addBackgroundTask(@NotNull final Runnable task) {
+    public void addBackgroundTask(@NotNull Runnable task) {
+        getBackgroundTaskExecutor().execute(task);
+    }
+
+    /**
+     * Submit a new background task with the priority.
+     *
+     * @param task     the background task.
+     * @param priority the priority of the task.
+     * @return the future to cancel the task.
+     */
+    @FromAnyThread
+    public @NotNull Future<?> submitBackgroundTask(@NotNull Runnable task, @NotNull TaskPriority priority) {
+        var future = new EditorFutureTask(task, () -> runSafe(task));
+        getBackgroundTaskExecutor().execute(future, priority);
+        return future;
+    }
+
+    /**
+     * Submit a new background task with the priority which supersedes a not finished task with the same key,
+     * the previous task is cancelled if it isn't started yet.
+     *
+     * @param key      the key of the task.
+     * @param task     the background task.
+     * @param priority the priority of the task.
+     * @return the future to cancel the task.
+     */
+    @FromAnyThread
+    public @NotNull Future<?> submitBackgroundTask(
+            @NotNull Object key,
+            @NotNull Runnable task,
+            @NotNull TaskPriority priority
+    ) {
+
+        var keyedTasks = keyedBackgroundTasks;
+        var future = new EditorFutureTask(task, () -> runSafe(task)) {
 
-        var executors = getBackgroundTaskExecutors();
-        var nextTaskExecutor = getNextBackgroundTaskExecutor();
+            @Override
+            protected void done() {
+                keyedTasks.remove(key, this);
+            }
+        };
+
+        var previous = keyedTasks.put(key, future);
+
+        if (previous != null) {
+            previous.cancel(false);
+        }
 
-        var index = nextTaskExecutor.incrementAndGet();
+        getBackgroundTaskExecutor().execute(future, priority);
+        return future;
+    }
 
-        if (index < executors.length) {
-            executors[index].execute(task);
-        } else {
-            nextTaskExecutor.set(0);
-            executors[0].execute(task);
+    /**
+     * Run the task and handle its exception, because a future doesn't report it.
+     *
+     * @param task the task.
+     */
+    @FromAnyThread
+    private static void runSafe(@NotNull Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            EditorUtil.handleException(LOGGER, task, e);
         }
     }
 
@@ -116,6 +194,18 @@ public class ExecutorManager {
         getFxTaskExecutor().execute(task);
     }
 
+    /**
+     * Add the new task to be executed in the JavaFX thread which replaces a not executed task with the same key,
+     * so only the latest task for the key will be executed.
+     *
+     * @param key  the key of the task.
+     * @param task the task.
+     */
+    @FromAnyThread
+    public void addCoalescedFxTask(@NotNull Object key, @NotNull Runnable task) {
+        getFxTaskExecutor().executeCoalesced(key, task);
+    }
+
     /**
      * Add a new editor task.
      *
@@ -127,33 +217,59 @@ public class ExecutorManager {
     }
 
     /**
-     * Get the list of background tasks executors.
+     * Add a new editor task which computes a result in the jME thread.
+     * <p>
+     * The returned future must not be waited in the jME thread.
      *
-     * @return the list of background tasks executors.
+     * @param supplier the supplier of the result.
+     * @param <T>      the result's type.
+     * @return the future of the result.
      */
     @FromAnyThread
-    private @NotNull EditorTaskExecutor[] getBackgroundTaskExecutors() {
-        return backgroundTaskExecutors;
+    public <T> @NotNull CompletableFuture<T> supplyJmeTask(@NotNull Supplier<T> supplier) {
+
+        var future = new CompletableFuture<T>();
+
+        addJmeTask(() -> {
+            try {
+                future.complete(supplier.get());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        return future;
     }
 
     /**
-     * Get the executor of javaFX tasks.
+     * Add a new editor task which should be executed in the nearest frame regardless of the frame budget, it's
+     * used by tasks which are results of user's input such as selection and undoable editor operations.
      *
-     * @return the executor of javaFX tasks.
+     * @param task the editor task.
      */
     @FromAnyThread
-    private @NotNull EditorTaskExecutor getFxTaskExecutor() {
-        return fxEditorTaskExecutor;
+    public void addUrgentJmeTask(@NotNull Runnable task) {
+        getJmeTasksExecutor().addUrgentToExecute(task);
+    }
+
+    /**
+     * Get the executor of background tasks.
+     *
+     * @return the executor of background tasks.
+     */
+    @FromAnyThread
+    private @NotNull BackgroundEditorTaskExecutor getBackgroundTaskExecutor() {
+        return backgroundTaskExecutor;
     }
 
     /**
-     * Get the index of a next background executor.
+     * Get the executor of javaFX tasks.
      *
-     * @return the index of a next background executor.
+     * @return the executor of javaFX tasks.
      */
     @FromAnyThread
-    private @NotNull AtomicInteger getNextBackgroundTaskExecutor() {
-        return nextBackgroundTaskExecutor;
+    private @NotNull FxEditorTaskExecutor getFxTaskExecutor() {
+        return fxEditorTaskExecutor;
     }
 
     /**
@@ -166,6 +282,75 @@ public class ExecutorManager {
         return jmeTasksExecutor;
     }
 
+    /**
+     * Get the statistics of all executors.
+     *
+     * @return the statistics of all executors.
+     */
+    @FromAnyThread
+    public @NotNull List<ExecutorStatistics> getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Enable or disable collecting statistics of all executors, it's disabled by default.
+     *
+     * @param enabled true to collect statistics.
+     */
+    @FromAnyThread
+    public synchronized void setStatisticsEnabled(boolean enabled) {
+
+        statistics.forEach(executorStatistics -> executorStatistics.setEnabled(enabled));
+
+        if (enabled && longRunningCheck == null) {
+            longRunningCheck = scheduledExecutorService.scheduleAtFixedRate(this::checkLongRunningTasks,
+                    PROP_LONG_RUNNING_CHECK_INTERVAL, PROP_LONG_RUNNING_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+        } else if (!enabled && longRunningCheck != null) {
+            longRunningCheck.cancel(false);
+            longRunningCheck = null;
+        }
+    }
+
+    /**
+     * Return true if statistics of executors are collected.
+     *
+     * @return true if statistics of executors are collected.
+     */
+    @FromAnyThread
+    public synchronized boolean isStatisticsEnabled() {
+        return longRunningCheck != null;
+    }
+
+    /**
+     * Capture stacks of tasks which are executed too long.
+     */
+    @FromAnyThread
+    private void checkLongRunningTasks() {
+        try {
+            statistics.forEach(ExecutorStatistics::checkLongRunningTasks);
+        } catch (Exception e) {
+            LOGGER.warning(this, e);
+        }
+    }
+
+    /**
+     * Export the statistics of all executors to the CSV file.
+     *
+     * @param file the CSV file.
+     * @throws IOException if the file can't be written.
+     */
+    @FromAnyThread
+    public void exportStatistics(@NotNull Path file) throws IOException {
+        try (var out = new PrintWriter(Files.newBufferedWriter(file))) {
+
+            out.println("executor,type,name,count,total_ms,max_ms,details");
+
+            for (var executorStatistics : statistics) {
+                executorStatistics.writeCsv(out);
+            }
+        }
+    }
+
     /**
      * Add a scheduled task.
      *
@@ -3,13 +3,16 @@ package com.ss.editor.manager;
 import static com.ss.editor.config.DefaultSettingsProvider.Defaults.PREF_DEFAULT_THEME;
 import static com.ss.editor.config.DefaultSettingsProvider.Preferences.PREF_UI_THEME;
 import static com.ss.editor.util.EditorUtil.toAssetPath;
-import static com.ss.rlib.common.util.ObjectUtils.notNull;
 import com.ss.editor.FileExtensions;
 import com.ss.editor.annotation.FromAnyThread;
 import com.ss.editor.annotation.FxThread;
+import com.ss.editor.config.Config;
 import com.ss.editor.config.EditorConfig;
+import com.ss.editor.executor.TaskPriority;
 import com.ss.editor.ui.css.CssColorTheme;
 import com.ss.editor.util.EditorUtil;
+import com.ss.editor.util.ImageCache;
+import com.ss.editor.util.ThumbnailPack;
 import com.ss.editor.util.svg.SvgImageLoader;
 import com.ss.rlib.common.logging.Logger;
 import com.ss.rlib.common.logging.LoggerManager;
@@ -18,19 +21,25 @@ import com.ss.rlib.common.util.FileUtils;
 import com.ss.rlib.common.util.array.Array;
 import com.ss.rlib.common.util.array.ArrayFactory;
 import com.ss.rlib.common.util.dictionary.DictionaryFactory;
-import com.ss.rlib.common.util.dictionary.IntegerDictionary;
 import com.ss.rlib.common.util.dictionary.ObjectDictionary;
 import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
+import org.apache.commons.io.IOUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Properties;
+import java.util.WeakHashMap;
 import java.util.function.BiFunction;
+import java.util.zip.CRC32;
 
 /**
  * The class to manage file icons.
@@ -47,6 +56,24 @@ public class FileIconManager {
      */
     public static final int DEFAULT_FILE_ICON_SIZE = 16;
 
+    /**
+     * The region of cached icons in the shared image cache.
+     */
+    @NotNull
+    private static final String CACHE_REGION = "icon";
+
+    /**
+     * The folder of the persistent atlas of rasterized SVG icons.
+     */
+    @NotNull
+    private static final String ICON_ATLAS_FOLDER = "icon-atlas";
+
+    /**
+     * The file of probed content types by file extensions.
+     */
+    @NotNull
+    private static final String CONTENT_TYPES_FILE = "content-types.properties";
+
     @NotNull
     private static final ObjectDictionary<String, String> EXTENSION_TO_CONTENT_TYPE = DictionaryFactory.newObjectDictionary();
 
@@ -123,13 +150,13 @@ public class FileIconManager {
      * The image cache.
      */
     @NotNull
-    private final IntegerDictionary<ObjectDictionary<String, Image>> imageCache;
+    private final ImageCache imageCache;
 
     /**
-     * The cache of original images.
+     * The original images of repainted images, entries are removed with repainted images.
      */
     @NotNull
-    private final ObjectDictionary<Image, Image> originalImageCache;
+    private final Map<Image, Image> originalImageCache;
 
     /**
      * The cache of urs by a file extension.
@@ -137,18 +164,111 @@ public class FileIconManager {
     @NotNull
     private final ObjectDictionary<String, String> extensionToUrl;
 
+    /**
+     * The probed content types by file extensions, an empty string means that the content type is unknown.
+     */
+    @NotNull
+    private final Properties probedContentTypes;
+
     /**
      * The list of icon finders.
      */
     @NotNull
     private final Array<BiFunction<Path, String, String>> iconFinders;
 
+    /**
+     * The persistent atlas of rasterized SVG icons.
+     */
+    @NotNull
+    private final ThumbnailPack iconAtlas;
+
+    /**
+     * The file of probed content types.
+     */
+    @NotNull
+    private final Path contentTypesFile;
+
     private FileIconManager() {
         InitializeManager.valid(getClass());
+
+        final Path atlasFolder = Config.getAppFolderInUserHome().resolve(ICON_ATLAS_FOLDER);
+
         this.iconFinders = ArrayFactory.newArray(BiFunction.class);
-        this.imageCache = DictionaryFactory.newIntegerDictionary();
+        this.imageCache = ImageCache.getInstance();
         this.extensionToUrl = DictionaryFactory.newObjectDictionary();
-        this.originalImageCache = DictionaryFactory.newObjectDictionary();
+        this.originalImageCache = new WeakHashMap<>();
+        this.iconAtlas = ThumbnailPack.open(atlasFolder);
+        this.contentTypesFile = atlasFolder.resolve(CONTENT_TYPES_FILE);
+        this.probedContentTypes = new Properties();
+
+        loadContentTypes();
+    }
+
+    /**
+     * Load probed content types from the previous sessions.
+     */
+    @FromAnyThread
+    private void loadContentTypes() {
+
+        if (!Files.exists(contentTypesFile)) {
+            return;
+        }
+
+        try (final InputStream in = Files.newInputStream(contentTypesFile)) {
+            probedContentTypes.load(in);
+        } catch (final IOException | IllegalArgumentException e) {
+            LOGGER.warning(e);
+        }
+    }
+
+    /**
+     * Save probed content types in background, a not started saving is replaced by the new one.
+     */
+    @FxThread
+    private void saveContentTypes() {
+
+        final Properties snapshot = new Properties();
+        snapshot.putAll(probedContentTypes);
+
+        ExecutorManager.getInstance().submitBackgroundTask(contentTypesFile, () -> {
+            try (final OutputStream out = Files.newOutputStream(contentTypesFile)) {
+                snapshot.store(out, null);
+            } catch (final IOException e) {
+                LOGGER.warning(e);
+            }
+        }, TaskPriority.BULK);
+    }
+
+    /**
+     * Probe a content type of the file, results are cached by file extensions between sessions.
+     *
+     * @param path      the file.
+     * @param extension the extension of the file.
+     * @return the content type or null if it's unknown.
+     */
+    @FxThread
+    private @Nullable String probeContentType(@NotNull final Path path, @NotNull final String extension) {
+
+        final String cached = probedContentTypes.getProperty(extension);
+
+        if (cached != null) {
+            return cached.isEmpty() ? null : cached;
+        }
+
+        String contentType = null;
+
+        try {
+            contentType = Files.probeContentType(path);
+        } catch (final IOException e) {
+            LOGGER.warning(e);
+        }
+
+        if (!extension.isEmpty()) {
+            probedContentTypes.setProperty(extension, contentType == null ? "" : contentType);
+            saveContentTypes();
+        }
+
+        return contentType;
     }
 
     /**
@@ -219,11 +339,7 @@ public class FileIconManager {
             contentType = EXTENSION_TO_CONTENT_TYPE.get(extension);
 
             if (contentType == null && tryToGetContentType) {
-                try {
-                    contentType = Files.probeContentType(path);
-                } catch (final IOException e) {
-                    LOGGER.warning(e);
-                }
+                contentType = probeContentType(path, extension);
             }
         }
 
@@ -334,29 +450,30 @@ public class FileIconManager {
             return buildImage(url, classLoader, size);
         }
 
-        return imageCache.get(size, DictionaryFactory::newObjectDictionary)
-                .get(url, () -> buildImage(url, classLoader, size));
+        Image image = imageCache.get(CACHE_REGION, url, size, size);
+
+        if (image == null) {
+            image = buildImage(url, classLoader, size);
+            imageCache.put(CACHE_REGION, url, size, size, image);
+        }
+
+        return image;
     }
 
     @FxThread
     private @NotNull Image buildImage(@NotNull final String url, @NotNull final ClassLoader classLoader,
                                       final int size) {
-        return buildImage(url, EditorUtil.getInputStream(url, classLoader), size);
-    }
 
-    @FxThread
-    private @NotNull Image buildImage(@NotNull final String url, @Nullable final InputStream in, final int size) {
-
-        final Image image;
+        final byte[] content = url.endsWith(".svg") ? readContent(url, classLoader) : null;
 
-        if (in != null) {
-            image = new Image(in, size, size, false, true);
-        } else {
-            image = new Image(url, size, size, false, true);
+        if (content == null) {
+            return buildImage(url, EditorUtil.getInputStream(url, classLoader), size);
         }
 
+        final long fingerprint = getFingerprint(content);
+        final Image image = getRasterizedSvg(url, content, fingerprint, size, null);
+
         if (!url.contains("icons/svg/")) {
-            originalImageCache.put(image, image);
             return image;
         }
 
@@ -366,21 +483,7 @@ public class FileIconManager {
         if (theme.needRepaintIcons()) {
             try {
 
-                final Color iconColor = theme.getIconColor();
-                final Image coloredImage;
-
-                SvgImageLoader.OVERRIDE_COLOR.set(iconColor);
-                try {
-
-                    if (in != null) {
-                        coloredImage = new Image(in, size, size, false, true);
-                    } else {
-                        coloredImage = new Image(url, size, size, false, true);
-                    }
-
-                } finally {
-                    SvgImageLoader.OVERRIDE_COLOR.set(null);
-                }
+                final Image coloredImage = getRasterizedSvg(url, content, fingerprint, size, theme.getIconColor());
 
                 originalImageCache.put(coloredImage, image);
 
@@ -391,20 +494,106 @@ public class FileIconManager {
             }
         }
 
-        originalImageCache.put(image, image);
-
         return image;
     }
 
+    /**
+     * Get a rasterized SVG image from the icon atlas or rasterize it and put it to the atlas, the SVG loader keeps
+     * physical pixels in the atlas by the key and the render scale.
+     *
+     * @param url           the url of the image.
+     * @param content       the content of the image.
+     * @param fingerprint   the fingerprint of the content.
+     * @param size          the size.
+     * @param overrideColor the color to repaint the image or null.
+     * @return the image.
+     */
+    @FxThread
+    private @NotNull Image getRasterizedSvg(@NotNull final String url, @NotNull final byte[] content,
+                                            final long fingerprint, final int size,
+                                            @Nullable final Color overrideColor) {
+
+        final String color = overrideColor == null ? "" : "#" + overrideColor;
+        final String key = url + '@' + Long.toHexString(fingerprint) + color;
+
+        SvgImageLoader.OVERRIDE_COLOR.set(overrideColor);
+        SvgImageLoader.ATLAS.set(iconAtlas);
+        SvgImageLoader.ATLAS_KEY.set(key);
+        try {
+            return new Image(new ByteArrayInputStream(content), size, size, false, true);
+        } finally {
+            SvgImageLoader.OVERRIDE_COLOR.set(null);
+            SvgImageLoader.ATLAS.set(null);
+            SvgImageLoader.ATLAS_KEY.set(null);
+        }
+    }
+
+    /**
+     * Read the content of the resource.
+     *
+     * @param url         the url of the resource.
+     * @param classLoader the class loader.
+     * @return the content or null if it can't be read.
+     */
+    @FromAnyThread
+    private @Nullable byte[] readContent(@NotNull final String url, @NotNull final ClassLoader classLoader) {
+
+        InputStream in = EditorUtil.getInputStream(url, classLoader);
+
+        if (in == null && url.startsWith("/")) {
+            in = EditorUtil.getInputStream(url.substring(1), classLoader);
+        }
+
+        if (in == null) {
+            in = EditorUtil.getInputStream(url);
+        }
+
+        if (in == null) {
+            return null;
+        }
+
+        try (final InputStream stream = in) {
+            return IOUtils.toByteArray(stream);
+        } catch (final IOException e) {
+            LOGGER.warning(e);
+            return null;
+        }
+    }
+
+    /**
+     * Calculate the fingerprint of the content, it's a part of keys in the icon atlas, so rasterized images of
+     * changed resources aren't used.
+     *
+     * @param content the content.
+     * @return the fingerprint.
+     */
+    @FromAnyThread
+    private static long getFingerprint(@NotNull final byte[] content) {
+        final CRC32 crc32 = new CRC32();
+        crc32.update(content);
+        return crc32.getValue() | (long) content.length << 32;
+    }
+
+    @FxThread
+    private @NotNull Image buildImage(@NotNull final String url, @Nullable final InputStream in, final int size) {
+
+        if (in != null) {
+            return new Image(in, size, size, false, true);
+        } else {
+            return new Image(url, size, size, false, true);
+        }
+    }
+
     /**
      * Get an original image of the image.
      *
      * @param image the image.
-     * @return the original image.
+     * @return the original image or the same image if it wasn't repainted.
      */
-    @FromAnyThread
+    @FxThread
     public @NotNull Image getOriginal(@NotNull final Image image) {
-        return notNull(originalImageCache.get(image), "not found original for " + image.getUrl());
+        final Image original = originalImageCache.get(image);
+        return original == null ? image : original;
     }
 
     /**
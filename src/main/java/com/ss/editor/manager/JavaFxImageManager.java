@@ -2,48 +2,62 @@ package com.ss.editor.manager;
 
 import static com.ss.rlib.common.util.FileUtils.getExtension;
 import static com.ss.rlib.common.util.array.ArrayFactory.asArray;
-import static java.awt.Image.SCALE_DEFAULT;
-import static java.nio.file.StandardOpenOption.*;
 import com.jme3.asset.AssetManager;
 import com.jme3.texture.Texture;
 import com.ss.editor.FileExtensions;
+import com.ss.editor.annotation.BackgroundThread;
 import com.ss.editor.annotation.FromAnyThread;
 import com.ss.editor.annotation.FxThread;
 import com.ss.editor.config.Config;
-import com.ss.editor.file.reader.DdsReader;
-import com.ss.editor.file.reader.TgaReader;
+import com.ss.editor.executor.TaskPriority;
+import com.ss.editor.file.reader.DdsImage;
+import com.ss.editor.file.reader.TgaImage;
 import com.ss.editor.ui.Icons;
 import com.ss.editor.ui.event.FxEventManager;
 import com.ss.editor.ui.event.impl.ChangedCurrentAssetFolderEvent;
 import com.ss.editor.ui.event.impl.DeletedFileEvent;
+import com.ss.editor.ui.event.impl.FileChangedEvent;
 import com.ss.editor.util.EditorUtil;
+import com.ss.editor.util.ImageCache;
+import com.ss.editor.util.ImageUtils;
+import com.ss.editor.util.ThumbnailPack;
 import com.ss.rlib.common.logging.Logger;
+import com.ss.rlib.common.logging.LoggerLevel;
 import com.ss.rlib.common.logging.LoggerManager;
 import com.ss.rlib.common.manager.InitializeManager;
 import com.ss.rlib.common.util.FileUtils;
-import com.ss.rlib.common.util.StringUtils;
 import com.ss.rlib.common.util.Utils;
 import com.ss.rlib.common.util.array.Array;
 import com.ss.rlib.common.util.array.ArrayFactory;
 import com.ss.rlib.common.util.dictionary.DictionaryFactory;
-import com.ss.rlib.common.util.dictionary.IntegerDictionary;
 import com.ss.rlib.common.util.dictionary.ObjectDictionary;
-import javafx.embed.swing.SwingFXUtils;
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
 import jme3tools.converters.ImageToAwt;
 import org.apache.commons.io.IOUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.imageio.ImageIO;
-import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
 import java.io.IOException;
-import java.io.OutputStream;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.FileTime;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 /**
  * The class to manage previews of images to JavaFX
@@ -58,9 +72,18 @@ public class JavaFxImageManager {
     @NotNull
     private static final FxEventManager FX_EVENT_MANAGER = FxEventManager.getInstance();
 
+    @NotNull
+    private static final ExecutorManager EXECUTOR_MANAGER = ExecutorManager.getInstance();
+
+    /**
+     * The folder of the previous cache of previews with separated files.
+     */
     @NotNull
     private static final String PREVIEW_CACHE_FOLDER = "preview-cache";
 
+    @NotNull
+    private static final String THUMBNAIL_PACK_FOLDER = "thumbnails";
+
     @NotNull
     private static final Array<String> FX_FORMATS = asArray(
             FileExtensions.IMAGE_PNG,
@@ -85,6 +108,23 @@ public class JavaFxImageManager {
      */
     private static final int CACHED_IMAGES_SIZE = 30;
 
+    /**
+     * The region of cached previews in the shared image cache.
+     */
+    @NotNull
+    private static final String CACHE_REGION = "preview";
+
+    /**
+     * The max count of decoded pixels of DDS and TGA images to reuse their array by the same thread.
+     */
+    private static final int MAX_REUSED_PIXELS = 1024 * 1024;
+
+    /**
+     * The reusable arrays of decoded pixels of DDS and TGA images.
+     */
+    @NotNull
+    private static final ThreadLocal<int[]> PIXELS = new ThreadLocal<>();
+
     static {
         IMAGE_FORMATS.addAll(FX_FORMATS);
         IMAGE_FORMATS.addAll(JME_FORMATS);
@@ -119,6 +159,46 @@ public class JavaFxImageManager {
         return IMAGE_FORMATS.contains(extension);
     }
 
+    /**
+     * The not finished request of an image preview.
+     */
+    private static class PreviewRequest {
+
+        /**
+         * The path of the image.
+         */
+        @NotNull
+        private final String path;
+
+        /**
+         * The placeholder which is filled by the loaded preview.
+         */
+        @NotNull
+        private final WritableImage image;
+
+        /**
+         * The future of the loading task.
+         */
+        @Nullable
+        private volatile Future<?> future;
+
+        /**
+         * True if the request was cancelled.
+         */
+        private volatile boolean cancelled;
+
+        /**
+         * The count of users which wait for the preview.
+         */
+        private int users;
+
+        private PreviewRequest(@NotNull final String path, final int width, final int height) {
+            this.path = path;
+            this.image = new WritableImage(width, height);
+            this.users = 1;
+        }
+    }
+
     @Nullable
     private static JavaFxImageManager instance;
 
@@ -132,37 +212,52 @@ public class JavaFxImageManager {
      * The cache of small images.
      */
     @NotNull
-    private IntegerDictionary<IntegerDictionary<ObjectDictionary<String, Image>>> smallImageCache;
+    private final ImageCache smallImageCache;
 
     /**
-     * The cache folder.
+     * The not finished requests of image previews by paths and sizes.
      */
     @NotNull
-    private final Path cacheFolder;
+    private final ObjectDictionary<String, PreviewRequest> previewRequests;
+
+    /**
+     * The persistent pack of previews.
+     */
+    @NotNull
+    private final ThumbnailPack thumbnailPack;
 
     private JavaFxImageManager() {
         InitializeManager.valid(getClass());
 
         final Path appFolder = Config.getAppFolderInUserHome();
 
-        this.cacheFolder = appFolder.resolve(PREVIEW_CACHE_FOLDER);
-        this.smallImageCache = DictionaryFactory.newIntegerDictionary();
+        this.thumbnailPack = ThumbnailPack.open(appFolder.resolve(THUMBNAIL_PACK_FOLDER));
+        this.smallImageCache = ImageCache.getInstance();
+        this.previewRequests = DictionaryFactory.newObjectDictionary();
 
         final ExecutorManager executorManager = ExecutorManager.getInstance();
+        final Path previewCacheFolder = appFolder.resolve(PREVIEW_CACHE_FOLDER);
+
+        if (Files.exists(previewCacheFolder)) {
+            executorManager.submitBackgroundTask(() -> FileUtils.delete(previewCacheFolder), TaskPriority.BULK);
+        }
+
         executorManager.addFxTask(() -> FX_EVENT_MANAGER.addEventHandler(DeletedFileEvent.EVENT_TYPE,
                 event -> processEvent((DeletedFileEvent) event)));
+        executorManager.addFxTask(() -> FX_EVENT_MANAGER.addEventHandler(FileChangedEvent.EVENT_TYPE,
+                event -> processEvent((FileChangedEvent) event)));
         executorManager.addFxTask(() -> FX_EVENT_MANAGER.addEventHandler(ChangedCurrentAssetFolderEvent.EVENT_TYPE,
                 event -> processEvent((ChangedCurrentAssetFolderEvent) event)));
     }
 
     /**
-     * Get the cache folder.
+     * Get the persistent pack of previews.
      *
-     * @return the cache folder.
+     * @return the persistent pack of previews.
      */
     @FromAnyThread
-    private @NotNull Path getCacheFolder() {
-        return cacheFolder;
+    public @NotNull ThumbnailPack getThumbnailPack() {
+        return thumbnailPack;
     }
 
     /**
@@ -198,6 +293,256 @@ public class JavaFxImageManager {
         return image;
     }
 
+    /**
+     * Get an image preview asynchronously, the returned placeholder is filled by the preview after loading it in
+     * background. Requests of the same image with the same size share the same placeholder.
+     *
+     * @param file   the image file.
+     * @param width  the required width.
+     * @param height the required height.
+     * @return the cached image or the placeholder.
+     * @see #cancelImagePreview(Image)
+     */
+    @FxThread
+    public @NotNull Image getImagePreviewAsync(@Nullable final Path file, final int width, final int height) {
+        if (file == null || !Files.exists(file)) {
+            return Icons.IMAGE_512;
+        }
+
+        final String path = file.toString();
+
+        if (width <= CACHED_IMAGES_SIZE && height <= CACHED_IMAGES_SIZE) {
+            final Image image = getFromCache(path, width, height);
+            if (image != null) {
+                return image;
+            }
+        }
+
+        return requestPreview(path, width, height, () -> {
+            final URL url = Utils.get(file, f -> f.toUri().toURL());
+            final FileTime lastModFile = Utils.get(file, f -> Files.getLastModifiedTime(f));
+            return getImagePreview(url, lastModFile, width, height);
+        });
+    }
+
+    /**
+     * Get an image preview asynchronously, the returned placeholder is filled by the preview after loading it in
+     * background. Requests of the same image with the same size share the same placeholder.
+     *
+     * @param resourcePath the resource path to an image.
+     * @param width        the required width.
+     * @param height       the required height.
+     * @return the cached image or the placeholder.
+     * @see #cancelImagePreview(Image)
+     */
+    @FxThread
+    public @NotNull Image getImagePreviewAsync(@NotNull final String resourcePath, final int width, final int height) {
+
+        if (width <= CACHED_IMAGES_SIZE && height <= CACHED_IMAGES_SIZE) {
+            final Image image = getFromCache(resourcePath, width, height);
+            if (image != null) {
+                return image;
+            }
+        }
+
+        return requestPreview(resourcePath, width, height, () -> {
+
+            final URL url = findUrl(resourcePath);
+
+            if (url == null) {
+                return Icons.IMAGE_512;
+            }
+
+            return getImagePreview(url, null, width, height);
+        });
+    }
+
+    /**
+     * Cancel waiting of the image preview, loading of the preview is cancelled if nobody else waits for it.
+     *
+     * @param image the placeholder of the image preview or any other image.
+     */
+    @FxThread
+    public void cancelImagePreview(@Nullable final Image image) {
+
+        if (!(image instanceof WritableImage)) {
+            return;
+        }
+
+        PreviewRequest request = null;
+
+        for (final PreviewRequest toCheck : previewRequests) {
+            if (toCheck.image == image) {
+                request = toCheck;
+                break;
+            }
+        }
+
+        if (request == null || --request.users > 0) {
+            return;
+        }
+
+        request.cancelled = true;
+
+        final Future<?> future = request.future;
+
+        if (future != null) {
+            future.cancel(false);
+        }
+
+        previewRequests.remove(getRequestKey(request.path, (int) request.image.getWidth(),
+                (int) request.image.getHeight()));
+    }
+
+    /**
+     * Register a new request of an image preview or join to the same not finished request.
+     *
+     * @param path   the path of the image.
+     * @param width  the required width.
+     * @param height the required height.
+     * @param loader the function to load the preview.
+     * @return the placeholder of the preview.
+     */
+    @FxThread
+    private @NotNull Image requestPreview(@NotNull final String path, final int width, final int height,
+                                          @NotNull final Supplier<Image> loader) {
+
+        final String key = getRequestKey(path, width, height);
+
+        final PreviewRequest request = previewRequests.get(key);
+
+        if (request != null) {
+            request.users++;
+            return request.image;
+        }
+
+        final PreviewRequest newRequest = new PreviewRequest(path, width, height);
+        newRequest.future = EXECUTOR_MANAGER.submitBackgroundTask(() -> loadPreview(newRequest, loader),
+                TaskPriority.INTERACTIVE);
+
+        previewRequests.put(key, newRequest);
+
+        return newRequest.image;
+    }
+
+    /**
+     * Load the preview of the request.
+     *
+     * @param request the request.
+     * @param loader  the function to load the preview.
+     */
+    @BackgroundThread
+    private void loadPreview(@NotNull final PreviewRequest request, @NotNull final Supplier<Image> loader) {
+
+        if (request.cancelled) {
+            return;
+        }
+
+        Image preview;
+        try {
+            preview = loader.get();
+        } catch (final RuntimeException e) {
+            LOGGER.warning(this, e);
+            preview = Icons.IMAGE_512;
+        }
+
+        final Image result = preview;
+
+        EXECUTOR_MANAGER.addFxTask(() -> finishPreview(request, result));
+    }
+
+    /**
+     * Fill the placeholder of the request by the loaded preview.
+     *
+     * @param request the request.
+     * @param preview the loaded preview.
+     */
+    @FxThread
+    private void finishPreview(@NotNull final PreviewRequest request, @NotNull final Image preview) {
+
+        if (request.cancelled) {
+            return;
+        }
+
+        final WritableImage image = request.image;
+        final int width = (int) image.getWidth();
+        final int height = (int) image.getHeight();
+
+        previewRequests.remove(getRequestKey(request.path, width, height));
+
+        fill(image, preview);
+
+        if (width <= CACHED_IMAGES_SIZE && height <= CACHED_IMAGES_SIZE) {
+            putImageToCache(request.path, image, width, height);
+        }
+    }
+
+    /**
+     * Draw the source image in the center of the target image, the source image is reduced if it's bigger.
+     *
+     * @param target the target image.
+     * @param source the source image.
+     */
+    @FxThread
+    private void fill(@NotNull final WritableImage target, @NotNull final Image source) {
+
+        final PixelReader pixelReader = source.getPixelReader();
+
+        if (pixelReader == null) {
+            return;
+        }
+
+        final int sourceWidth = (int) source.getWidth();
+        final int sourceHeight = (int) source.getHeight();
+        final int targetWidth = (int) target.getWidth();
+        final int targetHeight = (int) target.getHeight();
+
+        if (sourceWidth < 1 || sourceHeight < 1) {
+            return;
+        }
+
+        final float scale = Math.min(1F, Math.min(targetWidth * 1F / sourceWidth, targetHeight * 1F / sourceHeight));
+        final int width = Math.max(1, (int) (sourceWidth * scale));
+        final int height = Math.max(1, (int) (sourceHeight * scale));
+        final int offsetX = (targetWidth - width) / 2;
+        final int offsetY = (targetHeight - height) / 2;
+
+        if (width == sourceWidth && height == sourceHeight) {
+            target.getPixelWriter().setPixels(offsetX, offsetY, width, height, pixelReader, 0, 0);
+            return;
+        }
+
+        final PixelFormat<IntBuffer> format = PixelFormat.getIntArgbInstance();
+        final int[] sourcePixels = new int[sourceWidth * sourceHeight];
+        final int[] pixels = new int[width * height];
+
+        pixelReader.getPixels(0, 0, sourceWidth, sourceHeight, format, sourcePixels, 0, sourceWidth);
+
+        for (int y = 0; y < height; y++) {
+
+            final int sourceRow = Math.min(sourceHeight - 1, (int) (y / scale)) * sourceWidth;
+
+            for (int x = 0; x < width; x++) {
+                pixels[y * width + x] = sourcePixels[sourceRow + Math.min(sourceWidth - 1, (int) (x / scale))];
+            }
+        }
+
+        target.getPixelWriter().setPixels(offsetX, offsetY, width, height, format, pixels, 0, width);
+    }
+
+    /**
+     * Get the key of a request of an image preview.
+     *
+     * @param path   the path of the image.
+     * @param width  the required width.
+     * @param height the required height.
+     * @return the key.
+     */
+    @FromAnyThread
+    private static @NotNull String getRequestKey(@NotNull final String path, final int width, final int height) {
+        return path + '|' + width + 'x' + height;
+    }
+
     /**
      * Try to get an image from the cache by path and size.
      *
@@ -208,18 +553,7 @@ public class JavaFxImageManager {
      */
     @FxThread
     private @Nullable Image getFromCache(@NotNull final String path, final int width, final int height) {
-
-        final IntegerDictionary<ObjectDictionary<String, Image>> heightImages = smallImageCache.get(width);
-        if (heightImages == null) {
-            return null;
-        }
-
-        final ObjectDictionary<String, Image> images = heightImages.get(height);
-        if (images == null) {
-            return null;
-        }
-
-        return images.get(path);
+        return smallImageCache.get(CACHE_REGION, path, width, height);
     }
 
     /**
@@ -233,9 +567,7 @@ public class JavaFxImageManager {
     @FxThread
     private void putImageToCache(@NotNull final String path, @NotNull final Image image, final int width,
                                  final int height) {
-        smallImageCache.get(width, DictionaryFactory::newIntegerDictionary)
-                .get(height, DictionaryFactory::newObjectDictionary)
-                .put(path, image);
+        smallImageCache.put(CACHE_REGION, path, width, height, image);
     }
 
     /**
@@ -256,17 +588,10 @@ public class JavaFxImageManager {
             }
         }
 
-        final ResourceManager resourceManager = ResourceManager.getInstance();
-        URL url = resourceManager.tryToFindResource(resourcePath);
+        final URL url = findUrl(resourcePath);
 
         if (url == null) {
-
-            final Path realFile = EditorUtil.getRealFile(resourcePath);
-            if (realFile == null || !Files.exists(realFile)) {
-                return Icons.IMAGE_512;
-            }
-
-            url = FileUtils.toUrl(realFile);
+            return Icons.IMAGE_512;
         }
 
         final Image image = getImagePreview(url, null, width, height);
@@ -278,83 +603,157 @@ public class JavaFxImageManager {
         return image;
     }
 
-    @FxThread
+    /**
+     * Find an URL of the resource in the classpath or in the current asset folder.
+     *
+     * @param resourcePath the resource path.
+     * @return the URL or null.
+     */
+    @FromAnyThread
+    private @Nullable URL findUrl(@NotNull final String resourcePath) {
+
+        final ResourceManager resourceManager = ResourceManager.getInstance();
+        final URL url = resourceManager.tryToFindResource(resourcePath);
+
+        if (url != null) {
+            return url;
+        }
+
+        final Path realFile = EditorUtil.getRealFile(resourcePath);
+        if (realFile == null || !Files.exists(realFile)) {
+            return null;
+        }
+
+        return FileUtils.toUrl(realFile);
+    }
+
+    @FromAnyThread
     private @NotNull Image getImagePreview(@NotNull URL url, @Nullable final FileTime lastModFile, final int width,
                                            final int height) {
 
         final String externalForm = url.toExternalForm();
-        final String fileHash = StringUtils.toMD5(externalForm) + ".png";
-
-        final Path cacheFolder = getCacheFolder();
-        final Path imageFolder = cacheFolder.resolve(String.valueOf(width)).resolve(String.valueOf(height));
-        final Path cacheFile = imageFolder.resolve(fileHash);
+        final long modified = lastModFile == null ? -1 : lastModFile.toMillis();
+        final ThumbnailPack thumbnailPack = getThumbnailPack();
+        final Image cached = thumbnailPack.get(externalForm, width, height, modified);
 
-        if (Files.exists(cacheFile)) {
+        if (cached != null) {
+            return cached;
+        }
 
-            final FileTime lastModCacheFile = Utils.get(cacheFile, file -> Files.getLastModifiedTime(file));
+        final Image image = readImagePreview(url, width, height);
 
-            if (lastModFile == null || lastModCacheFile.compareTo(lastModFile) >= 0) {
-                final String pathToCache = Utils.get(cacheFile, first -> first.toUri().toURL().toExternalForm());
-                return new Image(pathToCache, width, height, false, false);
-            }
+        if (image != Icons.IMAGE_512) {
+            thumbnailPack.put(externalForm, width, height, modified, image);
         }
 
-        Utils.run(cacheFile, first -> Files.createDirectories(first.getParent()));
+        return image;
+    }
+
+    @FromAnyThread
+    private @NotNull Image readImagePreview(@NotNull URL url, final int width, final int height) {
 
+        final String externalForm = url.toExternalForm();
         final String extension = getExtension(externalForm);
 
         if (FX_FORMATS.contains(extension)) {
-            return readFxImage(width, height, externalForm, cacheFile);
+            return readFxImage(width, height, externalForm);
         } else if (JME_FORMATS.contains(extension)) {
-            return readJMETexture(width, height, externalForm, cacheFile);
+            return readJMETexture(width, height, externalForm);
         } else if (IMAGE_IO_FORMATS.contains(extension)) {
-            return readIOImage(url, width, height, cacheFile);
+            return readIOImage(url, width, height);
         } else if (FileExtensions.IMAGE_DDS.equals(extension)) {
+            return readDdsImage(url, width, height);
+        } else if (FileExtensions.IMAGE_TGA.equals(extension)) {
+            return readTgaImage(url, width, height);
+        }
 
-            final byte[] content = Utils.get(url, first -> IOUtils.toByteArray(first.openStream()));
-            final int[] pixels = DdsReader.read(content, DdsReader.ARGB, 0);
-            final int currentWidth = DdsReader.getWidth(content);
-            final int currentHeight = DdsReader.getHeight(content);
+        return Icons.IMAGE_512;
+    }
 
-            final BufferedImage read = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_ARGB);
-            read.setRGB(0, 0, currentWidth, currentHeight, pixels, 0, currentWidth);
+    /**
+     * Read a preview of the DDS image from the smallest mip level which is enough for the size, the file is
+     * memory-mapped so other mip levels aren't read.
+     *
+     * @param url    the url of the image.
+     * @param width  the width of the preview.
+     * @param height the height of the preview.
+     * @return the preview.
+     */
+    @FromAnyThread
+    private @NotNull Image readDdsImage(@NotNull final URL url, final int width, final int height) {
 
-            return scaleAndWrite(width, height, cacheFile, read, currentWidth, currentHeight);
+        final int[] pixels;
+        final DdsImage ddsImage;
+        final int level;
 
-        } else if (FileExtensions.IMAGE_TGA.equals(extension)) {
+        try {
 
-            final byte[] content = Utils.get(url, first -> IOUtils.toByteArray(first.openStream()));
-            final BufferedImage awtImage;
-            try {
-                awtImage = (BufferedImage) TgaReader.getImage(content);
-            } catch (final Exception e) {
-                LOGGER.warning(e);
-                writeDefaultToCache(cacheFile);
-                return Icons.IMAGE_512;
+            if ("file".equals(url.getProtocol())) {
+                ddsImage = DdsImage.open(Paths.get(url.toURI()));
+            } else {
+                ddsImage = DdsImage.wrap(Utils.get(url, first -> IOUtils.toByteArray(first.openStream())));
             }
 
-            final int imageWidth = awtImage.getWidth();
-            final int imageHeight = awtImage.getHeight();
+            level = ddsImage.findLevel(width, height);
+            pixels = ddsImage.decode(level, PIXELS.get());
 
-            return scaleAndWrite(width, height, cacheFile, awtImage, imageWidth, imageHeight);
+        } catch (final IOException | URISyntaxException e) {
+            LOGGER.warning(this, e);
+            return Icons.IMAGE_512;
         }
 
-        return Icons.IMAGE_512;
+        if (pixels.length <= MAX_REUSED_PIXELS) {
+            PIXELS.set(pixels);
+        }
+
+        return scale(width, height, pixels, ddsImage.getWidth(level), ddsImage.getHeight(level));
     }
 
-    @FxThread
-    private void writeDefaultToCache(@NotNull final Path cacheFile) {
-        final BufferedImage bufferedImage = SwingFXUtils.fromFXImage(Icons.IMAGE_512, null);
-        try (final OutputStream out = Files.newOutputStream(cacheFile, WRITE, TRUNCATE_EXISTING, CREATE)) {
-            ImageIO.write(bufferedImage, "png", out);
-        } catch (final IOException ex) {
-            LOGGER.warning(ex);
+    /**
+     * Read a preview of the TGA image by streaming it from the url, pixels are subsampled while decoding to the
+     * smallest size which is enough for the preview.
+     *
+     * @param url    the url of the image.
+     * @param width  the width of the preview.
+     * @param height the height of the preview.
+     * @return the preview.
+     */
+    @FromAnyThread
+    private @NotNull Image readTgaImage(@NotNull final URL url, final int width, final int height) {
+
+        final int[] pixels;
+        final TgaImage tgaImage;
+        final int step;
+
+        try (final ReadableByteChannel channel = openChannel(url)) {
+            tgaImage = TgaImage.open(channel);
+            step = tgaImage.findStep(width, height);
+            pixels = tgaImage.decode(step, PIXELS.get());
+        } catch (final IOException | URISyntaxException e) {
+            LOGGER.warning(this, e);
+            return Icons.IMAGE_512;
         }
+
+        if (pixels.length <= MAX_REUSED_PIXELS) {
+            PIXELS.set(pixels);
+        }
+
+        return scale(width, height, pixels, tgaImage.getWidth(step), tgaImage.getHeight(step));
     }
 
-    @FxThread
-    private @NotNull Image readIOImage(@NotNull final URL url, final int width, final int height,
-                                       @NotNull final Path cacheFile) {
+    @FromAnyThread
+    private static @NotNull ReadableByteChannel openChannel(@NotNull final URL url)
+            throws IOException, URISyntaxException {
+
+        if ("file".equals(url.getProtocol())) {
+            return FileChannel.open(Paths.get(url.toURI()), StandardOpenOption.READ);
+        }
+
+        return Channels.newChannel(url.openStream());
+    }
+
+    @FromAnyThread
+    private @NotNull Image readIOImage(@NotNull final URL url, final int width, final int height) {
 
         final BufferedImage read;
         try {
@@ -364,12 +763,11 @@ public class JavaFxImageManager {
             return Icons.IMAGE_512;
         }
 
-        return scaleAndWrite(width, height, cacheFile, read, read.getWidth(), read.getHeight());
+        return scale(width, height, read);
     }
 
-    @FxThread
-    private @NotNull Image readJMETexture(final int width, final int height, @NotNull final String externalForm,
-                                          @NotNull final Path cacheFile) {
+    @FromAnyThread
+    private @NotNull Image readJMETexture(final int width, final int height, @NotNull final String externalForm) {
 
         final AssetManager assetManager = EditorUtil.getAssetManager();
         final Texture texture = assetManager.loadTexture(externalForm);
@@ -382,15 +780,11 @@ public class JavaFxImageManager {
             return Icons.IMAGE_512;
         }
 
-        final int imageWidth = textureImage.getWidth();
-        final int imageHeight = textureImage.getHeight();
-
-        return scaleAndWrite(width, height, cacheFile, textureImage, imageWidth, imageHeight);
+        return scale(width, height, textureImage);
     }
 
-    @FxThread
-    private @NotNull Image readFxImage(final int width, final int height, @NotNull final String externalForm,
-                                       @NotNull final Path cacheFile) {
+    @FromAnyThread
+    private @NotNull Image readFxImage(final int width, final int height, @NotNull final String externalForm) {
 
         Image image = new Image(externalForm);
 
@@ -409,67 +803,86 @@ public class JavaFxImageManager {
             }
         }
 
-        final BufferedImage bufferedImage = SwingFXUtils.fromFXImage(image, null);
+        return image;
+    }
+
+    @FromAnyThread
+    private @NotNull Image scale(final int targetWidth, final int targetHeight, @NotNull final BufferedImage image) {
+
+        final int imageWidth = image.getWidth();
+        final int imageHeight = image.getHeight();
 
-        try (final OutputStream out = Files.newOutputStream(cacheFile, WRITE, TRUNCATE_EXISTING, CREATE)) {
-            ImageIO.write(bufferedImage, "png", out);
-        } catch (final IOException e) {
-            LOGGER.warning(e);
+        final int[] pixels;
+
+        if (image.getType() == BufferedImage.TYPE_INT_ARGB) {
+            pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        } else {
+            pixels = image.getRGB(0, 0, imageWidth, imageHeight, null, 0, imageWidth);
         }
 
+        return scale(targetWidth, targetHeight, pixels, imageWidth, imageHeight);
+    }
+
+    @FromAnyThread
+    private @NotNull Image scale(final int targetWidth, final int targetHeight, @NotNull final int[] pixels,
+                                 final int currentWidth, final int currentHeight) {
+
+        final int[] scaled = ImageUtils.scaleToFit(pixels, currentWidth, currentHeight, targetWidth, targetHeight);
+
+        final WritableImage image = new WritableImage(targetWidth, targetHeight);
+        image.getPixelWriter().setPixels(0, 0, targetWidth, targetHeight, PixelFormat.getIntArgbInstance(), scaled,
+                0, targetWidth);
+
         return image;
     }
 
     @FxThread
-    private @NotNull Image scaleAndWrite(final int targetWidth, final int targetHeight, @NotNull final Path cacheFile,
-                                         @NotNull final BufferedImage textureImage, final int currentWidth,
-                                         final int currentHeight) {
-
-        final BufferedImage newImage = scaleImage(targetWidth, targetHeight, textureImage, currentWidth, currentHeight);
+    private void processEvent(@NotNull final DeletedFileEvent event) {
+        removeFromCache(event.getFile(), event.isDirectory());
+    }
 
-        try (final OutputStream out = Files.newOutputStream(cacheFile, WRITE, TRUNCATE_EXISTING, CREATE)) {
-            ImageIO.write(newImage, "png", out);
-            return new Image(cacheFile.toUri().toString());
-        } catch (final IOException e) {
-            LOGGER.warning(e);
-            return Icons.IMAGE_512;
-        }
+    @FxThread
+    private void processEvent(@NotNull final FileChangedEvent event) {
+        removeFromCache(event.getFile(), false);
     }
 
+    /**
+     * Remove cached previews of the file or of all files of the folder, previews are cached by absolute paths and by
+     * asset paths.
+     *
+     * @param file      the file.
+     * @param directory true if the file is a folder.
+     */
     @FxThread
-    private @NotNull BufferedImage scaleImage(final int width, final int height, @NotNull final BufferedImage read,
-                                              final int imageWidth, final int imageHeight) {
+    private void removeFromCache(@NotNull final Path file, final boolean directory) {
 
-        java.awt.Image newImage = read;
+        final Path assetFile = EditorUtil.getAssetFile(file);
+        final String assetPath = assetFile == null ? null : EditorUtil.toAssetPath(assetFile);
 
-        if (imageWidth > width || imageHeight > height) {
-            if (imageWidth == imageHeight) {
-                newImage = read.getScaledInstance(width, height, SCALE_DEFAULT);
-            } else if (imageWidth > imageHeight) {
-                float mod = imageHeight * 1F / imageWidth;
-                newImage = read.getScaledInstance(width, (int) (height * mod), SCALE_DEFAULT);
-            } else if (imageHeight > imageWidth) {
-                float mod = imageWidth * 1F / imageHeight;
-                newImage = read.getScaledInstance((int) (width * mod), height, SCALE_DEFAULT);
-            }
-        }
+        if (directory) {
 
-        final BufferedImage bufferedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            smallImageCache.invalidateFolder(CACHE_REGION, file.toString(), File.separatorChar);
 
-        final Graphics2D g2d = bufferedImage.createGraphics();
-        g2d.drawImage(newImage, 0, 0, null);
-        g2d.dispose();
+            if (assetPath != null) {
+                smallImageCache.invalidateFolder(CACHE_REGION, assetPath, '/');
+            }
 
-        return bufferedImage;
-    }
+            return;
+        }
 
-    @FxThread
-    private void processEvent(@NotNull final DeletedFileEvent event) {
-        //TODO need to add remove from cache
+        smallImageCache.invalidate(file.toString());
+
+        if (assetPath != null) {
+            smallImageCache.invalidate(assetPath);
+        }
     }
 
     @FxThread
     private void processEvent(@NotNull final ChangedCurrentAssetFolderEvent event) {
-        smallImageCache.clear();
+        smallImageCache.clear(CACHE_REGION);
+
+        if (LOGGER.isEnabled(LoggerLevel.DEBUG)) {
+            LOGGER.debug(this, "cleared previews, the shared image cache: " + smallImageCache);
+        }
     }
 }
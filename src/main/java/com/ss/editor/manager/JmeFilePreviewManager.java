@@ -13,6 +13,7 @@ import com.jme3.environment.generation.JobProgressAdapter;
 import com.jme3.jfx.injfx.processor.FrameTransferSceneProcessor;
 import com.jme3.light.DirectionalLight;
 import com.jme3.light.LightProbe;
+import com.jme3.material.Material;
 import com.jme3.math.Quaternion;
 import com.jme3.math.Vector3f;
 import com.jme3.renderer.RenderManager;
@@ -26,13 +27,18 @@ import com.jme3.scene.shape.Box;
 import com.jme3.util.SkyFactory;
 import com.ss.editor.FileExtensions;
 import com.ss.editor.JmeApplication;
+import com.ss.editor.annotation.BackgroundThread;
 import com.ss.editor.annotation.FromAnyThread;
 import com.ss.editor.annotation.FxThread;
 import com.ss.editor.annotation.JmeThread;
 import com.ss.editor.asset.locator.FolderAssetLocator;
 import com.ss.editor.config.EditorConfig;
+import com.ss.editor.executor.TaskPriority;
 import com.ss.editor.executor.impl.JmeThreadExecutor;
 import com.ss.editor.model.EditorCamera;
+import com.ss.editor.ui.event.FxEventManager;
+import com.ss.editor.ui.event.impl.DeletedFileEvent;
+import com.ss.editor.ui.event.impl.FileChangedEvent;
 import com.ss.editor.util.EditorUtil;
 import com.ss.editor.util.TangentGenerator;
 import com.ss.rlib.common.logging.Logger;
@@ -46,6 +52,9 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The class to manage previews of JME files.
@@ -56,13 +65,13 @@ public class JmeFilePreviewManager extends AbstractControl {
 
     private static final Logger LOGGER = LoggerManager.getLogger(JmeFilePreviewManager.class);
 
-    private static final Vector3f LIGHT_DIRECTION =
+    static final Vector3f LIGHT_DIRECTION =
             new Vector3f(0.007654993F, 0.39636374F, 0.9180617F).negate();
 
     private static final Vector3f CAMERA_LOCATION =
             new Vector3f(13.660254F, 5.176381F, 13.660254F);
 
-    private static final Quaternion CAMERA_ROTATION =
+    static final Quaternion CAMERA_ROTATION =
             new Quaternion(0.9159756F, 0.04995022F, -0.37940952F, 0.12059049F);
 
     private static final Array<String> JME_FORMATS = ArrayFactory.newArray(String.class);
@@ -71,6 +80,24 @@ public class JmeFilePreviewManager extends AbstractControl {
 
     private static final EditorConfig EDITOR_CONFIG = EditorConfig.getInstance();
 
+    private static final ExecutorManager EXECUTOR_MANAGER = ExecutorManager.getInstance();
+
+    /**
+     * The key of the loading task, a new request supersedes not started loading.
+     */
+    @NotNull
+    private static final String LOADING_TASK_KEY = "JmeFilePreviewManager.load";
+
+    /**
+     * The delay before loading a requested preview in ms, to skip previews of quickly changed selections.
+     */
+    private static final int LOADING_DELAY = 150;
+
+    /**
+     * The max count of recently previewed objects to show them again without loading.
+     */
+    private static final int CACHED_MODELS_SIZE = 8;
+
     static {
         JME_FORMATS.add(FileExtensions.JME_MATERIAL);
         JME_FORMATS.add(FileExtensions.JME_OBJECT);
@@ -199,19 +226,48 @@ public class JmeFilePreviewManager extends AbstractControl {
     @Nullable
     private volatile FrameTransferSceneProcessor processor;
 
+    /**
+     * The recently previewed and preloaded objects by paths, from the least recently used.
+     */
+    @NotNull
+    private final LinkedHashMap<String, Spatial> cachedModels;
+
+    /**
+     * The id of the latest request of a preview.
+     */
+    @NotNull
+    private final AtomicLong lastRequest;
+
     /**
      * The count of frames.
      */
     private int frame;
 
+    /**
+     * True if the light probe of the preview scene is updated, it doesn't depend on previewed objects.
+     */
+    private boolean probeUpdated;
+
     private JmeFilePreviewManager() {
         this.imageView = new ImageView();
         this.testBox = new Geometry("Box", new Box(2, 2, 2));
         this.modelNode = new Node("Model Node");
+        this.lastRequest = new AtomicLong();
+        this.cachedModels = new LinkedHashMap<>(CACHED_MODELS_SIZE, 0.75F, true) {
+
+            @Override
+            protected boolean removeEldestEntry(@NotNull Map.Entry<String, Spatial> eldest) {
+                return size() > CACHED_MODELS_SIZE;
+            }
+        };
 
         var executorManager = ExecutorManager.getInstance();
         executorManager.addFxTask(() -> {
 
+            var fxEventManager = FxEventManager.getInstance();
+            fxEventManager.addEventHandler(FileChangedEvent.EVENT_TYPE, event -> clearCachedModels());
+            fxEventManager.addEventHandler(DeletedFileEvent.EVENT_TYPE, event -> clearCachedModels());
+
             var scene = EditorUtil.getFxScene();
             var container = scene.getHideLayer();
 
@@ -227,7 +283,7 @@ public class JmeFilePreviewManager extends AbstractControl {
     @JmeThread
     protected void controlUpdate(float tpf) {
 
-        if (frame == 2) {
+        if (frame == 2 && !probeUpdated) {
             var jmeApplication = JmeApplication.getInstance();
             jmeApplication.updatePreviewLightProbe(probeHandler);
         }
@@ -237,6 +293,7 @@ public class JmeFilePreviewManager extends AbstractControl {
 
     @JmeThread
     private void notifyProbeComplete() {
+        probeUpdated = true;
         var rootNode = EditorUtil.getPreviewNode();
         rootNode.attachChild(modelNode);
     }
@@ -280,7 +337,8 @@ public class JmeFilePreviewManager extends AbstractControl {
     }
 
     /**
-     * Show a preview of the file by the asset path.
+     * Show a preview of the file by the asset path, the file is loaded after the delay if there are no newer
+     * requests.
      *
      * @param path      the asset path.
      * @param extension the extension.
@@ -288,12 +346,15 @@ public class JmeFilePreviewManager extends AbstractControl {
      */
     @FromAnyThread
     private void showPreview(@NotNull String path, @NotNull String extension, boolean external) {
+
+        var request = lastRequest.incrementAndGet();
+
         if (FileExtensions.JME_MATERIAL.equals(extension)) {
-            EDITOR_THREAD_EXECUTOR.addToExecute(() -> showMaterial(path));
+            scheduleLoading(request, () -> loadMaterial(request, path));
         } else if (isModelFile(path)) {
-            EDITOR_THREAD_EXECUTOR.addToExecute(() -> showObject(path, external));
+            scheduleLoading(request, () -> loadObject(request, path, external));
         } else {
-            EDITOR_THREAD_EXECUTOR.addToExecute(this::clear);
+            EDITOR_THREAD_EXECUTOR.addToExecute(this::clearImpl);
         }
     }
 
@@ -312,54 +373,159 @@ public class JmeFilePreviewManager extends AbstractControl {
     }
 
     /**
-     * Show a j3o object.
+     * Schedule loading of the requested preview in background, the loading is skipped if the request is
+     * superseded by a newer request before it's started.
      *
+     * @param request the request.
+     * @param task    the loading task.
+     */
+    @FromAnyThread
+    private void scheduleLoading(long request, @NotNull Runnable task) {
+        EXECUTOR_MANAGER.schedule(() -> {
+            if (isActual(request)) {
+                EXECUTOR_MANAGER.submitBackgroundTask(LOADING_TASK_KEY, task, TaskPriority.INTERACTIVE);
+            }
+        }, LOADING_DELAY);
+    }
+
+    /**
+     * Check the request.
+     *
+     * @param request the request.
+     * @return true if the request is the latest request.
+     */
+    @FromAnyThread
+    private boolean isActual(long request) {
+        return lastRequest.get() == request;
+    }
+
+    /**
+     * Load a j3o object or take it from recently previewed objects.
+     *
+     * @param request  the request.
      * @param path     the path to object.
      * @param external true if the object is external object.
      */
-    @JmeThread
-    private void showObject(@NotNull String path, boolean external) {
-        prepareProcessor();
+    @BackgroundThread
+    private void loadObject(long request, @NotNull String path, boolean external) {
 
-        var assetManager = EditorUtil.getAssetManager();
+        if (!isActual(request)) {
+            return;
+        }
 
-        Spatial model;
+        var key = (external ? "external:" : "asset:") + path;
+        var model = getCachedModel(key);
+        var preloaded = model != null;
 
-        FolderAssetLocator.setIgnore(external);
-        try {
+        if (model == null) {
+
+            var assetManager = EditorUtil.getAssetManager();
+
+            FolderAssetLocator.setIgnore(external);
+            try {
 
-            model = assetManager.loadModel(path);
+                model = assetManager.loadModel(path);
 
-            if (external && EDITOR_CONFIG.getBoolean(PREF_TANGENT_GENERATION, PREF_DEFAULT_TANGENT_GENERATION)) {
-                TangentGenerator.useMikktspaceGenerator(model);
+                if (external && EDITOR_CONFIG.getBoolean(PREF_TANGENT_GENERATION, PREF_DEFAULT_TANGENT_GENERATION)) {
+                    TangentGenerator.useMikktspaceGenerator(model);
+                }
+
+            } catch (AssetNotFoundException | UnsupportedOperationException e) {
+                EditorUtil.handleException(LOGGER, this, e);
+                return;
+            } finally {
+                FolderAssetLocator.setIgnore(false);
             }
+        }
 
-        } finally {
-            FolderAssetLocator.setIgnore(false);
+        if (!isActual(request)) {
+            return;
         }
 
-        tryToLoad(model);
+        var result = model;
 
-        var rootNode = EditorUtil.getPreviewNode();
-        rootNode.detachChild(modelNode);
+        EDITOR_THREAD_EXECUTOR.addToExecute(() -> showObject(request, key, result, preloaded));
+    }
+
+    /**
+     * Show a loaded j3o object.
+     *
+     * @param request   the request.
+     * @param key       the key of the object in recently previewed objects.
+     * @param model     the object.
+     * @param preloaded true if the object was already preloaded.
+     */
+    @JmeThread
+    private void showObject(long request, @NotNull String key, @NotNull Spatial model, boolean preloaded) {
+
+        if (!isActual(request)) {
+            return;
+        }
+
+        prepareProcessor();
+
+        if (!tryToLoad(model, preloaded)) {
+            return;
+        }
+
+        synchronized (cachedModels) {
+            cachedModels.put(key, model);
+        }
+
+        attachModelNode();
+    }
+
+    /**
+     * Get a recently previewed object.
+     *
+     * @param key the key of the object.
+     * @return the object or null.
+     */
+    @FromAnyThread
+    private @Nullable Spatial getCachedModel(@NotNull String key) {
+        synchronized (cachedModels) {
+            return cachedModels.get(key);
+        }
     }
 
     /**
      * Try to load and show the model.
      *
-     * @param model the model.
+     * @param model     the model.
+     * @param preloaded true if the model was already preloaded.
+     * @return true if the model is shown.
      */
     @JmeThread
-    private void tryToLoad(@NotNull Spatial model) {
+    private boolean tryToLoad(@NotNull Spatial model, boolean preloaded) {
         try {
 
-            var renderManager = EditorUtil.getRenderManager();
-            renderManager.preloadScene(model);
+            if (!preloaded) {
+                var renderManager = EditorUtil.getRenderManager();
+                renderManager.preloadScene(model);
+            }
 
             modelNode.attachChild(model);
+            return true;
 
         } catch (RendererException | AssetNotFoundException | UnsupportedOperationException e) {
             EditorUtil.handleException(LOGGER, this, e);
+            return false;
+        }
+    }
+
+    /**
+     * Attach the model node to the preview scene, if the light probe isn't updated yet, the model node is attached
+     * after updating it.
+     */
+    @JmeThread
+    private void attachModelNode() {
+
+        var rootNode = EditorUtil.getPreviewNode();
+
+        if (probeUpdated) {
+            rootNode.attachChild(modelNode);
+        } else {
+            rootNode.detachChild(modelNode);
         }
     }
 
@@ -383,29 +549,59 @@ public class JmeFilePreviewManager extends AbstractControl {
     }
 
     /**
-     * Show a j3m material.
+     * Load a j3m material.
      *
-     * @param path the path to material.
+     * @param request the request.
+     * @param path    the path to material.
      */
-    @JmeThread
-    private void showMaterial(@NotNull String path) {
-        prepareProcessor();
+    @BackgroundThread
+    private void loadMaterial(long request, @NotNull String path) {
+
+        if (!isActual(request)) {
+            return;
+        }
 
         var assetManager = EditorUtil.getAssetManager();
-        var material = assetManager.loadMaterial(path);
+
+        Material material;
+        try {
+            material = assetManager.loadMaterial(path);
+        } catch (AssetNotFoundException | UnsupportedOperationException e) {
+            EditorUtil.handleException(LOGGER, this, e);
+            return;
+        }
+
+        EDITOR_THREAD_EXECUTOR.addToExecute(() -> showMaterial(request, material));
+    }
+
+    /**
+     * Show a loaded j3m material.
+     *
+     * @param request  the request.
+     * @param material the material.
+     */
+    @JmeThread
+    private void showMaterial(long request, @NotNull Material material) {
+
+        if (!isActual(request)) {
+            return;
+        }
+
+        prepareProcessor();
 
         testBox.setMaterial(material);
-        tryToLoad(testBox);
 
-        var rootNode = EditorUtil.getPreviewNode();
-        rootNode.detachChild(modelNode);
+        if (tryToLoad(testBox, false)) {
+            attachModelNode();
+        }
     }
 
     /**
-     * Clear a preview.
+     * Clear a preview and cancel not finished loading.
      */
     @FromAnyThread
     public void clear() {
+        lastRequest.incrementAndGet();
         EDITOR_THREAD_EXECUTOR.addToExecute(this::clearImpl);
     }
 
@@ -421,6 +617,16 @@ public class JmeFilePreviewManager extends AbstractControl {
         }
     }
 
+    /**
+     * Forget recently previewed objects because their files can be changed.
+     */
+    @FxThread
+    private void clearCachedModels() {
+        synchronized (cachedModels) {
+            cachedModels.clear();
+        }
+    }
+
     /**
      * Gets the image view with a preview.
      *
@@ -0,0 +1,906 @@
+package com.ss.editor.manager;
+
+import static com.ss.rlib.common.util.FileUtils.getExtension;
+import static com.ss.rlib.common.util.ObjectUtils.notNull;
+import com.jme3.app.state.AbstractAppState;
+import com.jme3.asset.AssetNotFoundException;
+import com.jme3.bounding.BoundingBox;
+import com.jme3.bounding.BoundingSphere;
+import com.jme3.bounding.BoundingVolume;
+import com.jme3.light.DirectionalLight;
+import com.jme3.light.Light;
+import com.jme3.light.LightProbe;
+import com.jme3.material.Material;
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.FastMath;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.Camera;
+import com.jme3.renderer.RendererException;
+import com.jme3.renderer.ViewPort;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.shape.Box;
+import com.jme3.texture.FrameBuffer;
+import com.jme3.util.BufferUtils;
+import com.ss.editor.FileExtensions;
+import com.ss.editor.annotation.BackgroundThread;
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.annotation.FxThread;
+import com.ss.editor.annotation.JmeThread;
+import com.ss.editor.executor.TaskPriority;
+import com.ss.editor.executor.impl.JmeThreadExecutor;
+import com.ss.editor.ui.event.FxEventManager;
+import com.ss.editor.ui.event.impl.DeletedFileEvent;
+import com.ss.editor.ui.event.impl.FileChangedEvent;
+import com.ss.editor.util.EditorUtil;
+import com.ss.editor.util.ImageCache;
+import com.ss.editor.util.ImageUtils;
+import com.ss.editor.util.TangentGenerator;
+import com.ss.rlib.common.logging.Logger;
+import com.ss.rlib.common.logging.LoggerManager;
+import com.ss.rlib.common.util.Utils;
+import com.ss.rlib.common.util.array.Array;
+import com.ss.rlib.common.util.array.ArrayFactory;
+import com.ss.rlib.common.util.dictionary.DictionaryFactory;
+import com.ss.rlib.common.util.dictionary.ObjectDictionary;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The class to manage rendered thumbnails of JME models and materials.
+ * <p>
+ * Models and materials are loaded in background and rendered offscreen by batches, each thumbnail of a batch is
+ * rendered to its own tile of the same frame buffer. Rendered thumbnails are stored in the persistent pack of
+ * previews by the last modified time of their files and of all assets they reference, so they aren't rendered again
+ * until the files or their textures and material definitions are changed.
+ *
+ * @author JavaSaBr
+ */
+public class JmeFileThumbnailManager {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(JmeFileThumbnailManager.class);
+
+    private static final ExecutorManager EXECUTOR_MANAGER = ExecutorManager.getInstance();
+
+    /**
+     * The size of rendered thumbnails.
+     */
+    public static final int THUMBNAIL_SIZE = 128;
+
+    /**
+     * The count of columns and rows of tiles of the frame buffer.
+     */
+    private static final int BATCH_COLUMNS = 4;
+
+    /**
+     * The max count of thumbnails which are rendered by a frame.
+     */
+    private static final int BATCH_SIZE = BATCH_COLUMNS * BATCH_COLUMNS;
+
+    /**
+     * The size of the frame buffer.
+     */
+    private static final int FRAME_BUFFER_SIZE = THUMBNAIL_SIZE * BATCH_COLUMNS;
+
+    /**
+     * The vertical field of view of cameras of tiles.
+     */
+    private static final float FIELD_OF_VIEW = 45F;
+
+    /**
+     * The region of cached thumbnails in the shared image cache.
+     */
+    @NotNull
+    private static final String CACHE_REGION = "thumbnail";
+
+    private static final Array<String> FORMATS = ArrayFactory.asArray(
+            FileExtensions.JME_OBJECT,
+            FileExtensions.JME_MATERIAL);
+
+    @Nullable
+    private static volatile JmeFileThumbnailManager instance;
+
+    @FromAnyThread
+    public static @NotNull JmeFileThumbnailManager getInstance() {
+        if (instance == null) {
+            synchronized (JmeFileThumbnailManager.class) {
+                if (instance == null) {
+                    instance = new JmeFileThumbnailManager();
+                }
+            }
+        }
+        return notNull(instance);
+    }
+
+    /**
+     * Check the file.
+     *
+     * @param file the file.
+     * @return true if a thumbnail of the file can be rendered.
+     */
+    @FromAnyThread
+    public static boolean isSupported(@Nullable Path file) {
+        return file != null && FORMATS.contains(getExtension(file));
+    }
+
+    /**
+     * The request of a thumbnail of a file.
+     */
+    private static class ThumbnailRequest {
+
+        /**
+         * The file.
+         */
+        @NotNull
+        private final Path file;
+
+        /**
+         * The key of the file in the image cache.
+         */
+        @NotNull
+        private final String path;
+
+        /**
+         * The placeholders which are filled by the thumbnail.
+         */
+        @NotNull
+        private final Array<WritableImage> placeholders;
+
+        /**
+         * The count of users which wait for the thumbnail.
+         */
+        private int users;
+
+        /**
+         * True if the thumbnail isn't needed anymore.
+         */
+        private volatile boolean cancelled;
+
+        /**
+         * The key of the file in the persistent pack of previews.
+         */
+        @Nullable
+        private volatile String packKey;
+
+        /**
+         * The last modified time of the file and of the assets it references.
+         */
+        private volatile long modified;
+
+        /**
+         * The loaded model.
+         */
+        @Nullable
+        private volatile Spatial model;
+
+        /**
+         * The loaded material.
+         */
+        @Nullable
+        private volatile Material material;
+
+        private ThumbnailRequest(@NotNull Path file) {
+            this.file = file;
+            this.path = file.toString();
+            this.placeholders = ArrayFactory.newArray(WritableImage.class);
+        }
+    }
+
+    /**
+     * The offscreen tile to render a thumbnail.
+     */
+    private static class Tile {
+
+        /**
+         * The view port of the tile.
+         */
+        @NotNull
+        private final ViewPort viewPort;
+
+        /**
+         * The root node of the tile.
+         */
+        @NotNull
+        private final Node root;
+
+        /**
+         * The node to center a model.
+         */
+        @NotNull
+        private final Node modelNode;
+
+        /**
+         * The box to show a material.
+         */
+        @NotNull
+        private final Geometry box;
+
+        /**
+         * The rendered request.
+         */
+        @Nullable
+        private ThumbnailRequest request;
+
+        private Tile(@NotNull ViewPort viewPort, @NotNull Node root) {
+            this.viewPort = viewPort;
+            this.root = root;
+            this.modelNode = new Node("Model Node");
+            this.box = new Geometry("Box", new Box(2, 2, 2));
+            this.root.attachChild(modelNode);
+            TangentGenerator.useMikktspaceGenerator(box);
+        }
+    }
+
+    /**
+     * The state to render loaded requests by batches.
+     */
+    private class BakerState extends AbstractAppState {
+
+        /**
+         * The tiles of the frame buffer.
+         */
+        @NotNull
+        private final Array<Tile> tiles;
+
+        /**
+         * The light of all tiles.
+         */
+        @NotNull
+        private final DirectionalLight light;
+
+        /**
+         * The frame buffer.
+         */
+        @Nullable
+        private FrameBuffer frameBuffer;
+
+        /**
+         * The buffer to read rendered pixels.
+         */
+        @Nullable
+        private ByteBuffer pixels;
+
+        /**
+         * The count of tiles which are rendered by the current frame.
+         */
+        private int rendered;
+
+        private BakerState() {
+            this.tiles = ArrayFactory.newArray(Tile.class);
+            this.light = new DirectionalLight();
+            this.light.setDirection(JmeFilePreviewManager.LIGHT_DIRECTION);
+        }
+
+        @Override
+        @JmeThread
+        public void update(float tpf) {
+            super.update(tpf);
+
+            if (loadedRequests.isEmpty()) {
+                return;
+            }
+
+            prepareFrameBuffer();
+
+            var renderManager = EditorUtil.getRenderManager();
+            var lights = EditorUtil.getPreviewNode().getLocalLightList();
+            var budget = JmeThreadExecutor.getInstance().getFrameBudget();
+            var deadline = System.nanoTime() + budget;
+
+            for (var tile : tiles) {
+
+                if (rendered > 0 && budget != 0 && System.nanoTime() >= deadline) {
+                    break;
+                }
+
+                var request = pollLoadedRequest();
+
+                if (request == null) {
+                    break;
+                }
+
+                var root = tile.root;
+                root.getLocalLightList().clear();
+                root.addLight(light);
+
+                for (Light previewLight : lights) {
+                    if (previewLight instanceof LightProbe) {
+                        root.addLight(previewLight);
+                    }
+                }
+
+                try {
+                    attach(tile, request);
+                    renderManager.preloadScene(root);
+                } catch (RendererException | AssetNotFoundException | UnsupportedOperationException e) {
+                    LOGGER.warning(this, e);
+                    detach(tile);
+                    EXECUTOR_MANAGER.addFxTask(() -> failRequest(request));
+                    continue;
+                }
+
+                tile.viewPort.setEnabled(true);
+                tile.request = request;
+                rendered++;
+            }
+        }
+
+        @Override
+        @JmeThread
+        public void postRender() {
+            super.postRender();
+
+            if (rendered == 0) {
+                return;
+            }
+
+            var pixels = notNull(this.pixels);
+            pixels.clear();
+
+            var renderer = EditorUtil.getRenderer();
+            renderer.readFrameBufferWithFormat(frameBuffer, pixels, com.jme3.texture.Image.Format.RGBA8);
+
+            for (int i = 0; i < tiles.size(); i++) {
+
+                var tile = tiles.get(i);
+                var request = tile.request;
+
+                if (request == null) {
+                    continue;
+                }
+
+                var thumbnail = readTile(pixels, i % BATCH_COLUMNS, i / BATCH_COLUMNS);
+
+                EXECUTOR_MANAGER.submitBackgroundTask(() -> storeThumbnail(request, thumbnail), TaskPriority.BULK);
+
+                detach(tile);
+            }
+
+            rendered = 0;
+        }
+
+        /**
+         * Take the next loaded request which is still needed.
+         *
+         * @return the loaded request or null.
+         */
+        @JmeThread
+        private @Nullable ThumbnailRequest pollLoadedRequest() {
+
+            var request = loadedRequests.poll();
+
+            while (request != null && request.cancelled) {
+                request = loadedRequests.poll();
+            }
+
+            return request;
+        }
+
+        /**
+         * Create the frame buffer and tiles if they weren't created yet.
+         */
+        @JmeThread
+        private void prepareFrameBuffer() {
+
+            if (frameBuffer != null) {
+                return;
+            }
+
+            frameBuffer = new FrameBuffer(FRAME_BUFFER_SIZE, FRAME_BUFFER_SIZE, 1);
+            frameBuffer.setDepthBuffer(com.jme3.texture.Image.Format.Depth);
+            frameBuffer.setColorBuffer(com.jme3.texture.Image.Format.RGBA8);
+
+            pixels = BufferUtils.createByteBuffer(FRAME_BUFFER_SIZE * FRAME_BUFFER_SIZE * 4);
+
+            var renderManager = EditorUtil.getRenderManager();
+            var step = 1F / BATCH_COLUMNS;
+
+            for (int i = 0; i < BATCH_SIZE; i++) {
+
+                var column = i % BATCH_COLUMNS;
+                var row = i / BATCH_COLUMNS;
+
+                var camera = new Camera(FRAME_BUFFER_SIZE, FRAME_BUFFER_SIZE);
+                camera.setViewPort(column * step, (column + 1) * step, 1F - (row + 1) * step, 1F - row * step);
+
+                var root = new Node("Thumbnail Tile " + i);
+                var viewPort = renderManager.createPreView("Thumbnail Tile " + i, camera);
+                viewPort.setOutputFrameBuffer(frameBuffer);
+                viewPort.setClearFlags(true, true, true);
+                viewPort.setBackgroundColor(ColorRGBA.BlackNoAlpha);
+                viewPort.attachScene(root);
+                viewPort.setEnabled(false);
+
+                tiles.add(new Tile(viewPort, root));
+            }
+        }
+
+        /**
+         * Attach the loaded model or material of the request to the tile and place the camera to see it.
+         *
+         * @param tile    the tile.
+         * @param request the request.
+         */
+        @JmeThread
+        private void attach(@NotNull Tile tile, @NotNull ThumbnailRequest request) {
+
+            var modelNode = tile.modelNode;
+            var material = request.material;
+
+            if (material != null) {
+                tile.box.setMaterial(material);
+                modelNode.attachChild(tile.box);
+            } else {
+                modelNode.attachChild(notNull(request.model));
+            }
+
+            var root = tile.root;
+            root.updateGeometricState();
+
+            var bound = modelNode.getWorldBound();
+            var center = bound == null ? Vector3f.ZERO : bound.getCenter();
+            var radius = Math.max(getRadius(bound), 0.01F);
+
+            modelNode.setLocalTranslation(center.negate());
+            root.updateGeometricState();
+
+            var distance = radius / FastMath.sin(FIELD_OF_VIEW * FastMath.DEG_TO_RAD / 2F);
+            var camera = tile.viewPort.getCamera();
+            camera.setFrustumPerspective(FIELD_OF_VIEW, 1F, Math.max(distance - radius * 2F, 0.01F),
+                    distance + radius * 2F);
+            camera.setRotation(JmeFilePreviewManager.CAMERA_ROTATION);
+            camera.setLocation(camera.getDirection().mult(-distance));
+        }
+
+        /**
+         * Detach the rendered request from the tile.
+         *
+         * @param tile the tile.
+         */
+        @JmeThread
+        private void detach(@NotNull Tile tile) {
+            tile.request = null;
+            tile.modelNode.detachAllChildren();
+            tile.modelNode.setLocalTranslation(Vector3f.ZERO);
+            tile.root.updateGeometricState();
+            tile.viewPort.setEnabled(false);
+        }
+
+        /**
+         * Read ARGB pixels of the tile from the read RGBA pixels of the frame buffer, the rows of the frame
+         * buffer are from bottom to top.
+         *
+         * @param pixels the pixels of the frame buffer.
+         * @param column the column of the tile.
+         * @param row    the row of the tile.
+         * @return the ARGB pixels of the tile.
+         */
+        @JmeThread
+        private @NotNull int[] readTile(@NotNull ByteBuffer pixels, int column, int row) {
+
+            var result = new int[THUMBNAIL_SIZE * THUMBNAIL_SIZE];
+
+            for (int y = 0; y < THUMBNAIL_SIZE; y++) {
+
+                var bufferRow = FRAME_BUFFER_SIZE - 1 - (row * THUMBNAIL_SIZE + y);
+                var offset = (bufferRow * FRAME_BUFFER_SIZE + column * THUMBNAIL_SIZE) * 4;
+
+                for (int x = 0; x < THUMBNAIL_SIZE; x++, offset += 4) {
+                    var red = pixels.get(offset) & 0xFF;
+                    var green = pixels.get(offset + 1) & 0xFF;
+                    var blue = pixels.get(offset + 2) & 0xFF;
+                    var alpha = pixels.get(offset + 3) & 0xFF;
+                    result[y * THUMBNAIL_SIZE + x] = alpha << 24 | red << 16 | green << 8 | blue;
+                }
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * Get the radius of the sphere which contains the bounding volume.
+     *
+     * @param bound the bounding volume or null.
+     * @return the radius.
+     */
+    @FromAnyThread
+    private static float getRadius(@Nullable BoundingVolume bound) {
+        if (bound instanceof BoundingSphere) {
+            return ((BoundingSphere) bound).getRadius();
+        } else if (bound instanceof BoundingBox) {
+            return ((BoundingBox) bound).getExtent(null).length();
+        } else {
+            return 1F;
+        }
+    }
+
+    /**
+     * The not finished requests by paths of files.
+     */
+    @NotNull
+    private final ObjectDictionary<String, ThumbnailRequest> requests;
+
+    /**
+     * The requests which are loaded and wait for rendering.
+     */
+    @NotNull
+    private final ConcurrentLinkedQueue<ThumbnailRequest> loadedRequests;
+
+    /**
+     * The paths of files which can't be rendered until they are changed.
+     */
+    @NotNull
+    private final Set<String> failedFiles;
+
+    /**
+     * The cache of shown thumbnails.
+     */
+    @NotNull
+    private final ImageCache imageCache;
+
+    /**
+     * The state to render thumbnails.
+     */
+    @Nullable
+    private volatile BakerState bakerState;
+
+    private JmeFileThumbnailManager() {
+        this.requests = DictionaryFactory.newObjectDictionary();
+        this.loadedRequests = new ConcurrentLinkedQueue<>();
+        this.failedFiles = new HashSet<>();
+        this.imageCache = ImageCache.getInstance();
+
+        EXECUTOR_MANAGER.addFxTask(() -> {
+            var eventManager = FxEventManager.getInstance();
+            eventManager.addEventHandler(FileChangedEvent.EVENT_TYPE, event -> processEvent((FileChangedEvent) event));
+            eventManager.addEventHandler(DeletedFileEvent.EVENT_TYPE, event -> processEvent((DeletedFileEvent) event));
+        });
+    }
+
+    /**
+     * Get a thumbnail of the file asynchronously, the returned placeholder is filled by the thumbnail after loading
+     * it from the persistent pack or rendering it. A user of the returned image should release it by
+     * {@link #releaseThumbnail(Path, Image)} when the thumbnail isn't needed anymore.
+     *
+     * @param file         the file of a model or a material.
+     * @param width        the required width.
+     * @param height       the required height.
+     * @param defaultImage the image to show until the thumbnail is ready.
+     * @return the cached thumbnail or the placeholder.
+     */
+    @FxThread
+    public @NotNull Image getThumbnailAsync(@NotNull Path file, int width, int height, @NotNull Image defaultImage) {
+
+        var path = file.toString();
+        var cached = imageCache.get(CACHE_REGION, path, width, height);
+
+        if (cached != null) {
+            return cached;
+        } else if (failedFiles.contains(path)) {
+            return defaultImage;
+        }
+
+        var request = requests.get(path);
+
+        if (request == null) {
+            request = new ThumbnailRequest(file);
+            requests.put(path, request);
+            var newRequest = request;
+            EXECUTOR_MANAGER.submitBackgroundTask(() -> loadRequest(newRequest), TaskPriority.BULK);
+        }
+
+        request.users++;
+
+        for (var placeholder : request.placeholders) {
+            if (placeholder.getWidth() == width && placeholder.getHeight() == height) {
+                return placeholder;
+            }
+        }
+
+        var placeholder = new WritableImage(width, height);
+        var pixelReader = defaultImage.getPixelReader();
+
+        if (pixelReader != null && defaultImage.getWidth() == width && defaultImage.getHeight() == height) {
+            placeholder.getPixelWriter().setPixels(0, 0, width, height, pixelReader, 0, 0);
+        }
+
+        request.placeholders.add(placeholder);
+
+        return placeholder;
+    }
+
+    /**
+     * Release the thumbnail of the file which was got by {@link #getThumbnailAsync(Path, int, int, Image)}, the not
+     * finished request is cancelled when nobody waits for it.
+     *
+     * @param file  the file.
+     * @param image the got image.
+     */
+    @FxThread
+    public void releaseThumbnail(@NotNull Path file, @NotNull Image image) {
+
+        var request = requests.get(file.toString());
+
+        if (request == null || !request.placeholders.contains(image)) {
+            return;
+        }
+
+        if (--request.users < 1) {
+            cancelRequest(request);
+        }
+    }
+
+    /**
+     * Cancel the not finished request.
+     *
+     * @param request the request.
+     */
+    @FxThread
+    private void cancelRequest(@NotNull ThumbnailRequest request) {
+        request.cancelled = true;
+        removeRequest(request);
+    }
+
+    /**
+     * Remove the request from not finished requests if it wasn't replaced by a new request.
+     *
+     * @param request the request.
+     */
+    @FxThread
+    private void removeRequest(@NotNull ThumbnailRequest request) {
+        if (requests.get(request.path) == request) {
+            requests.remove(request.path);
+        }
+    }
+
+    /**
+     * Load the thumbnail of the request from the persistent pack or load the model or the material to render it.
+     *
+     * @param request the request.
+     */
+    @BackgroundThread
+    private void loadRequest(@NotNull ThumbnailRequest request) {
+
+        if (request.cancelled) {
+            return;
+        }
+
+        var file = request.file;
+        var packKey = Utils.get(file, f -> f.toUri().toURL()).toExternalForm();
+
+        try {
+            request.modified = getLastModified(file);
+        } catch (IOException e) {
+            LOGGER.warning(this, e);
+            EXECUTOR_MANAGER.addFxTask(() -> failRequest(request));
+            return;
+        }
+
+        request.packKey = packKey;
+
+        var thumbnailPack = JavaFxImageManager.getInstance().getThumbnailPack();
+        var thumbnail = thumbnailPack.get(packKey, THUMBNAIL_SIZE, THUMBNAIL_SIZE, request.modified);
+
+        if (thumbnail != null) {
+
+            var pixels = new int[THUMBNAIL_SIZE * THUMBNAIL_SIZE];
+
+            thumbnail.getPixelReader().getPixels(0, 0, THUMBNAIL_SIZE, THUMBNAIL_SIZE,
+                    PixelFormat.getIntArgbInstance(), pixels, 0, THUMBNAIL_SIZE);
+
+            EXECUTOR_MANAGER.addFxTask(() -> finishRequest(request, pixels));
+            return;
+        }
+
+        var assetFile = EditorUtil.getAssetFile(file);
+
+        if (request.cancelled) {
+            return;
+        } else if (assetFile == null) {
+            EXECUTOR_MANAGER.addFxTask(() -> failRequest(request));
+            return;
+        }
+
+        var assetPath = EditorUtil.toAssetPath(assetFile);
+        var assetManager = EditorUtil.getAssetManager();
+
+        try {
+
+            if (FileExtensions.JME_MATERIAL.equals(getExtension(assetPath))) {
+                request.material = assetManager.loadMaterial(assetPath);
+            } else {
+                request.model = assetManager.loadModel(assetPath);
+            }
+
+        } catch (RuntimeException e) {
+            LOGGER.warning(this, e);
+            EXECUTOR_MANAGER.addFxTask(() -> failRequest(request));
+            return;
+        }
+
+        if (request.cancelled) {
+            request.model = null;
+            request.material = null;
+            return;
+        }
+
+        loadedRequests.add(request);
+
+        if (bakerState == null) {
+            EXECUTOR_MANAGER.addJmeTask(this::attachBakerState);
+        }
+    }
+
+    /**
+     * Attach the state to render thumbnails if it isn't attached yet.
+     */
+    @JmeThread
+    private void attachBakerState() {
+
+        if (bakerState != null) {
+            return;
+        }
+
+        var state = new BakerState();
+
+        EditorUtil.getStateManager().attach(state);
+
+        bakerState = state;
+    }
+
+    /**
+     * Store the rendered thumbnail to the persistent pack and fill placeholders of the request.
+     *
+     * @param request the request.
+     * @param pixels  the ARGB pixels of the thumbnail.
+     */
+    @BackgroundThread
+    private void storeThumbnail(@NotNull ThumbnailRequest request, @NotNull int[] pixels) {
+
+        var thumbnail = new WritableImage(THUMBNAIL_SIZE, THUMBNAIL_SIZE);
+        thumbnail.getPixelWriter().setPixels(0, 0, THUMBNAIL_SIZE, THUMBNAIL_SIZE,
+                PixelFormat.getIntArgbInstance(), pixels, 0, THUMBNAIL_SIZE);
+
+        var thumbnailPack = JavaFxImageManager.getInstance().getThumbnailPack();
+        thumbnailPack.put(notNull(request.packKey), THUMBNAIL_SIZE, THUMBNAIL_SIZE, request.modified, thumbnail);
+
+        EXECUTOR_MANAGER.addFxTask(() -> finishRequest(request, pixels));
+    }
+
+    /**
+     * Fill placeholders of the request by the thumbnail.
+     *
+     * @param request the request.
+     * @param pixels  the ARGB pixels of the thumbnail.
+     */
+    @FxThread
+    private void finishRequest(@NotNull ThumbnailRequest request, @NotNull int[] pixels) {
+
+        removeRequest(request);
+
+        for (var placeholder : request.placeholders) {
+
+            var width = (int) placeholder.getWidth();
+            var height = (int) placeholder.getHeight();
+            var scaled = ImageUtils.scaleToFit(pixels, THUMBNAIL_SIZE, THUMBNAIL_SIZE, width, height);
+
+            placeholder.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(),
+                    scaled, 0, width);
+
+            imageCache.put(CACHE_REGION, request.path, width, height, placeholder);
+        }
+    }
+
+    /**
+     * Forget the request which can't be rendered, placeholders keep the default image.
+     *
+     * @param request the request.
+     */
+    @FxThread
+    private void failRequest(@NotNull ThumbnailRequest request) {
+
+        removeRequest(request);
+
+        if (!request.cancelled) {
+            failedFiles.add(request.path);
+        }
+    }
+
+    /**
+     * Get the last modified time of the file and of all assets which it references directly or through other assets.
+     *
+     * @param file the file.
+     * @return the last modified time.
+     * @throws IOException if the file can't be read.
+     */
+    @BackgroundThread
+    private long getLastModified(@NotNull Path file) throws IOException {
+
+        var modified = Files.getLastModifiedTime(file).toMillis();
+        var assetFile = EditorUtil.getAssetFile(file);
+
+        if (assetFile == null) {
+            return modified;
+        }
+
+        var dependencies = AssetDependencyManager.getInstance()
+                .findDependenciesRecursively(EditorUtil.toAssetPath(assetFile));
+
+        for (var dependency : dependencies) {
+
+            var realFile = EditorUtil.getRealFile(dependency);
+
+            if (realFile == null || !Files.exists(realFile)) {
+                continue;
+            }
+
+            try {
+                modified = Math.max(modified, Files.getLastModifiedTime(realFile).toMillis());
+            } catch (IOException e) {
+                LOGGER.warning(this, e);
+            }
+        }
+
+        return modified;
+    }
+
+    @FxThread
+    private void processEvent(@NotNull FileChangedEvent event) {
+
+        var file = event.getFile();
+
+        failedFiles.remove(file.toString());
+
+        var assetFile = EditorUtil.getAssetFile(file);
+
+        if (assetFile == null) {
+            return;
+        }
+
+        // models and materials which use the changed texture or material definition should be rendered again
+        var usages = AssetDependencyManager.getInstance()
+                .findUsagesRecursively(EditorUtil.toAssetPath(assetFile));
+
+        for (var usage : usages) {
+
+            var realFile = EditorUtil.getRealFile(usage);
+
+            if (realFile == null) {
+                continue;
+            }
+
+            var path = realFile.toString();
+
+            failedFiles.remove(path);
+            imageCache.invalidate(path);
+        }
+    }
+
+    @FxThread
+    private void processEvent(@NotNull DeletedFileEvent event) {
+
+        var path = event.getFile().toString();
+        var prefix = path + event.getFile().getFileSystem().getSeparator();
+
+        for (var requestPath : requests.keyArray(String.class)) {
+            if (requestPath.equals(path) || requestPath.startsWith(prefix)) {
+                cancelRequest(notNull(requests.get(requestPath)));
+            }
+        }
+
+        failedFiles.removeIf(failedPath -> failedPath.equals(path) || failedPath.startsWith(prefix));
+    }
+}
@@ -26,6 +26,7 @@ import java.net.URLClassLoader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
@@ -53,10 +54,17 @@ public class PluginManager {
     @NotNull
     private final ConfigurablePluginSystem pluginSystem;
 
+    /**
+     * The count of installed and removed plugins.
+     */
+    @NotNull
+    private final AtomicInteger modificationCount;
+
     private PluginManager() {
         InitializeManager.valid(getClass());
 
         this.pluginSystem = newBasePluginSystem(getClass().getClassLoader());
+        this.modificationCount = new AtomicInteger();
         this.pluginSystem.setAppVersion(Config.APP_VERSION);
 
         var folderInUserHome = Config.getAppFolderInUserHome();
@@ -111,6 +119,7 @@ public class PluginManager {
      */
     public void installPlugin(@NotNull Path path) {
         pluginSystem.installPlugin(path, false);
+        modificationCount.incrementAndGet();
     }
 
     /**
@@ -120,6 +129,17 @@ public class PluginManager {
      */
     public void removePlugin(@NotNull EditorPlugin plugin) {
         pluginSystem.removePlugin(plugin);
+        modificationCount.incrementAndGet();
+    }
+
+    /**
+     * Get the count of installed and removed plugins since the start.
+     *
+     * @return the count of changes.
+     */
+    @FromAnyThread
+    public int getModificationCount() {
+        return modificationCount.get();
     }
 
     /**
@@ -19,18 +19,20 @@ import com.ss.editor.EditorThread;
 import com.ss.editor.FileExtensions;
 import com.ss.editor.annotation.FromAnyThread;
 import com.ss.editor.config.EditorConfig;
+import com.ss.editor.executor.TaskPriority;
+import com.ss.editor.model.workspace.AssetIndex;
+import com.ss.editor.model.workspace.AssetSearchIndex;
 import com.ss.editor.ui.event.FxEventManager;
+import com.ss.editor.ui.event.SceneEvent;
 import com.ss.editor.ui.event.impl.*;
 import com.ss.editor.util.EditorUtil;
 import com.ss.editor.util.SimpleFileVisitor;
 import com.ss.editor.util.SimpleFolderVisitor;
-import com.ss.rlib.common.concurrent.util.ThreadUtils;
 import com.ss.rlib.common.logging.Logger;
 import com.ss.rlib.common.logging.LoggerManager;
 import com.ss.rlib.common.manager.InitializeManager;
 import com.ss.rlib.common.util.FileUtils;
 import com.ss.rlib.common.util.StringUtils;
-import com.ss.rlib.common.util.Utils;
 import com.ss.rlib.common.util.array.Array;
 import com.ss.rlib.common.util.array.ArrayComparator;
 import com.ss.rlib.common.util.array.ArrayFactory;
@@ -46,7 +48,18 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.*;
 import java.nio.file.attribute.FileTime;
-import java.util.List;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -68,6 +81,22 @@ public class ResourceManager extends EditorThread implements AssetEventListener
     @NotNull
     private static final ArrayComparator<String> STRING_ARRAY_COMPARATOR = StringUtils::compareIgnoreCase;
 
+    /**
+     * The key of the reload task, a new reload request supersedes not started one.
+     */
+    @NotNull
+    private static final String RELOAD_TASK_KEY = "ResourceManager.reload";
+
+    /**
+     * The time in ms without new file events after which the collected events are notified.
+     */
+    private static final long WATCH_DEBOUNCE_DELAY = 100;
+
+    /**
+     * The max time in ms to collect file events before notifying them.
+     */
+    private static final long WATCH_MAX_BATCH_DELAY = 1000;
+
     @NotNull
     private static final WatchService WATCH_SERVICE;
 
@@ -80,6 +109,28 @@ public class ResourceManager extends EditorThread implements AssetEventListener
         }
     }
 
+    /**
+     * The cache of resolved URLs by resource paths for a state of class loaders.
+     */
+    private static class ResolvedResources {
+
+        /**
+         * The resolved URLs, not found resources are cached as empty values.
+         */
+        @NotNull
+        private final ConcurrentHashMap<String, Optional<URL>> urls;
+
+        /**
+         * The state of class loaders for which the URLs are resolved.
+         */
+        private final long stamp;
+
+        private ResolvedResources(final long stamp) {
+            this.urls = new ConcurrentHashMap<>();
+            this.stamp = stamp;
+        }
+    }
+
     @Nullable
     private static ResourceManager instance;
 
@@ -95,6 +146,12 @@ public class ResourceManager extends EditorThread implements AssetEventListener
     @NotNull
     private final ObjectDictionary<String, Reference> assetCacheTable;
 
+    /**
+     * The table of cached asset keys by asset paths.
+     */
+    @NotNull
+    private final ObjectDictionary<String, Array<AssetKey>> cachedAssetKeys;
+
     /**
      * The table with interested resources.
      */
@@ -119,6 +176,12 @@ public class ResourceManager extends EditorThread implements AssetEventListener
     @NotNull
     private final Array<URLClassLoader> classLoaders;
 
+    /**
+     * The last modified times of libraries by their class loaders.
+     */
+    @NotNull
+    private final ObjectDictionary<URLClassLoader, Long> classLoaderTimes;
+
     /**
      * The list of resources in the classpath.
      */
@@ -126,10 +189,34 @@ public class ResourceManager extends EditorThread implements AssetEventListener
     private final Array<String> resourcesInClasspath;
 
     /**
-     * The list of keys for watching to folders.
+     * The table of watched folders by their watch keys.
+     */
+    @NotNull
+    private final ConcurrentHashMap<WatchKey, Path> watchedFolders;
+
+    /**
+     * The table of watch keys by watched folders.
+     */
+    @NotNull
+    private final ConcurrentHashMap<Path, WatchKey> watchKeys;
+
+    /**
+     * The cache of resolved URLs, it's replaced by a new cache when class loaders are changed.
+     */
+    @NotNull
+    private volatile ResolvedResources resolvedResources;
+
+    /**
+     * The index of files of the current asset folder.
+     */
+    @Nullable
+    private volatile AssetIndex assetIndex;
+
+    /**
+     * The index to search files of the current asset folder by asset paths.
      */
     @NotNull
-    private final Array<WatchKey> watchKeys;
+    private final AssetSearchIndex searchIndex;
 
     private ResourceManager() {
         InitializeManager.valid(getClass());
@@ -137,9 +224,14 @@ public class ResourceManager extends EditorThread implements AssetEventListener
         final ClasspathManager classpathManager = ClasspathManager.getInstance();
 
         this.assetCacheTable = DictionaryFactory.newObjectDictionary();
+        this.cachedAssetKeys = DictionaryFactory.newObjectDictionary();
         this.additionalEnvs = ArrayFactory.newArray(Path.class);
-        this.watchKeys = ArrayFactory.newArray(WatchKey.class);
+        this.watchedFolders = new ConcurrentHashMap<>();
+        this.watchKeys = new ConcurrentHashMap<>();
+        this.resolvedResources = new ResolvedResources(-1);
+        this.searchIndex = new AssetSearchIndex();
         this.classLoaders = ArrayFactory.newArray(URLClassLoader.class);
+        this.classLoaderTimes = DictionaryFactory.newObjectDictionary();
         this.resourcesInClasspath = classpathManager.getAllResources();
         this.interestedResources = DictionaryFactory.newObjectDictionary();
         this.interestedResourcesInClasspath = DictionaryFactory.newObjectDictionary();
@@ -173,6 +265,42 @@ public class ResourceManager extends EditorThread implements AssetEventListener
     @FromAnyThread
     public @Nullable URL tryToFindResource(@NotNull final String resourcePath) {
 
+        final ClasspathManager classpathManager = ClasspathManager.getInstance();
+        final PluginManager pluginManager = PluginManager.getInstance();
+
+        final long stamp = ((long) classpathManager.getModificationCount() << 32) |
+                (pluginManager.getModificationCount() & 0xFFFFFFFFL);
+
+        ResolvedResources resolvedResources = this.resolvedResources;
+
+        // a new cache is published instead of clearing the current, so a URL which is resolved for
+        // the previous state of class loaders can't be put to the actual cache
+        if (resolvedResources.stamp != stamp) {
+            resolvedResources = new ResolvedResources(stamp);
+            this.resolvedResources = resolvedResources;
+        }
+
+        return resolvedResources.urls.computeIfAbsent(resourcePath, this::findResource)
+                .orElse(null);
+    }
+
+    /**
+     * Clear the cache of resolved URLs of resources.
+     */
+    @FromAnyThread
+    public void invalidateResolvedResources() {
+        resolvedResources = new ResolvedResources(-1);
+    }
+
+    /**
+     * Find a resource by the resource path in the classpath, libraries and plugins.
+     *
+     * @param resourcePath the resource path.
+     * @return the found URL.
+     */
+    @FromAnyThread
+    private @NotNull Optional<URL> findResource(@NotNull final String resourcePath) {
+
         final Array<@NotNull ClassLoader> classLoaders = ArrayFactory.newArray(ClassLoader.class);
         classLoaders.add(getClass().getClassLoader());
 
@@ -206,7 +334,7 @@ public class ResourceManager extends EditorThread implements AssetEventListener
             url = getClass().getResource("/" + resourcePath);
         }
 
-        return url;
+        return Optional.ofNullable(url);
     }
 
     /**
@@ -262,6 +390,13 @@ public class ResourceManager extends EditorThread implements AssetEventListener
         final ObjectDictionary<String, Reference> table = getAssetCacheTable();
         final Reference reference = notNull(table.get(key.getName(), () -> newRef(ReferenceType.LONG)));
         reference.setLong(currentTimeMillis());
+
+        final Array<AssetKey> keys = notNull(getCachedAssetKeys().get(key.getName(),
+                () -> ArrayFactory.newArray(AssetKey.class)));
+
+        if (!keys.contains(key)) {
+            keys.add(key);
+        }
     }
 
     @Override
@@ -346,17 +481,157 @@ public class ResourceManager extends EditorThread implements AssetEventListener
         return assetCacheTable;
     }
 
+    /**
+     * @return the table of cached asset keys by asset paths.
+     */
+    @FromAnyThread
+    private @NotNull ObjectDictionary<String, Array<AssetKey>> getCachedAssetKeys() {
+        return cachedAssetKeys;
+    }
+
+    /**
+     * Delete cached assets of the file and of all assets which use it directly or through other assets from the
+     * cache of the asset manager, so they will be loaded again on the next request.
+     *
+     * @param file the changed or removed file.
+     * @return the asset paths of evicted assets which use the file.
+     */
+    @FromAnyThread
+    public @NotNull Set<String> evictFromCache(@NotNull final Path file) {
+
+        final Path assetFile = getAssetFile(file);
+        if (assetFile == null) {
+            return Collections.emptySet();
+        }
+
+        final String assetPath = toAssetPath(assetFile);
+        final AssetDependencyManager assetDependencyManager = AssetDependencyManager.getInstance();
+        final Set<String> usages = assetDependencyManager.findUsagesRecursively(assetPath);
+
+        evictFromCache(assetPath);
+        usages.forEach(this::evictFromCache);
+
+        return usages;
+    }
+
+    /**
+     * Delete cached j3o and j3s assets and all assets which use them from the cache of the asset manager, they can
+     * contain instances of classes from reloaded class loaders.
+     */
+    @FromAnyThread
+    public void evictBinaryAssetsFromCache() {
+
+        final Array<String> toEvict = ArrayFactory.newArray(String.class);
+
+        synchronized (this) {
+            getCachedAssetKeys().forEach((assetPath, keys) -> {
+
+                final String extension = FileUtils.getExtension(assetPath);
+
+                if (JME_OBJECT.equals(extension) || JME_SCENE.equals(extension)) {
+                    toEvict.add(assetPath);
+                }
+            });
+        }
+
+        final AssetDependencyManager assetDependencyManager = AssetDependencyManager.getInstance();
+
+        for (final String assetPath : toEvict) {
+            evictFromCache(assetPath);
+            assetDependencyManager.findUsagesRecursively(assetPath)
+                    .forEach(this::evictFromCache);
+        }
+
+        LOGGER.debug(this, "evicted " + toEvict.size() + " binary assets from the asset cache.");
+    }
+
+    /**
+     * Delete cached assets which were changed since they were loaded from the cache of the asset manager, files
+     * are checked without holding the lock of this manager.
+     */
+    @FromAnyThread
+    private void evictChangedAssets() {
+
+        final Map<String, Long> loadedTimes = new HashMap<>();
+
+        synchronized (this) {
+            getAssetCacheTable().forEach((assetPath, reference) -> loadedTimes.put(assetPath, reference.getLong()));
+        }
+
+        final Array<Path> changed = ArrayFactory.newArray(Path.class);
+
+        loadedTimes.forEach((assetPath, loadedTime) -> {
+
+            final Path realFile = getRealFile(assetPath);
+            if (realFile == null) {
+                return;
+            }
+
+            try {
+
+                // assets from the classpath don't have files in the asset folder
+                if (Files.exists(realFile) && Files.getLastModifiedTime(realFile).toMillis() > loadedTime) {
+                    changed.add(realFile);
+                }
+
+            } catch (final IOException e) {
+                LOGGER.warning(this, e);
+            }
+        });
+
+        changed.forEach(this::evictFromCache);
+
+        LOGGER.debug(this, "evicted " + changed.size() + " changed assets from the asset cache.");
+    }
+
+    /**
+     * Delete cached assets with the asset path from the cache of the asset manager.
+     *
+     * @param assetPath the asset path.
+     */
+    @FromAnyThread
+    private synchronized void evictFromCache(@NotNull final String assetPath) {
+
+        getAssetCacheTable().remove(assetPath);
+
+        final Array<AssetKey> keys = getCachedAssetKeys().remove(assetPath);
+        if (keys == null) {
+            return;
+        }
+
+        final AssetManager assetManager = EditorUtil.getAssetManager();
+        keys.forEach(assetManager, (key, manager) -> manager.deleteFromCache(key));
+    }
+
+    /**
+     * Clear the whole cache of the asset manager.
+     */
+    @FromAnyThread
+    private synchronized void clearAssetCache() {
+        getAssetCacheTable().clear();
+        getCachedAssetKeys().clear();
+        EditorUtil.getAssetManager().clearCache();
+    }
+
     /**
      * Handle a removed file.
      */
     @FromAnyThread
     private synchronized void processEvent(@NotNull final DeletedFileEvent event) {
 
+        final Path file = event.getFile();
+
         if (event.isDirectory()) {
+
+            final Path assetFile = getAssetFile(file);
+
+            if (assetFile != null) {
+                searchIndex.removeFolder(toAssetPath(assetFile));
+            }
+
             return;
         }
 
-        final Path file = event.getFile();
         final String extension = FileUtils.getExtension(file);
 
         final ObjectDictionary<String, Array<String>> interestedResources = getInterestedResources();
@@ -369,6 +644,8 @@ public class ResourceManager extends EditorThread implements AssetEventListener
             resources.fastRemove(assetPath);
         }
 
+        searchIndex.remove(assetPath);
+
         if (extension.endsWith(FileExtensions.JAVA_LIBRARY)) {
 
             final AssetManager assetManager = EditorUtil.getAssetManager();
@@ -380,6 +657,7 @@ public class ResourceManager extends EditorThread implements AssetEventListener
 
             if (oldLoader != null) {
                 classLoaders.fastRemove(oldLoader);
+                classLoaderTimes.remove(oldLoader);
                 assetManager.removeClassLoader(oldLoader);
             }
         }
@@ -389,9 +667,31 @@ public class ResourceManager extends EditorThread implements AssetEventListener
      * Handle a created file.
      */
     @FromAnyThread
-    private synchronized void processEvent(@NotNull final CreatedFileEvent event) {
-        if (event.isDirectory()) return;
-        handleFile(event.getFile());
+    private void processEvent(@NotNull final CreatedFileEvent event) {
+
+        final Path file = event.getFile();
+
+        if (!event.isDirectory()) {
+            handleFile(file);
+            return;
+        }
+
+        // files of a copied or moved folder don't have own events
+        EXECUTOR_MANAGER.submitBackgroundTask(() -> handleFolder(file), TaskPriority.NORMAL);
+    }
+
+    /**
+     * Handle all files of a created folder.
+     *
+     * @param folder the folder.
+     */
+    @FromAnyThread
+    private void handleFolder(@NotNull final Path folder) {
+        try {
+            Files.walkFileTree(folder, (SimpleFileVisitor) (file, attrs) -> handleFile(file));
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
+        }
     }
 
     /**
@@ -477,45 +777,151 @@ public class ResourceManager extends EditorThread implements AssetEventListener
     @FromAnyThread
     public synchronized void reload() {
 
-        final ObjectDictionary<String, Reference> lastModifyTable = getAssetCacheTable();
-        lastModifyTable.clear();
+        final EditorConfig editorConfig = EditorConfig.getInstance();
+        final Path currentAsset = editorConfig.getCurrentAsset();
 
-        final Array<WatchKey> watchKeys = getWatchKeys();
-        watchKeys.forEach(WatchKey::cancel);
-        watchKeys.clear();
+        AssetIndex assetIndex = getAssetIndex();
 
-        final AssetManager assetManager = EditorUtil.getAssetManager();
+        // assets of another asset folder can't be reused, but after refreshing the same folder
+        // only changed assets should be loaded again
+        final boolean sameFolder = currentAsset != null && assetIndex != null &&
+                assetIndex.getAssetFolder().equals(currentAsset);
 
-        final Array<URLClassLoader> classLoaders = getClassLoaders();
-        classLoaders.forEach(assetManager, (loader, manager) -> manager.removeClassLoader(loader));
-        classLoaders.clear();
+        if (!sameFolder) {
+            clearAssetCache();
+        }
 
-        assetManager.clearCache();
+        final ConcurrentHashMap<Path, WatchKey> watchKeys = getWatchKeys();
+        watchKeys.values().forEach(WatchKey::cancel);
+        watchKeys.clear();
+        getWatchedFolders().clear();
 
         final ObjectDictionary<String, Array<String>> interestedResources = getInterestedResources();
         interestedResources.forEach((extension, resources) -> resources.clear());
 
-        final EditorConfig editorConfig = EditorConfig.getInstance();
-        final Path currentAsset = editorConfig.getCurrentAsset();
-        if (currentAsset == null) return;
+        if (currentAsset == null) {
+            updateClassLoaders(Collections.emptyList());
+            searchIndex.clear();
+            return;
+        }
 
-        try {
-            Files.walkFileTree(currentAsset, (SimpleFileVisitor) (file, attrs) -> handleFile(file));
-        } catch (IOException e) {
-            LOGGER.warning(e);
+        if (assetIndex == null || !assetIndex.getAssetFolder().equals(currentAsset)) {
+            assetIndex = AssetIndex.load(currentAsset);
+            setAssetIndex(assetIndex);
+        }
+
+        final long startTime = currentTimeMillis();
+
+        // the folders are scanned in parallel, so found files are collected to concurrent buckets
+        final Map<String, Queue<String>> resourceBuckets = new HashMap<>();
+        interestedResources.forEach((extension, resources) ->
+                resourceBuckets.put(extension, new ConcurrentLinkedQueue<>()));
+
+        final Queue<Path> libraries = new ConcurrentLinkedQueue<>();
+        final Queue<Path> sources = new ConcurrentLinkedQueue<>();
+        final Queue<String> assetPaths = new ConcurrentLinkedQueue<>();
+
+        assetIndex.scan(this::registerWatchKey, (file, extension) -> {
+
+            final String assetPath = toAssetPath(getAssetFile(currentAsset, file));
+            final Queue<String> bucket = resourceBuckets.get(extension);
+
+            if (bucket != null) {
+                bucket.add(assetPath);
+            }
+
+            if (isSearchable(assetPath)) {
+                assetPaths.add(assetPath);
+            }
+
+            if (extension.endsWith(FileExtensions.JAVA_LIBRARY)) {
+                libraries.add(file);
+            }
+
+            if (AssetDependencyManager.isSource(extension)) {
+                sources.add(file);
+            }
+        });
+
+        resourceBuckets.forEach((extension, bucket) -> {
+            final Array<String> resources = notNull(interestedResources.get(extension));
+            bucket.forEach(resources::add);
+        });
+
+        final boolean classLoadersChanged = updateClassLoaders(libraries);
+
+        if (sameFolder && classLoadersChanged) {
+            // cached assets can contain instances of classes from the removed class loaders
+            clearAssetCache();
+        } else if (sameFolder) {
+            EXECUTOR_MANAGER.submitBackgroundTask(this::evictChangedAssets, TaskPriority.BULK);
+        }
+
+        searchIndex.reset(assetPaths);
+
+        final AssetDependencyManager assetDependencyManager = AssetDependencyManager.getInstance();
+        final Array<Path> sourceFiles = ArrayFactory.newArray(Path.class, sources.size());
+        sources.forEach(sourceFiles::add);
+
+        assetDependencyManager.reload(currentAsset, sourceFiles);
+
+        LOGGER.debug(this, "scanned the asset folder in " + (currentTimeMillis() - startTime) + "ms, changed folders: " +
+                assetIndex.getChangedFolders());
+
+        if (assetIndex.getChangedFolders() == 0) {
+            return;
         }
 
         try {
-            watchKeys.add(currentAsset.register(WATCH_SERVICE, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY));
-            Files.walkFileTree(currentAsset, (SimpleFolderVisitor) (file, attrs) -> registerFiles(watchKeys, file));
+            assetIndex.save();
         } catch (final IOException e) {
-            LOGGER.warning(e);
+            LOGGER.warning(this, e);
         }
     }
 
+    /**
+     * Find files of the current asset folder by the fuzzy query, results are ranked from the best.
+     *
+     * @param query  the query.
+     * @param limit  the max count of results.
+     * @param filter the filter of asset paths or null.
+     * @return the found asset paths.
+     */
+    @FromAnyThread
+    public @NotNull Array<String> findAssets(@NotNull final String query, final int limit,
+                                             @Nullable final Predicate<String> filter) {
+        return searchIndex.search(query, limit, filter);
+    }
+
+    /**
+     * Return true if the file should be found by searching.
+     *
+     * @param assetPath the asset path of the file.
+     * @return true if the file should be found by searching.
+     */
+    @FromAnyThread
+    private boolean isSearchable(@NotNull final String assetPath) {
+        return !assetPath.startsWith(WorkspaceManager.FOLDER_EDITOR);
+    }
+
+    /**
+     * Get the index of files of the current asset folder.
+     *
+     * @return the index of files or null.
+     */
     @FromAnyThread
-    private static void registerFiles(@NotNull final Array<WatchKey> watchKeys, @NotNull final Path file) {
-        watchKeys.add(get(file, toRegister -> toRegister.register(WATCH_SERVICE, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY)));
+    private @Nullable AssetIndex getAssetIndex() {
+        return assetIndex;
+    }
+
+    /**
+     * Set the index of files of the current asset folder.
+     *
+     * @param assetIndex the index of files.
+     */
+    @FromAnyThread
+    private void setAssetIndex(@Nullable final AssetIndex assetIndex) {
+        this.assetIndex = assetIndex;
     }
 
     /**
@@ -528,27 +934,119 @@ public class ResourceManager extends EditorThread implements AssetEventListener
             return;
         }
 
-        final String extension = FileUtils.getExtension(file);
+        handleFile(file, FileUtils.getExtension(file));
+    }
+
+    /**
+     * Handle a file in an asset folder.
+     *
+     * @param file      the file.
+     * @param extension the extension of the file.
+     */
+    @FromAnyThread
+    private synchronized void handleFile(@NotNull final Path file, @NotNull final String extension) {
 
         final ObjectDictionary<String, Array<String>> interestedResources = getInterestedResources();
         final Array<String> toStore = interestedResources.get(extension);
 
+        final Path assetFile = getAssetFile(file);
+
         if (toStore != null) {
-            final Path assetFile = notNull(getAssetFile(file), "Not found asset file for " + file);
-            toStore.add(toAssetPath(assetFile));
+
+            final String assetPath = toAssetPath(notNull(assetFile, "Not found asset file for " + file));
+
+            // the file can be already handled by the event of its folder
+            if (!toStore.contains(assetPath)) {
+                toStore.add(assetPath);
+            }
+        }
+
+        if (assetFile != null && isSearchable(toAssetPath(assetFile))) {
+            searchIndex.add(toAssetPath(assetFile));
         }
 
         if (extension.endsWith(FileExtensions.JAVA_LIBRARY)) {
+            registerClassLoaders(Collections.singletonList(file));
+        }
+    }
 
-            final AssetManager assetManager = EditorUtil.getAssetManager();
-            final URL url = get(file, FileUtils::toUrl);
+    /**
+     * Remove class loaders of removed or changed libraries and register class loaders of new or changed libraries,
+     * class loaders of not changed libraries are kept.
+     *
+     * @param libraries all libraries of the asset folder.
+     * @return true if any class loader was removed.
+     */
+    @FromAnyThread
+    private synchronized boolean updateClassLoaders(@NotNull final Collection<Path> libraries) {
 
-            final Array<URLClassLoader> classLoaders = getClassLoaders();
-            final URLClassLoader oldLoader = classLoaders.search(url, (loader, toCheck) -> contains(loader.getURLs(), toCheck));
-            if (oldLoader != null) return;
+        final Map<String, Long> actualTimes = new HashMap<>();
 
-            final URLClassLoader newLoader = new URLClassLoader(toArray(url), getClass().getClassLoader());
+        for (final Path library : libraries) {
+            final URL url = get(library, FileUtils::toUrl);
+            actualTimes.put(url.toString(), library.toFile().lastModified());
+        }
+
+        final Array<URLClassLoader> classLoaders = getClassLoaders();
+        final Array<URLClassLoader> toRemove = ArrayFactory.newArray(URLClassLoader.class);
+
+        for (final URLClassLoader loader : classLoaders) {
+
+            final Long actualTime = actualTimes.get(loader.getURLs()[0].toString());
+
+            if (actualTime == null || !actualTime.equals(classLoaderTimes.get(loader))) {
+                toRemove.add(loader);
+            }
+        }
+
+        final AssetManager assetManager = EditorUtil.getAssetManager();
+
+        for (final URLClassLoader loader : toRemove) {
+            classLoaders.fastRemove(loader);
+            classLoaderTimes.remove(loader);
+            assetManager.removeClassLoader(loader);
+        }
+
+        registerClassLoaders(libraries);
+
+        return !toRemove.isEmpty();
+    }
+
+    /**
+     * Create and register class loaders of the libraries which aren't registered yet.
+     *
+     * @param libraries the libraries.
+     */
+    @FromAnyThread
+    private synchronized void registerClassLoaders(@NotNull final Collection<Path> libraries) {
+
+        if (libraries.isEmpty()) {
+            return;
+        }
+
+        final Array<URLClassLoader> classLoaders = getClassLoaders();
+        final Set<String> registered = new HashSet<>();
+
+        for (final URLClassLoader loader : classLoaders) {
+            for (final URL url : loader.getURLs()) {
+                registered.add(url.toString());
+            }
+        }
+
+        final AssetManager assetManager = EditorUtil.getAssetManager();
+        final ClassLoader parent = getClass().getClassLoader();
+
+        for (final Path library : libraries) {
+
+            final URL url = get(library, FileUtils::toUrl);
+
+            if (!registered.add(url.toString())) {
+                continue;
+            }
+
+            final URLClassLoader newLoader = new URLClassLoader(toArray(url), parent);
             classLoaders.add(newLoader);
+            classLoaderTimes.put(newLoader, library.toFile().lastModified());
             assetManager.addClassLoader(newLoader);
         }
     }
@@ -557,106 +1055,236 @@ public class ResourceManager extends EditorThread implements AssetEventListener
     public void run() {
         super.run();
 
+        final Map<Path, WatchEvent.Kind<?>> events = new LinkedHashMap<>();
+        final Set<Path> deletedFolders = new HashSet<>();
+
         while (true) {
-            ThreadUtils.sleep(200);
+            try {
 
-            final Array<WatchKey> watchKeys = getWatchKeys();
+                WatchKey watchKey = WATCH_SERVICE.take();
 
-            List<WatchEvent<?>> watchEvents = null;
-            WatchKey watchKey = null;
+                final long deadline = currentTimeMillis() + WATCH_MAX_BATCH_DELAY;
 
-            synchronized (this) {
-                for (final WatchKey key : watchKeys) {
-                    watchKey = key;
-                    watchEvents = key.pollEvents();
-                    if (!watchEvents.isEmpty()) break;
-                }
-            }
+                // collect events from all ready keys until the burst is finished
+                while (watchKey != null) {
 
-            if (watchEvents == null || watchEvents.isEmpty()) continue;
+                    collectEvents(watchKey, events, deletedFolders);
 
-            for (final WatchEvent<?> watchEvent : watchEvents) {
+                    if (currentTimeMillis() >= deadline) {
+                        break;
+                    }
 
-                final Path file = (Path) watchEvent.context();
-                final Path folder = (Path) watchKey.watchable();
-                final Path realFile = folder.resolve(file);
+                    watchKey = WATCH_SERVICE.poll(WATCH_DEBOUNCE_DELAY, TimeUnit.MILLISECONDS);
+                }
 
-                if (watchEvent.kind() == ENTRY_CREATE) {
+                for (watchKey = WATCH_SERVICE.poll(); watchKey != null; watchKey = WATCH_SERVICE.poll()) {
+                    collectEvents(watchKey, events, deletedFolders);
+                }
 
-                    final boolean directory = Files.isDirectory(realFile);
+                notifyEvents(events, deletedFolders);
 
-                    final CreatedFileEvent event = new CreatedFileEvent();
-                    event.setFile(realFile);
-                    event.setNeedSelect(false);
-                    event.setDirectory(directory);
+            } catch (final InterruptedException e) {
+                LOGGER.warning(this, e);
+            } catch (final ClosedWatchServiceException e) {
+                LOGGER.warning(this, e);
+                return;
+            } catch (final RuntimeException e) {
+                LOGGER.warning(this, e);
+            } finally {
+                events.clear();
+                deletedFolders.clear();
+            }
+        }
+    }
 
-                    if (directory) {
-                        registerWatchKey(realFile);
-                    }
+    /**
+     * Collect events of the watch key to the table of pending events, a few events about the same file are merged to
+     * one event.
+     *
+     * @param watchKey       the watch key.
+     * @param events         the table of pending events.
+     * @param deletedFolders the set of deleted watched folders.
+     */
+    private void collectEvents(
+            @NotNull final WatchKey watchKey,
+            @NotNull final Map<Path, WatchEvent.Kind<?>> events,
+            @NotNull final Set<Path> deletedFolders
+    ) {
 
-                    FX_EVENT_MANAGER.notify(event);
+        final Path folder = getWatchedFolders().get(watchKey);
 
-                } else if (watchEvent.kind() == ENTRY_DELETE) {
+        // the key was cancelled by reloading
+        if (folder == null) {
+            watchKey.reset();
+            return;
+        }
 
-                    final boolean directory = Files.isDirectory(realFile);
+        for (final WatchEvent<?> watchEvent : watchKey.pollEvents()) {
 
-                    final DeletedFileEvent event = new DeletedFileEvent();
-                    event.setFile(realFile);
-                    event.setDirectory(directory);
+            final WatchEvent.Kind<?> kind = watchEvent.kind();
 
-                    removeWatchKeyFor(realFile);
+            if (kind == OVERFLOW) {
+                LOGGER.warning(this, "some file events were lost, refreshing the asset folder...");
+                processRefreshAsset();
+                continue;
+            }
 
-                    FX_EVENT_MANAGER.notify(event);
+            final Path realFile = folder.resolve((Path) watchEvent.context());
 
-                } else if (watchEvent.kind() == ENTRY_MODIFY) {
+            if (kind == ENTRY_CREATE && Files.isDirectory(realFile)) {
+                registerWatchKeys(realFile);
+            } else if (kind == ENTRY_DELETE && removeWatchKeyFor(realFile)) {
+                deletedFolders.add(realFile);
+            }
 
-                    final FileChangedEvent event = new FileChangedEvent();
-                    event.setFile(realFile);
+            final WatchEvent.Kind<?> prevKind = events.get(realFile);
+            final WatchEvent.Kind<?> newKind = prevKind == null ? kind : merge(prevKind, kind);
 
-                    FX_EVENT_MANAGER.notify(event);
-                }
+            if (newKind == null) {
+                events.remove(realFile);
+            } else {
+                events.put(realFile, newKind);
             }
         }
+
+        if (!watchKey.reset()) {
+            removeWatchKeyFor(folder);
+        }
     }
 
     /**
-     * Find a watch key for the file.
+     * Merge two consecutive kinds of events about the same file.
      *
-     * @param path the file.
-     * @return the watch key or null.
+     * @param prevKind the previous kind.
+     * @param nextKind the next kind.
+     * @return the result kind or null if the events compensate each other.
      */
     @FromAnyThread
-    private synchronized @Nullable WatchKey findWatchKey(@NotNull final Path path) {
-        final Array<WatchKey> watchKeys = getWatchKeys();
-        return watchKeys.search(path, (watchKey, toCheck) -> watchKey.watchable().equals(toCheck));
+    private static @Nullable WatchEvent.Kind<?> merge(
+            @NotNull final WatchEvent.Kind<?> prevKind,
+            @NotNull final WatchEvent.Kind<?> nextKind
+    ) {
+
+        if (prevKind == ENTRY_CREATE) {
+            return nextKind == ENTRY_DELETE ? null : ENTRY_CREATE;
+        } else if (prevKind == ENTRY_DELETE) {
+            return nextKind == ENTRY_CREATE ? ENTRY_MODIFY : ENTRY_DELETE;
+        }
+
+        return nextKind == ENTRY_DELETE ? ENTRY_DELETE : ENTRY_MODIFY;
+    }
+
+    /**
+     * Notify about the collected events in one batch in the FX thread.
+     *
+     * @param events         the table of collected events.
+     * @param deletedFolders the set of deleted watched folders.
+     */
+    private void notifyEvents(
+            @NotNull final Map<Path, WatchEvent.Kind<?>> events,
+            @NotNull final Set<Path> deletedFolders
+    ) {
+
+        if (events.isEmpty()) {
+            return;
+        }
+
+        final Array<SceneEvent> toNotify = ArrayFactory.newArray(SceneEvent.class, events.size());
+
+        events.forEach((realFile, kind) -> {
+
+            if (kind == ENTRY_CREATE) {
+
+                final CreatedFileEvent event = new CreatedFileEvent();
+                event.setFile(realFile);
+                event.setNeedSelect(false);
+                event.setDirectory(Files.isDirectory(realFile));
+
+                toNotify.add(event);
+
+            } else if (kind == ENTRY_DELETE) {
+
+                evictFromCache(realFile);
+
+                final DeletedFileEvent event = new DeletedFileEvent();
+                event.setFile(realFile);
+                event.setDirectory(deletedFolders.contains(realFile));
+
+                toNotify.add(event);
+
+            } else if (kind == ENTRY_MODIFY) {
+
+                // the cache should be updated before editors start to reload the changed assets
+                evictFromCache(realFile);
+
+                final FileChangedEvent event = new FileChangedEvent();
+                event.setFile(realFile);
+
+                toNotify.add(event);
+            }
+        });
+
+        EXECUTOR_MANAGER.addFxTask(() -> toNotify.forEach(FX_EVENT_MANAGER::notify));
     }
 
     /**
-     * Remove a watch key for the file.
+     * Remove a watch key for the folder.
      *
-     * @param path the file.
+     * @param path the folder.
+     * @return true if the folder was watched.
      */
     @FromAnyThread
-    private synchronized void removeWatchKeyFor(@NotNull final Path path) {
+    private boolean removeWatchKeyFor(@NotNull final Path path) {
 
-        final WatchKey watchKey = findWatchKey(path);
+        final WatchKey watchKey = getWatchKeys().remove(path);
         if (watchKey == null) {
-            return;
+            return false;
         }
 
-        final Array<WatchKey> watchKeys = getWatchKeys();
-        watchKeys.fastRemove(watchKey);
+        getWatchedFolders().remove(watchKey);
         watchKey.cancel();
+        return true;
     }
 
     /**
-     * Register a watch key for the file.
+     * Register watch keys for the folder and all its sub-folders.
      *
-     * @param path the file.
+     * @param folder the folder.
      */
     @FromAnyThread
-    private synchronized void registerWatchKey(@NotNull final Path path) {
-        Utils.run(() -> getWatchKeys().add(path.register(WATCH_SERVICE, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY)));
+    private void registerWatchKeys(@NotNull final Path folder) {
+        try {
+            Files.walkFileTree(folder, (SimpleFolderVisitor) (file, attrs) -> registerWatchKey(file));
+        } catch (final IOException e) {
+            LOGGER.warning(e);
+        }
+    }
+
+    /**
+     * Register a watch key for the folder.
+     *
+     * @param folder the folder.
+     */
+    @FromAnyThread
+    private void registerWatchKey(@NotNull final Path folder) {
+
+        final WatchKey watchKey;
+        try {
+            watchKey = folder.register(WATCH_SERVICE, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+        } catch (final IOException e) {
+            LOGGER.warning(this, e);
+            return;
+        }
+
+        getWatchedFolders().put(watchKey, folder);
+
+        final WatchKey prevKey = getWatchKeys().put(folder, watchKey);
+
+        // the same key is returned for already registered folder
+        if (prevKey != null && prevKey != watchKey) {
+            getWatchedFolders().remove(prevKey);
+            prevKey.cancel();
+        }
     }
 
     /**
@@ -664,7 +1292,7 @@ public class ResourceManager extends EditorThread implements AssetEventListener
      */
     @FromAnyThread
     private void processRefreshAsset() {
-        EXECUTOR_MANAGER.addBackgroundTask(this::reload);
+        EXECUTOR_MANAGER.submitBackgroundTask(RELOAD_TASK_KEY, this::reload, TaskPriority.NORMAL);
     }
 
     /**
@@ -672,14 +1300,23 @@ public class ResourceManager extends EditorThread implements AssetEventListener
      */
     @FromAnyThread
     private void processChangeAsset() {
-        EXECUTOR_MANAGER.addBackgroundTask(this::reload);
+        invalidateResolvedResources();
+        EXECUTOR_MANAGER.submitBackgroundTask(RELOAD_TASK_KEY, this::reload, TaskPriority.NORMAL);
     }
 
     /**
-     * @return the list of keys for watching to folders.
+     * @return the table of watch keys by watched folders.
      */
     @FromAnyThread
-    private @NotNull Array<WatchKey> getWatchKeys() {
+    private @NotNull ConcurrentHashMap<Path, WatchKey> getWatchKeys() {
         return watchKeys;
     }
+
+    /**
+     * @return the table of watched folders by their watch keys.
+     */
+    @FromAnyThread
+    private @NotNull ConcurrentHashMap<WatchKey, Path> getWatchedFolders() {
+        return watchedFolders;
+    }
 }
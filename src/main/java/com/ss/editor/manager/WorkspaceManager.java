@@ -34,6 +34,18 @@ public class WorkspaceManager {
     @NotNull
     public static final String FILE_WORKSPACE = "workspace";
 
+    /**
+     * The constant FILE_ASSET_INDEX.
+     */
+    @NotNull
+    public static final String FILE_ASSET_INDEX = "asset-index";
+
+    /**
+     * The constant FILE_ASSET_DEPENDENCIES.
+     */
+    @NotNull
+    public static final String FILE_ASSET_DEPENDENCIES = "asset-dependencies";
+
     @Nullable
     private static WorkspaceManager instance;
 
@@ -33,7 +33,7 @@ public class AddAppStateOperation extends AbstractEditorOperation<SceneChangeCon
     @Override
     @FxThread
     protected void redoImpl(@NotNull final SceneChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             sceneNode.addAppState(newState);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyAddedAppState(newState));
         });
@@ -42,7 +42,7 @@ public class AddAppStateOperation extends AbstractEditorOperation<SceneChangeCon
     @Override
     @FxThread
     protected void undoImpl(@NotNull final SceneChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             sceneNode.removeAppState(newState);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyRemovedAppState(newState));
         });
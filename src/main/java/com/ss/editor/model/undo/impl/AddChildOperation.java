@@ -44,7 +44,7 @@ public class AddChildOperation extends AbstractEditorOperation<ModelChangeConsum
 
     @Override
     protected void redoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
 
             editor.notifyJmePreChangeProperty(newChild, Messages.MODEL_PROPERTY_TRANSFORMATION);
             parent.attachChildAt(newChild, 0);
@@ -59,7 +59,7 @@ public class AddChildOperation extends AbstractEditorOperation<ModelChangeConsum
 
     @Override
     protected void undoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             parent.detachChild(newChild);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxRemovedChild(parent, newChild));
         });
@@ -39,7 +39,7 @@ public class AddControlOperation extends AbstractEditorOperation<ModelChangeCons
 
     @Override
     protected void redoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             spatial.addControl(newControl);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxAddedChild(spatial, newControl, -1, true));
         });
@@ -47,7 +47,7 @@ public class AddControlOperation extends AbstractEditorOperation<ModelChangeCons
 
     @Override
     protected void undoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             spatial.removeControl(newControl);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxRemovedChild(spatial, newControl));
         });
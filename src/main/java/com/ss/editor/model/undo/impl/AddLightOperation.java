@@ -39,7 +39,7 @@ public class AddLightOperation extends AbstractEditorOperation<ModelChangeConsum
 
     @Override
     protected void redoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             parent.addLight(light);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxAddedChild(parent, light, -1, true));
         });
@@ -47,7 +47,7 @@ public class AddLightOperation extends AbstractEditorOperation<ModelChangeConsum
 
     @Override
     protected void undoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             parent.removeLight(light);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxRemovedChild(parent, light));
         });
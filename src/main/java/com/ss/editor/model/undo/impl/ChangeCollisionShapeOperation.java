@@ -47,7 +47,7 @@ public class ChangeCollisionShapeOperation extends AbstractEditorOperation<Model
 
     @Override
     protected void redoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxRemovedChild(collisionObject, oldShape));
             collisionObject.setCollisionShape(newShape);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxAddedChild(collisionObject, newShape, -1, true));
@@ -56,7 +56,7 @@ public class ChangeCollisionShapeOperation extends AbstractEditorOperation<Model
 
     @Override
     protected void undoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxRemovedChild(collisionObject, newShape));
             collisionObject.setCollisionShape(oldShape);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxAddedChild(collisionObject, oldShape, -1, false));
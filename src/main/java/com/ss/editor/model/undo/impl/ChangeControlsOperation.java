@@ -28,7 +28,7 @@ public class ChangeControlsOperation extends AbstractEditorOperation<ModelChange
     @Override
     @JmeThread
     protected void redoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
 
             for (final Control control : controls) {
                 redoChange(control);
@@ -53,7 +53,7 @@ public class ChangeControlsOperation extends AbstractEditorOperation<ModelChange
     @Override
     @JmeThread
     protected void undoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
 
             for (final Control control : controls) {
                 undoChange(control);
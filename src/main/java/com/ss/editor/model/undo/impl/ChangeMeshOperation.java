@@ -47,7 +47,7 @@ public class ChangeMeshOperation extends AbstractEditorOperation<ModelChangeCons
 
     @Override
     protected void redoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             geometry.setMesh(newMesh);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxChangeProperty(geometry, newMesh, "mesh"));
         });
@@ -55,7 +55,7 @@ public class ChangeMeshOperation extends AbstractEditorOperation<ModelChangeCons
 
     @Override
     protected void undoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             geometry.setMesh(oldMesh);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxChangeProperty(geometry, oldMesh, "mesh"));
         });
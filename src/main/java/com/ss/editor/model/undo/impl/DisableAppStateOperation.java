@@ -25,7 +25,7 @@ public class DisableAppStateOperation extends AbstractEditorOperation<SceneChang
     @Override
     @FxThread
     protected void redoImpl(@NotNull final SceneChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             appState.setEnabled(false);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyChangedAppState(appState));
         });
@@ -34,7 +34,7 @@ public class DisableAppStateOperation extends AbstractEditorOperation<SceneChang
     @Override
     @FxThread
     protected void undoImpl(@NotNull final SceneChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             appState.setEnabled(true);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyChangedAppState(appState));
         });
@@ -25,7 +25,7 @@ public class EnableSceneFilterOperation extends AbstractEditorOperation<SceneCha
     @Override
     @FxThread
     protected void redoImpl(@NotNull final SceneChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             sceneFilter.setEnabled(true);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyChangedFilter(sceneFilter));
         });
@@ -34,7 +34,7 @@ public class EnableSceneFilterOperation extends AbstractEditorOperation<SceneCha
     @Override
     @FxThread
     protected void undoImpl(@NotNull final SceneChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             sceneFilter.setEnabled(false);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyChangedFilter(sceneFilter));
         });
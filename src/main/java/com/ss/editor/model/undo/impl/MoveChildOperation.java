@@ -53,7 +53,7 @@ public class MoveChildOperation extends AbstractEditorOperation<ModelChangeConsu
 
     @Override
     protected void redoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             newParent.attachChildAt(moved, 0);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxMoved(oldParent, newParent, moved, 0, true));
         });
@@ -61,7 +61,7 @@ public class MoveChildOperation extends AbstractEditorOperation<ModelChangeConsu
 
     @Override
     protected void undoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             oldParent.attachChildAt(moved, childIndex);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxMoved(newParent, oldParent, moved, childIndex, false));
         });
@@ -45,7 +45,7 @@ public class MoveControlOperation extends AbstractEditorOperation<ModelChangeCon
 
     @Override
     protected void redoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             oldParent.removeControl(moved);
             newParent.addControl(moved);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxMoved(oldParent, newParent, moved, -1, true));
@@ -54,7 +54,7 @@ public class MoveControlOperation extends AbstractEditorOperation<ModelChangeCon
 
     @Override
     protected void undoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             newParent.removeControl(moved);
             oldParent.addControl(moved);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxMoved(newParent, oldParent, moved, -1, false));
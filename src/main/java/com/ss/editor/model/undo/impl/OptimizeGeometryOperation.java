@@ -43,13 +43,13 @@ public class OptimizeGeometryOperation extends AbstractEditorOperation<ModelChan
     @Override
     @FxThread
     protected void redoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> apply(editor, oldSpatial, newSpatial));
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> apply(editor, oldSpatial, newSpatial));
     }
 
     @Override
     @FxThread
     protected void undoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> apply(editor, newSpatial, oldSpatial));
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> apply(editor, newSpatial, oldSpatial));
     }
 
     /**
@@ -34,7 +34,7 @@ public class RemoveAppStateOperation extends AbstractEditorOperation<SceneChange
     @Override
     @FxThread
     protected void redoImpl(@NotNull final SceneChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             sceneNode.removeAppState(newState);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyRemovedAppState(newState));
         });
@@ -43,7 +43,7 @@ public class RemoveAppStateOperation extends AbstractEditorOperation<SceneChange
     @Override
     @FxThread
     protected void undoImpl(@NotNull final SceneChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             sceneNode.addAppState(newState);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyAddedAppState(newState));
         });
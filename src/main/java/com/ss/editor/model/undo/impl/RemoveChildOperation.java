@@ -41,7 +41,7 @@ public class RemoveChildOperation extends AbstractEditorOperation<ModelChangeCon
     @Override
     @JmeThread
     protected void redoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             parent.detachChild(child);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxRemovedChild(parent, child));
         });
@@ -50,7 +50,7 @@ public class RemoveChildOperation extends AbstractEditorOperation<ModelChangeCon
     @Override
     @JmeThread
     protected void undoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             parent.attachChildAt(child, childIndex);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxAddedChild(parent, child, childIndex, false));
         });
@@ -35,7 +35,7 @@ public class RemoveControlOperation extends AbstractEditorOperation<ModelChangeC
     @Override
     @JmeThread
     protected void redoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             parent.removeControl(control);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxRemovedChild(parent, control));
         });
@@ -44,7 +44,7 @@ public class RemoveControlOperation extends AbstractEditorOperation<ModelChangeC
     @Override
     @JmeThread
     protected void undoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             parent.addControl(control);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxAddedChild(parent, control, -1, false));
         });
@@ -95,7 +95,7 @@ public class RemoveElementsOperation extends AbstractEditorOperation<ModelChange
     @Override
     @JmeThread
     protected void redoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
 
             for (final Element element : elements) {
 
@@ -122,7 +122,7 @@ public class RemoveElementsOperation extends AbstractEditorOperation<ModelChange
     @Override
     @JmeThread
     protected void undoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
 
             for (final Element element : elements) {
 
@@ -36,7 +36,7 @@ public class RemoveLightOperation extends AbstractEditorOperation<ModelChangeCon
     @Override
     @JmeThread
     protected void redoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             parent.removeLight(light);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxRemovedChild(parent, light));
         });
@@ -45,7 +45,7 @@ public class RemoveLightOperation extends AbstractEditorOperation<ModelChangeCon
     @Override
     @JmeThread
     protected void undoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             parent.addLight(light);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxAddedChild(parent, light, -1, false));
         });
@@ -33,7 +33,7 @@ public class RemoveSceneFilterOperation extends AbstractEditorOperation<SceneCha
     @Override
     @FxThread
     protected void redoImpl(@NotNull final SceneChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             sceneNode.removeFilter(sceneFilter);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyRemovedFilter(sceneFilter));
         });
@@ -42,7 +42,7 @@ public class RemoveSceneFilterOperation extends AbstractEditorOperation<SceneCha
     @Override
     @FxThread
     protected void undoImpl(@NotNull final SceneChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             sceneNode.addFilter(sceneFilter);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyAddedFilter(sceneFilter));
         });
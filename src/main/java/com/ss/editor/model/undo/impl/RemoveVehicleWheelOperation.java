@@ -76,7 +76,7 @@ public class RemoveVehicleWheelOperation extends AbstractEditorOperation<ModelCh
     @Override
     @JmeThread
     protected void redoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
 
             for (int i = 0, length = control.getNumWheels(); i < length; i++) {
                 final VehicleWheel wheel = control.getWheel(i);
@@ -97,7 +97,7 @@ public class RemoveVehicleWheelOperation extends AbstractEditorOperation<ModelCh
     @Override
     @JmeThread
     protected void undoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
 
             final VehicleWheel vehicleWheel = control.addWheel(connectionPoint, direction, axle, restLength,
                     wheelRadius, isFrontWheel);
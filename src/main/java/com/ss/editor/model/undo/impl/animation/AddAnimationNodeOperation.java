@@ -38,7 +38,7 @@ public class AddAnimationNodeOperation extends AbstractEditorOperation<ModelChan
 
     @Override
     protected void redoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             control.addAnim(animation);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxAddedChild(control, animation, -1, true));
         });
@@ -46,7 +46,7 @@ public class AddAnimationNodeOperation extends AbstractEditorOperation<ModelChan
 
     @Override
     protected void undoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             control.removeAnim(animation);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxRemovedChild(control, animation));
         });
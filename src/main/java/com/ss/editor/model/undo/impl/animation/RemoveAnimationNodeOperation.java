@@ -34,7 +34,7 @@ public class RemoveAnimationNodeOperation extends AbstractEditorOperation<ModelC
     @Override
     @JmeThread
     protected void redoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             control.removeAnim(animation);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxRemovedChild(control, animation));
         });
@@ -43,7 +43,7 @@ public class RemoveAnimationNodeOperation extends AbstractEditorOperation<ModelC
     @Override
     @JmeThread
     protected void undoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             control.addAnim(animation);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxAddedChild(control, animation, -1, false));
         });
@@ -32,7 +32,7 @@ public class ChangeEmitterShapeOperation extends AbstractEditorOperation<ModelCh
 
     @Override
     protected void redoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> switchShape(editor));
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> switchShape(editor));
     }
 
     private void switchShape(final @NotNull ModelChangeConsumer editor) {
@@ -47,6 +47,6 @@ public class ChangeEmitterShapeOperation extends AbstractEditorOperation<ModelCh
 
     @Override
     protected void undoImpl(@NotNull final ModelChangeConsumer editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> switchShape(editor));
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> switchShape(editor));
     }
 }
@@ -0,0 +1,417 @@
+package com.ss.editor.model.workspace;
+
+import com.ss.editor.annotation.BackgroundThread;
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.manager.WorkspaceManager;
+import com.ss.rlib.common.logging.Logger;
+import com.ss.rlib.common.logging.LoggerManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * The persistent graph of references between assets of an asset folder.
+ * <p>
+ * The graph keeps references of each source asset (j3o, j3m, j3md) with its last modified time and the reverse
+ * table of usages, so both directions are resolved without reading files.
+ *
+ * @author JavaSaBr
+ */
+public class AssetDependencyGraph {
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(AssetDependencyGraph.class);
+
+    /**
+     * The version of the format of the graph file.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The references of a source asset.
+     */
+    private static class SourceEntry {
+
+        @NotNull
+        private final Set<String> dependencies;
+
+        private final long lastModified;
+
+        private SourceEntry(@NotNull Set<String> dependencies, long lastModified) {
+            this.dependencies = dependencies;
+            this.lastModified = lastModified;
+        }
+    }
+
+    /**
+     * Load a graph of the asset folder or create an empty graph if it doesn't exist.
+     *
+     * @param assetFolder the asset folder.
+     * @return the loaded graph.
+     */
+    @BackgroundThread
+    public static @NotNull AssetDependencyGraph load(@NotNull Path assetFolder) {
+
+        var graph = new AssetDependencyGraph(assetFolder);
+        var graphFile = getGraphFile(assetFolder);
+
+        if (!Files.exists(graphFile)) {
+            return graph;
+        }
+
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(graphFile)))) {
+
+            if (in.readInt() != VERSION) {
+                return graph;
+            }
+
+            for (int i = 0, count = in.readInt(); i < count; i++) {
+
+                var source = in.readUTF();
+                var lastModified = in.readLong();
+                var dependencies = new HashSet<String>();
+
+                for (int j = 0, depCount = in.readInt(); j < depCount; j++) {
+                    dependencies.add(in.readUTF());
+                }
+
+                graph.update(source, lastModified, dependencies);
+            }
+
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning(AssetDependencyGraph.class, "can't read the asset dependencies " + graphFile + ": " +
+                    e.getMessage());
+            graph.sources.clear();
+            graph.usages.clear();
+        }
+
+        graph.changed = false;
+        return graph;
+    }
+
+    /**
+     * Get the file of a graph of the asset folder.
+     *
+     * @param assetFolder the asset folder.
+     * @return the graph file.
+     */
+    @FromAnyThread
+    private static @NotNull Path getGraphFile(@NotNull Path assetFolder) {
+        return assetFolder.resolve(WorkspaceManager.FOLDER_EDITOR)
+                .resolve(WorkspaceManager.FILE_ASSET_DEPENDENCIES);
+    }
+
+    /**
+     * The asset folder.
+     */
+    @NotNull
+    private final Path assetFolder;
+
+    /**
+     * The references of source assets.
+     */
+    @NotNull
+    private final Map<String, SourceEntry> sources;
+
+    /**
+     * The source assets by referenced assets.
+     */
+    @NotNull
+    private final Map<String, Set<String>> usages;
+
+    /**
+     * True if this graph was changed after loading/saving.
+     */
+    private boolean changed;
+
+    private AssetDependencyGraph(@NotNull Path assetFolder) {
+        this.assetFolder = assetFolder;
+        this.sources = new HashMap<>();
+        this.usages = new HashMap<>();
+    }
+
+    /**
+     * Get the asset folder.
+     *
+     * @return the asset folder.
+     */
+    @FromAnyThread
+    public @NotNull Path getAssetFolder() {
+        return assetFolder;
+    }
+
+    /**
+     * Return true if this graph was changed after loading/saving.
+     *
+     * @return true if this graph was changed.
+     */
+    @FromAnyThread
+    public synchronized boolean isChanged() {
+        return changed;
+    }
+
+    /**
+     * Return true if references of the source asset are actual for the last modified time.
+     *
+     * @param source       the source asset path.
+     * @param lastModified the last modified time of the source.
+     * @return true if the references are actual.
+     */
+    @FromAnyThread
+    public synchronized boolean isActual(@NotNull String source, long lastModified) {
+        var entry = sources.get(source);
+        return entry != null && entry.lastModified == lastModified;
+    }
+
+    /**
+     * Update references of the source asset.
+     *
+     * @param source       the source asset path.
+     * @param lastModified the last modified time of the source.
+     * @param dependencies the referenced asset paths.
+     */
+    @FromAnyThread
+    public synchronized void update(@NotNull String source, long lastModified, @NotNull Set<String> dependencies) {
+        remove(source);
+        sources.put(source, new SourceEntry(dependencies, lastModified));
+        dependencies.forEach(dependency -> usages.computeIfAbsent(dependency, key -> new HashSet<>()).add(source));
+        changed = true;
+    }
+
+    /**
+     * Remove references of the source asset.
+     *
+     * @param source the source asset path.
+     */
+    @FromAnyThread
+    public synchronized void remove(@NotNull String source) {
+
+        var entry = sources.remove(source);
+
+        if (entry == null) {
+            return;
+        }
+
+        for (var dependency : entry.dependencies) {
+
+            var users = usages.get(dependency);
+
+            if (users != null && users.remove(source) && users.isEmpty()) {
+                usages.remove(dependency);
+            }
+        }
+
+        changed = true;
+    }
+
+    /**
+     * Remove references of source assets in the folder.
+     *
+     * @param folder the folder asset path.
+     */
+    @FromAnyThread
+    public synchronized void removeFolder(@NotNull String folder) {
+
+        var prefix = folder + "/";
+
+        new ArrayList<>(sources.keySet()).stream()
+                .filter(source -> source.startsWith(prefix))
+                .forEach(this::remove);
+    }
+
+    /**
+     * Move references of the source asset or of all source assets in the folder to the new asset path.
+     *
+     * @param prevPath the previous asset path of the source or the folder.
+     * @param newPath  the new asset path of the source or the folder.
+     * @return the count of moved sources.
+     */
+    @FromAnyThread
+    public synchronized int move(@NotNull String prevPath, @NotNull String newPath) {
+
+        var prefix = prevPath + "/";
+        var toMove = new ArrayList<String>();
+
+        for (var source : sources.keySet()) {
+            if (source.equals(prevPath) || source.startsWith(prefix)) {
+                toMove.add(source);
+            }
+        }
+
+        for (var source : toMove) {
+            var entry = sources.get(source);
+            remove(source);
+            update(newPath + source.substring(prevPath.length()), entry.lastModified, entry.dependencies);
+        }
+
+        return toMove.size();
+    }
+
+    /**
+     * Remove references of all source assets which aren't in the set of existing sources.
+     *
+     * @param existing the set of existing sources.
+     * @return the count of removed sources.
+     */
+    @FromAnyThread
+    public synchronized int retain(@NotNull Set<String> existing) {
+
+        var toRemove = new ArrayList<String>();
+
+        for (var source : sources.keySet()) {
+            if (!existing.contains(source)) {
+                toRemove.add(source);
+            }
+        }
+
+        toRemove.forEach(this::remove);
+        return toRemove.size();
+    }
+
+    /**
+     * Get assets referenced by the source asset.
+     *
+     * @param source the source asset path.
+     * @return the set of referenced asset paths.
+     */
+    @FromAnyThread
+    public synchronized @NotNull Set<String> getDependencies(@NotNull String source) {
+        var entry = sources.get(source);
+        return entry == null ? Collections.emptySet() : new HashSet<>(entry.dependencies);
+    }
+
+    /**
+     * Get source assets which reference the asset directly.
+     *
+     * @param assetPath the asset path.
+     * @return the set of source asset paths.
+     */
+    @FromAnyThread
+    public synchronized @NotNull Set<String> getUsages(@NotNull String assetPath) {
+        var users = usages.get(assetPath);
+        return users == null ? Collections.emptySet() : new HashSet<>(users);
+    }
+
+    /**
+     * Get source assets which reference any asset in the folder directly.
+     *
+     * @param folder the folder asset path.
+     * @return the set of source asset paths.
+     */
+    @FromAnyThread
+    public synchronized @NotNull Set<String> getFolderUsages(@NotNull String folder) {
+
+        var prefix = folder + "/";
+        var result = new HashSet<String>();
+
+        usages.forEach((assetPath, users) -> {
+            if (assetPath.startsWith(prefix)) {
+                result.addAll(users);
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Get source assets which reference the asset directly or through other assets.
+     *
+     * @param assetPath the asset path.
+     * @return the set of source asset paths.
+     */
+    @FromAnyThread
+    public synchronized @NotNull Set<String> getUsagesRecursively(@NotNull String assetPath) {
+
+        var result = new HashSet<String>();
+        var queue = new ArrayDeque<String>();
+        queue.add(assetPath);
+
+        for (var current = queue.poll(); current != null; current = queue.poll()) {
+
+            var users = usages.get(current);
+
+            if (users == null) {
+                continue;
+            }
+
+            for (var user : users) {
+                if (result.add(user)) {
+                    queue.add(user);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Get assets which are referenced by the source asset directly or through other assets.
+     *
+     * @param source the source asset path.
+     * @return the set of referenced asset paths.
+     */
+    @FromAnyThread
+    public synchronized @NotNull Set<String> getDependenciesRecursively(@NotNull String source) {
+
+        var result = new HashSet<String>();
+        var queue = new ArrayDeque<String>();
+        queue.add(source);
+
+        for (var current = queue.poll(); current != null; current = queue.poll()) {
+
+            var entry = sources.get(current);
+
+            if (entry == null) {
+                continue;
+            }
+
+            for (var dependency : entry.dependencies) {
+                if (result.add(dependency)) {
+                    queue.add(dependency);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Save this graph to the workspace folder of the asset folder.
+     *
+     * @throws IOException if the graph can't be saved.
+     */
+    @BackgroundThread
+    public synchronized void save() throws IOException {
+
+        var graphFile = getGraphFile(assetFolder);
+        var tempFile = graphFile.resolveSibling(graphFile.getFileName() + ".tmp");
+
+        Files.createDirectories(graphFile.getParent());
+
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+
+            out.writeInt(VERSION);
+            out.writeInt(sources.size());
+
+            for (var sourceEntry : sources.entrySet()) {
+
+                var entry = sourceEntry.getValue();
+
+                out.writeUTF(sourceEntry.getKey());
+                out.writeLong(entry.lastModified);
+                out.writeInt(entry.dependencies.size());
+
+                for (var dependency : entry.dependencies) {
+                    out.writeUTF(dependency);
+                }
+            }
+        }
+
+        Files.move(tempFile, graphFile, StandardCopyOption.REPLACE_EXISTING);
+        changed = false;
+    }
+}
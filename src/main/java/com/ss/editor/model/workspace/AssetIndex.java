@@ -0,0 +1,397 @@
+package com.ss.editor.model.workspace;
+
+import com.ss.editor.annotation.BackgroundThread;
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.manager.WorkspaceManager;
+import com.ss.rlib.common.logging.Logger;
+import com.ss.rlib.common.logging.LoggerManager;
+import com.ss.rlib.common.util.FileUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * The persistent index of files of an asset folder.
+ * <p>
+ * The index keeps path, size, last modified time and extension of each file grouped by folders, so during scanning
+ * only folders which were changed since the last scan are listed again. Changes of content of files don't change
+ * folders, they are handled by the file watcher. Sub-folders are scanned in parallel by a fork/join pool which is
+ * created for each scan.
+ *
+ * @author JavaSaBr
+ */
+public class AssetIndex {
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(AssetIndex.class);
+
+    /**
+     * The version of the format of the index file.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The time after modification of a folder while its timestamp can't be trusted because of coarse timestamps of
+     * some file systems.
+     */
+    private static final long UNSTABLE_TIMESTAMP_WINDOW = TimeUnit.SECONDS.toMillis(2);
+
+    /**
+     * The count of threads to scan folders, threads are mostly blocked by I/O, so there are more threads than cores.
+     */
+    private static final int SCAN_PARALLELISM = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    /**
+     * The info about an indexed file.
+     */
+    private static class FileEntry {
+
+        @NotNull
+        private final String name;
+
+        @NotNull
+        private final String extension;
+
+        private final long size;
+
+        private final long lastModified;
+
+        private FileEntry(@NotNull String name, @NotNull String extension, long size, long lastModified) {
+            this.name = name;
+            this.extension = extension;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+
+    /**
+     * The info about an indexed folder.
+     */
+    private static class FolderEntry {
+
+        @NotNull
+        private final List<String> folders;
+
+        @NotNull
+        private final List<FileEntry> files;
+
+        /**
+         * The last modified time or -1 if the folder should be listed again.
+         */
+        private final long lastModified;
+
+        private FolderEntry(long lastModified) {
+            this.lastModified = lastModified;
+            this.folders = new ArrayList<>();
+            this.files = new ArrayList<>();
+        }
+    }
+
+    /**
+     * The task to scan a folder and to fork tasks for its sub-folders.
+     */
+    private class ScanTask extends RecursiveAction {
+
+        @NotNull
+        private final Path folder;
+
+        @NotNull
+        private final Map<String, FolderEntry> scanned;
+
+        @NotNull
+        private final Consumer<Path> folderHandler;
+
+        @NotNull
+        private final BiConsumer<Path, String> fileHandler;
+
+        private ScanTask(
+                @NotNull Path folder,
+                @NotNull Map<String, FolderEntry> scanned,
+                @NotNull Consumer<Path> folderHandler,
+                @NotNull BiConsumer<Path, String> fileHandler
+        ) {
+            this.folder = folder;
+            this.scanned = scanned;
+            this.folderHandler = folderHandler;
+            this.fileHandler = fileHandler;
+        }
+
+        @Override
+        @BackgroundThread
+        protected void compute() {
+
+            var relativePath = assetFolder.relativize(folder).toString();
+            var entry = scanFolder(folder, folders.get(relativePath));
+
+            if (entry == null) {
+                return;
+            }
+
+            scanned.put(relativePath, entry);
+            folderHandler.accept(folder);
+
+            for (var file : entry.files) {
+                fileHandler.accept(folder.resolve(file.name), file.extension);
+            }
+
+            if (entry.folders.isEmpty()) {
+                return;
+            }
+
+            var subTasks = new ArrayList<ScanTask>(entry.folders.size());
+
+            for (var name : entry.folders) {
+                subTasks.add(new ScanTask(folder.resolve(name), scanned, folderHandler, fileHandler));
+            }
+
+            invokeAll(subTasks);
+        }
+    }
+
+    /**
+     * Load an index of the asset folder or create an empty index if it doesn't exist.
+     *
+     * @param assetFolder the asset folder.
+     * @return the loaded index.
+     */
+    @BackgroundThread
+    public static @NotNull AssetIndex load(@NotNull Path assetFolder) {
+
+        var index = new AssetIndex(assetFolder);
+        var indexFile = getIndexFile(assetFolder);
+
+        if (!Files.exists(indexFile)) {
+            return index;
+        }
+
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+
+            if (in.readInt() != VERSION) {
+                return index;
+            }
+
+            for (int i = 0, folderCount = in.readInt(); i < folderCount; i++) {
+
+                var path = in.readUTF();
+                var entry = new FolderEntry(in.readLong());
+
+                for (int j = 0, count = in.readInt(); j < count; j++) {
+                    entry.folders.add(in.readUTF());
+                }
+
+                for (int j = 0, count = in.readInt(); j < count; j++) {
+                    entry.files.add(new FileEntry(in.readUTF(), in.readUTF(), in.readLong(), in.readLong()));
+                }
+
+                index.folders.put(path, entry);
+            }
+
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning(AssetIndex.class, "can't read the asset index " + indexFile + ": " + e.getMessage());
+            index.folders.clear();
+        }
+
+        return index;
+    }
+
+    /**
+     * Get the file of an index of the asset folder.
+     *
+     * @param assetFolder the asset folder.
+     * @return the index file.
+     */
+    @FromAnyThread
+    private static @NotNull Path getIndexFile(@NotNull Path assetFolder) {
+        return assetFolder.resolve(WorkspaceManager.FOLDER_EDITOR)
+                .resolve(WorkspaceManager.FILE_ASSET_INDEX);
+    }
+
+    /**
+     * The asset folder.
+     */
+    @NotNull
+    private final Path assetFolder;
+
+    /**
+     * The indexed folders by their relative paths.
+     */
+    @NotNull
+    private Map<String, FolderEntry> folders;
+
+    /**
+     * The count of folders which were listed during the last scan.
+     */
+    @NotNull
+    private final AtomicInteger changedFolders;
+
+    private AssetIndex(@NotNull Path assetFolder) {
+        this.assetFolder = assetFolder;
+        this.folders = new HashMap<>();
+        this.changedFolders = new AtomicInteger();
+    }
+
+    /**
+     * Get the asset folder.
+     *
+     * @return the asset folder.
+     */
+    @FromAnyThread
+    public @NotNull Path getAssetFolder() {
+        return assetFolder;
+    }
+
+    /**
+     * Get the count of folders which were listed during the last scan.
+     *
+     * @return the count of changed folders.
+     */
+    @FromAnyThread
+    public int getChangedFolders() {
+        return changedFolders.get();
+    }
+
+    /**
+     * Scan the asset folder, only changed folders are listed again, the index is updated by the results.
+     * <p>
+     * Folders are scanned in parallel, so the handlers are called from different threads and should be thread-safe.
+     *
+     * @param folderHandler the handler of each found folder.
+     * @param fileHandler   the handler of each found file and its extension.
+     */
+    @BackgroundThread
+    public synchronized void scan(@NotNull Consumer<Path> folderHandler, @NotNull BiConsumer<Path, String> fileHandler) {
+
+        var scanned = new ConcurrentHashMap<String, FolderEntry>(Math.max(folders.size(), 16));
+
+        changedFolders.set(0);
+
+        // the common pool is shared with CPU-bound tasks and shouldn't be blocked by I/O
+        var pool = new ForkJoinPool(SCAN_PARALLELISM);
+        try {
+            pool.invoke(new ScanTask(assetFolder, scanned, folderHandler, fileHandler));
+        } finally {
+            pool.shutdown();
+        }
+
+        folders = new HashMap<>(scanned);
+    }
+
+    /**
+     * Get actual info about the folder.
+     *
+     * @param folder the folder.
+     * @param prev   the previous info or null.
+     * @return the actual info or null if the folder isn't available.
+     */
+    @BackgroundThread
+    private @Nullable FolderEntry scanFolder(@NotNull Path folder, @Nullable FolderEntry prev) {
+
+        long lastModified;
+        try {
+            lastModified = Files.getLastModifiedTime(folder).toMillis();
+        } catch (IOException e) {
+            LOGGER.warning(this, e);
+            return null;
+        }
+
+        if (prev != null && prev.lastModified != -1 && prev.lastModified == lastModified) {
+            return prev;
+        }
+
+        changedFolders.incrementAndGet();
+
+        // we can miss the next change of a recently changed folder if it has the same timestamp
+        if (System.currentTimeMillis() - lastModified < UNSTABLE_TIMESTAMP_WINDOW) {
+            lastModified = -1;
+        }
+
+        var entry = new FolderEntry(lastModified);
+
+        try (var stream = Files.newDirectoryStream(folder)) {
+            for (var file : stream) {
+
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                } catch (IOException e) {
+                    // the file was removed during scanning
+                    continue;
+                }
+
+                var name = file.getFileName().toString();
+
+                if (attributes.isDirectory()) {
+                    entry.folders.add(name);
+                } else {
+                    entry.files.add(new FileEntry(name, FileUtils.getExtension(name), attributes.size(),
+                            attributes.lastModifiedTime().toMillis()));
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warning(this, e);
+            return null;
+        }
+
+        return entry;
+    }
+
+    /**
+     * Save this index to the workspace folder of the asset folder.
+     *
+     * @throws IOException if the index can't be saved.
+     */
+    @BackgroundThread
+    public synchronized void save() throws IOException {
+
+        var indexFile = getIndexFile(assetFolder);
+        var tempFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+
+        Files.createDirectories(indexFile.getParent());
+
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+
+            out.writeInt(VERSION);
+            out.writeInt(folders.size());
+
+            for (var folderEntry : folders.entrySet()) {
+
+                var entry = folderEntry.getValue();
+
+                out.writeUTF(folderEntry.getKey());
+                out.writeLong(entry.lastModified);
+                out.writeInt(entry.folders.size());
+
+                for (var folder : entry.folders) {
+                    out.writeUTF(folder);
+                }
+
+                out.writeInt(entry.files.size());
+
+                for (var file : entry.files) {
+                    out.writeUTF(file.name);
+                    out.writeUTF(file.extension);
+                    out.writeLong(file.size);
+                    out.writeLong(file.lastModified);
+                }
+            }
+        }
+
+        Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
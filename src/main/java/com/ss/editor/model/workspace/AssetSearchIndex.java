@@ -0,0 +1,569 @@
+package com.ss.editor.model.workspace;
+
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.rlib.common.util.array.Array;
+import com.ss.rlib.common.util.array.ArrayFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * The in-memory index to search asset paths by fuzzy queries.
+ * <p>
+ * Each path keeps a mask of its characters, so most of paths are rejected without comparing characters, and
+ * the remaining paths are checked for containing all characters of a query in the same order. Queries with typos are
+ * resolved by trigrams of paths, a path with at least half of trigrams of a query is a result with a lower rank.
+ *
+ * @author JavaSaBr
+ */
+public class AssetSearchIndex {
+
+    /**
+     * The length of a gram.
+     */
+    private static final int GRAM_LENGTH = 3;
+
+    /**
+     * The count of removed paths after which the index is compacted.
+     */
+    private static final int COMPACT_THRESHOLD = 1024;
+
+    /**
+     * The score of a result which is found only by trigrams.
+     */
+    private static final int TRIGRAM_SCORE_FACTOR = 10;
+
+    /**
+     * The score of a result which contains all characters of a query in the same order.
+     */
+    private static final int FUZZY_SCORE_BASE = 1000;
+
+    /**
+     * The list of ids of paths which contain a trigram.
+     */
+    private static class Postings {
+
+        @NotNull
+        private int[] ids = new int[4];
+
+        private int size;
+
+        private void add(int id) {
+
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+
+            ids[size++] = id;
+        }
+    }
+
+    /**
+     * The found path with its score.
+     */
+    private static class Match implements Comparable<Match> {
+
+        @NotNull
+        private final String path;
+
+        private final int score;
+
+        private Match(@NotNull String path, int score) {
+            this.path = path;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(@NotNull Match other) {
+
+            if (score != other.score) {
+                return Integer.compare(other.score, score);
+            } else if (path.length() != other.path.length()) {
+                return Integer.compare(path.length(), other.path.length());
+            }
+
+            return path.compareTo(other.path);
+        }
+    }
+
+    /**
+     * The indexed paths by ids, removed paths are null.
+     */
+    @NotNull
+    private final List<String> paths;
+
+    /**
+     * The indexed paths in lower case by ids.
+     */
+    @NotNull
+    private final List<String> lowerPaths;
+
+    /**
+     * The masks of characters of paths by ids.
+     */
+    @NotNull
+    private long[] masks;
+
+    /**
+     * The ids of indexed paths.
+     */
+    @NotNull
+    private final Map<String, Integer> ids;
+
+    /**
+     * The ids of paths by trigrams.
+     */
+    @NotNull
+    private final Map<Long, Postings> trigrams;
+
+    /**
+     * The count of removed paths which are still in the lists.
+     */
+    private int removed;
+
+    public AssetSearchIndex() {
+        this.paths = new ArrayList<>();
+        this.lowerPaths = new ArrayList<>();
+        this.masks = new long[16];
+        this.ids = new HashMap<>();
+        this.trigrams = new HashMap<>();
+    }
+
+    /**
+     * Get the count of indexed paths.
+     *
+     * @return the count of indexed paths.
+     */
+    @FromAnyThread
+    public synchronized int size() {
+        return ids.size();
+    }
+
+    /**
+     * Replace all indexed paths by the new paths.
+     *
+     * @param newPaths the new paths.
+     */
+    @FromAnyThread
+    public synchronized void reset(@NotNull Collection<String> newPaths) {
+        clear();
+        newPaths.forEach(this::add);
+    }
+
+    /**
+     * Remove all indexed paths.
+     */
+    @FromAnyThread
+    public synchronized void clear() {
+        paths.clear();
+        lowerPaths.clear();
+        ids.clear();
+        trigrams.clear();
+        masks = new long[16];
+        removed = 0;
+    }
+
+    /**
+     * Add the path to this index.
+     *
+     * @param path the path.
+     */
+    @FromAnyThread
+    public synchronized void add(@NotNull String path) {
+
+        if (ids.containsKey(path)) {
+            return;
+        }
+
+        var id = paths.size();
+        var lowerPath = toLowerCase(path);
+
+        paths.add(path);
+        lowerPaths.add(lowerPath);
+        ids.put(path, id);
+
+        if (id == masks.length) {
+            masks = Arrays.copyOf(masks, id * 2);
+        }
+
+        masks[id] = toMask(lowerPath);
+
+        for (var trigram : toTrigrams(lowerPath)) {
+            trigrams.computeIfAbsent(trigram, key -> new Postings()).add(id);
+        }
+    }
+
+    /**
+     * Remove the path from this index.
+     *
+     * @param path the path.
+     */
+    @FromAnyThread
+    public synchronized void remove(@NotNull String path) {
+
+        var id = ids.remove(path);
+
+        if (id == null) {
+            return;
+        }
+
+        paths.set(id, null);
+        lowerPaths.set(id, null);
+        masks[id] = 0;
+
+        if (++removed > COMPACT_THRESHOLD && removed > ids.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Remove all paths of the folder from this index.
+     *
+     * @param folder the folder path.
+     */
+    @FromAnyThread
+    public synchronized void removeFolder(@NotNull String folder) {
+
+        var prefix = folder + "/";
+
+        new ArrayList<>(ids.keySet()).stream()
+                .filter(path -> path.startsWith(prefix))
+                .forEach(this::remove);
+    }
+
+    /**
+     * Rebuild this index without removed paths.
+     */
+    @FromAnyThread
+    private void compact() {
+
+        var actualPaths = new ArrayList<String>(ids.size());
+
+        for (var path : paths) {
+            if (path != null) {
+                actualPaths.add(path);
+            }
+        }
+
+        reset(actualPaths);
+    }
+
+    /**
+     * Find paths by the query, results are ranked from the best.
+     *
+     * @param query  the query.
+     * @param limit  the max count of results.
+     * @param filter the filter of paths or null.
+     * @return the found paths.
+     */
+    @FromAnyThread
+    public synchronized @NotNull Array<String> search(
+            @NotNull String query,
+            int limit,
+            @Nullable Predicate<String> filter
+    ) {
+
+        var normalized = normalize(query);
+        var result = ArrayFactory.<String>newArray(String.class);
+
+        if (normalized.isEmpty() || limit < 1) {
+            return result;
+        }
+
+        var queryMask = toMask(normalized);
+        var found = new PriorityQueue<Match>(limit + 1, Comparator.reverseOrder());
+        var matched = new BitSet(paths.size());
+
+        for (int id = 0, length = paths.size(); id < length; id++) {
+
+            if ((masks[id] & queryMask) != queryMask) {
+                continue;
+            }
+
+            var path = paths.get(id);
+
+            if (path == null || (filter != null && !filter.test(path))) {
+                continue;
+            }
+
+            var score = fuzzyScore(path, lowerPaths.get(id), normalized);
+
+            if (score > 0) {
+                matched.set(id);
+                addMatch(found, path, FUZZY_SCORE_BASE + score, limit);
+            }
+        }
+
+        if (found.size() < limit && normalized.length() > GRAM_LENGTH) {
+            searchByTrigrams(normalized, limit, filter, found, matched);
+        }
+
+        var matches = new ArrayList<Match>(found);
+        matches.sort(null);
+        matches.forEach(match -> result.add(match.path));
+
+        return result;
+    }
+
+    /**
+     * Find paths which contain at least half of trigrams of the query.
+     *
+     * @param query   the normalized query.
+     * @param limit   the max count of results.
+     * @param filter  the filter of paths or null.
+     * @param found   the found results.
+     * @param matched the ids of already found paths.
+     */
+    @FromAnyThread
+    private void searchByTrigrams(
+            @NotNull String query,
+            int limit,
+            @Nullable Predicate<String> filter,
+            @NotNull PriorityQueue<Match> found,
+            @NotNull BitSet matched
+    ) {
+
+        var queryTrigrams = toTrigrams(query);
+        var required = (queryTrigrams.size() + 1) / 2;
+        var hits = new int[paths.size()];
+
+        for (var trigram : queryTrigrams) {
+
+            var postings = trigrams.get(trigram);
+
+            if (postings == null) {
+                continue;
+            }
+
+            for (int i = 0; i < postings.size; i++) {
+                hits[postings.ids[i]]++;
+            }
+        }
+
+        for (int id = 0; id < hits.length; id++) {
+
+            if (hits[id] < required || matched.get(id)) {
+                continue;
+            }
+
+            var path = paths.get(id);
+
+            if (path == null || (filter != null && !filter.test(path))) {
+                continue;
+            }
+
+            var score = hits[id] * TRIGRAM_SCORE_FACTOR / queryTrigrams.size() * TRIGRAM_SCORE_FACTOR;
+            addMatch(found, path, score - path.length() / 8, limit);
+        }
+    }
+
+    /**
+     * Add the path to the found results if it's better than the worst of them.
+     *
+     * @param found the found results.
+     * @param path  the path.
+     * @param score the score of the path.
+     * @param limit the max count of results.
+     */
+    @FromAnyThread
+    private void addMatch(@NotNull PriorityQueue<Match> found, @NotNull String path, int score, int limit) {
+
+        if (found.size() == limit) {
+
+            var worst = found.peek();
+
+            if (worst.score > score || (worst.score == score && worst.path.length() <= path.length())) {
+                return;
+            }
+        }
+
+        found.add(new Match(path, score));
+
+        if (found.size() > limit) {
+            found.poll();
+        }
+    }
+
+    /**
+     * Calculate the score of the path if it contains all characters of the query in the same order, matches in the
+     * file name, at starts of words and consecutive matches are ranked higher.
+     *
+     * @param path      the path.
+     * @param lowerPath the path in lower case.
+     * @param query     the normalized query.
+     * @return the score or 0 if the path doesn't match.
+     */
+    @FromAnyThread
+    private static int fuzzyScore(@NotNull String path, @NotNull String lowerPath, @NotNull String query) {
+
+        var nameStart = lowerPath.lastIndexOf('/') + 1;
+
+        // matches in the file name are preferable
+        var score = matchScore(path, lowerPath, query, nameStart);
+
+        if (score > 0) {
+
+            if (lowerPath.startsWith(query, nameStart)) {
+                score += 200;
+            } else if (lowerPath.indexOf(query, nameStart) >= 0) {
+                score += 100;
+            }
+
+            score += 300;
+
+        } else {
+            score = matchScore(path, lowerPath, query, 0);
+        }
+
+        if (score < 1) {
+            return 0;
+        }
+
+        return Math.max(1, score - lowerPath.length() / 8);
+    }
+
+    /**
+     * Calculate the score of matching characters of the query in the path from the offset.
+     *
+     * @param path      the path.
+     * @param lowerPath the path in lower case.
+     * @param query     the normalized query.
+     * @param offset    the offset in the path.
+     * @return the score or 0 if not all characters were matched.
+     */
+    @FromAnyThread
+    private static int matchScore(@NotNull String path, @NotNull String lowerPath, @NotNull String query, int offset) {
+
+        var score = 0;
+        var prevMatch = -2;
+        var index = offset;
+
+        for (int i = 0, length = query.length(); i < length; i++, index++) {
+
+            index = lowerPath.indexOf(query.charAt(i), index);
+
+            if (index < 0) {
+                return 0;
+            }
+
+            score += 1;
+
+            if (index == prevMatch + 1) {
+                score += 5;
+            }
+
+            if (isWordStart(path, index)) {
+                score += 8;
+            }
+
+            prevMatch = index;
+        }
+
+        return score;
+    }
+
+    @FromAnyThread
+    private static boolean isWordStart(@NotNull String path, int index) {
+
+        if (index == 0) {
+            return true;
+        }
+
+        var prev = path.charAt(index - 1);
+        var current = path.charAt(index);
+
+        return prev == '/' || prev == '_' || prev == '-' || prev == '.' || prev == ' ' ||
+                (Character.isUpperCase(current) && Character.isLowerCase(prev));
+    }
+
+    /**
+     * Convert the path to lower case char by char, so indexes of chars in the result are the same as in the path
+     * which isn't guaranteed by locale-sensitive conversion of the whole string.
+     *
+     * @param path the path.
+     * @return the path in lower case.
+     */
+    @FromAnyThread
+    private static @NotNull String toLowerCase(@NotNull String path) {
+
+        var chars = path.toCharArray();
+
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+
+        return new String(chars);
+    }
+
+    /**
+     * Convert the query to lower case without whitespaces and with '/' separators.
+     *
+     * @param query the query.
+     * @return the normalized query.
+     */
+    @FromAnyThread
+    private static @NotNull String normalize(@NotNull String query) {
+
+        var builder = new StringBuilder(query.length());
+
+        for (int i = 0, length = query.length(); i < length; i++) {
+
+            var ch = query.charAt(i);
+
+            if (Character.isWhitespace(ch)) {
+                continue;
+            }
+
+            builder.append(ch == '\\' ? '/' : Character.toLowerCase(ch));
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Build the mask of characters of the string, latin letters and digits have own bits, others share buckets.
+     *
+     * @param string the string in lower case.
+     * @return the mask.
+     */
+    @FromAnyThread
+    private static long toMask(@NotNull String string) {
+
+        var mask = 0L;
+
+        for (int i = 0, length = string.length(); i < length; i++) {
+
+            var ch = string.charAt(i);
+
+            if (ch >= 'a' && ch <= 'z') {
+                mask |= 1L << (ch - 'a');
+            } else if (ch >= '0' && ch <= '9') {
+                mask |= 1L << (26 + ch - '0');
+            } else {
+                mask |= 1L << (36 + ch % 28);
+            }
+        }
+
+        return mask;
+    }
+
+    /**
+     * Get distinct trigrams of the string.
+     *
+     * @param string the string in lower case.
+     * @return the set of trigrams.
+     */
+    @FromAnyThread
+    private static @NotNull Set<Long> toTrigrams(@NotNull String string) {
+
+        var result = new HashSet<Long>();
+
+        for (int i = 0, last = string.length() - GRAM_LENGTH; i <= last; i++) {
+            result.add(((long) string.charAt(i) << 32) | ((long) string.charAt(i + 1) << 16) | string.charAt(i + 2));
+        }
+
+        return result;
+    }
+}
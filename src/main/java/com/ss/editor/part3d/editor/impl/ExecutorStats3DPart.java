@@ -0,0 +1,194 @@
+package com.ss.editor.part3d.editor.impl;
+
+import static com.ss.rlib.common.util.ObjectUtils.notNull;
+import com.jme3.app.Application;
+import com.jme3.app.state.AbstractAppState;
+import com.jme3.app.state.AppStateManager;
+import com.ss.editor.Messages;
+import com.ss.editor.annotation.FxThread;
+import com.ss.editor.annotation.JmeThread;
+import com.ss.editor.executor.impl.JmeThreadExecutor;
+import com.ss.editor.executor.statistics.ExecutorStatistics;
+import com.ss.editor.manager.ExecutorManager;
+import com.ss.editor.part3d.editor.Editor3DPart;
+import com.ss.editor.ui.css.CssClasses;
+import com.ss.rlib.fx.util.FXUtils;
+import javafx.scene.control.Label;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Pane;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The 3D state to show statistics of the editor's executors, it's shown only if the statistics are collected.
+ *
+ * @author JavaSaBr
+ */
+public class ExecutorStats3DPart extends AbstractAppState implements Editor3DPart {
+
+    @NotNull
+    private static final ExecutorManager EXECUTOR_MANAGER = ExecutorManager.getInstance();
+
+    /**
+     * The interval to update the stats in seconds.
+     */
+    private static final float UPDATE_INTERVAL = 1F;
+
+    /**
+     * The key to coalesce updates of stats fields.
+     */
+    @NotNull
+    private final Object statsUpdateKey;
+
+    /**
+     * The parent node.
+     */
+    @NotNull
+    private final Pane parent;
+
+    /**
+     * The stats parent.
+     */
+    @NotNull
+    private final GridPane statsContainer;
+
+    /**
+     * The statistics of executors.
+     */
+    @NotNull
+    private final List<ExecutorStatistics> statistics;
+
+    /**
+     * The fields of executors.
+     */
+    @NotNull
+    private final Label[] executorFields;
+
+    /**
+     * The field to show count of frames which were out of the budget.
+     */
+    @Nullable
+    private Label overrunFramesField;
+
+    private float secondCounter;
+
+    public ExecutorStats3DPart(@NotNull Pane parent) {
+        this.parent = parent;
+        this.statsContainer = new GridPane();
+        this.statsUpdateKey = new Object();
+        this.statistics = EXECUTOR_MANAGER.getStatistics();
+        this.executorFields = new Label[statistics.size()];
+        createComponents();
+        setEnabled(false);
+    }
+
+    /**
+     * Create stats fields.
+     */
+    @FxThread
+    private void createComponents() {
+
+        for (int i = 0; i < executorFields.length; i++) {
+            executorFields[i] = new Label();
+            statsContainer.add(new Label(statistics.get(i).getName()), 0, i);
+            statsContainer.add(executorFields[i], 1, i);
+        }
+
+        overrunFramesField = new Label();
+
+        statsContainer.add(new Label(Messages.EXECUTOR_STATS_OVERRUN_FRAMES), 0, executorFields.length);
+        statsContainer.add(overrunFramesField, 1, executorFields.length);
+
+        FXUtils.addClassTo(statsContainer, CssClasses.STATS_3D_STATE);
+    }
+
+    @Override
+    @JmeThread
+    public void initialize(@NotNull AppStateManager stateManager, @NotNull Application application) {
+        super.initialize(stateManager, application);
+        EXECUTOR_MANAGER.addFxTask(() -> FXUtils.addToPane(statsContainer, parent));
+    }
+
+    @Override
+    @JmeThread
+    public void setEnabled(boolean enabled) {
+
+        var visible = enabled && EXECUTOR_MANAGER.isStatisticsEnabled();
+
+        super.setEnabled(visible);
+        EXECUTOR_MANAGER.addFxTask(() -> statsContainer.setVisible(visible));
+    }
+
+    /**
+     * Get the field to show count of frames which were out of the budget.
+     *
+     * @return the field.
+     */
+    @FxThread
+    private @NotNull Label getOverrunFramesField() {
+        return notNull(overrunFramesField);
+    }
+
+    @Override
+    @JmeThread
+    public void update(float tpf) {
+
+        if (!isEnabled()) {
+            return;
+        }
+
+        secondCounter += tpf;
+
+        if (secondCounter < UPDATE_INTERVAL) {
+            return;
+        }
+
+        secondCounter = 0F;
+
+        var values = new String[statistics.size()];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = toString(statistics.get(i));
+        }
+
+        var overrunFrames = JmeThreadExecutor.getInstance().getOverrunFrames();
+
+        EXECUTOR_MANAGER.addCoalescedFxTask(statsUpdateKey, () -> {
+
+            for (int i = 0; i < values.length; i++) {
+                executorFields[i].setText(values[i]);
+            }
+
+            getOverrunFramesField().setText(Long.toString(overrunFrames));
+        });
+    }
+
+    /**
+     * Build the short description of the statistics.
+     *
+     * @param statistics the statistics.
+     * @return the description.
+     */
+    @JmeThread
+    private static @NotNull String toString(@NotNull ExecutorStatistics statistics) {
+        return Messages.EXECUTOR_STATS_DESCRIPTION
+                .replace("%queue%", Integer.toString(statistics.getQueueDepth()))
+                .replace("%wait%", toMillis(statistics.getAverageWaitTime()))
+                .replace("%run%", toMillis(statistics.getAverageRunTime()))
+                .replace("%long%", Long.toString(statistics.getLongRunningCount()));
+    }
+
+    private static @NotNull String toMillis(long nanos) {
+        return String.format("%.2f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Override
+    @JmeThread
+    public void cleanup() {
+        super.cleanup();
+        EXECUTOR_MANAGER.addFxTask(() -> FXUtils.removeFromParent(statsContainer, parent));
+    }
+}
@@ -36,6 +36,18 @@ public class Stats3DPart extends AbstractAppState implements Editor3DPart {
     @NotNull
     private static final AtomicInteger STATISTICS_ENABLED = new AtomicInteger(0);
 
+    /**
+     * The key to coalesce updates of stats fields.
+     */
+    @NotNull
+    private final Object statsUpdateKey;
+
+    /**
+     * The key to coalesce updates of the FPS field.
+     */
+    @NotNull
+    private final Object fpsUpdateKey;
+
     /**
      * The parent node.
      */
@@ -165,6 +177,8 @@ public class Stats3DPart extends AbstractAppState implements Editor3DPart {
     public Stats3DPart(@NotNull final Pane parent) {
         this.parent = parent;
         this.statsContainer = new GridPane();
+        this.statsUpdateKey = new Object();
+        this.fpsUpdateKey = new Object();
         this.frameCounter = 0;
         this.secondCounter = 0.0f;
         this.prevFps = -1;
@@ -503,7 +517,7 @@ public class Stats3DPart extends AbstractAppState implements Editor3DPart {
         final int frameBuffersF = statsData[11];
         final int frameBuffersM = statsData[12];
 
-        EXECUTOR_MANAGER.addFxTask(() -> {
+        EXECUTOR_MANAGER.addCoalescedFxTask(statsUpdateKey, () -> {
             getVerticesField().setText(Integer.toString(vertices));
             getTrianglesField().setText(Integer.toString(triangles));
             getUniformsField().setText(Integer.toString(uniforms));
@@ -525,7 +539,7 @@ public class Stats3DPart extends AbstractAppState implements Editor3DPart {
      */
     @JmeThread
     private void updateFps(final int fps) {
-        EXECUTOR_MANAGER.addFxTask(() -> getFpsField().setText(Integer.toString(fps)));
+        EXECUTOR_MANAGER.addCoalescedFxTask(fpsUpdateKey, () -> getFpsField().setText(Integer.toString(fps)));
     }
 
     @Override
@@ -1116,7 +1116,7 @@ public abstract class AbstractSceneEditor3DPart<T extends AbstractSceneFileEdito
      */
     @FromAnyThread
     public void select(@NotNull final Array<Spatial> objects) {
-        EXECUTOR_MANAGER.addJmeTask(() -> selectImpl(objects));
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> selectImpl(objects));
     }
 
     /**
@@ -1126,7 +1126,7 @@ public abstract class AbstractSceneEditor3DPart<T extends AbstractSceneFileEdito
      */
     @FromAnyThread
     public void select(@NotNull final Spatial object) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
 
             final Array<Spatial> toSelect = LocalObjects.get().nextSpatialArray();
             toSelect.add(object);
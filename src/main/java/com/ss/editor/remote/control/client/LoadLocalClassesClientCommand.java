@@ -3,7 +3,7 @@ package com.ss.editor.remote.control.client;
 import com.ss.editor.annotation.BackgroundThread;
 import com.ss.editor.manager.ClasspathManager;
 import com.ss.editor.manager.ExecutorManager;
-import com.ss.editor.util.EditorUtil;
+import com.ss.editor.manager.ResourceManager;
 import com.ss.rlib.common.network.ConnectionOwner;
 import com.ss.rlib.common.network.annotation.PacketDescription;
 import com.ss.rlib.common.util.StringUtils;
@@ -32,6 +32,7 @@ public class LoadLocalClassesClientCommand extends ClientCommand {
         ClasspathManager.getInstance()
                 .loadLocalClasses(output);
 
-        EXECUTOR_MANAGER.addJmeTask(() -> EditorUtil.getAssetManager().clearCache());
+        // only models can contain instances of the reloaded classes
+        EXECUTOR_MANAGER.addJmeTask(() -> ResourceManager.getInstance().evictBinaryAssetsFromCache());
     }
 }
@@ -8,6 +8,7 @@ import com.ss.editor.annotation.BackgroundThread;
 import com.ss.editor.annotation.FromAnyThread;
 import com.ss.editor.annotation.FxThread;
 import com.ss.editor.config.EditorConfig;
+import com.ss.editor.executor.TaskPriority;
 import com.ss.editor.manager.ExecutorManager;
 import com.ss.editor.ui.FxConstants;
 import com.ss.editor.ui.component.asset.tree.context.menu.action.*;
@@ -292,7 +293,7 @@ public class ResourceTree extends TreeView<ResourceElement> {
                 .forEach(expanded::add);
 
         for (var treeItem : expanded) {
-            EXECUTOR_MANAGER.addBackgroundTask(() -> lazyLoadChildren(treeItem, null));
+            EXECUTOR_MANAGER.submitBackgroundTask(() -> lazyLoadChildren(treeItem, null), TaskPriority.INTERACTIVE);
         }
     }
 
@@ -1141,13 +1142,15 @@ public class ResourceTree extends TreeView<ResourceElement> {
                 }
 
                 var toLoad = parentItem;
-                EXECUTOR_MANAGER.addBackgroundTask(() -> lazyLoadChildren(toLoad, item -> expandTo(file, needSelect)));
+                Runnable task = () -> lazyLoadChildren(toLoad, item -> expandTo(file, needSelect));
+                EXECUTOR_MANAGER.submitBackgroundTask(task, TaskPriority.INTERACTIVE);
                 return;
             }
 
             var children = targetItem.getChildren();
             if (children.size() == 1 && children.get(0).getValue() == LoadingResourceElement.getInstance()) {
-                EXECUTOR_MANAGER.addBackgroundTask(() -> lazyLoadChildren(targetItem, item -> expandTo(file, needSelect)));
+                Runnable task = () -> lazyLoadChildren(targetItem, item -> expandTo(file, needSelect));
+                EXECUTOR_MANAGER.submitBackgroundTask(task, TaskPriority.INTERACTIVE);
                 return;
             }
         }
@@ -1,9 +1,11 @@
 package com.ss.editor.ui.component.asset.tree;
 
 import static com.ss.editor.manager.FileIconManager.DEFAULT_FILE_ICON_SIZE;
+import static com.ss.rlib.common.util.ObjectUtils.notNull;
 import static java.util.Collections.singletonList;
 import com.ss.editor.annotation.FxThread;
 import com.ss.editor.manager.FileIconManager;
+import com.ss.editor.manager.JmeFileThumbnailManager;
 import com.ss.editor.ui.FxConstants;
 import com.ss.editor.ui.component.asset.tree.resource.FolderResourceElement;
 import com.ss.editor.ui.component.asset.tree.resource.LoadingResourceElement;
@@ -15,12 +17,14 @@ import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.Tooltip;
 import javafx.scene.control.TreeCell;
 import javafx.scene.control.TreeView;
+import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * The implementation of the cell for {@link TreeView} to show resource.
@@ -35,12 +39,30 @@ public class ResourceTreeCell extends TreeCell<ResourceElement> {
     @NotNull
     private static final FileIconManager ICON_MANAGER = FileIconManager.getInstance();
 
+    /**
+     * The thumbnail manager of models and materials.
+     */
+    @NotNull
+    private static final JmeFileThumbnailManager THUMBNAIL_MANAGER = JmeFileThumbnailManager.getInstance();
+
     /**
      * The icon.
      */
     @NotNull
     private final ImageView icon;
 
+    /**
+     * The file of the shown thumbnail or null.
+     */
+    @Nullable
+    private Path thumbnailFile;
+
+    /**
+     * The shown thumbnail or null.
+     */
+    @Nullable
+    private Image thumbnail;
+
     /**
      * The tooltip of this resource.
      */
@@ -137,6 +159,30 @@ public class ResourceTreeCell extends TreeCell<ResourceElement> {
 
         removeToolTip();
 
+        var prevThumbnailFile = thumbnailFile;
+        var prevThumbnail = thumbnail;
+
+        thumbnailFile = null;
+        thumbnail = null;
+
+        try {
+            showItem(item);
+        } finally {
+            if (prevThumbnailFile != null) {
+                THUMBNAIL_MANAGER.releaseThumbnail(prevThumbnailFile, notNull(prevThumbnail));
+            }
+        }
+    }
+
+    /**
+     * Update the text and the icon of this cell by the item, a previous thumbnail is released after requesting
+     * a new one to keep a not finished request of the same file.
+     *
+     * @param item the item.
+     */
+    @FxThread
+    private void showItem(@Nullable ResourceElement item) {
+
         if (item == null) {
             setText(StringUtils.EMPTY);
             setGraphic(null);
@@ -151,7 +197,16 @@ public class ResourceTreeCell extends TreeCell<ResourceElement> {
         var fileName = file.getFileName();
         var folder = item instanceof FolderResourceElement;
 
-        icon.setImage(ICON_MANAGER.getIcon(file, folder, true, DEFAULT_FILE_ICON_SIZE));
+        var fileIcon = ICON_MANAGER.getIcon(file, folder, true, DEFAULT_FILE_ICON_SIZE);
+
+        if (!folder && JmeFileThumbnailManager.isSupported(file)) {
+            thumbnailFile = file;
+            thumbnail = THUMBNAIL_MANAGER.getThumbnailAsync(file, DEFAULT_FILE_ICON_SIZE, DEFAULT_FILE_ICON_SIZE,
+                    fileIcon);
+            icon.setImage(thumbnail);
+        } else {
+            icon.setImage(fileIcon);
+        }
 
         setText(fileName == null ? file.toString() : fileName.toString());
         setGraphic(icon);
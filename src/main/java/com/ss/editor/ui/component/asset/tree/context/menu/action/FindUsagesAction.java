@@ -0,0 +1,48 @@
+package com.ss.editor.ui.component.asset.tree.context.menu.action;
+
+import com.ss.editor.Messages;
+import com.ss.editor.annotation.FxThread;
+import com.ss.editor.manager.AssetDependencyManager;
+import com.ss.editor.ui.Icons;
+import com.ss.editor.ui.component.asset.tree.resource.ResourceElement;
+import com.ss.editor.ui.dialog.asset.usages.AssetUsagesDialog;
+import javafx.event.ActionEvent;
+import javafx.scene.image.Image;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The action to find assets which use a file.
+ *
+ * @author JavaSaBr
+ */
+public class FindUsagesAction extends FileAction {
+
+    public FindUsagesAction(@NotNull ResourceElement element) {
+        super(element);
+    }
+
+    @FxThread
+    @Override
+    protected @Nullable Image getIcon() {
+        return Icons.LINK_FILE_16;
+    }
+
+    @FxThread
+    @Override
+    protected @NotNull String getName() {
+        return Messages.ASSET_COMPONENT_RESOURCE_TREE_CONTEXT_MENU_FIND_USAGES;
+    }
+
+    @FxThread
+    @Override
+    protected void execute(@Nullable ActionEvent event) {
+        super.execute(event);
+
+        var file = getElement().getFile();
+        var usages = AssetDependencyManager.getInstance().findUsages(file);
+
+        var dialog = new AssetUsagesDialog(file, usages);
+        dialog.show();
+    }
+}
@@ -3,8 +3,10 @@ package com.ss.editor.ui.component.asset.tree.context.menu.action;
 import static com.ss.rlib.common.util.ClassUtils.unsafeCast;
 import com.ss.editor.Messages;
 import com.ss.editor.annotation.FxThread;
+import com.ss.editor.manager.AssetDependencyManager;
 import com.ss.editor.ui.Icons;
 import com.ss.editor.ui.component.asset.tree.resource.ResourceElement;
+import com.ss.editor.ui.dialog.ConfirmDialog;
 import com.ss.editor.ui.event.impl.MovedFileEvent;
 import com.ss.editor.ui.event.impl.RequestSelectFileEvent;
 import com.ss.editor.util.EditorUtil;
@@ -23,6 +25,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * The action to paste a file.
@@ -71,7 +74,7 @@ public class PasteFileAction extends FileAction {
         var isCut = "cut".equals(clipboard.getContent(EditorUtil.JAVA_PARAM));
 
         if (isCut) {
-            files.forEach(file -> moveFile(currentFile, file.toPath()));
+            moveFiles(currentFile, files);
         } else {
             files.forEach(file -> copyFile(currentFile, file.toPath()));
         }
@@ -87,6 +90,35 @@ public class PasteFileAction extends FileAction {
         }
     }
 
+    private void moveFiles(@NotNull Path currentFile, @NotNull List<File> files) {
+
+        var dependencyManager = AssetDependencyManager.getInstance();
+        var binaryUsages = files.stream()
+                .mapToInt(file -> dependencyManager.findBinaryUsages(file.toPath()).size())
+                .sum();
+
+        if (binaryUsages < 1) {
+            files.forEach(file -> moveFile(currentFile, file.toPath()));
+            return;
+        }
+
+        var fileNames = files.stream()
+                .map(File::getName)
+                .collect(Collectors.joining(", "));
+
+        var question = Messages.FILE_MOVE_BROKEN_REFERENCES_QUESTION
+                .replace("%file_name%", fileNames)
+                .replace("%count%", String.valueOf(binaryUsages));
+
+        var confirmDialog = new ConfirmDialog(result -> {
+            if (Boolean.TRUE.equals(result)) {
+                files.forEach(file -> moveFile(currentFile, file.toPath()));
+            }
+        }, question);
+
+        confirmDialog.show();
+    }
+
     private void moveFile(@NotNull Path currentFile, @NotNull Path file) {
         if (Files.isDirectory(currentFile)) {
             processMove(currentFile, file);
@@ -2,8 +2,10 @@ package com.ss.editor.ui.component.asset.tree.context.menu.action;
 
 import com.ss.editor.Messages;
 import com.ss.editor.annotation.FxThread;
+import com.ss.editor.manager.AssetDependencyManager;
 import com.ss.editor.ui.Icons;
 import com.ss.editor.ui.component.asset.tree.resource.ResourceElement;
+import com.ss.editor.ui.dialog.ConfirmDialog;
 import com.ss.editor.ui.dialog.RenameDialog;
 import com.ss.editor.ui.event.impl.RenamedFileEvent;
 import com.ss.editor.util.EditorUtil;
@@ -82,6 +84,32 @@ public class RenameFileAction extends FileAction {
 
         final Path newFile = file.resolveSibling(resultName);
 
+        final AssetDependencyManager dependencyManager = AssetDependencyManager.getInstance();
+        final int binaryUsages = dependencyManager.findBinaryUsages(file).size();
+
+        if (binaryUsages < 1) {
+            processRename(file, newFile);
+            return;
+        }
+
+        String question = Messages.FILE_MOVE_BROKEN_REFERENCES_QUESTION;
+        question = question.replace("%file_name%", file.getFileName().toString());
+        question = question.replace("%count%", String.valueOf(binaryUsages));
+
+        final ConfirmDialog confirmDialog = new ConfirmDialog(result -> {
+            if (Boolean.TRUE.equals(result)) {
+                processRename(file, newFile);
+            }
+        }, question);
+
+        confirmDialog.show();
+    }
+
+    /**
+     * The process of renaming.
+     */
+    private void processRename(@NotNull final Path file, @NotNull final Path newFile) {
+
         try {
             Files.move(file, newFile);
         } catch (final IOException e) {
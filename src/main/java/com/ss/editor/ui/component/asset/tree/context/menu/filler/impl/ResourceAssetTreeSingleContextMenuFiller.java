@@ -60,6 +60,10 @@ public class ResourceAssetTreeSingleContextMenuFiller implements AssetTreeSingle
                 items.add(new RenameFileAction(element));
             }
         }
+
+        if (!Objects.equals(currentAsset, file) && actionTester.test(FindUsagesAction.class)) {
+            items.add(new FindUsagesAction(element));
+        }
     }
 
     @Override
@@ -34,6 +34,7 @@ public class EditorMenuBarComponent extends MenuBar implements ScreenComponent {
         var menu = new Menu(Messages.EDITOR_MENU_FILE);
         menu.getItems().addAll(new OpenAssetAction(),
                 new ReopenAssetMenu(),
+                new QuickOpenAssetAction(),
                 new ExitAction());
 
         return menu;
@@ -45,7 +46,8 @@ public class EditorMenuBarComponent extends MenuBar implements ScreenComponent {
         menu.getItems().addAll(new OpenSettingsAction(),
                 new OpenPluginsAction(),
                 new ClearAssetCacheAction(),
-                new UpdateClasspathAndAssetCacheAction());
+                new UpdateClasspathAndAssetCacheAction(),
+                new ExportExecutorStatisticsAction());
 
         return menu;
     }
@@ -0,0 +1,59 @@
+package com.ss.editor.ui.component.bar.action;
+
+import com.ss.editor.Messages;
+import com.ss.editor.annotation.BackgroundThread;
+import com.ss.editor.config.Config;
+import com.ss.editor.manager.ExecutorManager;
+import com.ss.editor.util.EditorUtil;
+import com.ss.rlib.common.logging.Logger;
+import com.ss.rlib.common.logging.LoggerManager;
+import javafx.scene.control.MenuItem;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * The action to export statistics of executors to a CSV file.
+ *
+ * @author JavaSaBr
+ */
+public class ExportExecutorStatisticsAction extends MenuItem {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(ExportExecutorStatisticsAction.class);
+
+    private static final DateTimeFormatter FILE_NAME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+
+    public ExportExecutorStatisticsAction() {
+        super(Messages.EDITOR_MENU_OTHER_EXPORT_EXECUTOR_STATISTICS);
+        setOnAction(event -> process());
+    }
+
+    /**
+     * Export statistics of executors.
+     */
+    private void process() {
+        ExecutorManager.getInstance().addBackgroundTask(this::export);
+    }
+
+    /**
+     * Write statistics of executors to a new file in the folder of diagnostics and show it.
+     */
+    @BackgroundThread
+    private void export() {
+
+        var folder = Config.getAppFolderInUserHome().resolve("diagnostics");
+        var file = folder.resolve("executors_" + LocalDateTime.now().format(FILE_NAME_FORMATTER) + ".csv");
+
+        try {
+            Files.createDirectories(folder);
+            ExecutorManager.getInstance().exportStatistics(file);
+        } catch (IOException e) {
+            EditorUtil.handleException(LOGGER, this, e);
+            return;
+        }
+
+        EditorUtil.openFileInSystemExplorer(file);
+    }
+}
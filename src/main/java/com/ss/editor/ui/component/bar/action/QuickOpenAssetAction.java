@@ -0,0 +1,34 @@
+package com.ss.editor.ui.component.bar.action;
+
+import com.ss.editor.Messages;
+import com.ss.editor.config.EditorConfig;
+import com.ss.editor.ui.dialog.asset.search.QuickOpenAssetDialog;
+import javafx.scene.control.MenuItem;
+import javafx.scene.input.KeyCombination;
+
+/**
+ * The action to find and open a file of the current asset folder.
+ *
+ * @author JavaSaBr
+ */
+public class QuickOpenAssetAction extends MenuItem {
+
+    public QuickOpenAssetAction() {
+        super(Messages.EDITOR_MENU_FILE_QUICK_OPEN_ASSET);
+        setAccelerator(KeyCombination.keyCombination("Shortcut+Shift+N"));
+        setOnAction(event -> process());
+    }
+
+    /**
+     * Open the dialog.
+     */
+    private void process() {
+
+        if (EditorConfig.getInstance().getCurrentAsset() == null) {
+            return;
+        }
+
+        var dialog = new QuickOpenAssetDialog();
+        dialog.show();
+    }
+}
@@ -102,6 +102,17 @@ public interface FileEditor {
     default void save(@Nullable Consumer<@NotNull FileEditor> callback) {
     }
 
+    /**
+     * Check that this editor opens and saves files without locking the render thread. Such an editor doesn't touch
+     * rendered objects out of the jME thread and saves snapshots of edited objects which are taken in the jME thread.
+     *
+     * @return true if the render thread shouldn't be locked during opening and saving files.
+     */
+    @FromAnyThread
+    default boolean isSnapshotSaving() {
+        return false;
+    }
+
     /**
      * Gets states.
      *
@@ -9,6 +9,7 @@ import com.ss.editor.annotation.BackgroundThread;
 import com.ss.editor.annotation.FromAnyThread;
 import com.ss.editor.annotation.FxThread;
 import com.ss.editor.annotation.JmeThread;
+import com.ss.editor.executor.TaskPriority;
 import com.ss.editor.file.converter.FileConverterRegistry;
 import com.ss.editor.manager.ExecutorManager;
 import com.ss.editor.manager.FileIconManager;
@@ -58,7 +59,7 @@ public class EditorAreaComponent extends TabPane implements ScreenComponent {
 
     private static final Logger LOGGER = LoggerManager.getLogger(EditorAreaComponent.class);
 
-    private static final String COMPONENT_ID = "EditorAreaComponent";
+    public static final String COMPONENT_ID = "EditorAreaComponent";
     private static final String KEY_EDITOR = "editor";
 
     private static final FileConverterRegistry FILE_CONVERTER_REGISTRY = FileConverterRegistry.getInstance();
@@ -343,6 +344,26 @@ public class EditorAreaComponent extends TabPane implements ScreenComponent {
         });
     }
 
+    /**
+     * Get files which are opened in editors with unsaved changes.
+     *
+     * @return the list of files with unsaved changes.
+     */
+    @FxThread
+    public @NotNull Array<Path> getDirtyFiles() {
+
+        var result = ArrayFactory.<Path>newArray(Path.class);
+
+        for (var tab : getTabs()) {
+            var fileEditor = (FileEditor) tab.getProperties().get(KEY_EDITOR);
+            if (fileEditor.isDirty()) {
+                result.add(fileEditor.getEditFile());
+            }
+        }
+
+        return result;
+    }
+
     /**
      * Get the current showed editor.
      *
@@ -436,7 +457,7 @@ public class EditorAreaComponent extends TabPane implements ScreenComponent {
 
             UiUtils.incrementLoading();
 
-            EXECUTOR_MANAGER.addBackgroundTask(() -> processOpenFileImpl(event, file));
+            EXECUTOR_MANAGER.submitBackgroundTask(() -> processOpenFileImpl(event, file), TaskPriority.INTERACTIVE);
 
         } finally {
             openingFiles.writeUnlock(stamp);
@@ -471,8 +492,10 @@ public class EditorAreaComponent extends TabPane implements ScreenComponent {
 
         var resultEditor = editor;
 
+        // a snapshot saving editor loads a new model which isn't attached to the render scene yet
         var jmeApplication = JmeApplication.getInstance();
-        var stamp = jmeApplication.asyncLock();
+        var needLock = !editor.isSnapshotSaving();
+        var stamp = needLock ? jmeApplication.asyncLock() : 0;
         try {
             editor.openFile(file);
         } catch (Throwable e) {
@@ -492,7 +515,9 @@ public class EditorAreaComponent extends TabPane implements ScreenComponent {
             return;
 
         } finally {
-            jmeApplication.asyncUnlock(stamp);
+            if (needLock) {
+                jmeApplication.asyncUnlock(stamp);
+            }
         }
 
         EXECUTOR_MANAGER.addFxTask(() -> addEditor(resultEditor, event.isNeedShow()));
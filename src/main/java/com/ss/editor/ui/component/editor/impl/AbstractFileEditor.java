@@ -20,6 +20,7 @@ import com.ss.editor.ui.event.FxEventManager;
 import com.ss.editor.ui.event.impl.FileChangedEvent;
 import com.ss.editor.ui.util.DynamicIconSupport;
 import com.ss.editor.ui.util.UiUtils;
+import com.ss.editor.util.EditorUtil;
 import com.ss.rlib.common.logging.Logger;
 import com.ss.rlib.common.logging.LoggerManager;
 import com.ss.rlib.common.util.FileUtils;
@@ -351,7 +352,8 @@ public abstract class AbstractFileEditor<R extends Pane> implements FileEditor {
 
             final Path tempFile = Utils.get(editorId, prefix -> Files.createTempFile(prefix, "toSave.tmp"));
             final JmeApplication jmeApplication = JmeApplication.getInstance();
-            final long stamp = jmeApplication.asyncLock();
+            final boolean needLock = !isSnapshotSaving();
+            final long stamp = needLock ? jmeApplication.asyncLock() : 0;
             try {
 
                 final Path editFile = getEditFile();
@@ -364,10 +366,13 @@ public abstract class AbstractFileEditor<R extends Pane> implements FileEditor {
                 }
 
             } catch (final IOException e) {
-                LOGGER.warning(this, e);
+                EditorUtil.handleException(LOGGER, this, e);
                 EXECUTOR_MANAGER.addFxTask(this::notifyFinishSaving);
+                return;
             } finally {
-                jmeApplication.asyncUnlock(stamp);
+                if (needLock) {
+                    jmeApplication.asyncUnlock(stamp);
+                }
             }
 
             EXECUTOR_MANAGER.addFxTask(this::postSave);
@@ -376,6 +381,9 @@ public abstract class AbstractFileEditor<R extends Pane> implements FileEditor {
 
     /**
      * Save new changes.
+     * <p>
+     * The render thread is locked during saving if this editor doesn't support {@link #isSnapshotSaving()},
+     * otherwise an implementation should save a snapshot of the edited object which was taken in the jME thread.
      *
      * @param toStore the file to store.
      * @throws IOException if was some problem with writing to the to store file.
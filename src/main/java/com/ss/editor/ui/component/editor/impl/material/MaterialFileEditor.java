@@ -57,6 +57,7 @@ import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
 import java.util.function.Supplier;
 
 /**
@@ -121,13 +122,25 @@ public class MaterialFileEditor extends
         });
     }
 
+    @Override
+    @FromAnyThread
+    public boolean isSnapshotSaving() {
+        return true;
+    }
+
     @Override
     @BackgroundThread
     public void doSave(@NotNull final Path toStore) throws IOException {
         super.doSave(toStore);
 
-        final Material currentMaterial = getCurrentMaterial();
-        final String content = MaterialSerializer.serializeToString(currentMaterial);
+        final Material snapshot;
+        try {
+            snapshot = EXECUTOR_MANAGER.supplyJmeTask(() -> getCurrentMaterial().clone()).join();
+        } catch (final CompletionException e) {
+            throw new IOException("Can't take a snapshot of the material to save it.", e.getCause());
+        }
+
+        final String content = MaterialSerializer.serializeToString(snapshot);
 
         try (final PrintWriter out = new PrintWriter(Files.newOutputStream(toStore))) {
             out.print(content);
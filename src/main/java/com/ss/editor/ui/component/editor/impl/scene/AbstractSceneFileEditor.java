@@ -2,7 +2,7 @@ package com.ss.editor.ui.component.editor.impl.scene;
 
 import static com.ss.editor.part3d.editor.impl.scene.AbstractSceneEditor3DPart.KEY_LOADED_MODEL;
 import static com.ss.editor.util.EditorUtil.*;
-import static com.ss.editor.util.MaterialUtils.saveIfNeedTextures;
+import static com.ss.editor.util.MaterialUtils.takeChangedTextures;
 import static com.ss.editor.util.MaterialUtils.updateMaterialIdNeed;
 import static com.ss.editor.util.NodeUtils.findParent;
 import static com.ss.rlib.common.util.ClassUtils.unsafeCast;
@@ -30,6 +30,7 @@ import com.jme3.scene.Geometry;
 import com.jme3.scene.Node;
 import com.jme3.scene.Spatial;
 import com.jme3.scene.control.Control;
+import com.jme3.texture.Image;
 import com.jme3.texture.Texture;
 import com.ss.editor.FileExtensions;
 import com.ss.editor.Messages;
@@ -49,6 +50,7 @@ import com.ss.editor.model.scene.WrapperNode;
 import com.ss.editor.model.undo.editor.ChangeConsumer;
 import com.ss.editor.model.undo.editor.ModelChangeConsumer;
 import com.ss.editor.model.undo.impl.AddChildOperation;
+import com.ss.editor.part3d.editor.impl.ExecutorStats3DPart;
 import com.ss.editor.part3d.editor.impl.Stats3DPart;
 import com.ss.editor.part3d.editor.impl.scene.AbstractSceneEditor3DPart;
 import com.ss.editor.plugin.api.RenderFilterExtension;
@@ -92,6 +94,9 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
@@ -159,6 +164,12 @@ public abstract class AbstractSceneFileEditor<M extends Spatial, MA extends Abst
     @NotNull
     private final Stats3DPart stats3DPart;
 
+    /**
+     * The 3D part to show statistics of executors.
+     */
+    @NotNull
+    private final ExecutorStats3DPart executorStats3DPart;
+
     /**
      * The opened model.
      */
@@ -270,6 +281,9 @@ public abstract class AbstractSceneFileEditor<M extends Spatial, MA extends Abst
         this.stats3DPart = new Stats3DPart(notNull(statsContainer));
         addEditor3DPart(stats3DPart);
         stats3DPart.setEnabled(true);
+        this.executorStats3DPart = new ExecutorStats3DPart(notNull(statsContainer));
+        addEditor3DPart(executorStats3DPart);
+        executorStats3DPart.setEnabled(true);
         processChangeTool(-1, OBJECTS_TOOL);
     }
 
@@ -345,7 +359,8 @@ public abstract class AbstractSceneFileEditor<M extends Spatial, MA extends Abst
 
         if (extension.endsWith(FileExtensions.JME_MATERIAL)) {
             EXECUTOR_MANAGER.addJmeTask(() -> updateMaterial(file));
-        } else if (MaterialUtils.isShaderFile(file) || MaterialUtils.isTextureFile(file)) {
+        } else if (MaterialUtils.isShaderFile(file) || MaterialUtils.isTextureFile(file) ||
+                MaterialUtils.isMaterialDefinitionFile(file)) {
             EXECUTOR_MANAGER.addJmeTask(() -> updateMaterials(file));
         }
     }
@@ -927,34 +942,70 @@ public abstract class AbstractSceneFileEditor<M extends Spatial, MA extends Abst
         return !invisible;
     }
 
+    @Override
+    @FromAnyThread
+    public boolean isSnapshotSaving() {
+        return true;
+    }
+
     @Override
     @BackgroundThread
     public void doSave(@NotNull final Path toStore) throws IOException {
         super.doSave(toStore);
 
-        final M currentModel = getCurrentModel();
+        final Map<Path, Image> textures = new HashMap<>();
+        final Array<Image> changedImages = ArrayFactory.newArray(Image.class);
 
+        final M snapshot;
         try {
-            NodeUtils.visitGeometry(currentModel, geometry -> saveIfNeedTextures(geometry.getMaterial()));
-        } catch (final Exception e) {
-            EditorUtil.handleException(LOGGER, this, e);
-            return;
+            snapshot = EXECUTOR_MANAGER.supplyJmeTask(() -> takeSnapshot(textures, changedImages)).join();
+        } catch (final CompletionException e) {
+            throw new IOException("Can't take a snapshot of the model to save it.", e.getCause());
         }
 
-        PRE_SAVE_HANDLERS.forEach(currentModel, Consumer::accept);
         try {
 
+            MaterialUtils.saveTextures(textures);
+
             final BinaryExporter exporter = BinaryExporter.getInstance();
 
             try (final OutputStream out = Files.newOutputStream(toStore)) {
-                exporter.save(currentModel, out);
+                exporter.save(snapshot, out);
             }
 
-        } catch (final Exception e) {
-            EditorUtil.handleException(LOGGER, this, e);
+        } catch (final IOException | RuntimeException e) {
+            // the textures should be saved again with the next saving
+            EXECUTOR_MANAGER.addJmeTask(() -> changedImages.forEach(Image::incrementChange));
+            throw e instanceof IOException ? (IOException) e : new IOException(e);
+        }
+    }
+
+    /**
+     * Take a deep copy of the current model and copies of its changed textures to save them in the background.
+     * Pre/post save handlers are applied to the current model.
+     *
+     * @param textures      the table to put copies of changed textures by their files.
+     * @param changedImages the list to put changed images of textures.
+     * @return the copy of the current model.
+     */
+    @JmeThread
+    private @NotNull M takeSnapshot(@NotNull final Map<Path, Image> textures,
+                                    @NotNull final Array<Image> changedImages) {
+
+        final M currentModel = getCurrentModel();
+        final M snapshot;
+
+        PRE_SAVE_HANDLERS.forEach(currentModel, Consumer::accept);
+        try {
+            snapshot = unsafeCast(currentModel.deepClone());
         } finally {
             POST_SAVE_HANDLERS.forEach(currentModel, Consumer::accept);
         }
+
+        NodeUtils.visitGeometry(currentModel, geometry ->
+                takeChangedTextures(geometry.getMaterial(), textures, changedImages));
+
+        return snapshot;
     }
 
     @Override
@@ -1419,6 +1470,7 @@ public abstract class AbstractSceneFileEditor<M extends Spatial, MA extends Abst
         }
 
         stats3DPart.setEnabled(newValue);
+        executorStats3DPart.setEnabled(newValue);
 
         final ES editorState = getEditorState();
         if (editorState != null) {
@@ -1433,7 +1485,7 @@ public abstract class AbstractSceneFileEditor<M extends Spatial, MA extends Abst
      */
     @FromAnyThread
     public void notifyTransformed(@NotNull final Spatial spatial) {
-        EXECUTOR_MANAGER.addFxTask(() -> notifyTransformedImpl(spatial));
+        EXECUTOR_MANAGER.addCoalescedFxTask(spatial, () -> notifyTransformedImpl(spatial));
     }
 
     /**
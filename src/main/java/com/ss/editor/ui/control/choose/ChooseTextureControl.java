@@ -260,6 +260,8 @@ public class ChooseTextureControl extends HBox {
 
         final Path textureFile = getTextureFile();
 
+        IMAGE_MANAGER.cancelImagePreview(preview.getImage());
+
         if (textureFile == null) {
             textureLabel.setText(Messages.MATERIAL_MODEL_PROPERTY_CONTROL_NO_TEXTURE);
             preview.setImage(null);
@@ -270,7 +272,7 @@ public class ChooseTextureControl extends HBox {
         final Path assetFile = notNull(getAssetFile(textureFile));
 
         textureLabel.setText(assetFile.toString());
-        preview.setImage(IMAGE_MANAGER.getImagePreview(textureFile, 28, 28));
+        preview.setImage(IMAGE_MANAGER.getImagePreviewAsync(textureFile, 28, 28));
         textureTooltip.showImage(textureFile);
     }
 }
@@ -383,6 +383,8 @@ public class Texture2dPropertyControl<C extends ChangeConsumer, D> extends Prope
         var textureTooltip = getTextureTooltip();
         var preview = getTexturePreview();
 
+        IMAGE_MANAGER.cancelImagePreview(preview.getImage());
+
         if (key == null) {
             preview.setImage(null);
             textureTooltip.clean();
@@ -396,10 +398,10 @@ public class Texture2dPropertyControl<C extends ChangeConsumer, D> extends Prope
             var realFile = notNull(getRealFile(key.getName()));
 
             if (Files.exists(realFile)) {
-                preview.setImage(IMAGE_MANAGER.getImagePreview(realFile, 24, 24));
+                preview.setImage(IMAGE_MANAGER.getImagePreviewAsync(realFile, 24, 24));
                 textureTooltip.showImage(realFile);
             } else {
-                preview.setImage(IMAGE_MANAGER.getImagePreview(key.getName(), 24, 24));
+                preview.setImage(IMAGE_MANAGER.getImagePreviewAsync(key.getName(), 24, 24));
                 textureTooltip.showImage(key.getName());
             }
         }
@@ -21,7 +21,7 @@ public class PropertyCountOperation<C extends ChangeConsumer, D, T> extends Prop
 
     @Override
     protected void redoImpl(@NotNull final C editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             apply(target, newValue);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxChangePropertyCount(target));
         });
@@ -29,7 +29,7 @@ public class PropertyCountOperation<C extends ChangeConsumer, D, T> extends Prop
 
     @Override
     protected void undoImpl(@NotNull final C editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             apply(target, oldValue);
             EXECUTOR_MANAGER.addFxTask(() -> editor.notifyFxChangePropertyCount(target));
         });
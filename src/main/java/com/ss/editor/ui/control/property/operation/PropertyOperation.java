@@ -58,7 +58,7 @@ public class PropertyOperation<C extends ChangeConsumer, D, T> extends AbstractE
     @Override
     @FxThread
     protected void redoImpl(@NotNull final C editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             editor.notifyJmePreChangeProperty(target, propertyName);
             apply(target, newValue);
             editor.notifyJmeChangedProperty(target, propertyName);
@@ -69,7 +69,7 @@ public class PropertyOperation<C extends ChangeConsumer, D, T> extends AbstractE
     @Override
     @FxThread
     protected void undoImpl(@NotNull final C editor) {
-        EXECUTOR_MANAGER.addJmeTask(() -> {
+        EXECUTOR_MANAGER.addUrgentJmeTask(() -> {
             editor.notifyJmePreChangeProperty(target, propertyName);
             apply(target, oldValue);
             editor.notifyJmeChangedProperty(target, propertyName);
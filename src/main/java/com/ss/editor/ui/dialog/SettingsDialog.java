@@ -12,6 +12,7 @@ import com.ss.editor.Messages;
 import com.ss.editor.annotation.FromAnyThread;
 import com.ss.editor.annotation.FxThread;
 import com.ss.editor.config.EditorConfig;
+import com.ss.editor.executor.impl.JmeThreadExecutor;
 import com.ss.editor.manager.ClasspathManager;
 import com.ss.editor.manager.ExecutorManager;
 import com.ss.editor.manager.ResourceManager;
@@ -259,6 +260,10 @@ public class SettingsDialog extends EditorDialog {
             sceneProcessor.reshape();
         }
 
+        var jmeThreadExecutor = JmeThreadExecutor.getInstance();
+        jmeThreadExecutor.setFrameBudget(editorConfig.getInteger(PREF_JME_TASKS_FRAME_BUDGET,
+                PREF_DEFAULT_JME_TASKS_FRAME_BUDGET));
+
         EXECUTOR_MANAGER.addJmeTask(() -> {
 
             var jmeApplication = JmeApplication.getInstance();
@@ -1,5 +1,6 @@
 package com.ss.editor.ui.dialog.asset;
 
+import static com.ss.editor.Messages.ASSET_EDITOR_DIALOG_FILTER_PROMPT;
 import static com.ss.editor.Messages.ASSET_EDITOR_DIALOG_TITLE;
 import static com.ss.rlib.common.util.ObjectUtils.notNull;
 import com.ss.editor.annotation.FromAnyThread;
@@ -13,13 +14,19 @@ import com.ss.editor.util.EditorUtil;
 import com.ss.rlib.fx.util.FXUtils;
 import com.ss.rlib.common.util.StringUtils;
 import com.ss.rlib.common.util.array.Array;
+import com.ss.rlib.common.util.array.ArrayFactory;
 import javafx.beans.binding.BooleanBinding;
 import javafx.beans.value.ObservableBooleanValue;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
 import javafx.scene.control.TreeItem;
 import javafx.scene.image.ImageView;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.MouseButton;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
@@ -74,6 +81,18 @@ public class BaseAssetEditorDialog<T, C> extends AbstractSimpleEditorDialog {
     @Nullable
     private Label warningLabel;
 
+    /**
+     * The field to filter assets.
+     */
+    @Nullable
+    private TextField filterField;
+
+    /**
+     * The list of filtered assets.
+     */
+    @Nullable
+    private ListView<String> filterResults;
+
     public BaseAssetEditorDialog(@NotNull final Consumer<C> consumer) {
         this(consumer, null);
     }
@@ -90,7 +109,7 @@ public class BaseAssetEditorDialog<T, C> extends AbstractSimpleEditorDialog {
 
         final HBox container = new HBox();
 
-        final Region firstPart = buildFirstPart(container);
+        final Region firstPart = needFilter() ? buildFilteredFirstPart(container) : buildFirstPart(container);
         firstPart.prefHeightProperty().bind(root.heightProperty());
         firstPart.prefWidthProperty().bind(root.widthProperty().multiply(0.5));
 
@@ -106,6 +125,131 @@ public class BaseAssetEditorDialog<T, C> extends AbstractSimpleEditorDialog {
         FXUtils.addClassTo(root, CssClasses.ASSET_EDITOR_DIALOG);
     }
 
+    /**
+     * Build the first part of this dialog with the field to filter assets.
+     *
+     * @param container the horizontal container.
+     * @return the built component.
+     */
+    @FxThread
+    private @NotNull Region buildFilteredFirstPart(@NotNull final HBox container) {
+
+        final Region firstPart = buildFirstPart(container);
+
+        filterResults = new ListView<>();
+        filterResults.setVisible(false);
+        filterResults.getSelectionModel()
+                .selectedItemProperty()
+                .addListener((observable, oldValue, newValue) -> processSelectedByFilter(newValue));
+        filterResults.setOnMouseClicked(event -> {
+            if (event.getButton() == MouseButton.PRIMARY && event.getClickCount() > 1) {
+                processOkByFilter();
+            }
+        });
+
+        filterField = new TextField();
+        filterField.setPromptText(ASSET_EDITOR_DIALOG_FILTER_PROMPT);
+        filterField.textProperty().addListener((observable, oldValue, newValue) -> updateFilter(newValue));
+        filterField.setOnKeyPressed(event -> {
+            if (event.getCode() == KeyCode.DOWN && filterResults.isVisible()) {
+                filterResults.requestFocus();
+            }
+        });
+
+        final StackPane stackPane = new StackPane(firstPart, filterResults);
+
+        final VBox firstContainer = new VBox();
+
+        FXUtils.addToPane(filterField, firstContainer);
+        FXUtils.addToPane(stackPane, firstContainer);
+
+        VBox.setVgrow(stackPane, Priority.ALWAYS);
+
+        return firstContainer;
+    }
+
+    /**
+     * Return true if need to add the field to filter assets.
+     *
+     * @return true if need to add the field to filter assets.
+     */
+    @FromAnyThread
+    protected boolean needFilter() {
+        return false;
+    }
+
+    /**
+     * Find assets by the filter, results are ranked from the best.
+     *
+     * @param filter the filter.
+     * @return the found asset paths.
+     */
+    @FxThread
+    protected @NotNull Array<String> findByFilter(@NotNull final String filter) {
+        return ArrayFactory.newArray(String.class, 0);
+    }
+
+    /**
+     * Select an asset which was found by the filter.
+     *
+     * @param assetPath the asset path.
+     */
+    @FxThread
+    protected void selectByFilter(@NotNull final String assetPath) {
+    }
+
+    /**
+     * Update the list of filtered assets.
+     *
+     * @param filter the new filter.
+     */
+    @FxThread
+    private void updateFilter(@Nullable final String filter) {
+
+        final ListView<String> filterResults = notNull(this.filterResults);
+
+        if (StringUtils.isEmpty(filter) || StringUtils.isEmpty(filter.trim())) {
+            filterResults.setVisible(false);
+            filterResults.getItems().clear();
+            return;
+        }
+
+        final Array<String> found = findByFilter(filter);
+
+        filterResults.getItems().setAll(found.toArray(String.class));
+        filterResults.setVisible(true);
+
+        if (!found.isEmpty()) {
+            filterResults.getSelectionModel().select(0);
+            filterResults.scrollTo(0);
+        }
+    }
+
+    /**
+     * Handle a selected asset in the list of filtered assets.
+     *
+     * @param assetPath the selected asset path or null.
+     */
+    @FxThread
+    private void processSelectedByFilter(@Nullable final String assetPath) {
+        if (assetPath != null) {
+            selectByFilter(assetPath);
+        }
+    }
+
+    /**
+     * Handle choosing an asset in the list of filtered assets.
+     */
+    @FxThread
+    private void processOkByFilter() {
+
+        final Button okButton = getOkButton();
+
+        if (okButton != null && !okButton.isDisable()) {
+            processOk();
+        }
+    }
+
     /**
      * Build the first part of this dialog.
      *
@@ -7,6 +7,7 @@ import com.ss.editor.annotation.FromAnyThread;
 import com.ss.editor.annotation.FxThread;
 import com.ss.editor.config.EditorConfig;
 import com.ss.editor.manager.ExecutorManager;
+import com.ss.editor.manager.ResourceManager;
 import com.ss.editor.ui.component.asset.tree.ResourceTree;
 import com.ss.editor.ui.component.asset.tree.resource.ResourceElement;
 import com.ss.editor.ui.dialog.EditorDialog;
@@ -15,6 +16,8 @@ import com.ss.editor.ui.event.FxEventManager;
 import com.ss.editor.ui.event.impl.CreatedFileEvent;
 import com.ss.editor.ui.event.impl.DeletedFileEvent;
 import com.ss.editor.ui.event.impl.RequestSelectFileEvent;
+import com.ss.editor.util.EditorUtil;
+import com.ss.rlib.common.util.FileUtils;
 import com.ss.rlib.common.util.array.Array;
 import com.ss.rlib.common.util.array.ArrayFactory;
 import javafx.beans.property.ReadOnlyObjectProperty;
@@ -53,6 +56,11 @@ public class AssetEditorDialog<C> extends BaseAssetEditorDialog<ResourceElement,
     @NotNull
     protected static final FxEventManager FX_EVENT_MANAGER = FxEventManager.getInstance();
 
+    /**
+     * The max count of assets found by a filter.
+     */
+    private static final int FILTER_LIMIT = 100;
+
     /**
      * The handler created files events.
      */
@@ -77,6 +85,12 @@ public class AssetEditorDialog<C> extends BaseAssetEditorDialog<ResourceElement,
     @NotNull
     private final Array<Path> waitedFilesToSelect;
 
+    /**
+     * The list of available extensions.
+     */
+    @NotNull
+    private Array<String> extensionFilter;
+
     /**
      * The tree with all resources.
      */
@@ -90,6 +104,7 @@ public class AssetEditorDialog<C> extends BaseAssetEditorDialog<ResourceElement,
     public AssetEditorDialog(@NotNull final Consumer<C> consumer, @Nullable final Function<C, String> validator) {
         super(consumer, validator);
         this.waitedFilesToSelect = ArrayFactory.newArray(Path.class);
+        this.extensionFilter = ArrayFactory.newArray(String.class, 0);
     }
 
     /**
@@ -99,6 +114,7 @@ public class AssetEditorDialog<C> extends BaseAssetEditorDialog<ResourceElement,
      */
     @FromAnyThread
     public void setExtensionFilter(@NotNull final Array<String> extensionFilter) {
+        this.extensionFilter = extensionFilter;
         getResourceTree().setExtensionFilter(extensionFilter);
     }
 
@@ -134,6 +150,41 @@ public class AssetEditorDialog<C> extends BaseAssetEditorDialog<ResourceElement,
         return resourceTree;
     }
 
+    @Override
+    @FromAnyThread
+    protected boolean needFilter() {
+        return true;
+    }
+
+    @Override
+    @FxThread
+    protected @NotNull Array<String> findByFilter(@NotNull final String filter) {
+        final ResourceManager resourceManager = ResourceManager.getInstance();
+        return resourceManager.findAssets(filter, FILTER_LIMIT, this::isAvailable);
+    }
+
+    /**
+     * Return true if the asset is available to choose by the extension filter.
+     *
+     * @param assetPath the asset path.
+     * @return true if the asset is available.
+     */
+    @FromAnyThread
+    private boolean isAvailable(@NotNull final String assetPath) {
+        return extensionFilter.isEmpty() || extensionFilter.contains(FileUtils.getExtension(assetPath));
+    }
+
+    @Override
+    @FxThread
+    protected void selectByFilter(@NotNull final String assetPath) {
+
+        final Path file = EditorUtil.getRealFile(assetPath);
+
+        if (file != null) {
+            getResourceTree().expandTo(file, true);
+        }
+    }
+
     /**
      * The process of opening the element.
      *
@@ -1,5 +1,6 @@
 package com.ss.editor.ui.dialog.asset.file;
 
+import com.ss.editor.annotation.FromAnyThread;
 import com.ss.editor.annotation.FxThread;
 import com.ss.editor.ui.component.asset.tree.resource.ResourceElement;
 import org.jetbrains.annotations.NotNull;
@@ -27,6 +28,12 @@ public class FolderAssetEditorDialog extends AssetEditorDialog<Path> {
         setOnlyFolders(true);
     }
 
+    @Override
+    @FromAnyThread
+    protected boolean needFilter() {
+        return false;
+    }
+
     @Override
     @FxThread
     protected void processOpen(@NotNull final ResourceElement element) {
@@ -0,0 +1,223 @@
+package com.ss.editor.ui.dialog.asset.search;
+
+import static com.ss.rlib.common.util.ObjectUtils.notNull;
+import com.ss.editor.Messages;
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.annotation.FxThread;
+import com.ss.editor.manager.FileIconManager;
+import com.ss.editor.manager.ResourceManager;
+import com.ss.editor.ui.dialog.AbstractSimpleEditorDialog;
+import com.ss.editor.ui.event.impl.RequestedOpenFileEvent;
+import com.ss.editor.util.EditorUtil;
+import com.ss.rlib.common.util.FileUtils;
+import com.ss.rlib.common.util.StringUtils;
+import com.ss.rlib.fx.util.FXUtils;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.image.ImageView;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.VBox;
+import javafx.stage.Window;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.*;
+import java.nio.file.Paths;
+
+/**
+ * The implementation of a dialog to find a file of the current asset folder by a fuzzy query and open it.
+ *
+ * @author JavaSaBr
+ */
+public class QuickOpenAssetDialog extends AbstractSimpleEditorDialog {
+
+    @NotNull
+    private static final Point DIALOG_SIZE = new Point(600, 400);
+
+    @NotNull
+    private static final ResourceManager RESOURCE_MANAGER = ResourceManager.getInstance();
+
+    /**
+     * The max count of found files.
+     */
+    private static final int SEARCH_LIMIT = 100;
+
+    /**
+     * The field of a query.
+     */
+    @Nullable
+    private TextField queryField;
+
+    /**
+     * The list of found asset paths.
+     */
+    @Nullable
+    private ListView<String> resultsList;
+
+    @Override
+    @FxThread
+    protected void createContent(@NotNull VBox root) {
+        super.createContent(root);
+
+        resultsList = new ListView<>();
+        resultsList.setPlaceholder(new Label(Messages.QUICK_OPEN_ASSET_DIALOG_NOT_FOUND));
+        resultsList.setCellFactory(param -> new AssetPathCell());
+        resultsList.prefHeightProperty().bind(heightProperty());
+        resultsList.setOnMouseClicked(event -> {
+            if (event.getButton() == MouseButton.PRIMARY && event.getClickCount() > 1) {
+                processOk();
+            }
+        });
+
+        queryField = new TextField();
+        queryField.setPromptText(Messages.ASSET_EDITOR_DIALOG_FILTER_PROMPT);
+        queryField.textProperty().addListener((observable, oldValue, newValue) -> search(newValue));
+        queryField.setOnKeyPressed(event -> {
+
+            var selectionModel = getResultsList().getSelectionModel();
+
+            if (event.getCode() == KeyCode.DOWN) {
+                selectionModel.selectNext();
+                event.consume();
+            } else if (event.getCode() == KeyCode.UP) {
+                selectionModel.selectPrevious();
+                event.consume();
+            }
+
+            getResultsList().scrollTo(selectionModel.getSelectedIndex());
+        });
+
+        FXUtils.addToPane(queryField, root);
+        FXUtils.addToPane(resultsList, root);
+    }
+
+    @Override
+    @FxThread
+    public void show(@NotNull Window owner) {
+        super.show(owner);
+        EXECUTOR_MANAGER.addFxTask(getQueryField()::requestFocus);
+    }
+
+    /**
+     * Search files by the query.
+     *
+     * @param query the query.
+     */
+    @FxThread
+    private void search(@Nullable String query) {
+
+        var resultsList = getResultsList();
+
+        if (StringUtils.isEmpty(query)) {
+            resultsList.getItems().clear();
+            return;
+        }
+
+        var found = RESOURCE_MANAGER.findAssets(query, SEARCH_LIMIT, null);
+
+        resultsList.getItems().setAll(found.toArray(String.class));
+
+        if (!found.isEmpty()) {
+            resultsList.getSelectionModel().select(0);
+            resultsList.scrollTo(0);
+        }
+    }
+
+    /**
+     * Get the field of a query.
+     *
+     * @return the field of a query.
+     */
+    @FxThread
+    private @NotNull TextField getQueryField() {
+        return notNull(queryField);
+    }
+
+    /**
+     * Get the list of found asset paths.
+     *
+     * @return the list of found asset paths.
+     */
+    @FxThread
+    private @NotNull ListView<String> getResultsList() {
+        return notNull(resultsList);
+    }
+
+    @Override
+    @FromAnyThread
+    protected @NotNull String getTitleText() {
+        return Messages.QUICK_OPEN_ASSET_DIALOG_TITLE;
+    }
+
+    @Override
+    @FromAnyThread
+    protected @NotNull String getButtonOkText() {
+        return Messages.QUICK_OPEN_ASSET_DIALOG_BUTTON_OPEN;
+    }
+
+    @Override
+    @FromAnyThread
+    protected @NotNull String getButtonCloseText() {
+        return Messages.SIMPLE_DIALOG_BUTTON_CLOSE;
+    }
+
+    @Override
+    @FxThread
+    protected void processOk() {
+
+        var assetPath = getResultsList().getSelectionModel().getSelectedItem();
+        var file = assetPath == null ? null : EditorUtil.getRealFile(assetPath);
+
+        if (file == null) {
+            return;
+        }
+
+        super.processOk();
+
+        FX_EVENT_MANAGER.notify(new RequestedOpenFileEvent(file));
+    }
+
+    @Override
+    @FromAnyThread
+    protected @NotNull Point getSize() {
+        return DIALOG_SIZE;
+    }
+
+    /**
+     * The cell to show a file name and an asset path of a file.
+     */
+    private static class AssetPathCell extends ListCell<String> {
+
+        @NotNull
+        private static final FileIconManager ICON_MANAGER = FileIconManager.getInstance();
+
+        @NotNull
+        private final ImageView icon;
+
+        private AssetPathCell() {
+            this.icon = new ImageView();
+        }
+
+        @Override
+        @FxThread
+        protected void updateItem(@Nullable String item, boolean empty) {
+            super.updateItem(item, empty);
+
+            if (item == null || empty) {
+                setText(null);
+                setGraphic(null);
+                return;
+            }
+
+            var path = Paths.get(item);
+
+            icon.setImage(ICON_MANAGER.getIcon(path, FileIconManager.DEFAULT_FILE_ICON_SIZE));
+
+            setText(FileUtils.getName(item, '/') + " - " + item);
+            setGraphic(icon);
+        }
+    }
+}
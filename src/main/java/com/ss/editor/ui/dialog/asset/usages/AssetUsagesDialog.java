@@ -0,0 +1,133 @@
+package com.ss.editor.ui.dialog.asset.usages;
+
+import static com.ss.rlib.common.util.ObjectUtils.notNull;
+import com.ss.editor.Messages;
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.annotation.FxThread;
+import com.ss.editor.ui.dialog.AbstractSimpleEditorDialog;
+import com.ss.editor.ui.event.impl.RequestedOpenFileEvent;
+import com.ss.editor.util.EditorUtil;
+import com.ss.rlib.common.util.array.Array;
+import com.ss.rlib.fx.util.FXUtils;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.VBox;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.*;
+import java.nio.file.Path;
+
+/**
+ * The implementation of a dialog to show assets which use an asset.
+ *
+ * @author JavaSaBr
+ */
+public class AssetUsagesDialog extends AbstractSimpleEditorDialog {
+
+    @NotNull
+    private static final Point DIALOG_SIZE = new Point(600, 400);
+
+    /**
+     * The list of files which use the asset.
+     */
+    @Nullable
+    private ListView<Path> usagesList;
+
+    public AssetUsagesDialog(@NotNull Path file, @NotNull Array<Path> usages) {
+
+        var usagesList = getUsagesList();
+        usagesList.getItems().addAll(usages);
+        usagesList.getItems().sort(Path::compareTo);
+
+        if (!usages.isEmpty()) {
+            usagesList.getSelectionModel().select(0);
+        }
+
+        setTitleText(Messages.ASSET_USAGES_DIALOG_TITLE.replace("%file_name%", file.getFileName().toString()));
+        notNull(getOkButton()).setDisable(usages.isEmpty());
+    }
+
+    @Override
+    @FxThread
+    protected void createContent(@NotNull VBox root) {
+        super.createContent(root);
+
+        usagesList = new ListView<>();
+        usagesList.setPlaceholder(new Label(Messages.ASSET_USAGES_DIALOG_NO_USAGES));
+        usagesList.setCellFactory(param -> new AssetUsageCell());
+        usagesList.prefHeightProperty().bind(heightProperty());
+        usagesList.setOnMouseClicked(event -> {
+            if (event.getButton() == MouseButton.PRIMARY && event.getClickCount() > 1) {
+                processOk();
+            }
+        });
+
+        FXUtils.addToPane(usagesList, root);
+    }
+
+    /**
+     * Get the list of files which use the asset.
+     *
+     * @return the list of files.
+     */
+    @FxThread
+    private @NotNull ListView<Path> getUsagesList() {
+        return notNull(usagesList);
+    }
+
+    @Override
+    @FromAnyThread
+    protected @NotNull String getButtonOkText() {
+        return Messages.ASSET_USAGES_DIALOG_BUTTON_OPEN;
+    }
+
+    @Override
+    @FromAnyThread
+    protected @NotNull String getButtonCloseText() {
+        return Messages.SIMPLE_DIALOG_BUTTON_CLOSE;
+    }
+
+    @Override
+    @FxThread
+    protected void processOk() {
+
+        var file = getUsagesList().getSelectionModel().getSelectedItem();
+
+        if (file == null) {
+            return;
+        }
+
+        super.processOk();
+
+        FX_EVENT_MANAGER.notify(new RequestedOpenFileEvent(file));
+    }
+
+    @Override
+    @FromAnyThread
+    protected @NotNull Point getSize() {
+        return DIALOG_SIZE;
+    }
+
+    /**
+     * The cell to show an asset path of a file.
+     */
+    private static class AssetUsageCell extends ListCell<Path> {
+
+        @Override
+        @FxThread
+        protected void updateItem(@Nullable Path item, boolean empty) {
+            super.updateItem(item, empty);
+
+            if (item == null || empty) {
+                setText(null);
+                return;
+            }
+
+            var assetFile = EditorUtil.getAssetFile(item);
+            setText(assetFile == null ? item.toString() : EditorUtil.toAssetPath(assetFile));
+        }
+    }
+}
@@ -3,11 +3,13 @@ package com.ss.editor.ui.dialog.asset.virtual;
 import static com.ss.rlib.common.util.ObjectUtils.notNull;
 import com.ss.editor.annotation.FxThread;
 import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.model.workspace.AssetSearchIndex;
 import com.ss.editor.ui.component.virtual.tree.VirtualResourceTree;
 import com.ss.editor.ui.component.virtual.tree.resource.RootVirtualResourceElement;
 import com.ss.editor.ui.component.virtual.tree.resource.VirtualResourceElement;
 import com.ss.editor.ui.component.virtual.tree.resource.VirtualResourceElementFactory;
 import com.ss.editor.ui.dialog.asset.BaseAssetEditorDialog;
+import com.ss.editor.ui.util.UiUtils;
 import com.ss.rlib.common.util.array.Array;
 import javafx.beans.binding.Bindings;
 import javafx.beans.binding.BooleanBinding;
@@ -32,12 +34,23 @@ import java.util.function.Function;
  */
 public class VirtualAssetEditorDialog<C> extends BaseAssetEditorDialog<VirtualResourceElement<?>, C> {
 
+    /**
+     * The max count of resources found by a filter.
+     */
+    private static final int FILTER_LIMIT = 100;
+
     /**
      * The all resources.
      */
     @NotNull
     private final Array<C> resources;
 
+    /**
+     * The index to search resources by paths.
+     */
+    @NotNull
+    private final AssetSearchIndex searchIndex;
+
     /**
      * The tree with all resources.
      */
@@ -53,6 +66,7 @@ public class VirtualAssetEditorDialog<C> extends BaseAssetEditorDialog<VirtualRe
                                     @NotNull final Array<C> resources) {
         super(consumer, validator);
         this.resources = resources;
+        this.searchIndex = new AssetSearchIndex();
     }
 
     /**
@@ -103,9 +117,44 @@ public class VirtualAssetEditorDialog<C> extends BaseAssetEditorDialog<VirtualRe
         resourceTree.fill(newRoot);
         resourceTree.expandAll();
 
+        resources.forEach(resource -> searchIndex.add(resourceTree.getPath(resource)));
+
         EXECUTOR_MANAGER.addFxTask(resourceTree::requestFocus);
     }
 
+    @Override
+    @FromAnyThread
+    protected boolean needFilter() {
+        return true;
+    }
+
+    @Override
+    @FxThread
+    protected @NotNull Array<String> findByFilter(@NotNull final String filter) {
+        return searchIndex.search(filter, FILTER_LIMIT, null);
+    }
+
+    @Override
+    @FxThread
+    protected void selectByFilter(@NotNull final String assetPath) {
+
+        final VirtualResourceTree<C> resourceTree = getResourceTree();
+        final Class<C> type = getObjectsType();
+
+        final TreeItem<VirtualResourceElement<?>> treeItem = UiUtils.getAllItems(resourceTree)
+                .search(item -> type.isInstance(item.getValue().getObject()) &&
+                        assetPath.equals(resourceTree.getPath(item.getValue().getObject())));
+
+        if (treeItem == null) {
+            return;
+        }
+
+        final MultipleSelectionModel<TreeItem<VirtualResourceElement<?>>> selectionModel = resourceTree.getSelectionModel();
+        selectionModel.select(treeItem);
+
+        resourceTree.scrollTo(resourceTree.getRow(treeItem));
+    }
+
     @Override
     @FxThread
     protected @Nullable C getObject(@NotNull final VirtualResourceElement<?> element) {
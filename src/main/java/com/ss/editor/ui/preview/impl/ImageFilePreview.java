@@ -40,7 +40,10 @@ public class ImageFilePreview extends AbstractFilePreview<ImageView> {
     @FxThread
     public void hide() {
         super.hide();
-        getGraphicsNode().setImage(null);
+
+        final ImageView imageView = getGraphicsNode();
+        JAVA_FX_IMAGE_MANAGER.cancelImagePreview(imageView.getImage());
+        imageView.setImage(null);
     }
 
     @Override
@@ -52,7 +55,8 @@ public class ImageFilePreview extends AbstractFilePreview<ImageView> {
         final int width = (int) imageView.getFitWidth();
         final int height = (int) imageView.getFitHeight();
 
-        imageView.setImage(JAVA_FX_IMAGE_MANAGER.getImagePreview(file, width, height));
+        JAVA_FX_IMAGE_MANAGER.cancelImagePreview(imageView.getImage());
+        imageView.setImage(JAVA_FX_IMAGE_MANAGER.getImagePreviewAsync(file, width, height));
     }
 
     @Override
@@ -64,7 +68,8 @@ public class ImageFilePreview extends AbstractFilePreview<ImageView> {
         final int width = (int) imageView.getFitWidth();
         final int height = (int) imageView.getFitHeight();
 
-        imageView.setImage(JAVA_FX_IMAGE_MANAGER.getImagePreview(resource, width, height));
+        JAVA_FX_IMAGE_MANAGER.cancelImagePreview(imageView.getImage());
+        imageView.setImage(JAVA_FX_IMAGE_MANAGER.getImagePreviewAsync(resource, width, height));
     }
 
     @Override
@@ -4,13 +4,16 @@ import static com.ss.rlib.common.util.ObjectUtils.notNull;
 import com.ss.editor.annotation.FxThread;
 import com.ss.editor.manager.JavaFxImageManager;
 import com.ss.editor.ui.css.CssClasses;
+import com.ss.editor.util.ImageUtils;
 import com.ss.rlib.fx.util.FXUtils;
 import javafx.scene.image.*;
 import javafx.scene.layout.GridPane;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.IntBuffer;
 import java.nio.file.Path;
+import java.util.Arrays;
 
 /**
  * THe implementation of tooltip for showing image channels.
@@ -22,6 +25,23 @@ public class ImageChannelPreview extends CustomTooltip<GridPane> {
     @NotNull
     private static final JavaFxImageManager IMAGE_MANAGER = JavaFxImageManager.getInstance();
 
+    /**
+     * The size of channel previews.
+     */
+    private static final int PREVIEW_SIZE = 120;
+
+    /**
+     * The ARGB pixels of the source image.
+     */
+    @Nullable
+    private int[] pixels;
+
+    /**
+     * The ARGB pixels of red, green, blue and alpha channels.
+     */
+    @Nullable
+    private int[][] channels;
+
     /**
      * The red image.
      */
@@ -92,6 +112,22 @@ public class ImageChannelPreview extends CustomTooltip<GridPane> {
      */
     private boolean needToBuildResource;
 
+    /**
+     * @return the ARGB pixels of the source image.
+     */
+    @FxThread
+    private @NotNull int[] getPixels() {
+        return notNull(pixels);
+    }
+
+    /**
+     * @return the ARGB pixels of red, green, blue and alpha channels.
+     */
+    @FxThread
+    private @NotNull int[][] getChannels() {
+        return notNull(channels);
+    }
+
     /**
      * @return the alpha image.
      */
@@ -268,10 +304,12 @@ public class ImageChannelPreview extends CustomTooltip<GridPane> {
         super.show();
 
         if (redImage == null) {
-            redImage = new WritableImage(120, 120);
-            greenImage = new WritableImage(120, 120);
-            blueImage = new WritableImage(120, 120);
-            alphaImage = new WritableImage(120, 120);
+            redImage = new WritableImage(PREVIEW_SIZE, PREVIEW_SIZE);
+            greenImage = new WritableImage(PREVIEW_SIZE, PREVIEW_SIZE);
+            blueImage = new WritableImage(PREVIEW_SIZE, PREVIEW_SIZE);
+            alphaImage = new WritableImage(PREVIEW_SIZE, PREVIEW_SIZE);
+            pixels = new int[PREVIEW_SIZE * PREVIEW_SIZE];
+            channels = new int[4][PREVIEW_SIZE * PREVIEW_SIZE];
 
             redView = new ImageView();
             greenView = new ImageView();
@@ -287,11 +325,11 @@ public class ImageChannelPreview extends CustomTooltip<GridPane> {
 
         if (isNeedToBuildFile()) {
             final Path file = getFile();
-            buildPreview(file == null ? null : IMAGE_MANAGER.getImagePreview(file, 120, 120));
+            buildPreview(file == null ? null : IMAGE_MANAGER.getImagePreview(file, PREVIEW_SIZE, PREVIEW_SIZE));
             setNeedToBuildFile(false);
         } else if (isNeedToBuildResource()) {
             final String resourcePath = getResourcePath();
-            buildPreview(IMAGE_MANAGER.getImagePreview(resourcePath, 120, 120));
+            buildPreview(IMAGE_MANAGER.getImagePreview(resourcePath, PREVIEW_SIZE, PREVIEW_SIZE));
             setNeedToBuildResource(false);
         }
     }
@@ -299,7 +337,7 @@ public class ImageChannelPreview extends CustomTooltip<GridPane> {
     @FxThread
     private void buildPreview(@Nullable final Image image) {
 
-        if (image == null || image.getWidth() != 120) {
+        if (image == null || image.getPixelReader() == null || image.getWidth() != PREVIEW_SIZE) {
 
             final ImageView redView = getRedView();
             redView.setImage(null);
@@ -316,35 +354,38 @@ public class ImageChannelPreview extends CustomTooltip<GridPane> {
         }
 
         final PixelReader pixelReader = image.getPixelReader();
+        final PixelFormat<IntBuffer> format = PixelFormat.getIntArgbInstance();
 
-        final WritableImage alphaImage = getAlphaImage();
-        final PixelWriter alphaWriter = alphaImage.getPixelWriter();
+        final int[] pixels = getPixels();
+        final int[][] channels = getChannels();
+        final int[] red = channels[0];
+        final int[] green = channels[1];
+        final int[] blue = channels[2];
+        final int[] alpha = channels[3];
 
-        final WritableImage redImage = getRedImage();
-        final PixelWriter redWriter = redImage.getPixelWriter();
+        // a preview of a wide image has fewer rows, the remaining rows of channels are cleared
+        final int height = Math.min((int) image.getHeight(), PREVIEW_SIZE);
+        final int length = height * PREVIEW_SIZE;
 
-        final WritableImage greenImage = getGreenImage();
-        final PixelWriter greenWriter = greenImage.getPixelWriter();
+        pixelReader.getPixels(0, 0, PREVIEW_SIZE, height, format, pixels, 0, PREVIEW_SIZE);
 
-        final WritableImage blueImage = getBlueImage();
-        final PixelWriter blueWriter = blueImage.getPixelWriter();
+        ImageUtils.splitChannels(pixels, length, red, green, blue, alpha);
+
+        for (final int[] channel : channels) {
+            Arrays.fill(channel, length, channel.length, 0);
+        }
 
-        for (int y = 0, height = (int) image.getHeight(); y < height; y++) {
-            for (int x = 0, width = (int) image.getWidth(); x < width; x++) {
+        final WritableImage redImage = getRedImage();
+        redImage.getPixelWriter().setPixels(0, 0, PREVIEW_SIZE, PREVIEW_SIZE, format, red, 0, PREVIEW_SIZE);
 
-                final int argb = pixelReader.getArgb(x, y);
+        final WritableImage greenImage = getGreenImage();
+        greenImage.getPixelWriter().setPixels(0, 0, PREVIEW_SIZE, PREVIEW_SIZE, format, green, 0, PREVIEW_SIZE);
 
-                final int alpha = argb >>> 24;
-                final int red = (argb >> 16) & 0xff;
-                final int green = (argb >> 8) & 0xff;
-                final int blue = (argb) & 0xff;
+        final WritableImage blueImage = getBlueImage();
+        blueImage.getPixelWriter().setPixels(0, 0, PREVIEW_SIZE, PREVIEW_SIZE, format, blue, 0, PREVIEW_SIZE);
 
-                redWriter.setArgb(x, y, ((255 << 24) | (red << 16) | (red << 8) | red));
-                greenWriter.setArgb(x, y, ((255 << 24) | (green << 16) | (green << 8) | green));
-                blueWriter.setArgb(x, y, ((255 << 24) | (blue << 16) | (blue << 8) | blue));
-                alphaWriter.setArgb(x, y, ((255 << 24) | (alpha << 16) | (alpha << 8) | alpha));
-            }
-        }
+        final WritableImage alphaImage = getAlphaImage();
+        alphaImage.getPixelWriter().setPixels(0, 0, PREVIEW_SIZE, PREVIEW_SIZE, format, alpha, 0, PREVIEW_SIZE);
 
         final ImageView redView = getRedView();
         redView.setImage(null);
@@ -92,6 +92,8 @@ public class ImagePreview extends CustomTooltip<BorderPane> {
      */
     @FxThread
     public void showImage(@Nullable final Path file) {
-        getImageView().setImage(IMAGE_MANAGER.getImagePreview(file, 200, 200));
+        final ImageView imageView = getImageView();
+        IMAGE_MANAGER.cancelImagePreview(imageView.getImage());
+        imageView.setImage(IMAGE_MANAGER.getImagePreviewAsync(file, 200, 200));
     }
 }
@@ -959,6 +959,16 @@ public abstract class UiUtils {
         return alert;
     }
 
+    /**
+     * Create a dialog for showing the warning.
+     */
+    @FxThread
+    public static @NotNull Alert createWarningAlert(@NotNull final String message) {
+        final Alert alert = new Alert(Alert.AlertType.WARNING);
+        alert.setHeaderText(message);
+        return alert;
+    }
+
     /**
      * Check of existing a file in clipboard.
      *
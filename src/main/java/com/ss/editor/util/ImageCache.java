@@ -0,0 +1,330 @@
+package com.ss.editor.util;
+
+import com.ss.editor.annotation.FromAnyThread;
+import javafx.scene.image.Image;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * The shared memory cache of small images which is limited by the count of bytes of their pixels.
+ * <p>
+ * Images are cached by a region (an owner of images), a path and a size. When the weight of all cached images
+ * exceeds the limit, the least recently used images are evicted.
+ *
+ * @author JavaSaBr
+ */
+public class ImageCache {
+
+    /**
+     * The default max count of bytes of pixels of all cached images.
+     */
+    public static final long DEFAULT_MAX_WEIGHT = 64L * 1024 * 1024;
+
+    /**
+     * The count of bytes of a pixel.
+     */
+    private static final int BYTES_PER_PIXEL = 4;
+
+    /**
+     * The key of a cached image.
+     */
+    private static class Key {
+
+        @NotNull
+        private final String region;
+
+        @NotNull
+        private final String path;
+
+        private final int width;
+
+        private final int height;
+
+        private Key(@NotNull String region, @NotNull String path, int width, int height) {
+            this.region = region;
+            this.path = path;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object object) {
+
+            if (this == object) {
+                return true;
+            } else if (!(object instanceof Key)) {
+                return false;
+            }
+
+            var other = (Key) object;
+
+            return width == other.width && height == other.height &&
+                    region.equals(other.region) && path.equals(other.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(region, path, width, height);
+        }
+    }
+
+    /**
+     * The cached image with its weight.
+     */
+    private static class Entry {
+
+        @NotNull
+        private final Image image;
+
+        private final long weight;
+
+        private Entry(@NotNull Image image, long weight) {
+            this.image = image;
+            this.weight = weight;
+        }
+    }
+
+    @Nullable
+    private static volatile ImageCache instance;
+
+    /**
+     * Get the cache which is shared by all managers of images.
+     *
+     * @return the shared cache.
+     */
+    @FromAnyThread
+    public static @NotNull ImageCache getInstance() {
+        if (instance == null) {
+            synchronized (ImageCache.class) {
+                if (instance == null) {
+                    instance = new ImageCache(DEFAULT_MAX_WEIGHT);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * The cached images in the order of access, from the least recently used.
+     */
+    @NotNull
+    private final LinkedHashMap<Key, Entry> entries;
+
+    /**
+     * The max count of bytes of pixels of all cached images.
+     */
+    private final long maxWeight;
+
+    /**
+     * The current count of bytes of pixels of all cached images.
+     */
+    private long weight;
+
+    /**
+     * The count of found images.
+     */
+    private long hits;
+
+    /**
+     * The count of not found images.
+     */
+    private long misses;
+
+    /**
+     * The count of evicted images because of the limit.
+     */
+    private long evictions;
+
+    public ImageCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+        this.entries = new LinkedHashMap<>(64, 0.75F, true);
+    }
+
+    /**
+     * Get a cached image.
+     *
+     * @param region the region of the image.
+     * @param path   the path of the image.
+     * @param width  the width.
+     * @param height the height.
+     * @return the cached image or null.
+     */
+    @FromAnyThread
+    public synchronized @Nullable Image get(@NotNull String region, @NotNull String path, int width, int height) {
+
+        var entry = entries.get(new Key(region, path, width, height));
+
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+
+        hits++;
+        return entry.image;
+    }
+
+    /**
+     * Put the image to the cache and evict the least recently used images if the limit is exceeded.
+     *
+     * @param region the region of the image.
+     * @param path   the path of the image.
+     * @param width  the width.
+     * @param height the height.
+     * @param image  the image.
+     */
+    @FromAnyThread
+    public synchronized void put(@NotNull String region, @NotNull String path, int width, int height,
+                                 @NotNull Image image) {
+
+        var imageWidth = image.getWidth() > 0 ? image.getWidth() : width;
+        var imageHeight = image.getHeight() > 0 ? image.getHeight() : height;
+        var newEntry = new Entry(image, (long) (imageWidth * imageHeight) * BYTES_PER_PIXEL);
+        var prev = entries.put(new Key(region, path, width, height), newEntry);
+
+        if (prev != null) {
+            weight -= prev.weight;
+        }
+
+        weight += newEntry.weight;
+
+        for (var iterator = entries.values().iterator(); weight > maxWeight && iterator.hasNext(); ) {
+
+            var entry = iterator.next();
+
+            if (entry == newEntry) {
+                continue;
+            }
+
+            iterator.remove();
+            weight -= entry.weight;
+            evictions++;
+        }
+    }
+
+    /**
+     * Remove all cached images of the path in all regions.
+     *
+     * @param path the path.
+     * @return the count of removed images.
+     */
+    @FromAnyThread
+    public synchronized int invalidate(@NotNull String path) {
+        return removeIf(key -> key.path.equals(path));
+    }
+
+    /**
+     * Remove all cached images of the region which are in the folder.
+     *
+     * @param region the region.
+     * @param folder the path of the folder.
+     * @param separator the separator of the path.
+     * @return the count of removed images.
+     */
+    @FromAnyThread
+    public synchronized int invalidateFolder(@NotNull String region, @NotNull String folder, char separator) {
+        var prefix = folder + separator;
+        return removeIf(key -> key.region.equals(region) && key.path.startsWith(prefix));
+    }
+
+    /**
+     * Remove all cached images of the region.
+     *
+     * @param region the region.
+     * @return the count of removed images.
+     */
+    @FromAnyThread
+    public synchronized int clear(@NotNull String region) {
+        return removeIf(key -> key.region.equals(region));
+    }
+
+    @FromAnyThread
+    private int removeIf(@NotNull Predicate<Key> condition) {
+
+        var removed = 0;
+
+        for (Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator(); iterator.hasNext(); ) {
+
+            var entry = iterator.next();
+
+            if (condition.test(entry.getKey())) {
+                iterator.remove();
+                weight -= entry.getValue().weight;
+                removed++;
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * Get the count of cached images.
+     *
+     * @return the count of cached images.
+     */
+    @FromAnyThread
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the current count of bytes of pixels of all cached images.
+     *
+     * @return the current weight.
+     */
+    @FromAnyThread
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Get the max count of bytes of pixels of all cached images.
+     *
+     * @return the max weight.
+     */
+    @FromAnyThread
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Get the count of found images.
+     *
+     * @return the count of hits.
+     */
+    @FromAnyThread
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Get the count of not found images.
+     *
+     * @return the count of misses.
+     */
+    @FromAnyThread
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Get the count of evicted images because of the limit.
+     *
+     * @return the count of evictions.
+     */
+    @FromAnyThread
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ImageCache{images=" + entries.size() + ", weight=" + weight + "/" + maxWeight + ", hits=" + hits +
+                ", misses=" + misses + ", evictions=" + evictions + "}";
+    }
+}
@@ -0,0 +1,355 @@
+package com.ss.editor.util;
+
+import com.ss.editor.annotation.FromAnyThread;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * The utility class to work with decoded ARGB pixels of images.
+ *
+ * @author JavaSaBr
+ */
+public class ImageUtils {
+
+    /**
+     * Scale the image to fit the target size with keeping its aspect ratio, the result image has the target size and
+     * the scaled image is placed at the top left corner. Images which are smaller than the target size aren't
+     * scaled.
+     *
+     * @param pixels       the ARGB pixels of the image.
+     * @param width        the width of the image.
+     * @param height       the height of the image.
+     * @param targetWidth  the target width.
+     * @param targetHeight the target height.
+     * @return the ARGB pixels of the result image.
+     */
+    @FromAnyThread
+    public static @NotNull int[] scaleToFit(
+            @NotNull int[] pixels,
+            int width,
+            int height,
+            int targetWidth,
+            int targetHeight
+    ) {
+
+        var newWidth = width;
+        var newHeight = height;
+
+        if (width > targetWidth || height > targetHeight) {
+            if (width == height) {
+                newWidth = targetWidth;
+                newHeight = targetHeight;
+            } else if (width > height) {
+                newWidth = targetWidth;
+                newHeight = (int) (targetHeight * (height * 1F / width));
+            } else {
+                newWidth = (int) (targetWidth * (width * 1F / height));
+                newHeight = targetHeight;
+            }
+        }
+
+        newWidth = Math.max(Math.min(newWidth, targetWidth), 1);
+        newHeight = Math.max(Math.min(newHeight, targetHeight), 1);
+
+        var scaled = downscale(pixels, width, height, newWidth, newHeight);
+
+        if (newWidth == targetWidth && newHeight == targetHeight) {
+            return scaled;
+        }
+
+        var result = new int[targetWidth * targetHeight];
+
+        for (int y = 0; y < newHeight; y++) {
+            System.arraycopy(scaled, y * newWidth, result, y * targetWidth, newWidth);
+        }
+
+        return result;
+    }
+
+    /**
+     * Split ARGB pixels to opaque grayscale pixels of their red, green, blue and alpha channels.
+     *
+     * @param pixels the ARGB pixels.
+     * @param length the count of pixels to split.
+     * @param red    the array to store pixels of the red channel.
+     * @param green  the array to store pixels of the green channel.
+     * @param blue   the array to store pixels of the blue channel.
+     * @param alpha  the array to store pixels of the alpha channel.
+     */
+    @FromAnyThread
+    public static void splitChannels(
+            @NotNull int[] pixels,
+            int length,
+            @NotNull int[] red,
+            @NotNull int[] green,
+            @NotNull int[] blue,
+            @NotNull int[] alpha
+    ) {
+
+        for (int i = 0; i < length; i++) {
+            var pixel = pixels[i];
+            red[i] = toGray((pixel >> 16) & 0xFF);
+            green[i] = toGray((pixel >> 8) & 0xFF);
+            blue[i] = toGray(pixel & 0xFF);
+            alpha[i] = toGray(pixel >>> 24);
+        }
+    }
+
+    @FromAnyThread
+    private static int toGray(int value) {
+        return 0xFF000000 | value << 16 | value << 8 | value;
+    }
+
+    /**
+     * Downscale the image by averaging blocks of pixels with the integer part of the scale and by area averaging
+     * to get the new size. Colors are averaged with alpha weights, so transparent pixels don't darken edges.
+     *
+     * @param pixels    the ARGB pixels of the image.
+     * @param width     the width of the image.
+     * @param height    the height of the image.
+     * @param newWidth  the new width.
+     * @param newHeight the new height.
+     * @return the ARGB pixels of the scaled image, it can be the same array if the size isn't changed.
+     */
+    @FromAnyThread
+    public static @NotNull int[] downscale(@NotNull int[] pixels, int width, int height, int newWidth, int newHeight) {
+
+        var current = pixels;
+        var currentWidth = width;
+        var currentHeight = height;
+        var factorX = Math.max(width / newWidth, 1);
+        var factorY = Math.max(height / newHeight, 1);
+
+        if (factorX > 1 || factorY > 1) {
+            current = reduce(pixels, width, height, factorX, factorY);
+            currentWidth = width / factorX;
+            currentHeight = height / factorY;
+        }
+
+        if (currentWidth == newWidth && currentHeight == newHeight) {
+            return current;
+        }
+
+        return areaAverage(current, currentWidth, currentHeight, newWidth, newHeight);
+    }
+
+    /**
+     * Reduce the image by averaging blocks of pixels with alpha weights, the last incomplete rows and columns are
+     * skipped.
+     *
+     * @param pixels  the ARGB pixels of the image.
+     * @param width   the width of the image.
+     * @param height  the height of the image.
+     * @param factorX the width of a block.
+     * @param factorY the height of a block.
+     * @return the ARGB pixels of the reduced image.
+     */
+    @FromAnyThread
+    private static @NotNull int[] reduce(@NotNull int[] pixels, int width, int height, int factorX, int factorY) {
+
+        var newWidth = width / factorX;
+        var newHeight = height / factorY;
+        var result = new int[newWidth * newHeight];
+
+        // alpha and alpha weighted colors of blocks of the current row
+        var sums = new long[newWidth * 4];
+        var count = factorX * factorY;
+
+        for (int y = 0; y < newHeight; y++) {
+
+            Arrays.fill(sums, 0);
+
+            for (int row = y * factorY, lastRow = row + factorY; row < lastRow; row++) {
+
+                var offset = row * width;
+
+                for (int x = 0, j = 0; x < newWidth; x++, j += 4) {
+
+                    int alpha = 0, red = 0, green = 0, blue = 0;
+
+                    for (int last = offset + factorX; offset < last; offset++) {
+                        var pixel = pixels[offset];
+                        var weight = pixel >>> 24;
+                        alpha += weight;
+                        red += ((pixel >> 16) & 0xFF) * weight;
+                        green += ((pixel >> 8) & 0xFF) * weight;
+                        blue += (pixel & 0xFF) * weight;
+                    }
+
+                    sums[j] += alpha;
+                    sums[j + 1] += red;
+                    sums[j + 2] += green;
+                    sums[j + 3] += blue;
+                }
+            }
+
+            var target = y * newWidth;
+
+            for (int x = 0, j = 0; x < newWidth; x++, j += 4) {
+
+                var alpha = sums[j];
+
+                if (alpha == 0) {
+                    continue;
+                }
+
+                var half = alpha / 2;
+
+                result[target + x] = (int) ((alpha + count / 2) / count) << 24 |
+                        (int) ((sums[j + 1] + half) / alpha) << 16 |
+                        (int) ((sums[j + 2] + half) / alpha) << 8 |
+                        (int) ((sums[j + 3] + half) / alpha);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Scale the image by averaging areas of pixels which are covered by each new pixel.
+     *
+     * @param pixels    the ARGB pixels of the image.
+     * @param width     the width of the image.
+     * @param height    the height of the image.
+     * @param newWidth  the new width.
+     * @param newHeight the new height.
+     * @return the ARGB pixels of the scaled image.
+     */
+    @FromAnyThread
+    private static @NotNull int[] areaAverage(
+            @NotNull int[] pixels,
+            int width,
+            int height,
+            int newWidth,
+            int newHeight
+    ) {
+
+        var firstColumns = new int[newWidth];
+        var columnWeights = getWeights(width, newWidth, firstColumns);
+        var firstRows = new int[newHeight];
+        var rowWeights = getWeights(height, newHeight, firstRows);
+
+        // alpha and alpha weighted colors of horizontally scaled rows
+        var rows = new float[newWidth * height * 4];
+
+        for (int y = 0; y < height; y++) {
+
+            var offset = y * width;
+            var target = y * newWidth * 4;
+
+            for (int x = 0; x < newWidth; x++, target += 4) {
+
+                var weights = columnWeights[x];
+                var first = offset + firstColumns[x];
+
+                float alpha = 0, red = 0, green = 0, blue = 0;
+
+                for (int i = 0; i < weights.length; i++) {
+                    var pixel = pixels[first + i];
+                    var weight = (pixel >>> 24) * weights[i];
+                    alpha += weight;
+                    red += ((pixel >> 16) & 0xFF) * weight;
+                    green += ((pixel >> 8) & 0xFF) * weight;
+                    blue += (pixel & 0xFF) * weight;
+                }
+
+                rows[target] = alpha;
+                rows[target + 1] = red;
+                rows[target + 2] = green;
+                rows[target + 3] = blue;
+            }
+        }
+
+        var columnSums = sum(columnWeights);
+        var rowSums = sum(rowWeights);
+        var result = new int[newWidth * newHeight];
+        var sums = new float[newWidth * 4];
+
+        for (int y = 0; y < newHeight; y++) {
+
+            var weights = rowWeights[y];
+            var first = firstRows[y];
+
+            Arrays.fill(sums, 0);
+
+            for (int i = 0; i < weights.length; i++) {
+
+                var weight = weights[i];
+                var offset = (first + i) * newWidth * 4;
+
+                for (int j = 0; j < sums.length; j++) {
+                    sums[j] += rows[offset + j] * weight;
+                }
+            }
+
+            var target = y * newWidth;
+
+            for (int x = 0, j = 0; x < newWidth; x++, j += 4) {
+
+                var alpha = sums[j];
+
+                if (alpha <= 0) {
+                    continue;
+                }
+
+                var resultAlpha = Math.round(alpha / (columnSums[x] * rowSums[y]));
+
+                result[target + x] = Math.min(resultAlpha, 255) << 24 |
+                        Math.min(Math.round(sums[j + 1] / alpha), 255) << 16 |
+                        Math.min(Math.round(sums[j + 2] / alpha), 255) << 8 |
+                        Math.min(Math.round(sums[j + 3] / alpha), 255);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Calculate weights of source pixels which are covered by each new pixel.
+     *
+     * @param size        the source size.
+     * @param newSize     the new size.
+     * @param firstPixels the array to store indexes of first covered source pixels.
+     * @return the weights of covered source pixels of each new pixel.
+     */
+    @FromAnyThread
+    private static @NotNull float[][] getWeights(int size, int newSize, @NotNull int[] firstPixels) {
+
+        var scale = (double) size / newSize;
+        var result = new float[newSize][];
+
+        for (int i = 0; i < newSize; i++) {
+
+            var start = i * scale;
+            var end = Math.min((i + 1) * scale, size);
+            var first = (int) start;
+            var last = Math.min((int) Math.ceil(end), size);
+            var weights = new float[Math.max(last - first, 1)];
+
+            for (int j = 0; j < weights.length; j++) {
+                var pixel = first + j;
+                weights[j] = (float) (Math.min(end, pixel + 1) - Math.max(start, pixel));
+            }
+
+            firstPixels[i] = first;
+            result[i] = weights;
+        }
+
+        return result;
+    }
+
+    @FromAnyThread
+    private static @NotNull float[] sum(@NotNull float[][] weights) {
+
+        var result = new float[weights.length];
+
+        for (int i = 0; i < weights.length; i++) {
+            for (var weight : weights[i]) {
+                result[i] += weight;
+            }
+        }
+
+        return result;
+    }
+}
@@ -12,21 +12,27 @@ import com.jme3.material.Material;
 import com.jme3.material.MaterialDef;
 import com.jme3.scene.Spatial;
 import com.jme3.shader.VarType;
+import com.jme3.texture.Image;
 import com.jme3.texture.Texture;
+import com.jme3.util.BufferUtils;
 import com.ss.editor.FileExtensions;
+import com.ss.editor.annotation.BackgroundThread;
 import com.ss.editor.annotation.FromAnyThread;
 import com.ss.editor.annotation.JmeThread;
 import com.ss.rlib.common.util.FileUtils;
 import com.ss.rlib.common.util.StringUtils;
+import com.ss.rlib.common.util.array.Array;
 import jme3tools.converters.ImageToAwt;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.imageio.ImageIO;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Map;
 
 /**
  * The class with utility methods for working with {@link Material}.
@@ -140,6 +146,19 @@ public class MaterialUtils {
             var assetName = materialDef.getAssetName();
             assetManager.deleteFromCache(new AssetKey<>(assetName));
 
+        } else if (MaterialUtils.isMaterialDefinitionFile(file)) {
+
+            var materialDef = material.getMaterialDef();
+            var assetName = materialDef.getAssetName();
+            var assetFile = notNull(getAssetFile(file), "Can't get an asset file.");
+
+            if (!StringUtils.equals(assetName, toAssetPath(assetFile))) {
+                return null;
+            }
+
+            needToReload = true;
+            assetManager.deleteFromCache(new AssetKey<>(assetName));
+
         } else if (MaterialUtils.isTextureFile(file)) {
             textureKey = MaterialUtils.containsTexture(material, file);
             if (textureKey == null) {
@@ -264,6 +283,17 @@ public class MaterialUtils {
                 FileExtensions.GLSL_VERTEX.equals(extension);
     }
 
+    /**
+     * Return true if the file is a material definition.
+     *
+     * @param path the file path.
+     * @return true if the file is a material definition.
+     */
+    @FromAnyThread
+    public static boolean isMaterialDefinitionFile(@NotNull Path path) {
+        return FileExtensions.JME_MATERIAL_DEFINITION.equals(FileUtils.getExtension(path));
+    }
+
     /**
      * Is texture file boolean.
      *
@@ -424,10 +454,9 @@ public class MaterialUtils {
 
         var key = texture.getKey();
         var file = notNull(getRealFile(key.getName()));
-        var bufferedImage = ImageToAwt.convert(image, false, true, 0);
 
-        try (var out = Files.newOutputStream(file, WRITE, TRUNCATE_EXISTING, CREATE)) {
-            ImageIO.write(bufferedImage, "png", out);
+        try {
+            saveTexture(file, image);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -435,6 +464,94 @@ public class MaterialUtils {
         image.clearChanges();
     }
 
+    /**
+     * Take copies of changed textures of the material to save them later in any thread, changes of the textures
+     * are cleared.
+     *
+     * @param material the material.
+     * @param copies   the table to put copies of changed images by their files.
+     * @param changed  the list to put changed images.
+     */
+    @JmeThread
+    public static void takeChangedTextures(
+            @NotNull Material material,
+            @NotNull Map<Path, Image> copies,
+            @NotNull Array<Image> changed
+    ) {
+
+        for (var matParam : material.getParams()) {
+
+            if (matParam.getVarType() != VarType.Texture2D) {
+                continue;
+            }
+
+            var texture = (Texture) matParam.getValue();
+            var image = texture.getImage();
+
+            if (!image.isChanged() || changed.contains(image)) {
+                continue;
+            }
+
+            var file = notNull(getRealFile(texture.getKey().getName()));
+
+            copies.put(file, copyImage(image));
+            changed.add(image);
+
+            image.clearChanges();
+        }
+    }
+
+    /**
+     * Save the images which were taken by {@link #takeChangedTextures(Material, Map, Array)}.
+     *
+     * @param images the table of images by their files.
+     * @throws IOException if an image can't be written.
+     */
+    @BackgroundThread
+    public static void saveTextures(@NotNull Map<Path, Image> images) throws IOException {
+        for (var entry : images.entrySet()) {
+            saveTexture(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Write the image as PNG to the file.
+     *
+     * @param file  the file.
+     * @param image the image.
+     * @throws IOException if the image can't be written.
+     */
+    @FromAnyThread
+    private static void saveTexture(@NotNull Path file, @NotNull Image image) throws IOException {
+
+        var bufferedImage = ImageToAwt.convert(image, false, true, 0);
+
+        try (var out = Files.newOutputStream(file, WRITE, TRUNCATE_EXISTING, CREATE)) {
+            ImageIO.write(bufferedImage, "png", out);
+        }
+    }
+
+    /**
+     * Copy the image with its data.
+     *
+     * @param image the image.
+     * @return the copy.
+     */
+    @FromAnyThread
+    private static @NotNull Image copyImage(@NotNull Image image) {
+
+        var data = new ArrayList<ByteBuffer>(image.getData().size());
+
+        for (var buffer : image.getData()) {
+            data.add(BufferUtils.clone(buffer));
+        }
+
+        var mipMapSizes = image.getMipMapSizes();
+
+        return new Image(image.getFormat(), image.getWidth(), image.getHeight(), image.getDepth(), data,
+                mipMapSizes == null ? null : mipMapSizes.clone(), image.getColorSpace());
+    }
+
     /**
      * Set the material parameter with check of existing this parameter in the material's definition.
      *
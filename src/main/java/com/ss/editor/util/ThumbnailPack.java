@@ -0,0 +1,952 @@
+package com.ss.editor.util;
+
+import com.ss.editor.annotation.BackgroundThread;
+import com.ss.editor.annotation.FromAnyThread;
+import com.ss.editor.executor.TaskPriority;
+import com.ss.editor.manager.ExecutorManager;
+import com.ss.rlib.common.logging.Logger;
+import com.ss.rlib.common.logging.LoggerManager;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The persistent pack of thumbnails which are stored as raw premultiplied BGRA pixels in a single memory-mapped file.
+ * <p>
+ * The index of thumbnails contains a hash of a path, a required size, a last modified time of a source file and
+ * an offset of pixels in the pack file. Replaced thumbnails stay in the pack file until compaction, the compaction
+ * also evicts the least recently used thumbnails when the pack file exceeds the limit. The index and the compaction
+ * are processed in background.
+ *
+ * @author JavaSaBr
+ */
+public class ThumbnailPack {
+
+    @NotNull
+    private static final Logger LOGGER = LoggerManager.getLogger(ThumbnailPack.class);
+
+    @NotNull
+    private static final ExecutorManager EXECUTOR_MANAGER = ExecutorManager.getInstance();
+
+    @NotNull
+    private static final PixelFormat<ByteBuffer> PIXEL_FORMAT = PixelFormat.getByteBgraPreInstance();
+
+    /**
+     * The version of the format of the index file.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The count of bytes of a pixel.
+     */
+    private static final int BYTES_PER_PIXEL = 4;
+
+    /**
+     * The max size of the pack file.
+     */
+    private static final long MAX_PACK_SIZE = 256L * 1024 * 1024;
+
+    /**
+     * The min size of the pack file to compact it because of replaced thumbnails.
+     */
+    private static final long MIN_COMPACTION_SIZE = 8L * 1024 * 1024;
+
+    /**
+     * The delay to save the index after changes in ms.
+     */
+    private static final long SAVE_DELAY = 5000;
+
+    @NotNull
+    private static final String INDEX_FILE = "thumbnails.idx";
+
+    @NotNull
+    private static final String PACK_FILE_PREFIX = "thumbnails.";
+
+    @NotNull
+    private static final String PACK_FILE_SUFFIX = ".pack";
+
+    /**
+     * The key of a thumbnail.
+     */
+    private static class Key {
+
+        private final long hash;
+
+        private final int width;
+
+        private final int height;
+
+        private Key(long hash, int width, int height) {
+            this.hash = hash;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object object) {
+
+            if (this == object) {
+                return true;
+            } else if (!(object instanceof Key)) {
+                return false;
+            }
+
+            var other = (Key) object;
+
+            return hash == other.hash && width == other.width && height == other.height;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * Long.hashCode(hash) + width) + height;
+        }
+    }
+
+    /**
+     * The position of a thumbnail in the pack file.
+     */
+    private static class Entry {
+
+        /**
+         * The width of the thumbnail.
+         */
+        private final int imageWidth;
+
+        /**
+         * The height of the thumbnail.
+         */
+        private final int imageHeight;
+
+        /**
+         * The last modified time of the source file or -1.
+         */
+        private final long modified;
+
+        /**
+         * The offset of pixels in the pack file.
+         */
+        private long offset;
+
+        /**
+         * The last time of access.
+         */
+        private long lastAccess;
+
+        private Entry(int imageWidth, int imageHeight, long modified, long offset, long lastAccess) {
+            this.imageWidth = imageWidth;
+            this.imageHeight = imageHeight;
+            this.modified = modified;
+            this.offset = offset;
+            this.lastAccess = lastAccess;
+        }
+
+        /**
+         * Get the count of bytes of pixels.
+         *
+         * @return the count of bytes.
+         */
+        private long getLength() {
+            return (long) imageWidth * imageHeight * BYTES_PER_PIXEL;
+        }
+    }
+
+    /**
+     * The raw pixels of a thumbnail.
+     */
+    public static class Pixels {
+
+        /**
+         * The width of the thumbnail.
+         */
+        private final int width;
+
+        /**
+         * The height of the thumbnail.
+         */
+        private final int height;
+
+        /**
+         * The pixels of the thumbnail, 4 bytes per pixel.
+         */
+        @NotNull
+        private final ByteBuffer data;
+
+        private Pixels(int width, int height, @NotNull ByteBuffer data) {
+            this.width = width;
+            this.height = height;
+            this.data = data;
+        }
+
+        /**
+         * Get the width of the thumbnail.
+         *
+         * @return the width of the thumbnail.
+         */
+        @FromAnyThread
+        public int getWidth() {
+            return width;
+        }
+
+        /**
+         * Get the height of the thumbnail.
+         *
+         * @return the height of the thumbnail.
+         */
+        @FromAnyThread
+        public int getHeight() {
+            return height;
+        }
+
+        /**
+         * Get the pixels of the thumbnail, 4 bytes per pixel.
+         *
+         * @return the pixels of the thumbnail.
+         */
+        @FromAnyThread
+        public @NotNull ByteBuffer getData() {
+            return data;
+        }
+    }
+
+    /**
+     * Open the pack in the folder or create a new pack if it doesn't exist or is broken.
+     *
+     * @param folder the folder of the pack.
+     * @return the pack.
+     */
+    @FromAnyThread
+    public static @NotNull ThumbnailPack open(@NotNull Path folder) {
+
+        var pack = new ThumbnailPack(folder);
+
+        try {
+            Files.createDirectories(folder);
+            pack.load();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning(ThumbnailPack.class, "can't open the thumbnail pack " + folder + ": " + e.getMessage());
+            pack.reset();
+        }
+
+        EXECUTOR_MANAGER.submitBackgroundTask(pack::deleteUnusedPacks, TaskPriority.BULK);
+
+        return pack;
+    }
+
+    /**
+     * The folder of the pack.
+     */
+    @NotNull
+    private final Path folder;
+
+    /**
+     * The thumbnails by their keys.
+     */
+    @NotNull
+    private final Map<Key, Entry> entries;
+
+    /**
+     * True if the index is going to be saved.
+     */
+    @NotNull
+    private final AtomicBoolean saveScheduled;
+
+    /**
+     * The channel of the pack file.
+     */
+    @Nullable
+    private FileChannel channel;
+
+    /**
+     * The mapped content of the pack file.
+     */
+    @Nullable
+    private MappedByteBuffer mapped;
+
+    /**
+     * The generation of the pack file, it's increased by compaction.
+     */
+    private int generation;
+
+    /**
+     * The count of bytes of the pack file which aren't used by thumbnails.
+     */
+    private long garbage;
+
+    /**
+     * True if the compaction is going to be started.
+     */
+    private boolean compactionScheduled;
+
+    private ThumbnailPack(@NotNull Path folder) {
+        this.folder = folder;
+        this.entries = new HashMap<>();
+        this.saveScheduled = new AtomicBoolean();
+    }
+
+    /**
+     * Get a thumbnail of the file.
+     *
+     * @param path     the path of the file.
+     * @param width    the required width.
+     * @param height   the required height.
+     * @param modified the last modified time of the file or -1 to skip checking it.
+     * @return the thumbnail or null if it isn't in the pack or is outdated.
+     */
+    @FromAnyThread
+    public @Nullable Image get(@NotNull String path, int width, int height, long modified) {
+
+        var pixels = find(path, width, height, modified);
+
+        if (pixels == null) {
+            return null;
+        }
+
+        var imageWidth = pixels.width;
+        var imageHeight = pixels.height;
+
+        var image = new WritableImage(imageWidth, imageHeight);
+        image.getPixelWriter().setPixels(0, 0, imageWidth, imageHeight, PIXEL_FORMAT, pixels.data,
+                imageWidth * BYTES_PER_PIXEL);
+
+        return image;
+    }
+
+    /**
+     * Get raw pixels of a thumbnail of the file which were put by
+     * {@link #putPixels(String, int, int, long, ByteBuffer, int, int)}.
+     *
+     * @param path     the path of the file.
+     * @param width    the required width.
+     * @param height   the required height.
+     * @param modified the last modified time of the file or -1 to skip checking it.
+     * @return the copy of pixels or null if they aren't in the pack or are outdated.
+     */
+    @FromAnyThread
+    public @Nullable Pixels getPixels(@NotNull String path, int width, int height, long modified) {
+
+        var pixels = find(path, width, height, modified);
+
+        if (pixels == null) {
+            return null;
+        }
+
+        var data = ByteBuffer.allocate(pixels.data.remaining());
+        data.put(pixels.data);
+        data.flip();
+
+        return new Pixels(pixels.width, pixels.height, data);
+    }
+
+    /**
+     * Find pixels of a thumbnail of the file in the mapped pack file.
+     *
+     * @param path     the path of the file.
+     * @param width    the required width.
+     * @param height   the required height.
+     * @param modified the last modified time of the file or -1 to skip checking it.
+     * @return the mapped pixels or null if they aren't in the pack or are outdated.
+     */
+    @FromAnyThread
+    private @Nullable Pixels find(@NotNull String path, int width, int height, long modified) {
+
+        ByteBuffer pixels;
+        int imageWidth, imageHeight;
+
+        synchronized (this) {
+
+            var entry = entries.get(new Key(toHash(path), width, height));
+
+            if (entry == null || (modified != -1 && entry.modified < modified)) {
+                return null;
+            }
+
+            var buffer = getMapped(entry.offset + entry.getLength());
+
+            if (buffer == null) {
+                return null;
+            }
+
+            pixels = buffer.duplicate();
+            pixels.limit((int) (entry.offset + entry.getLength()));
+            pixels.position((int) entry.offset);
+            pixels = pixels.slice();
+
+            imageWidth = entry.imageWidth;
+            imageHeight = entry.imageHeight;
+
+            entry.lastAccess = System.currentTimeMillis();
+            scheduleSave();
+        }
+
+        return new Pixels(imageWidth, imageHeight, pixels);
+    }
+
+    /**
+     * Put the thumbnail of the file to the pack.
+     *
+     * @param path     the path of the file.
+     * @param width    the required width.
+     * @param height   the required height.
+     * @param modified the last modified time of the file or -1.
+     * @param image    the thumbnail.
+     */
+    @FromAnyThread
+    public void put(@NotNull String path, int width, int height, long modified, @NotNull Image image) {
+
+        var imageWidth = (int) image.getWidth();
+        var imageHeight = (int) image.getHeight();
+        var pixelReader = image.getPixelReader();
+
+        if (pixelReader == null || imageWidth < 1 || imageHeight < 1 || image.isError()) {
+            return;
+        }
+
+        var pixels = ByteBuffer.allocate(imageWidth * imageHeight * BYTES_PER_PIXEL);
+        pixelReader.getPixels(0, 0, imageWidth, imageHeight, PIXEL_FORMAT, pixels, imageWidth * BYTES_PER_PIXEL);
+        pixels.rewind();
+
+        write(path, width, height, modified, pixels, imageWidth, imageHeight);
+    }
+
+    /**
+     * Put raw pixels of a thumbnail of the file to the pack, the pack doesn't convert them, so they should be got
+     * by {@link #getPixels(String, int, int, long)}.
+     *
+     * @param path        the path of the file.
+     * @param width       the required width.
+     * @param height      the required height.
+     * @param modified    the last modified time of the file or -1.
+     * @param pixels      the pixels of the thumbnail, 4 bytes per pixel.
+     * @param imageWidth  the width of the thumbnail.
+     * @param imageHeight the height of the thumbnail.
+     */
+    @FromAnyThread
+    public void putPixels(
+            @NotNull String path,
+            int width,
+            int height,
+            long modified,
+            @NotNull ByteBuffer pixels,
+            int imageWidth,
+            int imageHeight
+    ) {
+
+        if (imageWidth < 1 || imageHeight < 1 || pixels.remaining() != imageWidth * imageHeight * BYTES_PER_PIXEL) {
+            return;
+        }
+
+        write(path, width, height, modified, pixels.slice(), imageWidth, imageHeight);
+    }
+
+    /**
+     * Write pixels of a thumbnail of the file to the end of the pack file.
+     *
+     * @param path        the path of the file.
+     * @param width       the required width.
+     * @param height      the required height.
+     * @param modified    the last modified time of the file or -1.
+     * @param pixels      the pixels of the thumbnail.
+     * @param imageWidth  the width of the thumbnail.
+     * @param imageHeight the height of the thumbnail.
+     */
+    @FromAnyThread
+    private void write(
+            @NotNull String path,
+            int width,
+            int height,
+            long modified,
+            @NotNull ByteBuffer pixels,
+            int imageWidth,
+            int imageHeight
+    ) {
+
+        synchronized (this) {
+
+            var channel = this.channel;
+
+            if (channel == null) {
+                return;
+            }
+
+            try {
+
+                var offset = channel.size();
+
+                while (pixels.hasRemaining()) {
+                    channel.write(pixels, offset + pixels.position());
+                }
+
+                var entry = new Entry(imageWidth, imageHeight, modified, offset, System.currentTimeMillis());
+                var prev = entries.put(new Key(toHash(path), width, height), entry);
+
+                if (prev != null) {
+                    garbage += prev.getLength();
+                }
+
+                scheduleSave();
+
+                var size = offset + entry.getLength();
+
+                if (size > MAX_PACK_SIZE || (size > MIN_COMPACTION_SIZE && garbage > size / 2)) {
+                    scheduleCompaction();
+                }
+
+            } catch (IOException e) {
+                LOGGER.warning(this, "can't write a thumbnail to the pack: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Get the mapped content of the pack file which contains the position.
+     *
+     * @param position the position.
+     * @return the mapped content or null.
+     */
+    @FromAnyThread
+    private @Nullable MappedByteBuffer getMapped(long position) {
+
+        var mapped = this.mapped;
+
+        if (mapped != null && mapped.capacity() >= position) {
+            return mapped;
+        }
+
+        var channel = this.channel;
+
+        if (channel == null) {
+            return null;
+        }
+
+        try {
+
+            var size = channel.size();
+
+            if (size < position || size > Integer.MAX_VALUE) {
+                return null;
+            }
+
+            this.mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+        } catch (IOException e) {
+            LOGGER.warning(this, "can't map the thumbnail pack: " + e.getMessage());
+            return null;
+        }
+
+        return this.mapped;
+    }
+
+    @FromAnyThread
+    private void scheduleSave() {
+        if (saveScheduled.compareAndSet(false, true)) {
+            EXECUTOR_MANAGER.schedule(() -> EXECUTOR_MANAGER.submitBackgroundTask(this::saveIndex,
+                    TaskPriority.BULK), SAVE_DELAY);
+        }
+    }
+
+    @FromAnyThread
+    private void scheduleCompaction() {
+        if (!compactionScheduled) {
+            compactionScheduled = true;
+            EXECUTOR_MANAGER.submitBackgroundTask(this::compact, TaskPriority.BULK);
+        }
+    }
+
+    /**
+     * Rewrite used thumbnails to a new pack file and evict the least recently used thumbnails if the pack is too
+     * big.
+     * <p>
+     * Thumbnails are copied without holding the lock of this pack, the new pack file is flushed to the disk before
+     * it's renamed and the lock is held only to switch to the new pack file.
+     */
+    @BackgroundThread
+    private void compact() {
+
+        FileChannel channel;
+        int newGeneration;
+
+        // the new offsets of copied thumbnails, entries are compared by identity
+        var copied = new LinkedHashMap<Entry, Long>();
+
+        synchronized (this) {
+
+            channel = this.channel;
+
+            if (channel == null) {
+                compactionScheduled = false;
+                return;
+            }
+
+            newGeneration = generation + 1;
+
+            var sorted = new ArrayList<>(entries.entrySet());
+            sorted.sort(Comparator.comparingLong(pathEntry -> -pathEntry.getValue().lastAccess));
+
+            var size = 0L;
+            var limit = MAX_PACK_SIZE * 3 / 4;
+
+            for (var pathEntry : sorted) {
+
+                var entry = pathEntry.getValue();
+                var length = entry.getLength();
+
+                if (size + length > limit) {
+                    entries.remove(pathEntry.getKey());
+                    continue;
+                }
+
+                copied.put(entry, size);
+                size += length;
+            }
+        }
+
+        var newFile = getPackFile(newGeneration);
+        var tempFile = folder.resolve(newFile.getFileName() + ".tmp");
+
+        try {
+
+            try (var newChannel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+
+                for (var entry : copied.keySet()) {
+                    transfer(channel, entry.offset, entry.getLength(), newChannel);
+                }
+
+                newChannel.force(true);
+            }
+
+            Files.move(tempFile, newFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException e) {
+            LOGGER.warning(this, "can't compact the thumbnail pack: " + e.getMessage());
+            deleteFile(tempFile);
+            finishCompaction();
+            return;
+        }
+
+        var oldFile = getPackFile(newGeneration - 1);
+
+        synchronized (this) {
+
+            FileChannel newChannel = null;
+            try {
+
+                // the pack was reset while thumbnails were copied
+                if (this.channel != channel) {
+                    deleteFile(newFile);
+                    return;
+                }
+
+                newChannel = openChannel(newFile);
+
+                var used = 0L;
+
+                for (var entry : entries.values()) {
+
+                    var offset = copied.get(entry);
+
+                    // the thumbnail was put while other thumbnails were copied
+                    if (offset == null) {
+                        offset = newChannel.size();
+                        newChannel.position(offset);
+                        transfer(channel, entry.offset, entry.getLength(), newChannel);
+                    }
+
+                    entry.offset = offset;
+                    used += entry.getLength();
+                }
+
+                close();
+
+                this.channel = newChannel;
+                this.generation = newGeneration;
+                this.garbage = Math.max(newChannel.size() - used, 0);
+
+            } catch (IOException e) {
+                LOGGER.warning(this, "can't open the thumbnail pack: " + e.getMessage());
+                closeChannel(newChannel);
+                reset();
+                return;
+            } finally {
+                compactionScheduled = false;
+            }
+        }
+
+        saveIndex();
+        deleteFile(oldFile);
+    }
+
+    @FromAnyThread
+    private static void closeChannel(@Nullable FileChannel channel) {
+
+        if (channel == null) {
+            return;
+        }
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.warning(ThumbnailPack.class, e);
+        }
+    }
+
+    @FromAnyThread
+    private synchronized void finishCompaction() {
+        compactionScheduled = false;
+    }
+
+    /**
+     * Copy bytes from the source channel to the current position of the target channel.
+     *
+     * @param source   the source channel.
+     * @param position the position in the source channel.
+     * @param length   the count of bytes.
+     * @param target   the target channel.
+     * @throws IOException if the bytes can't be copied.
+     */
+    @BackgroundThread
+    private static void transfer(
+            @NotNull FileChannel source,
+            long position,
+            long length,
+            @NotNull FileChannel target
+    ) throws IOException {
+        for (long copied = 0; copied < length; ) {
+
+            var count = source.transferTo(position + copied, length - copied, target);
+
+            if (count < 1) {
+                throw new IOException("unexpected end of the thumbnail pack");
+            }
+
+            copied += count;
+        }
+    }
+
+    /**
+     * Load the index and open the pack file.
+     *
+     * @throws IOException if the index or the pack file can't be read.
+     */
+    @FromAnyThread
+    private synchronized void load() throws IOException {
+
+        var indexFile = folder.resolve(INDEX_FILE);
+
+        if (!Files.exists(indexFile)) {
+            reset();
+            return;
+        }
+
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+
+            if (in.readInt() != VERSION) {
+                reset();
+                return;
+            }
+
+            generation = in.readInt();
+
+            var packFile = getPackFile(generation);
+
+            if (!Files.exists(packFile)) {
+                reset();
+                return;
+            }
+
+            var packSize = Files.size(packFile);
+            var used = 0L;
+
+            for (int i = 0, count = in.readInt(); i < count; i++) {
+
+                var key = new Key(in.readLong(), in.readInt(), in.readInt());
+                var entry = new Entry(in.readInt(), in.readInt(), in.readLong(), in.readLong(), in.readLong());
+
+                if (entry.offset + entry.getLength() <= packSize) {
+                    entries.put(key, entry);
+                    used += entry.getLength();
+                }
+            }
+
+            garbage = Math.max(packSize - used, 0);
+            channel = openChannel(packFile);
+        }
+    }
+
+    /**
+     * Save the index of the pack.
+     */
+    @BackgroundThread
+    private synchronized void saveIndex() {
+
+        saveScheduled.set(false);
+
+        if (channel == null) {
+            return;
+        }
+
+        var indexFile = folder.resolve(INDEX_FILE);
+        var tempFile = folder.resolve(INDEX_FILE + ".tmp");
+
+        try {
+
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+
+                out.writeInt(VERSION);
+                out.writeInt(generation);
+                out.writeInt(entries.size());
+
+                for (var pathEntry : entries.entrySet()) {
+
+                    var key = pathEntry.getKey();
+                    var entry = pathEntry.getValue();
+
+                    out.writeLong(key.hash);
+                    out.writeInt(key.width);
+                    out.writeInt(key.height);
+                    out.writeInt(entry.imageWidth);
+                    out.writeInt(entry.imageHeight);
+                    out.writeLong(entry.modified);
+                    out.writeLong(entry.offset);
+                    out.writeLong(entry.lastAccess);
+                }
+            }
+
+            Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+
+        } catch (IOException e) {
+            LOGGER.warning(this, "can't save the index of the thumbnail pack: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Drop all thumbnails and start a new pack file.
+     */
+    @FromAnyThread
+    private synchronized void reset() {
+
+        close();
+
+        entries.clear();
+        garbage = 0;
+        generation++;
+
+        var packFile = getPackFile(generation);
+
+        try {
+            Files.deleteIfExists(packFile);
+            channel = openChannel(packFile);
+        } catch (IOException e) {
+            LOGGER.warning(this, "can't create the thumbnail pack " + packFile + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Close the pack file, a mapped content stays available until it's collected.
+     */
+    @FromAnyThread
+    private void close() {
+
+        mapped = null;
+
+        var channel = this.channel;
+
+        if (channel == null) {
+            return;
+        }
+
+        this.channel = null;
+
+        closeChannel(channel);
+    }
+
+    /**
+     * Delete pack files of previous generations, they can be locked by mapping after compaction on some systems.
+     */
+    @BackgroundThread
+    private void deleteUnusedPacks() {
+
+        var currentFile = getPackFile(getGeneration());
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder, PACK_FILE_PREFIX + "*" + PACK_FILE_SUFFIX)) {
+            stream.forEach(file -> {
+                if (!file.equals(currentFile)) {
+                    deleteFile(file);
+                }
+            });
+        } catch (IOException e) {
+            LOGGER.warning(this, e);
+        }
+    }
+
+    @FromAnyThread
+    private synchronized int getGeneration() {
+        return generation;
+    }
+
+    @FromAnyThread
+    private @NotNull Path getPackFile(int generation) {
+        return folder.resolve(PACK_FILE_PREFIX + generation + PACK_FILE_SUFFIX);
+    }
+
+    @FromAnyThread
+    private static @NotNull FileChannel openChannel(@NotNull Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    @FromAnyThread
+    private static void deleteFile(@NotNull Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.debug(ThumbnailPack.class, "can't delete " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Calculate a 64 bit hash of the path.
+     *
+     * @param path the path.
+     * @return the hash.
+     */
+    @FromAnyThread
+    private static long toHash(@NotNull String path) {
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+
+        var bytes = digest.digest(path.getBytes(StandardCharsets.UTF_8));
+        var hash = 0L;
+
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash << 8) | (bytes[i] & 0xFF);
+        }
+
+        return hash;
+    }
+}
@@ -3,6 +3,7 @@ package com.ss.editor.util.svg;
 import static org.apache.batik.transcoder.SVGAbstractTranscoder.KEY_HEIGHT;
 import static org.apache.batik.transcoder.SVGAbstractTranscoder.KEY_WIDTH;
 import com.ss.editor.annotation.FxThread;
+import com.ss.editor.util.ThumbnailPack;
 import com.sun.javafx.iio.ImageFrame;
 import com.sun.javafx.iio.ImageStorage.ImageType;
 import de.codecentric.centerdevice.javafxsvg.BufferedImageTranscoder;
@@ -28,6 +29,18 @@ public class SvgImageLoader extends de.codecentric.centerdevice.javafxsvg.SvgIma
     @NotNull
     public static final ThreadLocal<Color> OVERRIDE_COLOR = new ThreadLocal<>();
 
+    /**
+     * The atlas to store rasterized images, images aren't stored if it's null.
+     */
+    @NotNull
+    public static final ThreadLocal<ThumbnailPack> ATLAS = new ThreadLocal<>();
+
+    /**
+     * The key of the loaded image in the atlas, the render scale is added to the key by this loader.
+     */
+    @NotNull
+    public static final ThreadLocal<String> ATLAS_KEY = new ThreadLocal<>();
+
     private static final int DEFAULT_SIZE = 400;
     private static final int BYTES_PER_PIXEL = 4; // RGBA
 
@@ -64,11 +77,23 @@ public class SvgImageLoader extends de.codecentric.centerdevice.javafxsvg.SvgIma
         var imageWidth = width > 0 ? width : DEFAULT_SIZE;
         var imageHeight = height > 0 ? height : DEFAULT_SIZE;
 
-        try {
-            return createImageFrame(imageWidth, imageHeight, getPixelScale());
-        } catch (final TranscoderException ex) {
-            throw new IOException(ex);
+        var pixelScale = getPixelScale();
+        var atlas = ATLAS.get();
+        var atlasKey = ATLAS_KEY.get();
+
+        if (atlas == null || atlasKey == null) {
+            return createImageFrame(imageWidth, imageHeight, pixelScale, null, null);
         }
+
+        // the atlas keeps physical pixels, so images for screens with other render scales are different entries
+        var key = atlasKey + '@' + pixelScale;
+        var cached = atlas.getPixels(key, imageWidth, imageHeight, -1);
+
+        if (cached != null) {
+            return createImageFrame(cached.getData(), cached.getWidth(), cached.getHeight(), pixelScale);
+        }
+
+        return createImageFrame(imageWidth, imageHeight, pixelScale, atlas, key);
     }
 
     @Override
@@ -85,15 +110,60 @@ public class SvgImageLoader extends de.codecentric.centerdevice.javafxsvg.SvgIma
         return maxRenderScale;
     }
 
+    /**
+     * Rasterize the image and put its pixels to the atlas.
+     *
+     * @param width      the logical width.
+     * @param height     the logical height.
+     * @param pixelScale the scale of pixels.
+     * @param atlas      the atlas or null.
+     * @param key        the key in the atlas or null.
+     * @return the image frame.
+     * @throws IOException if the image can't be rasterized.
+     */
     @FxThread
-    private @NotNull ImageFrame createImageFrame(int width, int height, float pixelScale)
-            throws TranscoderException {
+    private @NotNull ImageFrame createImageFrame(
+            int width,
+            int height,
+            float pixelScale,
+            @Nullable ThumbnailPack atlas,
+            @Nullable String key
+    ) throws IOException {
+
+        BufferedImage bufferedImage;
+        try {
+            bufferedImage = getTranscodedImage(width * pixelScale, height * pixelScale);
+        } catch (final TranscoderException ex) {
+            throw new IOException(ex);
+        }
 
-        var bufferedImage = getTranscodedImage(width * pixelScale, height * pixelScale);
         var imageData = getImageData(bufferedImage);
 
-        return new FixedPixelDensityImageFrame(ImageType.RGBA, imageData, bufferedImage.getWidth(),
-                bufferedImage.getHeight(), getStride(bufferedImage), null, pixelScale, null);
+        if (atlas != null && key != null) {
+            atlas.putPixels(key, width, height, -1, imageData, bufferedImage.getWidth(), bufferedImage.getHeight());
+        }
+
+        return createImageFrame(imageData, bufferedImage.getWidth(), bufferedImage.getHeight(), pixelScale);
+    }
+
+    /**
+     * Create an image frame of rasterized RGBA pixels.
+     *
+     * @param imageData  the RGBA pixels.
+     * @param width      the physical width.
+     * @param height     the physical height.
+     * @param pixelScale the scale of pixels.
+     * @return the image frame.
+     */
+    @FxThread
+    private @NotNull ImageFrame createImageFrame(
+            @NotNull ByteBuffer imageData,
+            int width,
+            int height,
+            float pixelScale
+    ) {
+        return new FixedPixelDensityImageFrame(ImageType.RGBA, imageData, width, height, width * BYTES_PER_PIXEL,
+                null, pixelScale, null);
     }
 
     @FxThread
@@ -0,0 +1,419 @@
+package com.ss.editor.test.benchmark;
+
+import com.ss.editor.executor.TaskPriority;
+import com.ss.editor.executor.impl.AbstractEditorTaskExecutor;
+import com.ss.editor.executor.impl.BackgroundEditorTaskExecutor;
+import com.ss.editor.executor.impl.JmeThreadExecutor;
+import com.ss.editor.executor.statistics.ExecutorStatistics;
+import com.ss.rlib.common.concurrent.util.ConcurrentUtils;
+import com.ss.rlib.common.util.ArrayUtils;
+import com.ss.rlib.common.util.array.Array;
+import com.ss.rlib.common.util.array.ArrayFactory;
+import com.ss.rlib.common.util.array.ConcurrentArray;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The benchmark of submitting, draining and waking up of the editor executors: the background executor, the jME
+ * thread executor and an executor with own thread which is the base of the FX executor. Round trips measure the
+ * latency of waking up a sleeping executor, batches measure the throughput of enqueuing and draining.
+ * <p>
+ * The baseline is the previous implementation: the write-locked concurrent array of tasks and the thread which
+ * sleeps by the synchronized wait, it's measured by the same round trips and batches and by the bare queues.
+ *
+ * @author JavaSaBr
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutorQueueBenchmark {
+
+    /**
+     * The count of tasks in a batch.
+     */
+    private static final int BATCH_SIZE = 1000;
+
+    @NotNull
+    private static final Runnable TASK = () -> {};
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ExecutorQueueBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    /**
+     * The executor with own thread which executes tasks in the same thread like the FX executor does in the FX
+     * thread, the FX platform isn't required to run it.
+     */
+    private static class OwnThreadExecutor extends AbstractEditorTaskExecutor {
+
+        OwnThreadExecutor() {
+            super(new ExecutorStatistics("Benchmark", 100, TimeUnit.MILLISECONDS));
+            setName(OwnThreadExecutor.class.getSimpleName());
+            setDaemon(true);
+            start();
+        }
+
+        @Override
+        protected void doExecute(@NotNull Array<Runnable> execute) {
+            execute.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * The executor with own thread like the previous implementation: tasks are added to the write-locked
+     * concurrent array and the sleeping thread is woken up by notifying in the synchronized block.
+     */
+    private static class LockedArrayExecutor extends Thread {
+
+        /**
+         * The array of tasks to execute.
+         */
+        @NotNull
+        private final ConcurrentArray<Runnable> waitTasks;
+
+        /**
+         * The task list to execute for each iteration.
+         */
+        @NotNull
+        private final Array<Runnable> execute;
+
+        /**
+         * Is this executor waiting new tasks.
+         */
+        @NotNull
+        private final AtomicBoolean wait;
+
+        /**
+         * True if this executor is shut down.
+         */
+        private volatile boolean shutdown;
+
+        LockedArrayExecutor() {
+            this.waitTasks = ArrayFactory.newConcurrentAtomicARSWLockArray(Runnable.class);
+            this.execute = ArrayFactory.newArray(Runnable.class);
+            this.wait = new AtomicBoolean(false);
+            setName(LockedArrayExecutor.class.getSimpleName());
+            setDaemon(true);
+            start();
+        }
+
+        void execute(@NotNull Runnable task) {
+            ArrayUtils.runInWriteLock(waitTasks, task, Array::add);
+            wakeUp();
+        }
+
+        void shutdown() {
+            shutdown = true;
+            wakeUp();
+        }
+
+        private void wakeUp() {
+
+            if (!wait.get()) {
+                return;
+            }
+
+            synchronized (wait) {
+                if (wait.compareAndSet(true, false)) {
+                    ConcurrentUtils.notifyAllInSynchronize(wait);
+                }
+            }
+        }
+
+        private void drainWaitTasks(@NotNull ConcurrentArray<Runnable> waitTasks, @NotNull Array<Runnable> execute) {
+            if (waitTasks.isEmpty()) {
+                wait.set(true);
+            } else {
+                ArrayUtils.move(waitTasks, execute);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (!shutdown) {
+
+                execute.clear();
+
+                ArrayUtils.runInWriteLock(waitTasks, execute, this::drainWaitTasks);
+
+                if (wait.get()) {
+                    synchronized (wait) {
+                        if (wait.get() && !shutdown) {
+                            ConcurrentUtils.waitInSynchronize(wait);
+                        }
+                    }
+                }
+
+                execute.forEach(Runnable::run);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BackgroundState {
+
+        /**
+         * The count of workers of the background executor.
+         */
+        @Param({"2", "4"})
+        private int workers;
+
+        private BackgroundEditorTaskExecutor executor;
+
+        @Setup
+        public void setUp() {
+            executor = new BackgroundEditorTaskExecutor(workers);
+        }
+
+        @TearDown
+        public void tearDown() {
+            executor.shutdown();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class OwnThreadState {
+
+        private OwnThreadExecutor executor;
+
+        @Setup
+        public void setUp() {
+            executor = new OwnThreadExecutor();
+        }
+
+        @TearDown
+        public void tearDown() {
+            executor.shutdown();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class LockedArrayState {
+
+        private LockedArrayExecutor executor;
+
+        @Setup
+        public void setUp() {
+            executor = new LockedArrayExecutor();
+        }
+
+        @TearDown
+        public void tearDown() {
+            executor.shutdown();
+        }
+    }
+
+    @State(Scope.Group)
+    public static class QueueState {
+
+        /**
+         * The lock-free queue of the current executors.
+         */
+        private ConcurrentLinkedQueue<Runnable> queue;
+
+        /**
+         * The write-locked array of the previous executors.
+         */
+        private ConcurrentArray<Runnable> lockedArray;
+
+        /**
+         * The array to drain tasks from the write-locked array.
+         */
+        private Array<Runnable> execute;
+
+        @Setup
+        public void setUp() {
+            queue = new ConcurrentLinkedQueue<>();
+            lockedArray = ArrayFactory.newConcurrentAtomicARSWLockArray(Runnable.class);
+            execute = ArrayFactory.newArray(Runnable.class);
+        }
+    }
+
+    @State(Scope.Group)
+    public static class JmeState {
+
+        /**
+         * The count of executed tasks.
+         */
+        private LongAdder executed;
+
+        private Runnable task;
+
+        private JmeThreadExecutor executor;
+
+        @Setup
+        public void setUp() {
+            executed = new LongAdder();
+            task = executed::increment;
+            executor = JmeThreadExecutor.getInstance();
+            executor.setFrameBudget(0);
+        }
+
+        @TearDown
+        public void tearDown() {
+            executor.execute();
+        }
+    }
+
+    /**
+     * Submit a task to a sleeping background worker and wait for its execution.
+     */
+    @Benchmark
+    public void backgroundRoundTrip(@NotNull BackgroundState state) throws InterruptedException {
+        var latch = new CountDownLatch(1);
+        state.executor.execute(latch::countDown);
+        latch.await();
+    }
+
+    /**
+     * Submit a batch of tasks from an external thread and wait for their execution.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void backgroundBatch(@NotNull BackgroundState state) throws InterruptedException {
+
+        var latch = new CountDownLatch(BATCH_SIZE);
+        Runnable task = latch::countDown;
+
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            state.executor.execute(task, TaskPriority.NORMAL);
+        }
+
+        latch.await();
+    }
+
+    /**
+     * Submit a task to the sleeping thread of an executor and wait for its execution.
+     */
+    @Benchmark
+    public void ownThreadRoundTrip(@NotNull OwnThreadState state) throws InterruptedException {
+        var latch = new CountDownLatch(1);
+        state.executor.execute(latch::countDown);
+        latch.await();
+    }
+
+    /**
+     * Submit a batch of tasks to the thread of an executor and wait for their execution.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void ownThreadBatch(@NotNull OwnThreadState state) throws InterruptedException {
+
+        var latch = new CountDownLatch(BATCH_SIZE);
+        Runnable task = latch::countDown;
+
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            state.executor.execute(task);
+        }
+
+        latch.await();
+    }
+
+    /**
+     * Submit a task to the sleeping thread of the previous executor and wait for its execution.
+     */
+    @Benchmark
+    public void lockedArrayRoundTrip(@NotNull LockedArrayState state) throws InterruptedException {
+        var latch = new CountDownLatch(1);
+        state.executor.execute(latch::countDown);
+        latch.await();
+    }
+
+    /**
+     * Submit a batch of tasks to the thread of the previous executor and wait for their execution.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void lockedArrayBatch(@NotNull LockedArrayState state) throws InterruptedException {
+
+        var latch = new CountDownLatch(BATCH_SIZE);
+        Runnable task = latch::countDown;
+
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            state.executor.execute(task);
+        }
+
+        latch.await();
+    }
+
+    @Benchmark
+    @Group("lockFree")
+    @GroupThreads(3)
+    public void submitLockFree(@NotNull QueueState state) {
+        state.queue.offer(TASK);
+    }
+
+    @Benchmark
+    @Group("lockFree")
+    @GroupThreads(1)
+    public void drainLockFree(@NotNull QueueState state, @NotNull Blackhole blackhole) {
+        var queue = state.queue;
+        for (var task = queue.poll(); task != null; task = queue.poll()) {
+            blackhole.consume(task);
+        }
+    }
+
+    @Benchmark
+    @Group("lockedArray")
+    @GroupThreads(3)
+    public void submitLockedArray(@NotNull QueueState state) {
+        ArrayUtils.runInWriteLock(state.lockedArray, TASK, Array::add);
+    }
+
+    @Benchmark
+    @Group("lockedArray")
+    @GroupThreads(1)
+    public void drainLockedArray(@NotNull QueueState state, @NotNull Blackhole blackhole) {
+
+        var lockedArray = state.lockedArray;
+
+        if (lockedArray.isEmpty()) {
+            return;
+        }
+
+        var execute = state.execute;
+
+        ArrayUtils.runInWriteLock(lockedArray, execute, ArrayUtils::move);
+        try {
+            execute.forEach(blackhole::consume);
+        } finally {
+            execute.clear();
+        }
+    }
+
+    /**
+     * Submit tasks to the jME executor from several threads.
+     */
+    @Benchmark
+    @Group("jme")
+    @GroupThreads(3)
+    public void jmeSubmit(@NotNull JmeState state) {
+        state.executor.addToExecute(state.task);
+    }
+
+    /**
+     * Execute submitted tasks like the jME thread does in each frame.
+     */
+    @Benchmark
+    @Group("jme")
+    @GroupThreads(1)
+    public void jmeFrame(@NotNull JmeState state, @NotNull Blackhole blackhole) {
+        state.executor.execute();
+        blackhole.consume(state.executed.sum());
+    }
+}
@@ -0,0 +1,86 @@
+package com.ss.editor.test.benchmark;
+
+import com.ss.editor.util.ImageUtils;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark to compare scaling decoded pixels of textures to previews by the array based downscaler and
+ * the previous AWT based scaling.
+ *
+ * @author JavaSaBr
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImageScaleBenchmark {
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ImageScaleBenchmark.class.getSimpleName())
+                .jvmArgs("-Djava.awt.headless=true")
+                .build())
+                .run();
+    }
+
+    /**
+     * The size of a source texture.
+     */
+    @Param({"512", "2048", "4096"})
+    private int size;
+
+    /**
+     * The size of a preview.
+     */
+    @Param({"32", "256"})
+    private int targetSize;
+
+    /**
+     * The ARGB pixels of a source texture.
+     */
+    private int[] pixels;
+
+    @Setup
+    public void setUp() {
+
+        var random = new Random(1);
+
+        pixels = new int[size * size];
+
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = random.nextInt();
+        }
+    }
+
+    @Benchmark
+    public @NotNull int[] arrayDownscaler() {
+        return ImageUtils.scaleToFit(pixels, size, size, targetSize, targetSize);
+    }
+
+    @Benchmark
+    public @NotNull BufferedImage awtScaledInstance() {
+
+        var read = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        read.setRGB(0, 0, size, size, pixels, 0, size);
+
+        var newImage = read.getScaledInstance(targetSize, targetSize, Image.SCALE_DEFAULT);
+        var bufferedImage = new BufferedImage(targetSize, targetSize, BufferedImage.TYPE_INT_ARGB);
+
+        var g2d = bufferedImage.createGraphics();
+        g2d.drawImage(newImage, 0, 0, null);
+        g2d.dispose();
+
+        return bufferedImage;
+    }
+}
@@ -0,0 +1,108 @@
+package com.ss.editor.test.classpath;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.ss.editor.classpath.ClassInfo;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+/**
+ * The test to check reading infos about classes from compiled class files.
+ */
+public class ClassInfoTest {
+
+    /**
+     * The fixture with different kinds of constants in the constant pool.
+     */
+    public static abstract class Fixture extends ArrayList<String> implements Runnable, Supplier<String> {
+
+        public static final long LONG_CONSTANT = Long.MAX_VALUE - 1;
+        public static final double DOUBLE_CONSTANT = Math.PI;
+
+        private long value = System.nanoTime();
+        private double scale = value * DOUBLE_CONSTANT;
+
+        @Override
+        public @NotNull String get() {
+            Supplier<String> supplier = () -> "value " + value + " " + scale + " " + LONG_CONSTANT;
+            return supplier.get();
+        }
+    }
+
+    /**
+     * The fixture of an interface.
+     */
+    public interface FixtureInterface extends Runnable, Serializable {
+    }
+
+    @Test
+    public void parseClass() throws IOException {
+
+        var info = parse(Fixture.class);
+
+        assertEquals(Fixture.class.getName(), info.getName());
+        assertEquals(ArrayList.class.getName(), info.getSuperName());
+        assertArrayEquals(new String[] {Runnable.class.getName(), Supplier.class.getName()}, info.getInterfaces());
+        assertTrue(info.isAbstract());
+        assertFalse(info.isInterface());
+    }
+
+    @Test
+    public void parseInterface() throws IOException {
+
+        var info = parse(FixtureInterface.class);
+
+        assertEquals(FixtureInterface.class.getName(), info.getName());
+        assertEquals(Object.class.getName(), info.getSuperName());
+        assertArrayEquals(new String[] {Runnable.class.getName(), Serializable.class.getName()}, info.getInterfaces());
+        assertTrue(info.isInterface());
+    }
+
+    @Test
+    public void parseTestClass() throws IOException {
+
+        var info = parse(ClassInfoTest.class);
+
+        assertEquals(ClassInfoTest.class.getName(), info.getName());
+        assertEquals(Object.class.getName(), info.getSuperName());
+        assertArrayEquals(new String[0], info.getInterfaces());
+        assertFalse(info.isAbstract());
+    }
+
+    @Test
+    public void parseObject() throws IOException {
+
+        var info = parse(Object.class);
+
+        assertEquals(Object.class.getName(), info.getName());
+        assertNull(info.getSuperName());
+    }
+
+    @Test
+    public void parseNotClassFile() throws IOException {
+        assertNull(ClassInfo.parse(new ByteArrayInputStream(new byte[] {1, 2, 3, 4})));
+    }
+
+    private static @NotNull ClassInfo parse(@NotNull Class<?> type) throws IOException {
+
+        var name = type.getName();
+        var resource = name.substring(name.lastIndexOf('.') + 1) + ".class";
+
+        try (var stream = type.getResourceAsStream(resource)) {
+            assertNotNull(stream, "the class file of " + name);
+            var info = ClassInfo.parse(stream);
+            assertNotNull(info);
+            return info;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.ss.editor.test.file.reader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.jme3.export.InputCapsule;
+import com.jme3.export.JmeExporter;
+import com.jme3.export.JmeImporter;
+import com.jme3.export.OutputCapsule;
+import com.jme3.export.Savable;
+import com.jme3.export.binary.BinaryExporter;
+import com.jme3.util.IntMap;
+import com.ss.editor.file.reader.AssetReferenceReader;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * The test to check reading references to assets from j3o and text files.
+ */
+public class AssetReferenceReaderTest {
+
+    /**
+     * The savable with a few references and not referenced values of different types.
+     */
+    public static class TestSavable implements Savable {
+
+        private String reference;
+        private String[] references;
+        private Map<String, Savable> stringMap;
+        private IntMap<Savable> intMap;
+        private Savable child;
+
+        public TestSavable() {
+            this.stringMap = new HashMap<>();
+            this.intMap = new IntMap<>();
+        }
+
+        private TestSavable(@NotNull String reference) {
+            this();
+            this.reference = reference;
+        }
+
+        @Override
+        public void write(@NotNull JmeExporter ex) throws IOException {
+            var capsule = ex.getCapsule(this);
+            capsule.write(5, "count", 0);
+            capsule.write(1.5F, "scale", 0F);
+            capsule.write(new float[] {1F, 2F, 3F}, "vector", null);
+            capsule.write(true, "enabled", false);
+            capsule.write(reference, "reference", null);
+            capsule.write(references, "references", null);
+            capsule.write(new long[] {1L, 2L}, "ids", null);
+            capsule.write(child, "child", null);
+            capsule.writeStringSavableMap(stringMap, "stringMap", null);
+            capsule.writeIntSavableMap(intMap, "intMap", null);
+            capsule.write("not a reference", "name", null);
+        }
+
+        @Override
+        public void read(@NotNull JmeImporter im) throws IOException {
+            InputCapsule capsule = im.getCapsule(this);
+            reference = capsule.readString("reference", null);
+        }
+    }
+
+    private Path folder;
+
+    @BeforeEach
+    public void createFolder() throws IOException {
+        folder = Files.createTempDirectory("asset-reference-reader");
+    }
+
+    @AfterEach
+    public void deleteFolder() throws IOException {
+        try (Stream<Path> files = Files.walk(folder)) {
+            files.sorted((first, second) -> second.compareTo(first))
+                    .forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    public void readStrings() throws IOException {
+
+        var savable = new TestSavable("Textures/Diffuse Map.png");
+        savable.references = new String[] {"Materials/Ground.j3m", "name", "Sounds/Step.ogg"};
+
+        assertEquals(references("Textures/Diffuse Map.png", "Materials/Ground.j3m", "Sounds/Step.ogg"),
+                AssetReferenceReader.read(save(savable)));
+    }
+
+    @Test
+    public void readNestedSavables() throws IOException {
+
+        var savable = new TestSavable("MatDefs/Custom.j3md");
+        savable.child = new TestSavable("Models/Tree.j3o");
+        savable.stringMap.put("first", new TestSavable("Textures/First.jpg"));
+        savable.stringMap.put("second", new TestSavable("Shaders/Second.frag"));
+        savable.intMap.put(1, new TestSavable("Textures/Third.dds"));
+        savable.intMap.put(2, new TestSavable("Shaders/Fourth.vert"));
+
+        assertEquals(references("MatDefs/Custom.j3md", "Models/Tree.j3o", "Textures/First.jpg",
+                "Shaders/Second.frag", "Textures/Third.dds", "Shaders/Fourth.vert"),
+                AssetReferenceReader.read(save(savable)));
+    }
+
+    @Test
+    public void readSharedSavable() throws IOException {
+
+        var shared = new TestSavable("Textures/Shared.png");
+
+        var savable = new TestSavable();
+        savable.child = shared;
+        savable.stringMap.put("shared", shared);
+        savable.intMap.put(1, shared);
+
+        assertEquals(references("Textures/Shared.png"), AssetReferenceReader.read(save(savable)));
+    }
+
+    @Test
+    public void readText() throws IOException {
+
+        var file = folder.resolve("Test.j3m");
+
+        Files.write(file, Arrays.asList(
+                "Material Test : MatDefs/Custom.j3md {",
+                "    MaterialParameters {",
+                "        DiffuseMap : Repeat Textures/Ground.jpg",
+                "        Color : 1 1 1 1",
+                "    }",
+                "}"));
+
+        assertEquals(references("MatDefs/Custom.j3md", "Textures/Ground.jpg"), AssetReferenceReader.read(file));
+    }
+
+    @Test
+    public void readBrokenBinary() throws IOException {
+
+        var file = save(new TestSavable("Textures/Diffuse Map.png"));
+        var content = Files.readAllBytes(file);
+
+        Files.write(file, Arrays.copyOf(content, content.length / 2));
+
+        assertThrows(IOException.class, () -> AssetReferenceReader.read(file));
+    }
+
+    @Test
+    public void replaceReferences() {
+
+        var content = "DiffuseMap : Textures/Ground.jpg\nNormalMap : Textures/Ground.jpg.bak\n";
+
+        assertEquals("DiffuseMap : Textures/Grass.jpg\nNormalMap : Textures/Ground.jpg.bak\n",
+                AssetReferenceReader.replaceReferences(content, "Textures/Ground.jpg", "Textures/Grass.jpg", false));
+        assertEquals("DiffuseMap : Ground/Ground.jpg\nNormalMap : Ground/Ground.jpg.bak\n",
+                AssetReferenceReader.replaceReferences(content, "Textures", "Ground", true));
+    }
+
+    @Test
+    public void supportedExtensions() {
+        assertTrue(AssetReferenceReader.isSupported("j3o"));
+        assertTrue(AssetReferenceReader.isTextSupported("j3m"));
+        assertTrue(AssetReferenceReader.isTextSupported("j3md"));
+    }
+
+    private @NotNull Path save(@NotNull Savable savable) throws IOException {
+        var file = folder.resolve("Test.j3o");
+        BinaryExporter.getInstance().save(savable, file.toFile());
+        return file;
+    }
+
+    private static @NotNull Set<String> references(@NotNull String... references) {
+        return new HashSet<>(Arrays.asList(references));
+    }
+}
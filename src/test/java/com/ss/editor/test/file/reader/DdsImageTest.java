@@ -0,0 +1,364 @@
+package com.ss.editor.test.file.reader;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import com.ss.editor.file.reader.DdsImage;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The test to check decoding BC7 blocks of DDS images.
+ * <p>
+ * Blocks are written bit by bit in the order of the BC7 specification, expected pixels are interpolated from
+ * endpoints which are expanded to 8 bits by hand.
+ */
+public class DdsImageTest {
+
+    private static final int DXGI_FORMAT_BC7_UNORM = 98;
+
+    private static final int[] WEIGHTS_2 = {0, 21, 43, 64};
+    private static final int[] WEIGHTS_3 = {0, 9, 18, 27, 37, 46, 55, 64};
+    private static final int[] WEIGHTS_4 = {0, 4, 9, 13, 17, 21, 26, 30, 34, 38, 43, 47, 51, 55, 60, 64};
+
+    /**
+     * The subsets of the 2-subset partition 13.
+     */
+    private static final int[] PARTITION_2_13 = {0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1};
+
+    /**
+     * The subsets of the 2-subset partition 17.
+     */
+    private static final int[] PARTITION_2_17 = {0, 1, 1, 1, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0};
+
+    /**
+     * The subsets of the 3-subset partition 0.
+     */
+    private static final int[] PARTITION_3_0 = {0, 0, 1, 1, 0, 0, 1, 1, 0, 2, 2, 1, 2, 2, 2, 2};
+
+    /**
+     * The subsets of the 3-subset partition 1.
+     */
+    private static final int[] PARTITION_3_1 = {0, 0, 0, 1, 0, 0, 1, 1, 2, 2, 1, 1, 2, 2, 2, 1};
+
+    /**
+     * The writer of bits of a BC7 block.
+     */
+    private static class BlockWriter {
+
+        @NotNull
+        private final byte[] data;
+
+        private int position;
+
+        private BlockWriter(int mode) {
+            this.data = new byte[16];
+            write(mode + 1, 1 << mode);
+        }
+
+        private @NotNull BlockWriter write(int bits, @NotNull int... values) {
+
+            for (var value : values) {
+                for (int bit = 0; bit < bits; bit++, position++) {
+                    if ((value >> bit & 1) != 0) {
+                        data[position >> 3] |= 1 << (position & 7);
+                    }
+                }
+            }
+
+            return this;
+        }
+
+        private @NotNull BlockWriter indexes(int bits, @NotNull int... anchors) {
+
+            for (int i = 0; i < 16; i++) {
+                var anchor = isAnchor(i, anchors);
+                write(anchor ? bits - 1 : bits, index(i, bits, anchor));
+            }
+
+            return this;
+        }
+
+        private @NotNull byte[] toArray() {
+            assertEquals(128, position, "the size of the block");
+            return data;
+        }
+    }
+
+    @Test
+    public void decodeMode0() throws IOException {
+
+        var block = new BlockWriter(0)
+                .write(4, 0)
+                .write(4, 0, 15, 15, 0, 8, 4)
+                .write(4, 0, 15, 3, 12, 15, 15)
+                .write(4, 15, 0, 0, 0, 1, 14)
+                .write(1, 0, 1, 1, 0, 0, 1)
+                .indexes(3, 0, 3, 15)
+                .toArray();
+
+        var endpoints = new int[][][] {
+                {{0, 0, 247, 255}, {255, 255, 8, 255}},
+                {{255, 57, 8, 255}, {0, 198, 0, 255}},
+                {{132, 247, 16, 255}, {74, 255, 239, 255}}
+        };
+
+        assertArrayEquals(expected(PARTITION_3_0, endpoints, 3, 0, 3, 15), decode(block));
+    }
+
+    @Test
+    public void decodeMode1() throws IOException {
+
+        var block = new BlockWriter(1)
+                .write(6, 13)
+                .write(6, 0, 63, 32, 1)
+                .write(6, 10, 20, 0, 63)
+                .write(6, 63, 0, 5, 40)
+                .write(1, 1, 0)
+                .indexes(3, 0, 15)
+                .toArray();
+
+        var endpoints = new int[][][] {
+                {{2, 42, 255, 255}, {255, 82, 2, 255}},
+                {{129, 0, 20, 255}, {4, 253, 161, 255}}
+        };
+
+        assertArrayEquals(expected(PARTITION_2_13, endpoints, 3, 0, 15), decode(block));
+    }
+
+    @Test
+    public void decodeMode2() throws IOException {
+
+        var block = new BlockWriter(2)
+                .write(6, 1)
+                .write(5, 31, 0, 1, 30, 10, 5)
+                .write(5, 0, 31, 2, 29, 20, 15)
+                .write(5, 16, 8, 3, 28, 0, 25)
+                .indexes(2, 0, 3, 8)
+                .toArray();
+
+        var endpoints = new int[][][] {
+                {{255, 0, 132, 255}, {0, 255, 66, 255}},
+                {{8, 16, 24, 255}, {247, 239, 231, 255}},
+                {{82, 165, 0, 255}, {41, 123, 206, 255}}
+        };
+
+        assertArrayEquals(expected(PARTITION_3_1, endpoints, 2, 0, 3, 8), decode(block));
+    }
+
+    @Test
+    public void decodeMode3() throws IOException {
+
+        var block = new BlockWriter(3)
+                .write(6, 17)
+                .write(7, 0, 127, 100, 1)
+                .write(7, 64, 0, 50, 2)
+                .write(7, 127, 1, 25, 3)
+                .write(1, 0, 1, 1, 0)
+                .indexes(2, 0, 2)
+                .toArray();
+
+        var endpoints = new int[][][] {
+                {{0, 128, 254, 255}, {255, 1, 3, 255}},
+                {{201, 101, 51, 255}, {2, 4, 6, 255}}
+        };
+
+        assertArrayEquals(expected(PARTITION_2_17, endpoints, 2, 0, 2), decode(block));
+    }
+
+    @Test
+    public void decodeMode4() throws IOException {
+
+        // the rotation swaps red and alpha, the index selection takes colors from the 3-bit indexes
+        var block = new BlockWriter(4)
+                .write(2, 1)
+                .write(1, 1)
+                .write(5, 31, 0)
+                .write(5, 0, 31)
+                .write(5, 10, 20)
+                .write(6, 16, 63)
+                .indexes(2, 0)
+                .indexes(3, 0)
+                .toArray();
+
+        var first = new int[] {255, 0, 82, 65};
+        var second = new int[] {0, 255, 165, 255};
+        var expected = new int[16];
+
+        for (int i = 0; i < 16; i++) {
+            var pixel = interpolate(first, second, weight(3, index(i, 3, i == 0)), weight(2, index(i, 2, i == 0)));
+            expected[i] = swap(pixel, 16);
+        }
+
+        assertArrayEquals(expected, decode(block));
+    }
+
+    @Test
+    public void decodeMode5() throws IOException {
+
+        // the rotation swaps green and alpha
+        var block = new BlockWriter(5)
+                .write(2, 2)
+                .write(7, 127, 0)
+                .write(7, 0, 127)
+                .write(7, 64, 32)
+                .write(8, 200, 10)
+                .indexes(2, 0)
+                .write(1, 1)
+                .write(2, 2, 1, 0, 3, 2, 1, 0, 3, 2, 1, 0, 3, 2, 1, 0)
+                .toArray();
+
+        var first = new int[] {255, 0, 129, 200};
+        var second = new int[] {0, 255, 64, 10};
+        var expected = new int[16];
+
+        for (int i = 0; i < 16; i++) {
+            var pixel = interpolate(first, second, weight(2, index(i, 2, i == 0)), WEIGHTS_2[i == 0 ? 1 : 3 - i % 4]);
+            expected[i] = swap(pixel, 8);
+        }
+
+        assertArrayEquals(expected, decode(block));
+    }
+
+    @Test
+    public void decodeMode6() throws IOException {
+
+        var block = new BlockWriter(6)
+                .write(7, 0, 127)
+                .write(7, 0, 64)
+                .write(7, 127, 0)
+                .write(7, 127, 127)
+                .write(1, 0, 1)
+                .indexes(4, 0)
+                .toArray();
+
+        var endpoints = new int[][][] {
+                {{0, 0, 254, 254}, {255, 129, 1, 255}}
+        };
+
+        assertArrayEquals(expected(new int[16], endpoints, 4, 0), decode(block));
+    }
+
+    @Test
+    public void decodeMode7() throws IOException {
+
+        var block = new BlockWriter(7)
+                .write(6, 13)
+                .write(5, 31, 0, 10, 20)
+                .write(5, 0, 31, 10, 0)
+                .write(5, 0, 0, 10, 31)
+                .write(5, 31, 16, 0, 31)
+                .write(1, 1, 0, 0, 1)
+                .indexes(2, 0, 15)
+                .toArray();
+
+        var endpoints = new int[][][] {
+                {{255, 4, 4, 255}, {0, 251, 0, 130}},
+                {{81, 81, 81, 0}, {166, 4, 255, 255}}
+        };
+
+        assertArrayEquals(expected(PARTITION_2_13, endpoints, 2, 0, 15), decode(block));
+    }
+
+    @Test
+    public void decodeReservedMode() throws IOException {
+        assertArrayEquals(new int[16], decode(new byte[16]));
+    }
+
+    /**
+     * Decode the BC7 block as a 4x4 DDS image.
+     *
+     * @param block the block.
+     * @return the ARGB pixels.
+     */
+    private static @NotNull int[] decode(@NotNull byte[] block) throws IOException {
+
+        var buffer = ByteBuffer.allocate(128 + 20 + block.length)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.putInt(0, 0x20534444);
+        buffer.putInt(4, 124);
+        buffer.putInt(8, 0x1007);
+        buffer.putInt(12, 4);
+        buffer.putInt(16, 4);
+        buffer.putInt(76, 32);
+        buffer.putInt(80, 0x4);
+        buffer.putInt(84, 'D' | 'X' << 8 | '1' << 16 | '0' << 24);
+        buffer.putInt(128, DXGI_FORMAT_BC7_UNORM);
+        buffer.putInt(132, 3);
+        buffer.putInt(140, 1);
+        buffer.position(148);
+        buffer.put(block);
+
+        var image = DdsImage.wrap(buffer.array());
+
+        assertEquals(4, image.getWidth());
+        assertEquals(4, image.getHeight());
+
+        return image.decode(0, null);
+    }
+
+    private static @NotNull int[] expected(
+            @NotNull int[] subsets,
+            @NotNull int[][][] endpoints,
+            int bits,
+            @NotNull int... anchors
+    ) {
+
+        var result = new int[16];
+
+        for (int i = 0; i < 16; i++) {
+            var subset = endpoints[subsets[i]];
+            var weight = weight(bits, index(i, bits, isAnchor(i, anchors)));
+            result[i] = interpolate(subset[0], subset[1], weight, weight);
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the index of the pixel, indexes of anchor pixels have one bit less.
+     */
+    private static int index(int pixel, int bits, boolean anchor) {
+        return pixel % (1 << (anchor ? bits - 1 : bits));
+    }
+
+    private static boolean isAnchor(int pixel, @NotNull int[] anchors) {
+
+        for (var anchor : anchors) {
+            if (anchor == pixel) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static int weight(int bits, int index) {
+        return bits == 2 ? WEIGHTS_2[index] : bits == 3 ? WEIGHTS_3[index] : WEIGHTS_4[index];
+    }
+
+    private static int interpolate(@NotNull int[] first, @NotNull int[] second, int colorWeight, int alphaWeight) {
+
+        var red = ((64 - colorWeight) * first[0] + colorWeight * second[0] + 32) >> 6;
+        var green = ((64 - colorWeight) * first[1] + colorWeight * second[1] + 32) >> 6;
+        var blue = ((64 - colorWeight) * first[2] + colorWeight * second[2] + 32) >> 6;
+        var alpha = ((64 - alphaWeight) * first[3] + alphaWeight * second[3] + 32) >> 6;
+
+        return alpha << 24 | red << 16 | green << 8 | blue;
+    }
+
+    /**
+     * Swap the alpha channel of the ARGB pixel with the channel by the shift.
+     */
+    private static int swap(int pixel, int shift) {
+
+        var alpha = pixel >>> 24;
+        var channel = (pixel >>> shift) & 0xFF;
+
+        return (pixel & 0x00FFFFFF & ~(0xFF << shift)) | channel << 24 | alpha << shift;
+    }
+}
@@ -0,0 +1,214 @@
+package com.ss.editor.test.file.reader;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import com.ss.editor.file.reader.TgaImage;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+
+/**
+ * The test to check decoding TGA images.
+ */
+public class TgaImageTest {
+
+    private static final int TYPE_TRUE_COLOR = 2;
+    private static final int TYPE_GRAYSCALE = 3;
+    private static final int TYPE_RLE_TRUE_COLOR = 10;
+
+    private static final int RED = 0xFFFF0000;
+    private static final int GREEN = 0xFF00FF00;
+    private static final int BLUE = 0xFF0000FF;
+    private static final int WHITE = 0xFFFFFFFF;
+    private static final int BLACK = 0xFF000000;
+    private static final int GRAY = 0xFF808080;
+
+    /**
+     * The writer of a TGA image.
+     */
+    private static class TgaWriter {
+
+        @NotNull
+        private final ByteArrayOutputStream out;
+
+        private final int pixelDepth;
+
+        private TgaWriter(int imageType, int pixelDepth, int width, int height, boolean topOrigin) {
+            this.out = new ByteArrayOutputStream();
+            this.pixelDepth = pixelDepth;
+
+            var id = "test".getBytes();
+
+            out.write(id.length);
+            out.write(0);
+            out.write(imageType);
+            out.write(new byte[9], 0, 9);
+            out.write(width);
+            out.write(width >> 8);
+            out.write(height);
+            out.write(height >> 8);
+            out.write(pixelDepth);
+            out.write(topOrigin ? 0x28 : 0x08);
+            out.write(id, 0, id.length);
+        }
+
+        private @NotNull TgaWriter pixels(@NotNull int... pixels) {
+
+            for (var pixel : pixels) {
+                if (pixelDepth == 8) {
+                    out.write(pixel);
+                    continue;
+                }
+
+                out.write(pixel);
+                out.write(pixel >> 8);
+                out.write(pixel >> 16);
+
+                if (pixelDepth == 32) {
+                    out.write(pixel >> 24);
+                }
+            }
+
+            return this;
+        }
+
+        private @NotNull TgaWriter repeated(int count, int pixel) {
+            out.write(0x80 | (count - 1));
+            return pixels(pixel);
+        }
+
+        private @NotNull TgaWriter raw(@NotNull int... pixels) {
+            out.write(pixels.length - 1);
+            return pixels(pixels);
+        }
+
+        private @NotNull TgaImage open() throws IOException {
+            return TgaImage.open(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())));
+        }
+    }
+
+    @Test
+    public void decodeBottomUp() throws IOException {
+
+        var image = new TgaWriter(TYPE_TRUE_COLOR, 24, 3, 2, false)
+                .pixels(RED, GREEN, BLUE)
+                .pixels(WHITE, BLACK, GRAY)
+                .open();
+
+        assertEquals(3, image.getWidth());
+        assertEquals(2, image.getHeight());
+        assertArrayEquals(new int[] {WHITE, BLACK, GRAY, RED, GREEN, BLUE}, decode(image, 1));
+    }
+
+    @Test
+    public void decodeTopDown() throws IOException {
+
+        var image = new TgaWriter(TYPE_TRUE_COLOR, 32, 3, 2, true)
+                .pixels(RED, GREEN, 0x80102030)
+                .pixels(WHITE, 0x00000000, GRAY)
+                .open();
+
+        assertArrayEquals(new int[] {RED, GREEN, 0x80102030, WHITE, 0x00000000, GRAY}, decode(image, 1));
+    }
+
+    @Test
+    public void decodeGrayscale() throws IOException {
+
+        var image = new TgaWriter(TYPE_GRAYSCALE, 8, 2, 1, true)
+                .pixels(0x00, 0x80)
+                .open();
+
+        assertArrayEquals(new int[] {BLACK, GRAY}, decode(image, 1));
+    }
+
+    @Test
+    public void decodeRle() throws IOException {
+
+        var image = new TgaWriter(TYPE_RLE_TRUE_COLOR, 24, 4, 2, true)
+                .repeated(2, RED)
+                .raw(GREEN, BLUE)
+                .raw(WHITE)
+                .repeated(3, GRAY)
+                .open();
+
+        assertArrayEquals(new int[] {RED, RED, GREEN, BLUE, WHITE, GRAY, GRAY, GRAY}, decode(image, 1));
+    }
+
+    @Test
+    public void decodeRlePacketsAcrossRows() throws IOException {
+
+        var image = new TgaWriter(TYPE_RLE_TRUE_COLOR, 32, 3, 3, false)
+                .repeated(4, RED)
+                .raw(GREEN, BLUE, WHITE, BLACK)
+                .repeated(1, GRAY)
+                .open();
+
+        assertArrayEquals(new int[] {WHITE, BLACK, GRAY, RED, GREEN, BLUE, RED, RED, RED}, decode(image, 1));
+    }
+
+    @Test
+    public void decodeSubsampled() throws IOException {
+
+        var image = new TgaWriter(TYPE_RLE_TRUE_COLOR, 24, 3, 3, true)
+                .repeated(4, RED)
+                .raw(GREEN, BLUE, WHITE, BLACK)
+                .repeated(1, GRAY)
+                .open();
+
+        assertEquals(2, image.getWidth(2));
+        assertEquals(2, image.getHeight(2));
+        assertArrayEquals(new int[] {RED, RED, WHITE, GRAY}, decode(image, 2));
+    }
+
+    @Test
+    public void decodeSubsampledBottomUp() throws IOException {
+
+        var image = new TgaWriter(TYPE_TRUE_COLOR, 24, 3, 3, false)
+                .pixels(RED, GREEN, BLUE)
+                .pixels(WHITE, BLACK, GRAY)
+                .pixels(GREEN, BLUE, RED)
+                .open();
+
+        var pixels = new int[8];
+        Arrays.fill(pixels, -1);
+
+        assertArrayEquals(new int[] {GREEN, RED, RED, BLUE, -1, -1, -1, -1}, image.decode(2, pixels));
+    }
+
+    @Test
+    public void findStep() throws IOException {
+
+        var image = new TgaWriter(TYPE_TRUE_COLOR, 24, 256, 128, true).open();
+
+        assertEquals(1, image.findStep(512, 512));
+        assertEquals(2, image.findStep(128, 128));
+        assertEquals(4, image.findStep(64, 64));
+    }
+
+    @Test
+    public void decodeTruncated() throws IOException {
+
+        var image = new TgaWriter(TYPE_RLE_TRUE_COLOR, 24, 3, 2, true)
+                .repeated(4, RED)
+                .open();
+
+        assertThrows(EOFException.class, () -> decode(image, 1));
+    }
+
+    @Test
+    public void openUnsupported() {
+        assertThrows(IOException.class, () -> new TgaWriter(1, 8, 2, 2, true).open());
+        assertThrows(IOException.class, () -> new TgaWriter(TYPE_TRUE_COLOR, 16, 2, 2, true).open());
+    }
+
+    private static @NotNull int[] decode(@NotNull TgaImage image, int step) throws IOException {
+        return image.decode(step, (int[]) null);
+    }
+}
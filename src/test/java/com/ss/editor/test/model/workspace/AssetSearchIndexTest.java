@@ -0,0 +1,163 @@
+package com.ss.editor.test.model.workspace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.ss.editor.model.workspace.AssetSearchIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * The test to check searching asset paths by fuzzy queries.
+ */
+public class AssetSearchIndexTest {
+
+    @Test
+    public void rankFileNameMatches() {
+
+        var index = newIndex(
+                "Trees/Oak/Leaf.png",
+                "Models/Forest/StreetLight.j3o",
+                "Textures/tree_bark.png",
+                "Models/Tree.j3o");
+
+        assertEquals(Arrays.asList(
+                "Models/Tree.j3o",
+                "Textures/tree_bark.png",
+                "Models/Forest/StreetLight.j3o",
+                "Trees/Oak/Leaf.png"), search(index, "tree", 10, null));
+    }
+
+    @Test
+    public void rankWordStarts() {
+
+        var index = newIndex(
+                "Textures/Bone.png",
+                "Textures/BrickNormal.png",
+                "Textures/brick_normal.png");
+
+        var result = search(index, "bn", 10, null);
+
+        assertEquals(3, result.size());
+        assertEquals("Textures/Bone.png", result.get(2));
+        assertTrue(result.containsAll(Arrays.asList("Textures/BrickNormal.png", "Textures/brick_normal.png")));
+    }
+
+    @Test
+    public void searchByQueryWithSeparators() {
+
+        var index = newIndex(
+                "Models/Tree.j3o",
+                "Models/Forest/Tree.j3o",
+                "Textures/Forest/Tree.png");
+
+        var result = search(index, "models\\forest tree", 10, null);
+
+        assertEquals("Models/Forest/Tree.j3o", result.get(0));
+        assertFalse(result.contains("Models/Tree.j3o"));
+    }
+
+    @Test
+    public void searchWithTypos() {
+
+        var index = newIndex(
+                "Textures/Grass_Difuse.png",
+                "Textures/Ground.png");
+
+        assertEquals(Arrays.asList("Textures/Grass_Difuse.png"), search(index, "grass_diffuse", 10, null));
+    }
+
+    @Test
+    public void limitAndFilter() {
+
+        var index = newIndex(
+                "Models/Tree.j3o",
+                "Models/Tree2.j3o",
+                "Textures/Tree.png",
+                "Textures/Tree2.png");
+
+        assertEquals(Arrays.asList("Models/Tree.j3o", "Models/Tree2.j3o"), search(index, "tree", 2, null));
+        assertEquals(Arrays.asList("Textures/Tree.png", "Textures/Tree2.png"),
+                search(index, "tree", 10, path -> path.endsWith(".png")));
+        assertEquals(Arrays.asList(), search(index, " ", 10, null));
+    }
+
+    @Test
+    public void addAndRemove() {
+
+        var index = newIndex("Models/Tree.j3o");
+
+        index.add("Models/Tree.j3o");
+        index.add("Models/Rock.j3o");
+
+        assertEquals(2, index.size());
+        assertEquals(Arrays.asList("Models/Rock.j3o"), search(index, "rock", 10, null));
+
+        index.remove("Models/Rock.j3o");
+
+        assertEquals(1, index.size());
+        assertEquals(Arrays.asList(), search(index, "rock", 10, null));
+
+        index.add("Models/Rock.j3o");
+
+        assertEquals(Arrays.asList("Models/Rock.j3o"), search(index, "rock", 10, null));
+    }
+
+    @Test
+    public void removeFolder() {
+
+        var index = newIndex(
+                "Models/Forest/Tree.j3o",
+                "Models/Forest/Leaves/Leaf.j3o",
+                "Models/ForestHouse.j3o",
+                "Models/Rock.j3o");
+
+        index.removeFolder("Models/Forest");
+
+        assertEquals(2, index.size());
+        assertEquals(Arrays.asList("Models/ForestHouse.j3o"), search(index, "forest", 10, null));
+        assertEquals(Arrays.asList("Models/Rock.j3o", "Models/ForestHouse.j3o"), search(index, "models", 10, null));
+    }
+
+    @Test
+    public void searchAfterCompaction() {
+
+        var index = new AssetSearchIndex();
+
+        for (int i = 0; i < 3000; i++) {
+            index.add("Textures/Generated/Texture" + i + ".png");
+        }
+
+        index.add("Models/Rock.j3o");
+
+        for (int i = 0; i < 3000; i++) {
+            index.remove("Textures/Generated/Texture" + i + ".png");
+        }
+
+        assertEquals(1, index.size());
+        assertEquals(Arrays.asList("Models/Rock.j3o"), search(index, "rock", 10, null));
+        assertEquals(Arrays.asList(), search(index, "texture", 10, null));
+    }
+
+    private static @NotNull AssetSearchIndex newIndex(@NotNull String... paths) {
+        var index = new AssetSearchIndex();
+        index.reset(Arrays.asList(paths));
+        return index;
+    }
+
+    private static @NotNull List<String> search(
+            @NotNull AssetSearchIndex index,
+            @NotNull String query,
+            int limit,
+            @Nullable Predicate<String> filter
+    ) {
+        return index.search(query, limit, filter).stream()
+                .collect(Collectors.toList());
+    }
+}